@@ -7,6 +7,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "data-quality")
 @Data
@@ -24,4 +28,10 @@ public class DataQualityProperties {
 
     @Min(0)
     private long maxStaleSeconds = 300;
+
+    /**
+     * Weekday exchange holidays. Together with weekends these are the only dates a series may skip without it
+     * counting as missing data.
+     */
+    private List<LocalDate> exchangeHolidays = new ArrayList<>();
 }
@@ -2,10 +2,10 @@ package com.apex.backend.config;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import com.apex.backend.exception.FyersQueueTimeoutException;
 import com.apex.backend.exception.FyersRateLimitException;
 import com.apex.backend.exception.FyersServerException;
+import com.apex.backend.service.PriorityRateLimiter;
 import io.github.resilience4j.core.IntervalFunction;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
@@ -30,21 +30,20 @@ public class FyersResilienceConfig {
                 .failureRateThreshold(failureRateThreshold)
                 .waitDurationInOpenState(Duration.ofSeconds(waitOpenSeconds))
                 .slidingWindowSize(slidingWindowSize)
+                // Waiting too long for our own rate budget says nothing about the broker's health
+                .ignoreExceptions(FyersQueueTimeoutException.class)
                 .build();
         return CircuitBreaker.of("fyers", config);
     }
 
     @Bean
-    public RateLimiter fyersRateLimiter(
-            @Value("${fyers.resilience.rate.limit-per-second:8}") int limitPerSecond,
-            @Value("${fyers.resilience.rate.timeout-ms:0}") long timeoutMs
+    public PriorityRateLimiter fyersRateLimiter(
+            @Value("${fyers.resilience.rate.limit-per-second:8}") double limitPerSecond,
+            @Value("${fyers.resilience.rate.min-per-second:1}") double minPerSecond,
+            @Value("${fyers.resilience.rate.burst:8}") int burst,
+            @Value("${fyers.resilience.rate.timeout-ms:10000}") long timeoutMs
     ) {
-        RateLimiterConfig config = RateLimiterConfig.custom()
-                .limitRefreshPeriod(Duration.ofSeconds(1))
-                .limitForPeriod(limitPerSecond)
-                .timeoutDuration(Duration.ofMillis(timeoutMs))
-                .build();
-        return RateLimiter.of("fyers", config);
+        return new PriorityRateLimiter(limitPerSecond, minPerSecond, burst, timeoutMs);
     }
 
     @Bean
@@ -0,0 +1,93 @@
+package com.apex.backend.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "apex.market-data")
+@Data
+@Validated
+public class MarketDataProperties {
+
+    private Store store = new Store();
+    private History history = new History();
+    private CandleCache candleCache = new CandleCache();
+    private Ltp ltp = new Ltp();
+    private Depth depth = new Depth();
+    private LiveBars liveBars = new LiveBars();
+
+    @Data
+    public static class Store {
+        private boolean enabled = true;
+
+        private String directory = "data/candles";
+
+        // Bars kept per (symbol, resolution) file before the oldest half is compacted away
+        @Min(64)
+        private int capacity = 2048;
+    }
+
+    @Data
+    public static class History {
+        // Request only bars from the last cached bar onwards instead of the full lookback window
+        private boolean incremental = true;
+    }
+
+    @Data
+    public static class CandleCache {
+        // Budget for in-memory candle series, estimated from bar count
+        @Min(1_048_576)
+        private long maxBytes = 64L * 1024 * 1024;
+
+        // Per-resolution freshness; short bars go stale quickly, daily bars barely move intraday
+        private Map<String, Long> ttlMs = Map.of("1", 15_000L, "5", 60_000L, "15", 120_000L, "60", 300_000L, "D", 900_000L);
+
+        @Min(1000)
+        private long defaultTtlMs = 60_000;
+
+        // How long an expired series is kept as the base for an incremental refresh
+        @Min(0)
+        private long staleRetentionMs = 1_800_000;
+
+        public long ttlFor(String resolution) {
+            Long ttl = resolution != null ? ttlMs.get(resolution) : null;
+            return ttl != null ? ttl : defaultTtlMs;
+        }
+    }
+
+    @Data
+    public static class Ltp {
+        // Streamed prices older than this are treated as stale and refreshed over REST
+        @Min(100)
+        private long maxAgeMs = 2000;
+    }
+
+    @Data
+    public static class Depth {
+        // Price levels kept per side of each order book
+        @Min(1)
+        private int levels = 20;
+
+        // A book not updated for this long is ignored by spread and liquidity checks
+        @Min(100)
+        private long maxAgeMs = 5000;
+    }
+
+    @Data
+    public static class LiveBars {
+        private boolean enabled = true;
+
+        // Bar sizes in minutes built from streamed ticks
+        private List<Integer> timeframes = List.of(1, 5);
+
+        // A bar with no new ticks is closed this long after its end
+        @Min(0)
+        private long closeGraceMs = 2000;
+    }
+}
@@ -1,6 +1,7 @@
 package com.apex.backend.config;
 
 import com.apex.backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,6 +52,9 @@ public class SecurityConfig {
                 .accessDeniedHandler(restAccessDeniedHandler)
             )
             .authorizeHttpRequests(auth -> auth
+                // 🔁 ASYNC re-dispatch of an already authorized request (SSE streams); nothing carries the JWT there
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // 🔓 PUBLIC (NO JWT)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/ui/config").permitAll()
@@ -107,12 +107,32 @@ public class StrategyConfig {
         private String marketOpen = "09:15";
         private String marketClose = "15:30";
         private Universes universes = new Universes();
+        private ExecutorMode executorMode = ExecutorMode.VIRTUAL;
+        // Expected broker round trip; with the limiter's rate it sizes how many symbols are fetched at once
+        private long brokerCallLatencyMs = 2000;
+        private int maxConcurrency = 64;
+        private long runTimeoutMs = 300000;
+        // Threads evaluating fetched symbols; 0 uses one per core
+        private int computeThreads = 0;
+        private int pipelineQueueCapacity = 64;
+        private boolean preFilterEnabled = true;
+        // Signals buffered before a run's results are written; progress streams close after the timeout
+        private int resultFlushBatchSize = 25;
+        private long progressStreamTimeoutMs = 1800000;
+        // Top grade candidates at or above this score are acted on as they arrive instead of after the whole universe
+        private boolean earlyFireEnabled = true;
+        private double earlyFireMinScore = 0.0;
 
         public enum Mode {
             MANUAL,
             SCHEDULED
         }
 
+        public enum ExecutorMode {
+            VIRTUAL,
+            PLATFORM
+        }
+
         @Data
         public static class Universes {
             private List<String> nifty50 = new ArrayList<>();
@@ -1,5 +1,7 @@
 package com.apex.backend.config;
 
+import com.apex.backend.util.ExchangeTime;
+import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -27,6 +29,14 @@ public class StrategyProperties {
     private MarketGate marketGate = new MarketGate();
     private VolShock volShock = new VolShock();
 
+    /**
+     * Candle timestamps are exchange-local; the trading window zone is the exchange zone.
+     */
+    @PostConstruct
+    void applyExchangeZone() {
+        ExchangeTime.setZone(java.time.ZoneId.of(tradingWindow.getTimezone()));
+    }
+
     @Data
     public static class Macd {
         private int fastPeriod = 12;
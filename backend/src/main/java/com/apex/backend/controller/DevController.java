@@ -7,6 +7,7 @@ import com.apex.backend.model.User;
 import com.apex.backend.security.JwtTokenProvider;
 import com.apex.backend.security.UserPrincipal;
 import com.apex.backend.service.InstrumentCacheService;
+import com.apex.backend.service.InstrumentService;
 import com.apex.backend.service.UniverseService;
 import com.apex.backend.service.WatchlistService;
 import com.apex.backend.repository.UserRepository;
@@ -39,6 +40,7 @@ public class DevController {
     private final WatchlistService watchlistService;
     private final InstrumentCacheService instrumentCacheService;
     private final InstrumentRepository instrumentRepository;
+    private final InstrumentService instrumentService;
     private final UniverseService universeService;
 
     @PostMapping("/login")
@@ -122,6 +124,7 @@ public class DevController {
 
         if (!toInsert.isEmpty()) {
             instrumentRepository.saveAll(toInsert);
+            instrumentService.refresh();
         }
         return ResponseEntity.ok(Map.of(
                 "seeded", !toInsert.isEmpty(),
@@ -6,6 +6,7 @@ import com.apex.backend.exception.UnauthorizedException;
 import com.apex.backend.model.InstrumentDefinition;
 import com.apex.backend.security.UserPrincipal;
 import com.apex.backend.service.InstrumentCacheService;
+import com.apex.backend.service.InstrumentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ import java.util.List;
 public class InstrumentsController {
 
     private final InstrumentCacheService instrumentCacheService;
+    private final InstrumentService instrumentService;
     private final Environment environment;
 
     @Value("${apex.admin.token:}")
@@ -58,6 +60,7 @@ public class InstrumentsController {
                                      @AuthenticationPrincipal UserPrincipal principal) {
         requireAdmin(principal, token);
         instrumentCacheService.refresh();
+        instrumentService.refresh();
         return ResponseEntity.ok().build();
     }
 
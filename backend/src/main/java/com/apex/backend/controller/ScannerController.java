@@ -1,5 +1,6 @@
 package com.apex.backend.controller;
 
+import com.apex.backend.dto.ScanProgressEvent;
 import com.apex.backend.dto.ScanRunSummary;
 import com.apex.backend.dto.ScannerRunRequest;
 import com.apex.backend.dto.ScannerRunResponse;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/scanner")
@@ -59,6 +62,22 @@ public class ScannerController {
         return ResponseEntity.ok(scannerRunService.getResults(userId, runId));
     }
 
+    @GetMapping("/runs/{runId}/progress")
+    @Operation(summary = "Get live scan run progress")
+    public ResponseEntity<ScanProgressEvent> progress(@AuthenticationPrincipal UserPrincipal principal,
+                                                      @PathVariable Long runId) {
+        Long userId = requireUserId(principal);
+        return ResponseEntity.ok(scannerRunService.getProgress(userId, runId));
+    }
+
+    @GetMapping(value = "/runs/{runId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream scan run progress as server-sent events")
+    public SseEmitter stream(@AuthenticationPrincipal UserPrincipal principal,
+                             @PathVariable Long runId) {
+        Long userId = requireUserId(principal);
+        return scannerRunService.streamProgress(userId, runId);
+    }
+
     @GetMapping("/latest-summary")
     @Operation(summary = "Get latest scanner run summary")
     @ApiResponse(responseCode = "200")
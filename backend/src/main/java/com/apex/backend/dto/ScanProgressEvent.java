@@ -0,0 +1,46 @@
+package com.apex.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanProgressEvent {
+    public enum Type {
+        SYMBOL,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    public enum Outcome {
+        SIGNAL,
+        NO_SIGNAL,
+        DATA_MISSING,
+        ERROR
+    }
+
+    private Long runId;
+    private Type type;
+    private String symbol;
+    private Outcome outcome;
+    private Double score;
+    private ScanSignalResponse signal;
+    private String message;
+    private int totalSymbols;
+    private int scannedSymbols;
+    private int passedStage1;
+    private int passedStage2;
+    private int signalsFound;
+    private Instant timestamp;
+
+    public boolean isTerminal() {
+        return type != null && type != Type.SYMBOL;
+    }
+}
@@ -0,0 +1,18 @@
+package com.apex.backend.event;
+
+import com.apex.backend.model.Candle;
+
+import java.time.Instant;
+
+/**
+ * A bar built from streamed ticks has closed.
+ *
+ * @param resolution bar size in the broker's history notation, e.g. "1" or "5"
+ */
+public record BarClosedEvent(
+        String tradingSymbol,
+        String resolution,
+        Candle bar,
+        Instant closedAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.apex.backend.exception;
+
+public class FyersQueueTimeoutException extends RuntimeException {
+    public FyersQueueTimeoutException(String message) {
+        super(message);
+    }
+}
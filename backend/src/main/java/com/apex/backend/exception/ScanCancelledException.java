@@ -0,0 +1,7 @@
+package com.apex.backend.exception;
+
+public class ScanCancelledException extends RuntimeException {
+    public ScanCancelledException(String message) {
+        super(message);
+    }
+}
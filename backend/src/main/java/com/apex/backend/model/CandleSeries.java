@@ -0,0 +1,126 @@
+package com.apex.backend.model;
+
+import com.apex.backend.util.ExchangeTime;
+
+import java.util.List;
+
+/**
+ * Column-oriented, read-only candle series backed by primitive arrays.
+ * Indicator code reads prices by index without boxing; {@link #view(int, int)} and {@link #tail(int)}
+ * share the underlying arrays instead of copying them.
+ */
+public final class CandleSeries {
+
+    private static final CandleSeries EMPTY = new CandleSeries(new double[0], new double[0], new double[0],
+            new double[0], new long[0], new long[0], 0, 0);
+
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+    private final long[] epoch;
+    private final int offset;
+    private final int length;
+
+    private CandleSeries(double[] open, double[] high, double[] low, double[] close, long[] volume, long[] epoch,
+                         int offset, int length) {
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.epoch = epoch;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Copies {@code candles} into columns once. Bars without a timestamp get epoch 0.
+     */
+    public static CandleSeries of(List<Candle> candles) {
+        if (candles == null || candles.isEmpty()) {
+            return EMPTY;
+        }
+        int size = candles.size();
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        long[] volume = new long[size];
+        long[] epoch = new long[size];
+        for (int i = 0; i < size; i++) {
+            Candle candle = candles.get(i);
+            open[i] = candle.getOpen();
+            high[i] = candle.getHigh();
+            low[i] = candle.getLow();
+            close[i] = candle.getClose();
+            volume[i] = candle.getVolume();
+            epoch[i] = candle.getTimestamp() == null ? 0L : ExchangeTime.toEpochSecond(candle.getTimestamp());
+        }
+        return new CandleSeries(open, high, low, close, volume, epoch, 0, size);
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public double open(int index) {
+        return open[slot(index)];
+    }
+
+    public double high(int index) {
+        return high[slot(index)];
+    }
+
+    public double low(int index) {
+        return low[slot(index)];
+    }
+
+    public double close(int index) {
+        return close[slot(index)];
+    }
+
+    public long volume(int index) {
+        return volume[slot(index)];
+    }
+
+    public long epoch(int index) {
+        return epoch[slot(index)];
+    }
+
+    public double lastClose() {
+        return close(length - 1);
+    }
+
+    /**
+     * Bars {@code from} (inclusive) to {@code to} (exclusive) of this series, sharing its arrays.
+     */
+    public CandleSeries view(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("view [" + from + ", " + to + ") of " + length);
+        }
+        if (from == 0 && to == length) {
+            return this;
+        }
+        return new CandleSeries(open, high, low, close, volume, epoch, offset + from, to - from);
+    }
+
+    /**
+     * The newest {@code count} bars, or the whole series when it is shorter.
+     */
+    public CandleSeries tail(int count) {
+        return view(Math.max(0, length - Math.max(0, count)), length);
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + " of " + length);
+        }
+        return offset + index;
+    }
+}
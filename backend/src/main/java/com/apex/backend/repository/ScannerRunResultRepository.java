@@ -7,4 +7,6 @@ import java.util.List;
 
 public interface ScannerRunResultRepository extends JpaRepository<ScannerRunResult, Long> {
     List<ScannerRunResult> findByRunIdOrderByScoreDesc(Long runId);
+
+    long deleteByRunId(Long runId);
 }
@@ -19,6 +19,7 @@ public interface TradeRepository extends JpaRepository<Trade, Long> {
     List<Trade> findByUserIdAndTradeType(Long userId, Trade.TradeType tradeType);
     List<Trade> findByUserIdAndIsPaperTradeAndStatus(Long userId, boolean isPaperTrade, Trade.TradeStatus status);
     List<Trade> findTop50ByUserIdAndStatusOrderByExitTimeDesc(Long userId, Trade.TradeStatus status);
+    List<Trade> findByStatusAndSymbolIn(Trade.TradeStatus status, java.util.Collection<String> symbols);
     List<Trade> findByPositionStateAndStopAckedAtIsNullAndEntryTimeBefore(PositionState positionState, java.time.LocalDateTime before);
 
     long countByUserIdAndStatus(Long userId, Trade.TradeStatus status);
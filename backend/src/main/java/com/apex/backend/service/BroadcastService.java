@@ -117,6 +117,16 @@ public class BroadcastService {
         broadcastSignal(signal);
     }
 
+    /**
+     * Pushes per-symbol scan outcomes and running counters while a scanner run executes
+     */
+    public void broadcastScanProgress(Long userId, Object progress) {
+        if (userId != null) {
+            messagingTemplate.convertAndSendToUser(userId.toString(), "/queue/scan-progress", progress);
+            metricsService.incrementWebsocketPublishes();
+        }
+    }
+
     /**
      * Broadcasts risk rejection events with threshold and current values
      */
@@ -0,0 +1,49 @@
+package com.apex.backend.service;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Priority lanes for broker traffic, highest first. A lane may only take a token while no higher lane is
+ * waiting and while the bucket stays above its reserve, so scans never drain the budget an exit needs.
+ */
+public enum BrokerLane {
+    EMERGENCY(0.0),
+    ORDER(0.0),
+    QUOTE(0.25),
+    HISTORY(0.5);
+
+    private final double reserveFraction;
+
+    BrokerLane(double reserveFraction) {
+        this.reserveFraction = reserveFraction;
+    }
+
+    /**
+     * Share of the burst capacity this lane must leave in the bucket for higher lanes.
+     */
+    public double reserveFraction() {
+        return reserveFraction;
+    }
+
+    /**
+     * Lane for a request made without an explicit one: writes and order/position reads are order traffic,
+     * candle history is history, everything else (quotes, depth, account data) is quote traffic.
+     */
+    public static BrokerLane forRequest(HttpMethod method, String url) {
+        if (method != HttpMethod.GET) {
+            return ORDER;
+        }
+        String path = url == null ? "" : url;
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        if (path.endsWith("/history")) {
+            return HISTORY;
+        }
+        if (path.endsWith("/orders") || path.endsWith("/positions") || path.endsWith("/tradebook")) {
+            return ORDER;
+        }
+        return QUOTE;
+    }
+}
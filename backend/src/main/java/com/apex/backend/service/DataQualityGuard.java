@@ -2,10 +2,13 @@ package com.apex.backend.service;
 
 import com.apex.backend.config.DataQualityProperties;
 import com.apex.backend.model.Candle;
+import com.apex.backend.util.ExchangeTime;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +17,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DataQualityGuard {
 
+    // Regular NSE session, 09:15 to 15:30: a skipped trading day is this many minutes of missing intraday bars
+    private static final long SESSION_MINUTES = 375;
+
     private final DataQualityProperties properties;
 
     public DataQualityResult validate(String timeframe, List<Candle> candles) {
@@ -23,16 +29,19 @@ public class DataQualityGuard {
             return new DataQualityResult(false, reasons, DataQualityIssue.INSUFFICIENT);
         }
 
+        long expectedMinutes = parseTimeframeMinutes(timeframe);
         LocalDateTime latest = candles.get(candles.size() - 1).getTimestamp();
         if (latest != null) {
-            long ageSeconds = Duration.between(latest, LocalDateTime.now()).getSeconds();
+            // Bars are stamped with their open time, so staleness is measured from the bar close
+            LocalDateTime latestClose = latest.plusMinutes(expectedMinutes);
+            // Candle times are exchange wall-clock times, whatever the JVM's default zone is
+            long ageSeconds = Duration.between(latestClose, LocalDateTime.now(ExchangeTime.zone())).getSeconds();
             if (ageSeconds > properties.getMaxStaleSeconds()) {
                 reasons.add("DATA_STALE: " + ageSeconds + "s old");
                 return new DataQualityResult(false, reasons, DataQualityIssue.STALE);
             }
         }
 
-        long expectedMinutes = parseTimeframeMinutes(timeframe);
         int missingCount = 0;
         for (int i = 1; i < candles.size(); i++) {
             LocalDateTime prev = candles.get(i - 1).getTimestamp();
@@ -41,6 +50,16 @@ public class DataQualityGuard {
                 missingCount++;
                 continue;
             }
+            if (!prev.toLocalDate().equals(curr.toLocalDate())) {
+                // The overnight break and weekends or holidays in between are not missing bars; skipped sessions are
+                long skippedSessions = tradingDaysBetween(prev.toLocalDate(), curr.toLocalDate());
+                if (expectedMinutes >= 1440) {
+                    missingCount += (int) skippedSessions;
+                } else if (expectedMinutes > 0) {
+                    missingCount += (int) (skippedSessions * Math.max(1, SESSION_MINUTES / expectedMinutes));
+                }
+                continue;
+            }
             long minutes = Duration.between(prev, curr).toMinutes();
             if (expectedMinutes > 0 && minutes > expectedMinutes * properties.getMaxGapMultiplier()) {
                 missingCount++;
@@ -67,6 +86,20 @@ public class DataQualityGuard {
         return new DataQualityResult(true, reasons, null);
     }
 
+    /**
+     * Trading days strictly between two dates: weekdays that are not configured exchange holidays.
+     */
+    private long tradingDaysBetween(LocalDate from, LocalDate to) {
+        long count = 0;
+        for (LocalDate day = from.plusDays(1); day.isBefore(to); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY
+                    && !properties.getExchangeHolidays().contains(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private long parseTimeframeMinutes(String timeframe) {
         if (timeframe == null || timeframe.isBlank()) {
             return 0;
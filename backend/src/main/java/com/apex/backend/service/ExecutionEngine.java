@@ -163,7 +163,8 @@ public class ExecutionEngine {
                     request.orderType().name(),
                     request.limitPrice() == null ? 0.0 : request.limitPrice(),
                     clientOrderId,
-                    request.userId()
+                    request.userId(),
+                    request.exitOrder() ? BrokerLane.EMERGENCY : BrokerLane.ORDER
             );
             intent.setBrokerOrderId(orderId);
             orderStateMachine.transition(intent, OrderState.ACKED, "ACK");
@@ -1,11 +1,13 @@
 package com.apex.backend.service;
 
+import com.apex.backend.event.BarClosedEvent;
 import com.apex.backend.model.Trade;
 import com.apex.backend.util.MoneyUtils;
 import com.apex.backend.repository.TradeRepository;
 import com.apex.backend.config.StrategyProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -13,6 +15,9 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
@@ -27,6 +32,11 @@ public class ExitManager {
     private final TradeCloseService tradeCloseService;
     private final ExitRetryService exitRetryService;
 
+    private static final long BAR_TRIGGER_DEBOUNCE_MS = 1000;
+    private final Map<Long, Long> barTriggeredRuns = new ConcurrentHashMap<>();
+    // Bar closes and the bot cycle both manage exits: one pass per user at a time, so a trade is exited once
+    private final Map<Long, ReentrantLock> exitLocks = new ConcurrentHashMap<>();
+
     public long getOpenTradeCount(Long userId) {
         try {
             if (userId == null) {
@@ -89,13 +99,51 @@ public class ExitManager {
         }
     }
 
+    /**
+     * Re-checks exits for every user holding the symbol as soon as a live bar closes instead of waiting for the
+     * next bot cycle. The 1m and 5m bars close together, so a user checked within the last second is skipped.
+     */
+    @EventListener(BarClosedEvent.class)
+    public void onBarClosed(BarClosedEvent event) {
+        try {
+            List<Long> userIds = tradeRepository.findByStatusAndSymbolIn(Trade.TradeStatus.OPEN, symbolAliases(event.tradingSymbol()))
+                    .stream()
+                    .map(Trade::getUserId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            long now = System.currentTimeMillis();
+            for (Long userId : userIds) {
+                Long last = barTriggeredRuns.get(userId);
+                if (last != null && now - last < BAR_TRIGGER_DEBOUNCE_MS) {
+                    continue;
+                }
+                barTriggeredRuns.put(userId, now);
+                manageExits(userId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to manage exits on bar close for {}", event.tradingSymbol(), e);
+        }
+    }
+
+    // Trades may store either the broker symbol (NSE:SBIN-EQ) or the bare name (SBIN)
+    private List<String> symbolAliases(String tradingSymbol) {
+        String bare = tradingSymbol.substring(tradingSymbol.indexOf(':') + 1);
+        if (bare.endsWith("-EQ")) {
+            bare = bare.substring(0, bare.length() - 3);
+        }
+        return bare.equals(tradingSymbol) ? List.of(tradingSymbol) : List.of(tradingSymbol, bare);
+    }
+
     // NEW: Added missing method
     public void manageExits(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        ReentrantLock lock = exitLocks.computeIfAbsent(userId, id -> new ReentrantLock());
+        lock.lock();
         try {
             log.info("Managing trade exits");
-            if (userId == null) {
-                return;
-            }
             List<Trade> openTrades = tradeRepository.findByUserIdAndStatus(userId, Trade.TradeStatus.OPEN);
 
             if (openTrades.isEmpty()) {
@@ -135,6 +183,8 @@ public class ExitManager {
             }
         } catch (Exception e) {
             log.error("Failed to manage exits", e);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -248,7 +298,10 @@ public class ExitManager {
     private java.util.Optional<BigDecimal> executeExitOrder(Trade trade, BigDecimal referencePrice) {
         String side = trade.getTradeType() == Trade.TradeType.LONG ? "SELL" : "BUY";
         try {
-            tradeCloseService.markClosing(trade, "EXIT_SIGNAL");
+            if (!tradeCloseService.markClosing(trade, "EXIT_SIGNAL")) {
+                log.info("Trade {} is already closing, not sending another exit order", trade.getId());
+                return java.util.Optional.empty();
+            }
             ExecutionEngine.ExecutionResult result = executionEngine.execute(new ExecutionEngine.ExecutionRequestPayload(
                     trade.getUserId(),
                     trade.getSymbol(),
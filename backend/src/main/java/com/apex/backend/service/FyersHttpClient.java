@@ -2,11 +2,11 @@ package com.apex.backend.service;
 
 import com.apex.backend.exception.FyersApiException;
 import com.apex.backend.exception.FyersCircuitOpenException;
+import com.apex.backend.exception.FyersQueueTimeoutException;
 import com.apex.backend.exception.FyersRateLimitException;
 import com.apex.backend.exception.FyersServerException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.retry.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,7 +39,7 @@ public class FyersHttpClient {
 
     private final RestTemplate fyersRestTemplate;
     private final CircuitBreaker fyersCircuitBreaker;
-    private final RateLimiter fyersRateLimiter;
+    private final PriorityRateLimiter fyersRateLimiter;
     private final Retry fyersRetry;
     private final BrokerStatusService brokerStatusService;
     private final MetricsService metricsService;
@@ -68,6 +68,7 @@ public class FyersHttpClient {
             Gauge.builder("broker_circuit_state", fyersCircuitBreaker, breaker -> mapState(breaker.getState()))
                     .tag("broker", "FYERS")
                     .register(meterRegistry);
+            metricsService.bindRateLimiter("FYERS", fyersRateLimiter);
         } catch (Exception e) {
             log.error("Failed to initialize FYERS circuit metrics", e);
         }
@@ -105,25 +106,43 @@ public class FyersHttpClient {
         return execute(url, token, HttpMethod.PUT, body, userId);
     }
 
+    /**
+     * POST in an explicit lane, e.g. {@link BrokerLane#EMERGENCY} for exits and stop orders.
+     */
+    public String post(String url, String token, String body, Long userId, BrokerLane lane) {
+        return executeWithRefresh(url, token, HttpMethod.POST, body, userId, lane, true);
+    }
+
     private String execute(String url, String token, HttpMethod method, String body, Long userId) {
-        return executeWithRefresh(url, token, method, body, userId, true);
+        return executeWithRefresh(url, token, method, body, userId, BrokerLane.forRequest(method, url), true);
     }
 
-    private String executeWithRefresh(String url, String token, HttpMethod method, String body, Long userId, boolean allowRefresh) {
+    private String executeWithRefresh(String url, String token, HttpMethod method, String body, Long userId,
+                                      BrokerLane lane, boolean allowRefresh) {
         Timer.Sample sample = Timer.start(meterRegistry);
         boolean success = false;
-        Supplier<String> supplier = () -> doRequest(url, token, method, body);
+        // Every attempt, retries included, spends a token from the caller's lane
+        Supplier<String> supplier = () -> {
+            if (!fyersRateLimiter.acquire(lane)) {
+                throw new FyersQueueTimeoutException("FYERS " + lane + " lane rate budget wait timed out");
+            }
+            return doRequest(url, token, method, body);
+        };
         try {
-            if (brokerStatusService.isRateLimited("FYERS")) {
+            // Exits still go out during a 429 backoff; the limiter has already cut the rate for them
+            if (lane != BrokerLane.EMERGENCY && brokerStatusService.isRateLimited("FYERS")) {
                 throw new FyersRateLimitException("FYERS rate limit backoff active");
             }
             Supplier<String> decorated = Retry.decorateSupplier(fyersRetry, supplier);
             decorated = CircuitBreaker.decorateSupplier(fyersCircuitBreaker, decorated);
-            decorated = RateLimiter.decorateSupplier(fyersRateLimiter, decorated);
             String response = decorated.get();
+            fyersRateLimiter.onSuccess();
             brokerStatusService.markNormal("FYERS");
             success = true;
             return response;
+        } catch (FyersQueueTimeoutException e) {
+            log.warn("FYERS request not sent method={} url={} lane={}: {}", method, url, lane, e.getMessage());
+            throw e;
         } catch (CallNotPermittedException e) {
             brokerStatusService.markDegraded("FYERS", "CIRCUIT_OPEN");
             metricsService.incrementBrokerFailures();
@@ -140,7 +159,7 @@ public class FyersHttpClient {
                 Optional<String> refreshed = fyersTokenService.refreshAccessToken(userId);
                 if (refreshed.isPresent()) {
                     log.info("FYERS token refreshed for user {}, retrying {}", userId, method);
-                    return executeWithRefresh(url, refreshed.get(), method, body, userId, false);
+                    return executeWithRefresh(url, refreshed.get(), method, body, userId, lane, false);
                 }
             }
             brokerStatusService.markDegraded("FYERS", "HTTP_ERROR");
@@ -175,6 +194,7 @@ public class FyersHttpClient {
             return response.getBody();
         } catch (HttpClientErrorException.TooManyRequests e) {
             log.warn("FYERS rate limit 429 for {}: {}", url, e.getMessage());
+            fyersRateLimiter.onThrottled();
             brokerStatusService.markRateLimited("FYERS", "RATE_LIMIT",
                     java.time.LocalDateTime.now().plusSeconds(Math.max(1, rateLimitBackoffSeconds)));
             throw new FyersRateLimitException("FYERS rate limit", e);
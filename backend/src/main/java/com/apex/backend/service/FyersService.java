@@ -1,25 +1,38 @@
 package com.apex.backend.service;
 
+import com.apex.backend.config.MarketDataProperties;
+import com.apex.backend.event.BarClosedEvent;
 import com.apex.backend.exception.FyersApiException;
 import com.apex.backend.model.Candle;
 import com.apex.backend.model.UserProfile;
+import com.apex.backend.trading.pipeline.BarResampler;
+import com.apex.backend.service.marketdata.BarAggregator;
+import com.apex.backend.service.marketdata.CandleStore;
+import com.apex.backend.service.marketdata.FyersQuote;
+import com.apex.backend.service.marketdata.FyersResponseDecoder;
+import com.apex.backend.service.marketdata.LtpCache;
+import com.apex.backend.service.marketdata.SingleFlight;
+import com.apex.backend.service.marketdata.WeightedLruCache;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.apex.backend.util.ExchangeTime;
 import com.apex.backend.util.MoneyUtils;
 import com.google.gson.*;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
 
 @Service
 @Slf4j
@@ -42,19 +55,69 @@ public class FyersService {
     private final FyersHttpClient fyersHttpClient;
     private final FyersTokenService fyersTokenService;
     private final InstrumentService instrumentService;
-
-    // Semaphore Rate Limiter (Max 8 concurrent)
-    private final Semaphore rateLimiter = new Semaphore(8);
-    private final Map<String, CacheEntry> candleCache = new ConcurrentHashMap<>();
-    private final Map<String, CacheEntry> ltpCache = new ConcurrentHashMap<>();
+    private final CandleStore candleStore;
+    private final MarketDataProperties marketDataProperties;
+    private final LtpCache ltpCache;
+    private final BarAggregator barAggregator;
+
+    // Rough heap cost of one Candle with its LocalDateTime, and of the list holding a series
+    private static final long CANDLE_BYTES = 128;
+    private static final long SERIES_OVERHEAD_BYTES = 64;
+    private static final int SESSION_MINUTES = 375;
+    private static final int DEFAULT_LOOKBACK_DAYS = 20;
+    private static final int MAX_INTRADAY_LOOKBACK_DAYS = 100;
+    private static final int MAX_DAILY_LOOKBACK_DAYS = 366;
+    private static final long DAY_SECONDS = 86400L;
+
+    private WeightedLruCache<String, List<Candle>> candleCache;
+    private final Map<String, Long> lastBarEpochs = new ConcurrentHashMap<>();
+    // Deepest count asked of each series; refreshes fetch that depth so a shallow read never evicts a deep one
+    private final Map<String, Integer> seriesDepths = new ConcurrentHashMap<>();
+    private final SingleFlight<String, List<Candle>> historyFlights = new SingleFlight<>();
+
+    @PostConstruct
+    void init() {
+        MarketDataProperties.CandleCache cacheProperties = marketDataProperties.getCandleCache();
+        candleCache = new WeightedLruCache<>(cacheProperties.getMaxBytes(), cacheProperties.getStaleRetentionMs(),
+                series -> SERIES_OVERHEAD_BYTES + series.size() * CANDLE_BYTES);
+        metricsService.bindCache("candles", candleCache);
+        metricsService.bindSingleFlight("history", historyFlights);
+        metricsService.bindLtpCache(ltpCache);
+    }
+
+    /**
+     * A live bar was stored; drop the in-memory copy so the next read sees it instead of waiting out the TTL.
+     */
+    @EventListener(BarClosedEvent.class)
+    void onBarClosed(BarClosedEvent event) {
+        candleCache.invalidate(event.tradingSymbol() + "_" + event.resolution());
+    }
 
     // ... (Keep existing getLTP and getHistoricalData methods)
 
+    /**
+     * Last traded price from the streamed cache, a quote call when it is stale, and the last 5-minute close as a
+     * final fallback.
+     */
     public double getLTP(String symbol) {
+        BigDecimal ltp = getLtpBatch(List.of(symbol)).get(symbol);
+        if (ltp != null && ltp.compareTo(BigDecimal.ZERO) > 0) {
+            return ltp.doubleValue();
+        }
         List<Candle> history = getHistoricalData(symbol, 1, "5", null);
         return (history != null && !history.isEmpty()) ? history.get(history.size() - 1).getClose() : 0.0;
     }
 
+    /**
+     * The cached quote for {@code symbol} if its bid and ask are fresh; never calls the broker.
+     */
+    public Optional<LtpCache.Quote> getLiveBook(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            return Optional.empty();
+        }
+        return instrumentService.resolveTradingSymbol(symbol).flatMap(ltpCache::freshBook);
+    }
+
     public Map<String, BigDecimal> getLtpBatch(List<String> symbols) {
         return getLtpBatch(symbols, null);
     }
@@ -63,10 +126,11 @@ public class FyersService {
         return getLtpBatch(symbols, token, null);
     }
 
+    /**
+     * Prices come from the WebSocket-fed cache; only symbols with no fresh price there cost a quote call.
+     */
     public Map<String, BigDecimal> getLtpBatch(List<String> symbols, String token, Long userId) {
-        boolean tokenProvided = token != null && !token.isBlank();
-        String resolvedToken = resolveTokenForUser(token, userId);
-        if (resolvedToken == null || symbols == null || symbols.isEmpty()) {
+        if (symbols == null || symbols.isEmpty()) {
             return Collections.emptyMap();
         }
         Map<String, BigDecimal> result = new HashMap<>();
@@ -79,37 +143,29 @@ public class FyersService {
                 continue;
             }
             String tradingSymbol = resolvedSymbol.get();
-            symbolMap.put(tradingSymbol, symbol);
-            String cacheKey = tradingSymbol + "_ltp";
-            CacheEntry entry = ltpCache.get(cacheKey);
-            if (entry != null && System.currentTimeMillis() - entry.timestamp < 2000) {
-                result.put(symbol, MoneyUtils.bd(entry.data.get(0).getClose()));
+            Optional<LtpCache.Quote> live = ltpCache.fresh(tradingSymbol);
+            if (live.isPresent()) {
+                result.put(symbol, MoneyUtils.bd(live.get().ltp()));
             } else {
+                symbolMap.put(tradingSymbol, symbol);
                 toFetch.add(tradingSymbol);
             }
         }
-        if (!toFetch.isEmpty()) {
-            Map<String, BigDecimal> fetched;
-            boolean acquired = false;
-            try {
-                rateLimiter.acquire();
-                acquired = true;
-                fetched = fetchQuotes(toFetch, resolvedToken, tokenProvided, userId);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                fetched = Collections.emptyMap();
-            } finally {
-                if (acquired) {
-                    rateLimiter.release();
-                }
-            }
-            fetched.forEach((symbol, ltp) -> {
-                double ltpValue = ltp != null ? ltp.doubleValue() : 0.0;
-                ltpCache.put(symbol + "_ltp", new CacheEntry(List.of(new Candle(ltpValue, ltpValue, ltpValue, ltpValue, 0L, LocalDateTime.now())), System.currentTimeMillis()));
-                String original = symbolMap.getOrDefault(symbol, symbol);
-                result.put(original, ltp);
-            });
+        if (toFetch.isEmpty()) {
+            return result;
         }
+        boolean tokenProvided = token != null && !token.isBlank();
+        String resolvedToken = resolveTokenForUser(token, userId);
+        if (resolvedToken == null) {
+            return result;
+        }
+        Map<String, BigDecimal> fetched = fetchQuotes(toFetch, resolvedToken, tokenProvided, userId);
+        fetched.forEach((symbol, ltp) -> {
+            if (ltp != null) {
+                ltpCache.updateLtp(symbol, ltp.doubleValue());
+            }
+            result.put(symbolMap.getOrDefault(symbol, symbol), ltp);
+        });
         return result;
     }
 
@@ -137,21 +193,25 @@ public class FyersService {
         }
         String tradingSymbol = resolvedSymbol.get();
         String cacheKey = tradingSymbol + "_" + resolution;
-        if (candleCache.containsKey(cacheKey)) {
-            CacheEntry entry = candleCache.get(cacheKey);
-            if (System.currentTimeMillis() - entry.timestamp < 60000) return entry.data;
+        long ttlMs = marketDataProperties.getCandleCache().ttlFor(resolution);
+        List<Candle> cached = candleCache.getIfFresh(cacheKey);
+        // A shallow entry cannot answer a deeper request (e.g. 200 bars cached, 900 asked for resampling)
+        if (cached != null && cached.size() >= count) {
+            return tail(cached, count);
+        }
+        if (candleStore.isFresh(tradingSymbol, resolution, ttlMs)) {
+            List<Candle> stored = withFormingBar(tradingSymbol, resolution, candleStore.read(tradingSymbol, resolution, count));
+            if (stored.size() >= count) {
+                candleCache.put(cacheKey, stored, ttlMs);
+                return tail(stored, count);
+            }
         }
 
+        int depth = seriesDepths.merge(cacheKey, count, Math::max);
         try {
-            rateLimiter.acquire();
-            List<Candle> data = fetchHistoryInternal(tradingSymbol, count, resolution, resolvedToken, userId);
-            if (!data.isEmpty()) {
-                candleCache.put(cacheKey, new CacheEntry(data, System.currentTimeMillis()));
-            }
-            return data;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return Collections.emptyList();
+            // Concurrent misses for the same series and depth share one broker call
+            return tail(historyFlights.execute(cacheKey + ":" + depth,
+                    () -> fetchAndCache(tradingSymbol, depth, resolution, resolvedToken, userId, cacheKey)), count);
         } catch (FyersApiException e) {
             if (tokenProvided && (e.getStatusCode() == 401 || e.getStatusCode() == 403)) {
                 throw e;
@@ -163,43 +223,142 @@ public class FyersService {
         } catch (Exception e) {
             log.warn("Failed to fetch historical data for {}: {}", symbol, e.getMessage());
             return Collections.emptyList();
-        } finally {
-            rateLimiter.release();
         }
     }
 
-    private List<Candle> fetchHistoryInternal(String symbol, int count, String resolution, String token, Long userId) {
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        String toDate = LocalDateTime.now().format(dtf);
-        String fromDate = LocalDateTime.now().minusDays(20).format(dtf);
+    private List<Candle> fetchAndCache(String tradingSymbol, int count, String resolution, String token, Long userId, String cacheKey) {
+        List<Candle> data = loadHistory(tradingSymbol, count, resolution, token, userId, cacheKey);
+        if (!data.isEmpty()) {
+            candleCache.put(cacheKey, data, marketDataProperties.getCandleCache().ttlFor(resolution));
+        }
+        return data;
+    }
+
+    private List<Candle> loadHistory(String tradingSymbol, int count, String resolution, String token, Long userId, String cacheKey) {
+        long nowEpoch = Instant.now().getEpochSecond();
+        long lookbackSeconds = lookbackDays(count, resolution) * 86400L;
+        List<Candle> base = cachedSeries(tradingSymbol, resolution, cacheKey, count);
+        Long lastBar = lastBarEpochs.get(cacheKey);
+        if (lastBar == null && !base.isEmpty()) {
+            lastBar = ExchangeTime.toEpochSecond(base.get(base.size() - 1).getTimestamp());
+        }
+
+        List<Candle> series;
+        boolean incremental = marketDataProperties.getHistory().isIncremental()
+                && lastBar != null
+                && base.size() >= count
+                && nowEpoch - lastBar < lookbackSeconds;
+        if (incremental) {
+            // Re-request from the last bar so a bar that was still forming gets its final values
+            List<Candle> fresh = fetchHistoryInternal(tradingSymbol, resolution, lastBar, nowEpoch, token, userId);
+            candleStore.appendClosed(tradingSymbol, resolution, fresh, barSeconds(resolution), nowEpoch);
+            series = mergeBars(base, fresh);
+        } else {
+            series = fetchHistoryInternal(tradingSymbol, resolution, nowEpoch - lookbackSeconds, nowEpoch, token, userId);
+            candleStore.appendClosed(tradingSymbol, resolution, series, barSeconds(resolution), nowEpoch);
+        }
+        if (series.isEmpty()) {
+            return series;
+        }
+        candleStore.markSynced(tradingSymbol, resolution);
+        lastBarEpochs.put(cacheKey, ExchangeTime.toEpochSecond(series.get(series.size() - 1).getTimestamp()));
+        return tail(series, count);
+    }
+
+    /**
+     * The stored (closed) bars, followed by the live forming bar when it is the bar right after the last stored one,
+     * so a store read ends on the forming bar like a broker response does. Daily series, symbols with no live bar and
+     * a forming bar that would leave a hole are served as stored.
+     */
+    private List<Candle> withFormingBar(String tradingSymbol, String resolution, List<Candle> stored) {
+        OptionalInt minutes = BarResampler.intradayMinutes(resolution);
+        if (minutes.isEmpty() || stored.isEmpty()) {
+            return stored;
+        }
+        Candle forming = barAggregator.formingBar(tradingSymbol, minutes.getAsInt());
+        if (forming == null || !isNextBar(stored.get(stored.size() - 1).getTimestamp(), forming.getTimestamp(), minutes.getAsInt())) {
+            return stored;
+        }
+        List<Candle> series = new ArrayList<>(stored.size() + 1);
+        series.addAll(stored);
+        series.add(forming);
+        return series;
+    }
+
+    private static boolean isNextBar(LocalDateTime last, LocalDateTime candidate, int minutes) {
+        if (candidate.equals(last.plusMinutes(minutes))) {
+            return true;
+        }
+        // The first bar of a later session follows the previous session's last bar
+        return candidate.toLocalDate().isAfter(last.toLocalDate())
+                && candidate.toLocalTime().equals(BarResampler.SESSION_OPEN);
+    }
+
+    private static long barSeconds(String resolution) {
+        OptionalInt minutes = BarResampler.intradayMinutes(resolution);
+        return minutes.isPresent() ? minutes.getAsInt() * 60L : DAY_SECONDS;
+    }
+
+    private List<Candle> tail(List<Candle> series, int count) {
+        return series.size() > count ? new ArrayList<>(series.subList(series.size() - count, series.size())) : series;
+    }
 
+    private List<Candle> cachedSeries(String tradingSymbol, String resolution, String cacheKey, int count) {
+        if (candleStore.isEnabled()) {
+            return candleStore.read(tradingSymbol, resolution, count);
+        }
+        List<Candle> cached = candleCache.getStale(cacheKey);
+        return cached != null ? cached : Collections.emptyList();
+    }
+
+    private List<Candle> mergeBars(List<Candle> base, List<Candle> fresh) {
+        if (fresh.isEmpty()) {
+            return base;
+        }
+        LocalDateTime firstFresh = fresh.get(0).getTimestamp();
+        List<Candle> merged = new ArrayList<>(base.size() + fresh.size());
+        for (Candle candle : base) {
+            if (candle.getTimestamp() != null && candle.getTimestamp().isBefore(firstFresh)) {
+                merged.add(candle);
+            }
+        }
+        merged.addAll(fresh);
+        return merged;
+    }
+
+    private int lookbackDays(int count, String resolution) {
+        if ("D".equalsIgnoreCase(resolution) || "1D".equalsIgnoreCase(resolution)) {
+            return Math.min(MAX_DAILY_LOOKBACK_DAYS, count * 7 / 5 + 10);
+        }
+        int minutes;
+        try {
+            minutes = Math.max(1, Integer.parseInt(resolution.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_LOOKBACK_DAYS;
+        }
+        int barsPerSession = Math.max(1, SESSION_MINUTES / minutes);
+        int sessions = (count + barsPerSession - 1) / barsPerSession;
+        return Math.min(MAX_INTRADAY_LOOKBACK_DAYS, Math.max(DEFAULT_LOOKBACK_DAYS, sessions * 7 / 5 + 5));
+    }
+
+    private List<Candle> fetchHistoryInternal(String symbol, String resolution, long fromEpoch, long toEpoch, String token, Long userId) {
         String url = UriComponentsBuilder.fromHttpUrl(dataBaseUrl + "/history")
                 .queryParam("symbol", symbol)
                 .queryParam("resolution", resolution)
-                .queryParam("date_format", 1)
-                .queryParam("range_from", fromDate)
-                .queryParam("range_to", toDate)
+                .queryParam("date_format", 0)
+                .queryParam("range_from", fromEpoch)
+                .queryParam("range_to", toEpoch)
                 .queryParam("cont_flag", 1)
                 .toUriString();
 
         String response = executeGetRequest(url, token, userId);
         if (response == null) throw new RuntimeException("Empty Response");
 
-        JsonObject json = parseResponse(response, "history");
-        List<Candle> candles = new ArrayList<>();
-
-        if (json.has("s") && json.get("s").getAsString().equals("ok")) {
-            JsonArray candleArray = json.getAsJsonArray("candles");
-            for (JsonElement element : candleArray) {
-                JsonArray data = element.getAsJsonArray();
-                candles.add(new Candle(
-                        data.get(1).getAsDouble(), data.get(2).getAsDouble(),
-                        data.get(3).getAsDouble(), data.get(4).getAsDouble(),
-                        data.get(5).getAsLong(), LocalDateTime.now()
-                ));
-            }
+        try {
+            return FyersResponseDecoder.decodeHistory(response).toCandles();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed FYERS history response", e);
         }
-        return candles.size() > count ? candles.subList(candles.size() - count, candles.size()) : candles;
     }
 
     public String placeOrder(String symbol, int qty, String side, String type, double price) {
@@ -211,6 +370,14 @@ public class FyersService {
     }
 
     public String placeOrder(String symbol, int qty, String side, String type, double price, String clientOrderId, Long userId) {
+        return placeOrder(symbol, qty, side, type, price, clientOrderId, userId, BrokerLane.ORDER);
+    }
+
+    /**
+     * Places an order in the given rate-limit lane; exits use {@link BrokerLane#EMERGENCY} so scans cannot delay them.
+     */
+    public String placeOrder(String symbol, int qty, String side, String type, double price, String clientOrderId,
+                             Long userId, BrokerLane lane) {
         String resolvedToken = resolveTokenForUser(null, userId);
         if (resolvedToken == null || resolvedToken.isBlank()) {
             throw new RuntimeException("No Token");
@@ -233,7 +400,7 @@ public class FyersService {
             body.put("validity", "DAY");
             body.put("clientId", clientOrderId);
 
-            String response = fyersHttpClient.post(url, resolvedToken, gson.toJson(body), userId);
+            String response = fyersHttpClient.post(url, resolvedToken, gson.toJson(body), userId, lane);
             JsonObject json = parseResponse(response, "placeOrder");
             String id = json.has("id") ? json.get("id").getAsString() : null;
             if (id != null && !id.isBlank()) {
@@ -345,7 +512,7 @@ public class FyersService {
             body.put("validity", "DAY");
             body.put("clientId", clientOrderId);
 
-            String response = fyersHttpClient.post(url, resolvedToken, gson.toJson(body));
+            String response = fyersHttpClient.post(url, resolvedToken, gson.toJson(body), null, BrokerLane.EMERGENCY);
             JsonObject json = parseResponse(response, "placeStopLossOrder");
             if (json.has("id")) {
                 return json.get("id").getAsString();
@@ -486,16 +653,10 @@ public class FyersService {
             if (response == null) {
                 return Collections.emptyMap();
             }
-            JsonNode root = objectMapper.readTree(response);
-            assertFyersOk(root, "quotes");
             Map<String, BigDecimal> ltpMap = new HashMap<>();
-            if ("ok".equalsIgnoreCase(root.path("s").asText())) {
-                for (JsonNode item : root.path("d")) {
-                    String symbol = item.path("n").asText();
-                    double ltp = item.path("v").path("lp").asDouble(0.0);
-                    if (symbol != null && !symbol.isBlank()) {
-                        ltpMap.put(symbol, MoneyUtils.bd(ltp));
-                    }
+            for (FyersQuote quote : FyersResponseDecoder.decodeQuotes(response)) {
+                if (!quote.symbol().isBlank()) {
+                    ltpMap.put(quote.symbol(), quote.lastTradedPrice());
                 }
             }
             return ltpMap;
@@ -643,11 +804,4 @@ public class FyersService {
         }
         return null;
     }
-
-    @lombok.Data
-    @lombok.AllArgsConstructor
-    private static class CacheEntry {
-        List<Candle> data;
-        long timestamp;
-    }
 }
@@ -1,5 +1,11 @@
 package com.apex.backend.service;
 
+import com.apex.backend.service.marketdata.DepthUpdate;
+import com.apex.backend.service.marketdata.FyersResponseDecoder;
+import com.apex.backend.service.marketdata.FyersTick;
+import com.apex.backend.service.marketdata.LtpCache;
+import com.apex.backend.service.marketdata.MarketTickBus;
+import com.apex.backend.service.marketdata.OrderBookService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +19,11 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -24,9 +33,14 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class FyersWebSocketService {
 
+    private static final String MARKET_DATA_TOPIC = "/topic/fyers/market-data";
+
     private final SimpMessagingTemplate messagingTemplate;
     private final AuditEventService auditEventService;
     private final LogBroadcastService logBroadcastService;
+    private final LtpCache ltpCache;
+    private final MarketTickBus tickBus;
+    private final OrderBookService orderBookService;
 
     @Value("${fyers.ws.enabled:false}")
     private boolean enabled;
@@ -50,12 +64,18 @@ public class FyersWebSocketService {
     @Value("${fyers.ws.reconnect-backoff-ms:5000}")
     private long reconnectBackoffMs;
 
+    @Value("${fyers.ws.stomp.conflate-ms:250}")
+    private long conflateMs;
+
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
-        Thread thread = new Thread(runnable, "fyers-ws-reconnect");
+        Thread thread = new Thread(runnable, "fyers-ws-scheduler");
         thread.setDaemon(true);
         return thread;
     });
 
+    // Latest tick per symbol since the last STOMP flush; newer ticks overwrite older ones
+    private final Map<String, FyersTick> pendingUpdates = new ConcurrentHashMap<>();
+
     private OkHttpClient webSocketClient;
     private WebSocket marketSocket;
     private WebSocket orderSocket;
@@ -73,6 +93,10 @@ public class FyersWebSocketService {
                         "FYERS WebSocket enabled but access token is missing", Map.of("timestamp", Instant.now().toString()));
                 return;
             }
+            tickBus.subscribe("ltp-cache", ltpCache::update);
+            tickBus.subscribe("stomp", tick -> pendingUpdates.put(tick.symbol(), tick));
+            long flushMs = Math.max(50, conflateMs);
+            scheduler.scheduleAtFixedRate(this::flushConflated, flushMs, flushMs, TimeUnit.MILLISECONDS);
             webSocketClient = new OkHttpClient.Builder()
                     .pingInterval(20, TimeUnit.SECONDS)
                     .build();
@@ -89,7 +113,7 @@ public class FyersWebSocketService {
         if (marketDataUrl == null || marketDataUrl.isBlank()) {
             return;
         }
-        marketSocket = openSocket(marketDataUrl, "/topic/fyers/market-data", marketDataSubscribePayload);
+        marketSocket = openSocket(marketDataUrl, MARKET_DATA_TOPIC, marketDataSubscribePayload);
     }
 
     private void connectOrderUpdates() {
@@ -115,6 +139,10 @@ public class FyersWebSocketService {
 
             @Override
             public void onMessage(WebSocket webSocket, String text) {
+                if (MARKET_DATA_TOPIC.equals(topic)) {
+                    publishTicks(text);
+                    return;
+                }
                 messagingTemplate.convertAndSend(topic, Map.of(
                         "payload", text,
                         "timestamp", Instant.now().toString()
@@ -143,12 +171,52 @@ public class FyersWebSocketService {
         });
     }
 
+    /**
+     * Decodes on the socket thread and hands ticks to in-process consumers; STOMP clients get the conflated view.
+     * Book updates are applied here directly, as they are cheap array writes.
+     */
+    private void publishTicks(String frame) {
+        try {
+            List<FyersTick> ticks = new ArrayList<>(4);
+            List<DepthUpdate> depths = new ArrayList<>(4);
+            FyersResponseDecoder.decodeFrame(frame, ticks, depths);
+            for (DepthUpdate depth : depths) {
+                orderBookService.apply(depth);
+            }
+            for (FyersTick tick : ticks) {
+                tickBus.publish(tick);
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring undecodable FYERS market-data frame: {}", e.getMessage());
+        }
+    }
+
+    private void flushConflated() {
+        for (String symbol : pendingUpdates.keySet()) {
+            FyersTick tick = pendingUpdates.remove(symbol);
+            if (tick == null) {
+                continue;
+            }
+            try {
+                messagingTemplate.convertAndSend(MARKET_DATA_TOPIC + "/" + symbol, Map.of(
+                        "symbol", symbol,
+                        "ltp", tick.lastTradedPrice(),
+                        "bid", tick.bidPrice(),
+                        "ask", tick.askPrice(),
+                        "timestamp", (tick.timestamp() != null ? tick.timestamp() : Instant.now()).toString()
+                ));
+            } catch (Exception e) {
+                log.warn("Failed to publish market data for {}: {}", symbol, e.getMessage());
+            }
+        }
+    }
+
     private void scheduleReconnect(String url, String topic, String subscribePayload) {
         if (!enabled || webSocketClient == null) {
             return;
         }
         scheduler.schedule(() -> {
-            if (Objects.equals(topic, "/topic/fyers/market-data")) {
+            if (Objects.equals(topic, MARKET_DATA_TOPIC)) {
                 marketSocket = openSocket(url, topic, subscribePayload);
             } else {
                 orderSocket = openSocket(url, topic, subscribePayload);
@@ -2,12 +2,18 @@ package com.apex.backend.service;
 
 import com.apex.backend.config.StrategyConfig;
 import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
+import com.apex.backend.service.indicator.AdxState;
+import com.apex.backend.service.indicator.EmaState;
+import com.apex.backend.service.indicator.IncrementalIndicatorEngine;
+import com.apex.backend.service.indicator.IndicatorMath;
+import com.apex.backend.service.indicator.MacdState;
+import com.apex.backend.service.indicator.RsiState;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -15,6 +21,9 @@ import java.util.List;
 public class IndicatorEngine {
 
     private final StrategyConfig config;
+    private final IncrementalIndicatorEngine<AdxState> adxStates = new IncrementalIndicatorEngine<>();
+    private final IncrementalIndicatorEngine<RsiState> rsiStates = new IncrementalIndicatorEngine<>();
+    private final IncrementalIndicatorEngine<MacdState> macdStates = new IncrementalIndicatorEngine<>();
 
     public IndicatorEngine(StrategyConfig config) {
         this.config = config;
@@ -29,128 +38,63 @@ public class IndicatorEngine {
     // --- Core Calculations ---
 
     public AdxResult calculateADX(List<Candle> candles) {
+        return calculateADX(CandleSeries.of(candles));
+    }
+
+    public AdxResult calculateADX(CandleSeries candles) {
         int period = config.getStrategy().getAdxPeriod();
         if (candles.size() < (period + 1)) {
             return AdxResult.builder().adx(0).build();
         }
+        return toAdxResult(IncrementalIndicatorEngine.replay(new AdxState(period), candles));
+    }
 
-        List<Double> tr = new ArrayList<>();
-        List<Double> dmPlus = new ArrayList<>();
-        List<Double> dmMinus = new ArrayList<>();
-
-        for (int i = 1; i < candles.size(); i++) {
-            Candle curr = candles.get(i);
-            Candle prev = candles.get(i - 1);
-            double highDiff = curr.getHigh() - prev.getHigh();
-            double lowDiff = prev.getLow() - curr.getLow();
-
-            tr.add(Math.max(curr.getHigh() - curr.getLow(),
-                    Math.max(Math.abs(curr.getHigh() - prev.getClose()), Math.abs(curr.getLow() - prev.getClose()))));
-            dmPlus.add((highDiff > lowDiff && highDiff > 0) ? highDiff : 0.0);
-            dmMinus.add((lowDiff > highDiff && lowDiff > 0) ? lowDiff : 0.0);
-        }
-
-        if (tr.size() < period) {
+    public AdxResult calculateADX(String symbol, String timeframe, CandleSeries candles) {
+        int period = config.getStrategy().getAdxPeriod();
+        if (candles.size() < (period + 1)) {
             return AdxResult.builder().adx(0).build();
         }
-
-        double smoothTR = tr.subList(0, period).stream().mapToDouble(d -> d).sum();
-        double smoothPlus = dmPlus.subList(0, period).stream().mapToDouble(d -> d).sum();
-        double smoothMinus = dmMinus.subList(0, period).stream().mapToDouble(d -> d).sum();
-
-        List<Double> dxValues = new ArrayList<>();
-        double plusDI = 0.0;
-        double minusDI = 0.0;
-
-        for (int i = period - 1; i < tr.size(); i++) {
-            if (i > period - 1) {
-                smoothTR = smoothTR - (smoothTR / period) + tr.get(i);
-                smoothPlus = smoothPlus - (smoothPlus / period) + dmPlus.get(i);
-                smoothMinus = smoothMinus - (smoothMinus / period) + dmMinus.get(i);
-            }
-
-            if (smoothTR == 0) {
-                continue;
-            }
-            plusDI = 100.0 * (smoothPlus / smoothTR);
-            minusDI = 100.0 * (smoothMinus / smoothTR);
-            double diSum = plusDI + minusDI;
-            double dx = diSum == 0 ? 0.0 : (Math.abs(plusDI - minusDI) / diSum) * 100.0;
-            dxValues.add(dx);
-        }
-
-        if (dxValues.size() < period) {
-            return AdxResult.builder().adx(0).plusDI(plusDI).minusDI(minusDI).build();
-        }
-
-        double adx = dxValues.subList(0, period).stream().mapToDouble(d -> d).average().orElse(0.0);
-        for (int i = period; i < dxValues.size(); i++) {
-            adx = ((adx * (period - 1)) + dxValues.get(i)) / period;
-        }
-
-        return AdxResult.builder().adx(adx).plusDI(plusDI).minusDI(minusDI).build();
+        return adxStates.evaluate(IncrementalIndicatorEngine.key(symbol, timeframe, period), candles,
+                () -> new AdxState(period), this::toAdxResult);
     }
 
     public double calculateRSI(List<Candle> candles) {
+        return calculateRSI(CandleSeries.of(candles));
+    }
+
+    public double calculateRSI(CandleSeries candles) {
         int period = config.getStrategy().getRsiPeriod();
         if (candles.size() < period + 1) return 50.0;
+        return IncrementalIndicatorEngine.replay(new RsiState(period), candles).rsi();
+    }
 
-        double avgGain = 0.0;
-        double avgLoss = 0.0;
-        for (int i = 1; i <= period; i++) {
-            double change = candles.get(i).getClose() - candles.get(i - 1).getClose();
-            if (change > 0) {
-                avgGain += change;
-            } else {
-                avgLoss += Math.abs(change);
-            }
-        }
-        avgGain /= period;
-        avgLoss /= period;
-
-        for (int i = period + 1; i < candles.size(); i++) {
-            double change = candles.get(i).getClose() - candles.get(i - 1).getClose();
-            double gain = Math.max(change, 0.0);
-            double loss = Math.max(-change, 0.0);
-            avgGain = ((avgGain * (period - 1)) + gain) / period;
-            avgLoss = ((avgLoss * (period - 1)) + loss) / period;
-        }
-
-        if (avgLoss == 0) return 100.0;
-        double rs = avgGain / avgLoss;
-        return 100.0 - (100.0 / (1.0 + rs));
+    public double calculateRSI(String symbol, String timeframe, CandleSeries candles) {
+        int period = config.getStrategy().getRsiPeriod();
+        if (candles.size() < period + 1) return 50.0;
+        return rsiStates.evaluate(IncrementalIndicatorEngine.key(symbol, timeframe, period), candles,
+                () -> new RsiState(period), RsiState::rsi);
     }
 
     public MacdResult calculateMACD(List<Candle> candles) {
-        int fast = config.getStrategy().getMacdFastPeriod();
-        int slow = config.getStrategy().getMacdSlowPeriod();
-        int signal = config.getStrategy().getMacdSignalPeriod();
-
-        List<Double> closes = candles.stream().map(Candle::getClose).toList();
-        List<Double> fastSeries = calculateEmaSeries(closes, fast);
-        List<Double> slowSeries = calculateEmaSeries(closes, slow);
-
-        List<Double> macdSeries = new ArrayList<>();
-        for (int i = 0; i < closes.size(); i++) {
-            Double fastVal = fastSeries.get(i);
-            Double slowVal = slowSeries.get(i);
-            if (fastVal != null && slowVal != null) {
-                macdSeries.add(fastVal - slowVal);
-            }
-        }
-
-        if (macdSeries.size() < signal) {
-            return MacdResult.builder().macdLine(0).signalLine(0).histogram(0).build();
-        }
+        return calculateMACD(CandleSeries.of(candles));
+    }
 
-        List<Double> signalSeries = calculateEmaSeries(macdSeries, signal);
-        double macdLine = macdSeries.get(macdSeries.size() - 1);
-        double signalLine = signalSeries.get(signalSeries.size() - 1);
+    public MacdResult calculateMACD(CandleSeries candles) {
+        return toMacdResult(IncrementalIndicatorEngine.replay(newMacdState(), candles));
+    }
 
-        return MacdResult.builder().macdLine(macdLine).signalLine(signalLine).histogram(macdLine - signalLine).build();
+    public MacdResult calculateMACD(String symbol, String timeframe, CandleSeries candles) {
+        StrategyConfig.Strategy strategy = config.getStrategy();
+        String key = IncrementalIndicatorEngine.key(symbol, timeframe,
+                strategy.getMacdFastPeriod(), strategy.getMacdSlowPeriod(), strategy.getMacdSignalPeriod());
+        return macdStates.evaluate(key, candles, this::newMacdState, this::toMacdResult);
     }
 
     public boolean hasBollingerSqueeze(List<Candle> candles) {
+        return hasBollingerSqueeze(CandleSeries.of(candles));
+    }
+
+    public boolean hasBollingerSqueeze(CandleSeries candles) {
         int period = config.getStrategy().getBollingerPeriod();
         if (candles.size() < period + 1) {
             return false;
@@ -162,12 +106,14 @@ public class IndicatorEngine {
     }
 
     public double calculateATR(List<Candle> candles, int period) {
+        return calculateATR(CandleSeries.of(candles), period);
+    }
+
+    public double calculateATR(CandleSeries candles, int period) {
         if (candles.size() < period + 1) return 0.0;
         double sumTR = 0;
         for (int i = 1; i <= period; i++) {
-            Candle curr = candles.get(candles.size() - i);
-            Candle prev = candles.get(candles.size() - i - 1);
-            sumTR += Math.max(curr.getHigh() - curr.getLow(), Math.max(Math.abs(curr.getHigh() - prev.getClose()), Math.abs(curr.getLow() - prev.getClose())));
+            sumTR += IndicatorMath.trueRange(candles, candles.size() - i);
         }
         return sumTR / period;
     }
@@ -177,22 +123,30 @@ public class IndicatorEngine {
     }
 
     public double calculateEMA(List<Candle> candles, int period) {
+        return calculateEMA(CandleSeries.of(candles), period);
+    }
+
+    public double calculateEMA(CandleSeries candles, int period) {
         if (candles.size() < period) return 0.0;
-        List<Double> closes = candles.stream().map(Candle::getClose).toList();
-        List<Double> emaSeries = calculateEmaSeries(closes, period);
-        return emaSeries.get(emaSeries.size() - 1);
+        return IncrementalIndicatorEngine.replay(new EmaState(period), candles).value();
     }
 
     public BollingerResult calculateBollingerBands(List<Candle> candles, int startIndex, int period) {
-        List<Candle> window = candles.subList(startIndex, startIndex + period);
-        double mean = window.stream().mapToDouble(Candle::getClose).average().orElse(0.0);
-        double variance = window.stream()
-                .mapToDouble(candle -> {
-                    double diff = candle.getClose() - mean;
-                    return diff * diff;
-                })
-                .average()
-                .orElse(0.0);
+        return calculateBollingerBands(CandleSeries.of(candles), startIndex, period);
+    }
+
+    public BollingerResult calculateBollingerBands(CandleSeries candles, int startIndex, int period) {
+        double sum = 0.0;
+        for (int i = startIndex; i < startIndex + period; i++) {
+            sum += candles.close(i);
+        }
+        double mean = period == 0 ? 0.0 : sum / period;
+        double squares = 0.0;
+        for (int i = startIndex; i < startIndex + period; i++) {
+            double diff = candles.close(i) - mean;
+            squares += diff * diff;
+        }
+        double variance = period == 0 ? 0.0 : squares / period;
         double standardDeviation = Math.sqrt(variance);
         double stdDevMultiplier = config.getStrategy().getBollingerStdDev();
         double upper = mean + (standardDeviation * stdDevMultiplier);
@@ -207,14 +161,21 @@ public class IndicatorEngine {
     // Correlation Method
     public double calculateCorrelation(List<Candle> seriesA, List<Candle> seriesB) {
         if (seriesA.size() != seriesB.size() || seriesA.size() < 2) return 0.0;
-        List<Double> returnsA = calculateLogReturns(seriesA.stream().map(Candle::getClose).toList());
-        List<Double> returnsB = calculateLogReturns(seriesB.stream().map(Candle::getClose).toList());
-        if (returnsA.size() != returnsB.size() || returnsA.isEmpty()) return 0.0;
-        int n = returnsA.size();
+        return calculateCorrelation(CandleSeries.of(seriesA), CandleSeries.of(seriesB));
+    }
+
+    public double calculateCorrelation(CandleSeries seriesA, CandleSeries seriesB) {
+        if (seriesA.size() != seriesB.size() || seriesA.size() < 2) return 0.0;
+        double[] returnsA = new double[seriesA.size() - 1];
+        double[] returnsB = new double[seriesB.size() - 1];
+        int countA = calculateLogReturns(seriesA, returnsA);
+        int countB = calculateLogReturns(seriesB, returnsB);
+        if (countA != countB || countA == 0) return 0.0;
+        int n = countA;
         double sumX = 0.0, sumY = 0.0, sumXY = 0.0, sumX2 = 0.0, sumY2 = 0.0;
         for (int i = 0; i < n; i++) {
-            double x = returnsA.get(i);
-            double y = returnsB.get(i);
+            double x = returnsA[i];
+            double y = returnsB[i];
             sumX += x; sumY += y; sumXY += x * y; sumX2 += x * x; sumY2 += y * y;
         }
         double numerator = (n * sumXY) - (sumX * sumY);
@@ -222,64 +183,42 @@ public class IndicatorEngine {
         return denominator == 0 ? 0 : numerator / denominator;
     }
 
-    private List<Double> calculateEmaSeries(List<Double> values, int period) {
-        List<Double> emaSeries = new ArrayList<>();
-        for (int i = 0; i < values.size(); i++) {
-            emaSeries.add(null);
-        }
-        if (values.size() < period) {
-            return emaSeries;
-        }
-        double sma = values.subList(0, period).stream().mapToDouble(d -> d).average().orElse(0.0);
-        emaSeries.set(period - 1, sma);
-        double k = 2.0 / (period + 1);
-        double ema = sma;
-        for (int i = period; i < values.size(); i++) {
-            ema = (values.get(i) * k) + (ema * (1 - k));
-            emaSeries.set(i, ema);
+    private AdxResult toAdxResult(AdxState state) {
+        return AdxResult.builder().adx(state.adx()).plusDI(state.plusDI()).minusDI(state.minusDI()).build();
+    }
+
+    private MacdState newMacdState() {
+        StrategyConfig.Strategy strategy = config.getStrategy();
+        return new MacdState(strategy.getMacdFastPeriod(), strategy.getMacdSlowPeriod(), strategy.getMacdSignalPeriod());
+    }
+
+    private MacdResult toMacdResult(MacdState state) {
+        if (!state.ready()) {
+            return MacdResult.builder().macdLine(0).signalLine(0).histogram(0).build();
         }
-        return emaSeries;
+        double macdLine = state.macdLine();
+        double signalLine = state.signalLine();
+        return MacdResult.builder().macdLine(macdLine).signalLine(signalLine).histogram(macdLine - signalLine).build();
     }
 
-    private KeltnerResult calculateKeltnerChannels(List<Candle> candles, int period, double atrMultiplier) {
+    private KeltnerResult calculateKeltnerChannels(CandleSeries candles, int period, double atrMultiplier) {
         double middle = calculateEMA(candles, period);
-        double atr = calculateAtrWilder(candles, period);
+        double atr = IndicatorMath.wilderAtr(candles, period);
         double upper = middle + (atr * atrMultiplier);
         double lower = middle - (atr * atrMultiplier);
         return KeltnerResult.builder().upper(upper).lower(lower).build();
     }
 
-    private double calculateAtrWilder(List<Candle> candles, int period) {
-        if (candles.size() < period + 1) {
-            return 0.0;
-        }
-        List<Double> tr = new ArrayList<>();
-        for (int i = 1; i < candles.size(); i++) {
-            Candle curr = candles.get(i);
-            Candle prev = candles.get(i - 1);
-            tr.add(Math.max(curr.getHigh() - curr.getLow(),
-                    Math.max(Math.abs(curr.getHigh() - prev.getClose()), Math.abs(curr.getLow() - prev.getClose()))));
-        }
-        if (tr.size() < period) {
-            return 0.0;
-        }
-        double atr = tr.subList(0, period).stream().mapToDouble(d -> d).average().orElse(0.0);
-        for (int i = period; i < tr.size(); i++) {
-            atr = ((atr * (period - 1)) + tr.get(i)) / period;
-        }
-        return atr;
-    }
-
-    private List<Double> calculateLogReturns(List<Double> prices) {
-        List<Double> returns = new ArrayList<>();
+    private int calculateLogReturns(CandleSeries prices, double[] returns) {
+        int count = 0;
         for (int i = 1; i < prices.size(); i++) {
-            double prev = prices.get(i - 1);
-            double curr = prices.get(i);
+            double prev = prices.close(i - 1);
+            double curr = prices.close(i);
             if (prev <= 0 || curr <= 0) {
                 continue;
             }
-            returns.add(Math.log(curr / prev));
+            returns[count++] = Math.log(curr / prev);
         }
-        return returns;
+        return count;
     }
 }
@@ -2,7 +2,9 @@ package com.apex.backend.service;
 
 import com.apex.backend.dto.InstrumentDTO;
 import com.apex.backend.model.InstrumentDefinition;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,17 +14,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.math.BigDecimal;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,12 +35,15 @@ public class InstrumentCacheService {
 
     private static final String DEFAULT_RESOURCE = "instruments.csv";
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonFactory JSON = new JsonFactory();
+    // Column order of the bundled file, used when a source has no recognisable header
+    private static final List<String> COLUMNS = List.of("symbol", "name", "exchange", "segment", "ticksize", "lotsize", "isin");
 
     @Value("${apex.instruments.source:}")
     private String source;
 
-    private final Map<String, InstrumentDefinition> cache = new ConcurrentHashMap<>();
+    // Master and search index are replaced together, so readers always see one consistent load
+    private volatile Snapshot snapshot = new Snapshot(InstrumentMaster.EMPTY, InstrumentSearchIndex.EMPTY);
 
     @PostConstruct
     public void init() {
@@ -48,46 +54,45 @@ public class InstrumentCacheService {
         }
     }
 
+    /**
+     * Streams the source into a new master and builds the search index on the calling thread; searches keep using
+     * the previous snapshot until the new one is published.
+     */
     public void refresh() {
-        List<InstrumentDefinition> instruments = load();
-        cache.clear();
-        for (InstrumentDefinition instrument : instruments) {
-            if (instrument.getSymbol() != null) {
-                cache.put(instrument.getSymbol().toUpperCase(Locale.ROOT), instrument);
-            }
-        }
-        log.info("Loaded {} instruments", cache.size());
+        long started = System.nanoTime();
+        InstrumentMaster master = load();
+        InstrumentSearchIndex index = InstrumentSearchIndex.build(master);
+        snapshot = new Snapshot(master, index);
+        log.info("Loaded {} instruments in {} ms (~{} KB)", master.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), master.estimatedBytes() / 1024);
     }
 
     public Optional<InstrumentDefinition> findBySymbol(String symbol) {
         if (!StringUtils.hasText(symbol)) {
             return Optional.empty();
         }
-        return Optional.ofNullable(cache.get(symbol.toUpperCase(Locale.ROOT)));
+        InstrumentMaster master = snapshot.master();
+        int row = master.indexOf(symbol);
+        return row < 0 ? Optional.empty() : Optional.of(master.definition(row));
     }
 
     public List<InstrumentDTO> search(String query, int limit) {
         if (!StringUtils.hasText(query)) {
             return Collections.emptyList();
         }
-        String q = query.toLowerCase(Locale.ROOT);
-        return cache.values().stream()
-                .filter(item -> item.getSymbol().toLowerCase(Locale.ROOT).contains(q)
-                        || (item.getName() != null && item.getName().toLowerCase(Locale.ROOT).contains(q)))
-                .limit(limit)
-                .map(this::toDto)
+        InstrumentMaster master = snapshot.master();
+        return snapshot.index().search(query, limit).stream()
+                .map(row -> toDto(master.definition(row)))
                 .collect(Collectors.toList());
     }
 
+    public List<InstrumentDefinition> allDefinitions() {
+        InstrumentMaster master = snapshot.master();
+        return master.definitions(master.size());
+    }
+
     public List<InstrumentDefinition> listDefinitions(int limit) {
-        return cache.values().stream()
-                .sorted((left, right) -> {
-                    String l = left.getSymbol() == null ? "" : left.getSymbol();
-                    String r = right.getSymbol() == null ? "" : right.getSymbol();
-                    return l.compareToIgnoreCase(r);
-                })
-                .limit(limit)
-                .toList();
+        return snapshot.master().definitions(limit);
     }
 
     public InstrumentDTO toDto(InstrumentDefinition instrument) {
@@ -102,107 +107,137 @@ public class InstrumentCacheService {
                 .build();
     }
 
-    private List<InstrumentDefinition> load() {
+    private InstrumentMaster load() {
         if (StringUtils.hasText(source)) {
-            try {
+            try (InputStream input = new URL(source).openStream()) {
                 if (source.toLowerCase(Locale.ROOT).endsWith(".json")) {
-                    return loadJson(new URL(source));
+                    return readJson(input);
                 }
-                return loadCsv(new URL(source));
+                return readCsv(input);
             } catch (Exception e) {
                 log.warn("Failed to load instruments from {}: {}", source, e.getMessage());
             }
         }
         ClassPathResource resource = new ClassPathResource(DEFAULT_RESOURCE);
         if (!resource.exists()) {
-            return List.of();
+            return InstrumentMaster.EMPTY;
         }
-        try {
-            return loadCsv(resource);
+        try (InputStream input = resource.getInputStream()) {
+            return readCsv(input);
         } catch (Exception e) {
             log.warn("Failed to load instruments from classpath: {}", e.getMessage());
-            return List.of();
-        }
-    }
-
-    private List<InstrumentDefinition> loadCsv(ClassPathResource resource) throws Exception {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-            return parseCsv(reader);
-        }
-    }
-
-    private List<InstrumentDefinition> loadCsv(URL url) throws Exception {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
-            return parseCsv(reader);
+            return InstrumentMaster.EMPTY;
         }
     }
 
-    private List<InstrumentDefinition> parseCsv(BufferedReader reader) throws Exception {
-        List<InstrumentDefinition> instruments = new ArrayList<>();
+    static InstrumentMaster readCsv(InputStream input) throws IOException {
+        InstrumentMaster.Builder builder = new InstrumentMaster.Builder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
         String header = reader.readLine();
         if (header == null) {
-            return instruments;
+            return builder.build();
         }
+        int[] positions = columnPositions(splitCsv(header));
         String line;
         while ((line = reader.readLine()) != null) {
             if (line.isBlank()) {
                 continue;
             }
-            String[] parts = line.split(",");
-            instruments.add(InstrumentDefinition.builder()
-                    .symbol(read(parts, 0))
-                    .name(read(parts, 1))
-                    .exchange(read(parts, 2))
-                    .segment(read(parts, 3))
-                    .tickSize(parseDecimal(read(parts, 4)))
-                    .lotSize(parseInt(read(parts, 5)))
-                    .isin(read(parts, 6))
-                    .build());
+            List<String> parts = splitCsv(line);
+            builder.add(column(parts, positions[0]), column(parts, positions[1]), column(parts, positions[2]),
+                    column(parts, positions[3]), column(parts, positions[4]), column(parts, positions[5]),
+                    column(parts, positions[6]));
         }
-        return instruments;
+        return builder.build();
     }
 
-    private List<InstrumentDefinition> loadJson(URL url) throws Exception {
-        List<Map<String, Object>> data = objectMapper.readValue(url, List.class);
-        List<InstrumentDefinition> instruments = new ArrayList<>();
-        for (Map<String, Object> item : data) {
-            instruments.add(InstrumentDefinition.builder()
-                    .symbol(value(item, "symbol"))
-                    .name(value(item, "name"))
-                    .exchange(value(item, "exchange"))
-                    .segment(value(item, "segment"))
-                    .tickSize(parseDecimal(value(item, "tickSize")))
-                    .lotSize(parseInt(value(item, "lotSize")))
-                    .isin(value(item, "isin"))
-                    .build());
+    /**
+     * Reads an array of flat objects token by token; unknown fields and nested values are skipped.
+     */
+    static InstrumentMaster readJson(InputStream input) throws IOException {
+        InstrumentMaster.Builder builder = new InstrumentMaster.Builder();
+        try (JsonParser parser = JSON.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Instrument JSON must be an array");
+            }
+            String[] values = new String[COLUMNS.size()];
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Arrays.fill(values, null);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int column = COLUMNS.indexOf(parser.getCurrentName().toLowerCase(Locale.ROOT));
+                    JsonToken token = parser.nextToken();
+                    if (token.isStructStart()) {
+                        parser.skipChildren();
+                    } else if (column >= 0 && token != JsonToken.VALUE_NULL) {
+                        values[column] = parser.getText();
+                    }
+                }
+                builder.add(values[0], values[1], values[2], values[3], values[4], values[5], values[6]);
+            }
         }
-        return instruments;
+        return builder.build();
     }
 
-    private String read(String[] parts, int index) {
-        if (index >= parts.length) {
-            return null;
+    private static int[] columnPositions(List<String> header) {
+        int[] positions = new int[COLUMNS.size()];
+        boolean named = false;
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).trim().equalsIgnoreCase(COLUMNS.get(i))) {
+                    positions[i] = j;
+                    named = true;
+                    break;
+                }
+            }
+        }
+        if (!named) {
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = i;
+            }
         }
-        String value = parts[index].trim();
-        return value.isBlank() ? null : value;
+        return positions;
     }
 
-    private BigDecimal parseDecimal(String value) {
-        if (!StringUtils.hasText(value)) {
-            return null;
-        }
-        return new BigDecimal(value.trim());
+    private static String column(List<String> parts, int position) {
+        return position >= 0 && position < parts.size() ? parts.get(position) : null;
     }
 
-    private Integer parseInt(String value) {
-        if (!StringUtils.hasText(value)) {
-            return null;
+    /**
+     * Splits one CSV line, honouring double-quoted fields so names containing commas stay intact.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> parts = new ArrayList<>(8);
+        if (line.indexOf('"') < 0) {
+            int start = 0;
+            for (int comma = line.indexOf(','); comma >= 0; comma = line.indexOf(',', start)) {
+                parts.add(line.substring(start, comma));
+                start = comma + 1;
+            }
+            parts.add(line.substring(start));
+            return parts;
+        }
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                parts.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
         }
-        return Integer.parseInt(value.trim());
+        parts.add(field.toString());
+        return parts;
     }
 
-    private String value(Map<String, Object> item, String key) {
-        Object value = item.get(key);
-        return value == null ? null : value.toString();
-    }
+    private record Snapshot(InstrumentMaster master, InstrumentSearchIndex index) {}
 }
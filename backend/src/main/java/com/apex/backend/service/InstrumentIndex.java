@@ -0,0 +1,106 @@
+package com.apex.backend.service;
+
+import com.apex.backend.model.Instrument;
+import com.apex.backend.model.InstrumentDefinition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable symbol lookup built from the instrument master. A new index is built on refresh and swapped in whole,
+ * so readers never see a half-loaded table.
+ */
+public final class InstrumentIndex {
+
+    static final InstrumentIndex EMPTY = new InstrumentIndex(Map.of(), Map.of(), Map.of());
+
+    private final Map<String, Instrument> bySymbol;
+    private final Map<String, Instrument> byTradingSymbol;
+    // Bare names derived from definition file entries that have no database row (e.g. INFY for NSE:INFY-EQ)
+    private final Map<String, String> definitionAliases;
+
+    private InstrumentIndex(Map<String, Instrument> bySymbol, Map<String, Instrument> byTradingSymbol,
+                            Map<String, String> definitionAliases) {
+        this.bySymbol = bySymbol;
+        this.byTradingSymbol = byTradingSymbol;
+        this.definitionAliases = definitionAliases;
+    }
+
+    /**
+     * Database rows win over definitions; the first row seen for a key is kept, as the unique constraints guarantee
+     * there is only one.
+     */
+    public static InstrumentIndex build(Collection<Instrument> instruments, Collection<InstrumentDefinition> definitions) {
+        Map<String, Instrument> bySymbol = new HashMap<>(instruments.size() * 2);
+        Map<String, Instrument> byTradingSymbol = new HashMap<>(instruments.size() * 2);
+        for (Instrument instrument : instruments) {
+            if (instrument.getSymbol() != null) {
+                bySymbol.putIfAbsent(key(instrument.getSymbol()), instrument);
+            }
+            if (instrument.getTradingSymbol() != null) {
+                byTradingSymbol.putIfAbsent(key(instrument.getTradingSymbol()), instrument);
+            }
+        }
+        Map<String, String> aliases = new HashMap<>();
+        for (InstrumentDefinition definition : definitions) {
+            String tradingSymbol = definition.getSymbol();
+            String bare = bareName(tradingSymbol);
+            if (bare == null) {
+                continue;
+            }
+            String bareKey = key(bare);
+            if (!bySymbol.containsKey(bareKey) && !byTradingSymbol.containsKey(bareKey)) {
+                aliases.putIfAbsent(bareKey, tradingSymbol.trim());
+            }
+        }
+        return new InstrumentIndex(Map.copyOf(bySymbol), Map.copyOf(byTradingSymbol), Map.copyOf(aliases));
+    }
+
+    public Optional<Instrument> findBySymbol(String symbol) {
+        return Optional.ofNullable(bySymbol.get(key(symbol)));
+    }
+
+    public Optional<Instrument> findByTradingSymbol(String tradingSymbol) {
+        return Optional.ofNullable(byTradingSymbol.get(key(tradingSymbol)));
+    }
+
+    /**
+     * Same order as the database lookup it replaces: symbol, then trading symbol, then definition file aliases.
+     */
+    public Optional<String> resolveTradingSymbol(String symbol) {
+        String key = key(symbol);
+        Instrument instrument = bySymbol.get(key);
+        if (instrument == null) {
+            instrument = byTradingSymbol.get(key);
+        }
+        if (instrument != null) {
+            return Optional.ofNullable(instrument.getTradingSymbol());
+        }
+        return Optional.ofNullable(definitionAliases.get(key));
+    }
+
+    public int size() {
+        return bySymbol.size() + definitionAliases.size();
+    }
+
+    private static String key(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String bareName(String tradingSymbol) {
+        if (tradingSymbol == null) {
+            return null;
+        }
+        String trimmed = tradingSymbol.trim();
+        int colon = trimmed.indexOf(':');
+        if (colon < 0) {
+            return null;
+        }
+        int dash = trimmed.lastIndexOf('-');
+        String bare = dash > colon ? trimmed.substring(colon + 1, dash) : trimmed.substring(colon + 1);
+        return bare.isBlank() ? null : bare;
+    }
+}
@@ -0,0 +1,238 @@
+package com.apex.backend.service;
+
+import com.apex.backend.model.InstrumentDefinition;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Column-oriented, read-only instrument master.
+ * <p>
+ * Rows are sorted by upper-cased symbol and looked up by binary search, so no per-row map entries or definition
+ * objects are held. Exchange, segment and tick size repeat across almost every row and are stored as short codes
+ * into small dictionaries; lot size is a primitive column. {@link InstrumentDefinition}s are created only for the
+ * rows a caller actually asks for.
+ */
+final class InstrumentMaster {
+
+    static final InstrumentMaster EMPTY = new Builder().build();
+
+    private static final int NO_LOT_SIZE = Integer.MIN_VALUE;
+    private static final short NONE = -1;
+
+    private final String[] symbols;
+    // Upper-cased symbols; shares the symbol instance when it is already upper case
+    private final String[] keys;
+    private final String[] names;
+    private final String[] isins;
+    private final short[] exchanges;
+    private final short[] segments;
+    private final short[] tickSizes;
+    private final int[] lotSizes;
+    private final String[] exchangeDictionary;
+    private final String[] segmentDictionary;
+    private final BigDecimal[] tickSizeDictionary;
+
+    private InstrumentMaster(Builder builder, int[] order) {
+        int size = order.length;
+        symbols = new String[size];
+        keys = new String[size];
+        names = new String[size];
+        isins = new String[size];
+        exchanges = new short[size];
+        segments = new short[size];
+        tickSizes = new short[size];
+        lotSizes = new int[size];
+        for (int row = 0; row < size; row++) {
+            int source = order[row];
+            symbols[row] = builder.symbols[source];
+            keys[row] = builder.keys[source];
+            names[row] = builder.names[source];
+            isins[row] = builder.isins[source];
+            exchanges[row] = builder.exchanges[source];
+            segments[row] = builder.segments[source];
+            tickSizes[row] = builder.tickSizes[source];
+            lotSizes[row] = builder.lotSizes[source];
+        }
+        exchangeDictionary = builder.exchangeDictionary.toArray(String[]::new);
+        segmentDictionary = builder.segmentDictionary.toArray(String[]::new);
+        tickSizeDictionary = builder.tickSizeDictionary.toArray(BigDecimal[]::new);
+    }
+
+    int size() {
+        return symbols.length;
+    }
+
+    String symbol(int row) {
+        return symbols[row];
+    }
+
+    String name(int row) {
+        return names[row];
+    }
+
+    /**
+     * Row of the symbol, compared case-insensitively, or -1.
+     */
+    int indexOf(String symbol) {
+        int row = Arrays.binarySearch(keys, symbol.trim().toUpperCase(Locale.ROOT));
+        return row >= 0 ? row : -1;
+    }
+
+    InstrumentDefinition definition(int row) {
+        return InstrumentDefinition.builder()
+                .symbol(symbols[row])
+                .name(names[row])
+                .exchange(exchanges[row] == NONE ? null : exchangeDictionary[exchanges[row]])
+                .segment(segments[row] == NONE ? null : segmentDictionary[segments[row]])
+                .tickSize(tickSizes[row] == NONE ? null : tickSizeDictionary[tickSizes[row]])
+                .lotSize(lotSizes[row] == NO_LOT_SIZE ? null : lotSizes[row])
+                .isin(isins[row])
+                .build();
+    }
+
+    List<InstrumentDefinition> definitions(int limit) {
+        int count = Math.min(Math.max(limit, 0), size());
+        List<InstrumentDefinition> definitions = new ArrayList<>(count);
+        for (int row = 0; row < count; row++) {
+            definitions.add(definition(row));
+        }
+        return definitions;
+    }
+
+    /**
+     * Approximate retained heap, counting each distinct string once.
+     */
+    long estimatedBytes() {
+        long bytes = 16L * 11 + (long) size() * (4 * 4 + 3 * 2 + 4);
+        for (int row = 0; row < size(); row++) {
+            bytes += stringBytes(symbols[row]) + stringBytes(names[row]) + stringBytes(isins[row]);
+            if (keys[row] != symbols[row]) {
+                bytes += stringBytes(keys[row]);
+            }
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        // Header, array header and one byte per Latin-1 character
+        return value == null ? 0L : 40L + value.length();
+    }
+
+    /**
+     * Accumulates rows as they are parsed. A later row with the same symbol replaces the earlier one.
+     */
+    static final class Builder {
+        private String[] symbols = new String[1024];
+        private String[] keys = new String[1024];
+        private String[] names = new String[1024];
+        private String[] isins = new String[1024];
+        private short[] exchanges = new short[1024];
+        private short[] segments = new short[1024];
+        private short[] tickSizes = new short[1024];
+        private int[] lotSizes = new int[1024];
+        private int size;
+
+        private final Map<String, Integer> rowsByKey = new HashMap<>();
+        private final List<String> exchangeDictionary = new ArrayList<>();
+        private final List<String> segmentDictionary = new ArrayList<>();
+        private final List<BigDecimal> tickSizeDictionary = new ArrayList<>();
+        private final Map<String, Short> exchangeCodes = new HashMap<>();
+        private final Map<String, Short> segmentCodes = new HashMap<>();
+        private final Map<String, Short> tickSizeCodes = new HashMap<>();
+
+        /**
+         * Adds one row; blank values become nulls and a blank symbol skips the row.
+         */
+        Builder add(String symbol, String name, String exchange, String segment, String tickSize, String lotSize,
+                    String isin) {
+            String trimmedSymbol = clean(symbol);
+            if (trimmedSymbol == null) {
+                return this;
+            }
+            String key = trimmedSymbol.toUpperCase(Locale.ROOT);
+            Integer existing = rowsByKey.get(key);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                ensureCapacity();
+                row = size++;
+                rowsByKey.put(key, row);
+            }
+            symbols[row] = trimmedSymbol;
+            keys[row] = key.equals(trimmedSymbol) ? trimmedSymbol : key;
+            names[row] = clean(name);
+            isins[row] = clean(isin);
+            exchanges[row] = code(clean(exchange), exchangeCodes, exchangeDictionary, value -> value);
+            segments[row] = code(clean(segment), segmentCodes, segmentDictionary, value -> value);
+            tickSizes[row] = code(clean(tickSize), tickSizeCodes, tickSizeDictionary, BigDecimal::new);
+            String lot = clean(lotSize);
+            lotSizes[row] = lot == null ? NO_LOT_SIZE : Integer.parseInt(lot);
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        InstrumentMaster build() {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, (left, right) -> keys[left].compareTo(keys[right]));
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = boxed[i];
+            }
+            return new InstrumentMaster(this, order);
+        }
+
+        private void ensureCapacity() {
+            if (size < symbols.length) {
+                return;
+            }
+            int capacity = symbols.length * 2;
+            symbols = Arrays.copyOf(symbols, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            names = Arrays.copyOf(names, capacity);
+            isins = Arrays.copyOf(isins, capacity);
+            exchanges = Arrays.copyOf(exchanges, capacity);
+            segments = Arrays.copyOf(segments, capacity);
+            tickSizes = Arrays.copyOf(tickSizes, capacity);
+            lotSizes = Arrays.copyOf(lotSizes, capacity);
+        }
+
+        private static <T> short code(String value, Map<String, Short> codes, List<T> dictionary,
+                                      Function<String, T> parser) {
+            if (value == null) {
+                return NONE;
+            }
+            Short code = codes.get(value);
+            if (code == null) {
+                if (dictionary.size() >= Short.MAX_VALUE) {
+                    throw new IllegalStateException("Too many distinct values for a dictionary column: " + value);
+                }
+                dictionary.add(parser.apply(value));
+                code = (short) (dictionary.size() - 1);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        private static String clean(String value) {
+            if (value == null) {
+                return null;
+            }
+            String trimmed = value.trim();
+            return trimmed.isEmpty() ? null : trimmed;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.apex.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Read-only search structure over an {@link InstrumentMaster}, built once per refresh.
+ * <p>
+ * Results are master rows, which are already in symbol order. Symbols, bare names (INFY for NSE:INFY-EQ) and the
+ * words of the company name are kept as sorted term arrays so a prefix maps to a contiguous range found by binary
+ * search. Substring matches use trigram posting lists over symbol and name, intersected and then verified. Results
+ * are ranked by tier (symbol prefix, then name-word prefix, then substring) and alphabetically within a tier, and
+ * collection stops as soon as {@code limit} instruments are found.
+ * <p>
+ * Trigrams are packed into 18 bits (6 bits per character, with rare characters folded together) and the postings are
+ * stored as one offsets array into one ids array, so the whole substring index is two primitive arrays.
+ */
+final class InstrumentSearchIndex {
+
+    static final InstrumentSearchIndex EMPTY = build(InstrumentMaster.EMPTY);
+
+    private static final int GRAM_BITS = 18;
+    private static final int OTHER_CHAR = 63;
+
+    private final InstrumentMaster master;
+    private final String[] symbolTerms;
+    private final int[] symbolTermIds;
+    private final String[] nameTerms;
+    private final int[] nameTermIds;
+    // Postings of trigram g are postingIds[postingOffsets[g]..postingOffsets[g + 1]), ascending
+    private final int[] postingOffsets;
+    private final int[] postingIds;
+
+    private InstrumentSearchIndex(InstrumentMaster master, Terms symbolTerms, Terms nameTerms, int[] postingOffsets,
+                                  int[] postingIds) {
+        this.master = master;
+        this.symbolTerms = symbolTerms.keys;
+        this.symbolTermIds = symbolTerms.ids;
+        this.nameTerms = nameTerms.keys;
+        this.nameTermIds = nameTerms.ids;
+        this.postingOffsets = postingOffsets;
+        this.postingIds = postingIds;
+    }
+
+    static InstrumentSearchIndex build(InstrumentMaster master) {
+        int size = master.size();
+        List<Term> symbolTerms = new ArrayList<>(size * 2);
+        List<Term> nameTerms = new ArrayList<>(size * 3);
+        Postings postings = new Postings(size * 16);
+        for (int id = 0; id < size; id++) {
+            String symbol = normalize(master.symbol(id));
+            String name = master.name(id) != null ? normalize(master.name(id)) : "";
+            symbolTerms.add(new Term(symbol, id));
+            String bare = bareName(symbol);
+            if (!bare.equals(symbol)) {
+                symbolTerms.add(new Term(bare, id));
+            }
+            addWords(nameTerms, name, id);
+            postings.add(symbol, id);
+            postings.add(name, id);
+        }
+        return postings.build(master, Terms.of(symbolTerms), Terms.of(nameTerms));
+    }
+
+    /**
+     * Matching master rows, best first.
+     */
+    List<Integer> search(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return List.of();
+        }
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> found = new LinkedHashSet<>();
+        collectPrefix(symbolTerms, symbolTermIds, q, found, limit);
+        collectPrefix(nameTerms, nameTermIds, q, found, limit);
+        if (q.length() >= 3) {
+            collectSubstring(q, found, limit);
+        } else {
+            // Too short for trigrams; a scan over the columns is still cheap at this size
+            for (int id = 0; id < master.size() && found.size() < limit; id++) {
+                if (matches(id, q)) {
+                    found.add(id);
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    private void collectPrefix(String[] keys, int[] ids, String prefix, Set<Integer> found, int limit) {
+        int position = lowerBound(keys, prefix);
+        while (position < keys.length && found.size() < limit && keys[position].startsWith(prefix)) {
+            found.add(ids[position]);
+            position++;
+        }
+    }
+
+    private void collectSubstring(String q, Set<Integer> found, int limit) {
+        int gramCount = q.length() - 2;
+        Integer[] grams = new Integer[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            grams[i] = gram(q, i);
+            if (postingOffsets[grams[i]] == postingOffsets[grams[i] + 1]) {
+                return;
+            }
+        }
+        // Walk the rarest trigram and probe the others
+        Arrays.sort(grams, Comparator.comparingInt(g -> postingOffsets[g + 1] - postingOffsets[g]));
+        for (int p = postingOffsets[grams[0]]; p < postingOffsets[grams[0] + 1]; p++) {
+            if (found.size() >= limit) {
+                return;
+            }
+            int id = postingIds[p];
+            if (found.contains(id)) {
+                continue;
+            }
+            boolean inAll = true;
+            for (int i = 1; i < grams.length && inAll; i++) {
+                inAll = Arrays.binarySearch(postingIds, postingOffsets[grams[i]], postingOffsets[grams[i] + 1], id) >= 0;
+            }
+            // Trigrams can all be present without being adjacent, so confirm the actual substring
+            if (inAll && matches(id, q)) {
+                found.add(id);
+            }
+        }
+    }
+
+    private boolean matches(int id, String upperQuery) {
+        return containsIgnoreCase(master.symbol(id), upperQuery) || containsIgnoreCase(master.name(id), upperQuery);
+    }
+
+    private static boolean containsIgnoreCase(String text, String upperQuery) {
+        if (text == null) {
+            return false;
+        }
+        for (int offset = 0; offset + upperQuery.length() <= text.length(); offset++) {
+            if (text.regionMatches(true, offset, upperQuery, 0, upperQuery.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int lowerBound(String[] keys, String target) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(target) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void addWords(List<Term> terms, String text, int id) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '&');
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(new Term(text.substring(start, i), id));
+                start = -1;
+            }
+        }
+    }
+
+    private static int gram(String text, int offset) {
+        return (charCode(text.charAt(offset)) << 12) | (charCode(text.charAt(offset + 1)) << 6)
+                | charCode(text.charAt(offset + 2));
+    }
+
+    private static int charCode(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 10 + (c - 'A');
+        }
+        return switch (c) {
+            case ' ' -> 36;
+            case '&' -> 37;
+            case '-' -> 38;
+            case ':' -> 39;
+            case '.' -> 40;
+            default -> OTHER_CHAR;
+        };
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String bareName(String symbol) {
+        int colon = symbol.indexOf(':');
+        int dash = symbol.lastIndexOf('-');
+        String bare = dash > colon ? symbol.substring(colon + 1, dash) : symbol.substring(colon + 1);
+        return bare.isEmpty() ? symbol : bare;
+    }
+
+    private record Term(String key, int id) {}
+
+    /**
+     * Collects (trigram, id) pairs as longs, then sorts them once into the offsets/ids layout.
+     */
+    private static final class Postings {
+        private long[] pairs;
+        private int size;
+
+        private Postings(int expected) {
+            pairs = new long[Math.max(expected, 16)];
+        }
+
+        private void add(String text, int id) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                if (size == pairs.length) {
+                    pairs = Arrays.copyOf(pairs, size * 2);
+                }
+                pairs[size++] = ((long) gram(text, i) << 32) | id;
+            }
+        }
+
+        private InstrumentSearchIndex build(InstrumentMaster master, Terms symbolTerms, Terms nameTerms) {
+            Arrays.sort(pairs, 0, size);
+            int[] offsets = new int[(1 << GRAM_BITS) + 1];
+            int[] ids = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (i > 0 && pairs[i] == pairs[i - 1]) {
+                    continue;
+                }
+                offsets[(int) (pairs[i] >>> 32) + 1]++;
+                ids[count++] = (int) pairs[i];
+            }
+            for (int g = 0; g < 1 << GRAM_BITS; g++) {
+                offsets[g + 1] += offsets[g];
+            }
+            return new InstrumentSearchIndex(master, symbolTerms, nameTerms, offsets, Arrays.copyOf(ids, count));
+        }
+    }
+
+    private record Terms(String[] keys, int[] ids) {
+        static Terms of(List<Term> terms) {
+            terms.sort(Comparator.comparing(Term::key).thenComparingInt(Term::id));
+            String[] keys = new String[terms.size()];
+            int[] ids = new int[terms.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = terms.get(i).key();
+                ids[i] = terms.get(i).id();
+            }
+            return new Terms(keys, ids);
+        }
+    }
+}
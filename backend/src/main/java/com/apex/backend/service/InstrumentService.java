@@ -4,29 +4,39 @@ import com.apex.backend.model.Instrument;
 import com.apex.backend.repository.InstrumentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
+/**
+ * Symbol resolution against the instrument master.
+ * <p>
+ * Lookups are served from an in-memory {@link InstrumentIndex} built on first use and rebuilt periodically, so the
+ * per-symbol calls made by every history and quote request never reach the database.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InstrumentService {
 
     private final InstrumentRepository instrumentRepository;
+    private final InstrumentCacheService instrumentCacheService;
+
+    private volatile InstrumentIndex index;
 
     public Optional<Instrument> findBySymbol(String symbol) {
         if (symbol == null || symbol.isBlank()) {
             return Optional.empty();
         }
-        return instrumentRepository.findBySymbolIgnoreCase(symbol.trim());
+        return index().findBySymbol(symbol);
     }
 
     public Optional<Instrument> findByTradingSymbol(String tradingSymbol) {
         if (tradingSymbol == null || tradingSymbol.isBlank()) {
             return Optional.empty();
         }
-        return instrumentRepository.findByTradingSymbolIgnoreCase(tradingSymbol.trim());
+        return index().findByTradingSymbol(tradingSymbol);
     }
 
     public Optional<String> resolveTradingSymbol(String symbol) {
@@ -37,12 +47,40 @@ public class InstrumentService {
         if (trimmed.contains(":")) {
             return Optional.of(trimmed);
         }
-        return findBySymbol(trimmed)
-                .or(() -> findByTradingSymbol(trimmed))
-                .map(Instrument::getTradingSymbol);
+        return index().resolveTradingSymbol(trimmed);
+    }
+
+    /**
+     * Rebuilds the index from the database and the definition file and swaps it in. A failed rebuild keeps the
+     * previous index.
+     */
+    @Scheduled(fixedDelayString = "${apex.instruments.index-refresh-ms:900000}",
+            initialDelayString = "${apex.instruments.index-refresh-ms:900000}")
+    public void refresh() {
+        try {
+            InstrumentIndex rebuilt = InstrumentIndex.build(instrumentRepository.findAll(),
+                    instrumentCacheService.allDefinitions());
+            index = rebuilt;
+            log.info("Instrument index rebuilt with {} symbols", rebuilt.size());
+        } catch (Exception e) {
+            log.warn("Instrument index refresh failed: {}", e.getMessage());
+        }
     }
 
     public void logMissingInstrument(String symbol) {
         log.warn("Instrument lookup failed for symbol={}", symbol);
     }
+
+    private InstrumentIndex index() {
+        InstrumentIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    refresh();
+                }
+                current = index;
+            }
+        }
+        return current != null ? current : InstrumentIndex.EMPTY;
+    }
 }
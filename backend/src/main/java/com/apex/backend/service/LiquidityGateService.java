@@ -2,6 +2,8 @@ package com.apex.backend.service;
 
 import com.apex.backend.config.AdvancedTradingProperties;
 import com.apex.backend.model.Candle;
+import com.apex.backend.service.marketdata.OrderBook;
+import com.apex.backend.service.marketdata.OrderBookService;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,9 +12,11 @@ import java.util.List;
 public class LiquidityGateService {
 
     private final AdvancedTradingProperties advancedTradingProperties;
+    private final OrderBookService orderBookService;
 
-    public LiquidityGateService(AdvancedTradingProperties advancedTradingProperties) {
+    public LiquidityGateService(AdvancedTradingProperties advancedTradingProperties, OrderBookService orderBookService) {
         this.advancedTradingProperties = advancedTradingProperties;
+        this.orderBookService = orderBookService;
     }
 
     public record LiquidityDecision(boolean allowed, String reason, double rupeeVolume, double spreadPct, double avgVolume) {}
@@ -31,7 +35,10 @@ public class LiquidityGateService {
         }
         double avgVolume = averageVolume(candles, 20);
         double rupeeVolume = avgVolume * Math.max(lastPrice, 0.0);
-        double spreadPct = proxySpreadPct(candles);
+        double spreadPct = bookSpreadPct(sanitized);
+        if (Double.isNaN(spreadPct)) {
+            spreadPct = proxySpreadPct(candles);
+        }
 
         if (rupeeVolume < cfg.getMinRupeeVolume()) {
             return new LiquidityDecision(false, "Rupee volume below minimum", rupeeVolume, spreadPct, avgVolume);
@@ -52,6 +59,15 @@ public class LiquidityGateService {
         return count == 0 ? 0.0 : ((double) sum) / count;
     }
 
+    /**
+     * Quoted spread from a fresh order book, or NaN when there is none and the candle proxy has to stand in.
+     */
+    private double bookSpreadPct(String symbol) {
+        return orderBookService.freshBook(symbol)
+                .map(OrderBook::spreadPct)
+                .orElse(Double.NaN);
+    }
+
     private double proxySpreadPct(List<Candle> candles) {
         Candle last = candles.get(candles.size() - 1);
         double close = last.getClose();
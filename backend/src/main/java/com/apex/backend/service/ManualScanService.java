@@ -5,6 +5,7 @@ import com.apex.backend.dto.ScanDiagnosticsBreakdown;
 import com.apex.backend.dto.ScanDiagnosticsReason;
 import com.apex.backend.dto.ScanError;
 import com.apex.backend.dto.ScanPipelineStats;
+import com.apex.backend.dto.ScanProgressEvent;
 import com.apex.backend.dto.ScanRejectReasonCount;
 import com.apex.backend.dto.ScanRequest;
 import com.apex.backend.dto.ScanResponse;
@@ -13,31 +14,30 @@ import com.apex.backend.exception.ConflictException;
 import com.apex.backend.exception.BadRequestException;
 import com.apex.backend.model.Candle;
 import com.apex.backend.service.indicator.MarketRegimeDetector;
+import com.apex.backend.trading.pipeline.DecisionContext;
 import com.apex.backend.trading.pipeline.DecisionResult;
 import com.apex.backend.trading.pipeline.PipelineRequest;
 import com.apex.backend.trading.pipeline.ScanRejectReason;
 import com.apex.backend.trading.pipeline.SignalDiagnostics;
 import com.apex.backend.trading.pipeline.SignalScore;
+import com.apex.backend.trading.pipeline.SignalSeries;
 import com.apex.backend.trading.pipeline.TradeDecisionPipelineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
@@ -53,12 +53,21 @@ public class ManualScanService {
     private final TradeExecutionService tradeExecutionService;
     private final PaperOrderService paperOrderService;
     private final MarketRegimeDetector marketRegimeDetector;
-    @Qualifier("tradingExecutor")
-    private final Executor tradingExecutor;
+    private final ScanFanOut scanFanOut;
+    private final ScanPreFilter scanPreFilter;
+    private final MetricsService metricsService;
 
     private final AtomicBoolean scanInProgress = new AtomicBoolean(false);
 
     public ScanResponse runManualScan(Long userId, ScanRequest request) {
+        return runManualScan(userId, request, event -> { });
+    }
+
+    /**
+     * Runs the scan, handing {@code progress} one event per symbol as it completes, with the running counters.
+     * Events are delivered on the calling thread in completion order.
+     */
+    public ScanResponse runManualScan(Long userId, ScanRequest request, Consumer<ScanProgressEvent> progress) {
         ensureScannerEnabled();
         if (!scanInProgress.compareAndSet(false, true)) {
             throw new ConflictException("scan already in progress");
@@ -79,68 +88,33 @@ public class ManualScanService {
             log.info("Manual scan: universe={} tf={} regime={} bullish={} userId={} runId={}",
                     request.getUniverse(), timeframe, request.getRegime(), marketBullish, userId, mdcRunId());
 
-            ConcurrentLinkedQueue<ScanSymbolOutcome> outcomes = new ConcurrentLinkedQueue<>();
-            List<CompletableFuture<Void>> futures = universe.stream()
-                    .map(symbol -> CompletableFuture.runAsync(() -> outcomes.add(scanSymbol(userId, symbol, timeframe)), tradingExecutor))
-                    .toList();
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            DecisionContext context = prepareContext(userId);
+            ScanTally tally = new ScanTally(universe.size());
+            SignalRanker ranker = new SignalRanker(config.getScanner().getMaxCandidates(),
+                    SignalRanker.earlyFireScore(config), new CandidateAction(userId));
+            List<ScanSymbolOutcome> outcomes = new ArrayList<>(universe.size());
+            scanFanOut.pipeline(MDC.get("runId"), universe,
+                    symbol -> fetchSymbol(userId, symbol, timeframe),
+                    (symbol, data) -> evaluateSymbol(userId, symbol, timeframe, data, context),
+                    outcome -> {
+                        outcomes.add(outcome);
+                        ScanProgressEvent event = tally(outcome, tally);
+                        if (event.getSignal() != null && !request.isDryRun()) {
+                            ranker.offer(outcome.decision);
+                        }
+                        progress.accept(event);
+                    });
             if (!outcomes.isEmpty() && outcomes.stream().allMatch(outcome -> outcome.dataMissing)) {
                 return buildDataMissingScanResponse(startedAt, requestId, outcomes.size());
             }
 
-            List<ScanSignalResponse> signals = new ArrayList<>();
-            List<DecisionResult> candidateDecisions = new ArrayList<>();
-            List<ScanError> errors = new ArrayList<>();
-            ScanPipelineStats pipelineStats = new ScanPipelineStats();
-            Map<ScanRejectReason, Long> rejectCounts = new EnumMap<>(ScanRejectReason.class);
-            ScanDiagnosticsBreakdown diagnostics = ScanDiagnosticsBreakdown.builder()
-                    .totalSymbols(outcomes.size())
-                    .build();
-            Map<ScanDiagnosticsReason, Long> stage1Rejects = new EnumMap<>(ScanDiagnosticsReason.class);
-            Map<ScanDiagnosticsReason, Long> stage2Rejects = new EnumMap<>(ScanDiagnosticsReason.class);
-
-            for (ScanSymbolOutcome outcome : outcomes) {
-                if (outcome.dataMissing) {
-                    incrementReject(stage1Rejects, ScanDiagnosticsReason.DATA_MISSING);
-                    incrementReject(rejectCounts, ScanRejectReason.INSUFFICIENT_DATA);
-                    continue;
-                }
-                if (outcome.error != null) {
-                    errors.add(ScanError.builder()
-                            .symbol(outcome.symbol)
-                            .message(outcome.error)
-                            .build());
-                    incrementReject(rejectCounts, ScanRejectReason.UNKNOWN);
-                    incrementReject(stage1Rejects, ScanDiagnosticsReason.DATA_MISSING);
-                    continue;
-                }
-                DecisionResult decision = outcome.decision;
-                if (decision == null) {
-                    incrementReject(rejectCounts, ScanRejectReason.UNKNOWN);
-                    incrementReject(stage1Rejects, ScanDiagnosticsReason.DATA_MISSING);
-                    continue;
-                }
-                updatePipelineStats(pipelineStats, decision.signalScore());
-                collectRejectReasons(rejectCounts, decision.signalScore());
-                trackDiagnostics(decision.signalScore(), diagnostics, stage1Rejects, stage2Rejects);
-                if (decision.action() == DecisionResult.DecisionAction.BUY) {
-                    SignalScore score = decision.signalScore();
-                    signals.add(ScanSignalResponse.builder()
-                            .symbol(decision.symbol())
-                            .score(decision.score())
-                            .grade(score != null ? score.grade() : null)
-                            .entryPrice(score != null ? score.entryPrice() : 0.0)
-                            .scanTime(LocalDateTime.now())
-                            .reason(score != null ? score.reason() : null)
-                            .build());
-                    candidateDecisions.add(decision);
-                }
-            }
-
+            List<ScanSignalResponse> signals = tally.signals;
+            ScanPipelineStats pipelineStats = tally.pipelineStats;
+            ScanDiagnosticsBreakdown diagnostics = tally.diagnostics;
             int finalSignals = signals.size();
             pipelineStats.setFinalSignals(finalSignals);
             diagnostics.setFinalSignals(finalSignals);
-            List<ScanRejectReasonCount> rejectReasonTop = rejectCounts.entrySet().stream()
+            List<ScanRejectReasonCount> rejectReasonTop = tally.rejectCounts.entrySet().stream()
                     .sorted(Map.Entry.<ScanRejectReason, Long>comparingByValue().reversed())
                     .limit(10)
                     .map(entry -> ScanRejectReasonCount.builder()
@@ -148,11 +122,12 @@ public class ManualScanService {
                             .count(entry.getValue())
                             .build())
                     .toList();
-            diagnostics.setRejectedStage1ReasonCounts(toReasonMap(stage1Rejects));
-            diagnostics.setRejectedStage2ReasonCounts(toReasonMap(stage2Rejects));
+            diagnostics.setRejectedStage1ReasonCounts(toReasonMap(tally.stage1Rejects));
+            diagnostics.setRejectedStage2ReasonCounts(toReasonMap(tally.stage2Rejects));
 
             if (!request.isDryRun()) {
-                processCandidates(candidateDecisions, userId);
+                ranker.drain();
+                metricsService.recordScanActionFailures("manual", ranker.failed());
             }
 
             long durationMs = java.time.Duration.between(startedAt, Instant.now()).toMillis();
@@ -165,7 +140,7 @@ public class ManualScanService {
                     .diagnostics(diagnostics)
                     .rejectReasonsTop(rejectReasonTop)
                     .signals(signals)
-                    .errors(errors)
+                    .errors(tally.errors)
                     .build();
         } catch (BadRequestException ex) {
             if (isEmptyUniverseRequest(request, ex)) {
@@ -177,19 +152,61 @@ public class ManualScanService {
         }
     }
 
-    private ScanSymbolOutcome scanSymbol(Long userId, String symbol, String timeframe) {
+    /**
+     * Portfolio, strategy health and correlation regime for the whole scan; null falls back to reading them per symbol.
+     */
+    private DecisionContext prepareContext(Long userId) {
+        try {
+            return tradeDecisionPipelineService.prepare(userId);
+        } catch (Exception ex) {
+            log.warn("Manual scan context unavailable userId={} runId={} error={}", userId, mdcRunId(), ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Every broker read of the symbol happens here. The pre-filter runs first so a rejected symbol never costs the
+     * deeper series fetches.
+     */
+    private SymbolData fetchSymbol(Long userId, String symbol, String timeframe) {
         try {
             List<Candle> candles = fyersService.getHistoricalData(symbol, 200, timeframe);
             if (candles == null || candles.isEmpty()) {
-                log.warn("Manual scan data missing for symbol={} userId={} runId={}", symbol, userId, mdcRunId());
-                return ScanSymbolOutcome.dataMissing(symbol);
+                return new SymbolData(candles, null, null, null);
+            }
+            Optional<DecisionResult> rejected = scanPreFilter.reject(symbol, timeframe, candles);
+            if (rejected.isPresent()) {
+                return new SymbolData(candles, rejected.get(), null, null);
             }
+            return new SymbolData(candles, null, tradeDecisionPipelineService.fetchSeries(symbol, timeframe, candles), null);
+        } catch (Exception ex) {
+            log.warn("Manual scan error for symbol={} userId={} runId={} error={}", symbol, userId, mdcRunId(), ex.getMessage());
+            return new SymbolData(null, null, null, ex.getMessage());
+        }
+    }
+
+    private ScanSymbolOutcome evaluateSymbol(Long userId, String symbol, String timeframe, SymbolData data,
+                                             DecisionContext context) {
+        if (data.error() != null) {
+            return ScanSymbolOutcome.failure(symbol, data.error());
+        }
+        List<Candle> candles = data.candles();
+        if (candles == null || candles.isEmpty()) {
+            log.warn("Manual scan data missing for symbol={} userId={} runId={}", symbol, userId, mdcRunId());
+            return ScanSymbolOutcome.dataMissing(symbol);
+        }
+        if (data.rejected() != null) {
+            return ScanSymbolOutcome.success(symbol, data.rejected());
+        }
+        try {
             DecisionResult decision = tradeDecisionPipelineService.evaluate(new PipelineRequest(
                     userId,
                     symbol,
                     timeframe,
                     candles,
-                    null
+                    null,
+                    data.series(),
+                    context
             ));
             return ScanSymbolOutcome.success(symbol, decision);
         } catch (Exception ex) {
@@ -198,24 +215,78 @@ public class ManualScanService {
         }
     }
 
-    private void processCandidates(List<DecisionResult> candidates, Long userId) {
-        if (candidates.isEmpty()) {
-            return;
+    /**
+     * Folds one symbol outcome into the run's counters and returns the progress event describing it.
+     */
+    private ScanProgressEvent tally(ScanSymbolOutcome outcome, ScanTally tally) {
+        tally.scanned++;
+        ScanProgressEvent.ScanProgressEventBuilder event = ScanProgressEvent.builder()
+                .type(ScanProgressEvent.Type.SYMBOL)
+                .symbol(outcome.symbol);
+        if (outcome.dataMissing) {
+            incrementReject(tally.stage1Rejects, ScanDiagnosticsReason.DATA_MISSING);
+            incrementReject(tally.rejectCounts, ScanRejectReason.INSUFFICIENT_DATA);
+            return tally.progress(event.outcome(ScanProgressEvent.Outcome.DATA_MISSING));
+        }
+        if (outcome.error != null) {
+            tally.errors.add(ScanError.builder()
+                    .symbol(outcome.symbol)
+                    .message(outcome.error)
+                    .build());
+            incrementReject(tally.rejectCounts, ScanRejectReason.UNKNOWN);
+            incrementReject(tally.stage1Rejects, ScanDiagnosticsReason.DATA_MISSING);
+            return tally.progress(event.outcome(ScanProgressEvent.Outcome.ERROR).message(outcome.error));
+        }
+        DecisionResult decision = outcome.decision;
+        if (decision == null) {
+            incrementReject(tally.rejectCounts, ScanRejectReason.UNKNOWN);
+            incrementReject(tally.stage1Rejects, ScanDiagnosticsReason.DATA_MISSING);
+            return tally.progress(event.outcome(ScanProgressEvent.Outcome.DATA_MISSING));
+        }
+        updatePipelineStats(tally.pipelineStats, decision.signalScore());
+        collectRejectReasons(tally.rejectCounts, decision.signalScore());
+        trackDiagnostics(decision.signalScore(), tally.diagnostics, tally.stage1Rejects, tally.stage2Rejects);
+        event.score(decision.score());
+        if (decision.action() != DecisionResult.DecisionAction.BUY) {
+            return tally.progress(event.outcome(ScanProgressEvent.Outcome.NO_SIGNAL));
+        }
+        SignalScore score = decision.signalScore();
+        ScanSignalResponse signal = ScanSignalResponse.builder()
+                .symbol(decision.symbol())
+                .score(decision.score())
+                .grade(score != null ? score.grade() : null)
+                .entryPrice(score != null ? score.entryPrice() : 0.0)
+                .scanTime(LocalDateTime.now())
+                .reason(score != null ? score.reason() : null)
+                .build();
+        tally.signals.add(signal);
+        return tally.progress(event.outcome(ScanProgressEvent.Outcome.SIGNAL).signal(signal));
+    }
+
+    /**
+     * Places or queues one ranked candidate. VIX is fetched on the first candidate and reused for the rest of the scan.
+     */
+    private final class CandidateAction implements Consumer<DecisionResult> {
+        private final Long userId;
+        private Double currentVix;
+
+        private CandidateAction(Long userId) {
+            this.userId = userId;
         }
-        candidates.sort(Comparator.comparingDouble(DecisionResult::score).reversed());
-        int maxCandidates = config.getScanner().getMaxCandidates();
-        List<DecisionResult> topSignals = candidates.stream().limit(maxCandidates).toList();
-        boolean requireManualApproval = config.getScanner().isRequireManualApproval();
-        double currentVix = fetchVix();
-        for (DecisionResult decision : topSignals) {
+
+        @Override
+        public void accept(DecisionResult decision) {
             if (config.getTrading().isPaperSignalOrdersEnabled()) {
                 paperOrderService.placeFromSignal(userId, decision);
             }
-            if (requireManualApproval) {
+            if (config.getScanner().isRequireManualApproval()) {
                 screeningService.saveSignal(userId, decision);
-            } else {
-                tradeExecutionService.executeAutoTrade(userId, decision, true, currentVix);
+                return;
+            }
+            if (currentVix == null) {
+                currentVix = fetchVix();
             }
+            tradeExecutionService.executeAutoTrade(userId, decision, true, currentVix);
         }
     }
 
@@ -432,6 +503,43 @@ public class ManualScanService {
         return universeResolver.resolveUniverse(request);
     }
 
+    /**
+     * Running aggregates of a scan, only touched from the pipeline sink on the calling thread.
+     */
+    private static final class ScanTally {
+        private final List<ScanSignalResponse> signals = new ArrayList<>();
+        private final List<ScanError> errors = new ArrayList<>();
+        private final ScanPipelineStats pipelineStats = new ScanPipelineStats();
+        private final Map<ScanRejectReason, Long> rejectCounts = new EnumMap<>(ScanRejectReason.class);
+        private final Map<ScanDiagnosticsReason, Long> stage1Rejects = new EnumMap<>(ScanDiagnosticsReason.class);
+        private final Map<ScanDiagnosticsReason, Long> stage2Rejects = new EnumMap<>(ScanDiagnosticsReason.class);
+        private final ScanDiagnosticsBreakdown diagnostics;
+        private int scanned;
+
+        private ScanTally(int totalSymbols) {
+            this.diagnostics = ScanDiagnosticsBreakdown.builder()
+                    .totalSymbols(totalSymbols)
+                    .build();
+        }
+
+        private ScanProgressEvent progress(ScanProgressEvent.ScanProgressEventBuilder event) {
+            return event
+                    .totalSymbols(diagnostics.getTotalSymbols())
+                    .scannedSymbols(scanned)
+                    .passedStage1(diagnostics.getPassedStage1())
+                    .passedStage2(diagnostics.getPassedStage2())
+                    .signalsFound(signals.size())
+                    .timestamp(Instant.now())
+                    .build();
+        }
+    }
+
+    /**
+     * Output of the fetch stage: the candles with either the pre-filter rejection or the extra series evaluation
+     * reads, or the error that kept us from getting them.
+     */
+    private record SymbolData(List<Candle> candles, DecisionResult rejected, SignalSeries series, String error) {}
+
     private record ScanSymbolOutcome(String symbol, DecisionResult decision, String error, boolean dataMissing) {
         static ScanSymbolOutcome success(String symbol, DecisionResult decision) {
             return new ScanSymbolOutcome(symbol, decision, null, false);
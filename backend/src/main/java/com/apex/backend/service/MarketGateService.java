@@ -3,11 +3,11 @@ package com.apex.backend.service;
 import com.apex.backend.config.StrategyProperties;
 import com.apex.backend.model.Candle;
 import com.apex.backend.trading.pipeline.MarketDataProvider;
+import com.apex.backend.util.ExchangeTime;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.time.ZoneId;
 import java.util.List;
 
 @Service
@@ -38,7 +38,7 @@ public class MarketGateService {
             return new MarketGateDecision(false, "Insufficient index data", 0.0, 0.0, 0.0);
         }
         Candle last = candles.get(candles.size() - 1);
-        Instant lastCandleTime = last.getTimestamp().atZone(ZoneId.of("Asia/Kolkata")).toInstant();
+        Instant lastCandleTime = last.getTimestamp().atZone(ExchangeTime.zone()).toInstant();
         if (config.isBlockIfIndexDataStale()) {
             Duration age = Duration.between(lastCandleTime, nowUtc);
             if (age.getSeconds() > config.getMaxStaleSeconds()) {
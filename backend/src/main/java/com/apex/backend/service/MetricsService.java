@@ -1,7 +1,12 @@
 package com.apex.backend.service;
 
 import com.apex.backend.dto.MetricsSnapshot;
+import com.apex.backend.service.marketdata.LtpCache;
+import com.apex.backend.service.marketdata.MarketTickBus;
+import com.apex.backend.service.marketdata.SingleFlight;
+import com.apex.backend.service.marketdata.WeightedLruCache;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
@@ -91,6 +96,128 @@ public class MetricsService {
                 .increment();
     }
 
+    /**
+     * Exposes broker calls issued versus callers that joined an in-flight call for the given request type.
+     */
+    public void bindSingleFlight(String requestType, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("broker_requests_total", flight, SingleFlight::issuedCount)
+                .tag("type", requestType)
+                .tag("outcome", "issued")
+                .register(meterRegistry);
+        FunctionCounter.builder("broker_requests_total", flight, SingleFlight::coalescedCount)
+                .tag("type", requestType)
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("broker_requests_in_flight", flight, SingleFlight::inFlightCount)
+                .tag("type", requestType)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts scan candidates whose order or approval request threw, per scanner.
+     */
+    public void recordScanActionFailures(String scanner, int failures) {
+        if (failures <= 0) {
+            return;
+        }
+        Counter.builder("scan_action_failures_total")
+                .tag("scanner", scanner)
+                .register(meterRegistry)
+                .increment(failures);
+    }
+
+    /**
+     * Adds one scan pipeline run's items and busy time for a stage; busy seconds over wall time is the stage's
+     * utilisation, items over busy seconds its per-thread throughput.
+     */
+    public void recordScanStage(String stage, long items, long busyNanos) {
+        Counter.builder("scan_stage_items_total")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment(items);
+        Counter.builder("scan_stage_busy_seconds_total")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment(busyNanos / 1_000_000_000.0);
+    }
+
+    public void bindRateLimiter(String broker, PriorityRateLimiter limiter) {
+        Gauge.builder("broker_rate_limit_per_second", limiter, PriorityRateLimiter::currentRate)
+                .tag("broker", broker)
+                .register(meterRegistry);
+        FunctionCounter.builder("broker_rate_throttled_total", limiter, PriorityRateLimiter::throttleCount)
+                .tag("broker", broker)
+                .register(meterRegistry);
+        for (BrokerLane lane : BrokerLane.values()) {
+            String laneTag = lane.name().toLowerCase();
+            Gauge.builder("broker_rate_waiting", limiter, l -> l.waitingCount(lane))
+                    .tag("broker", broker)
+                    .tag("lane", laneTag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("broker_rate_permits_total", limiter, l -> l.grantedCount(lane))
+                    .tag("broker", broker)
+                    .tag("lane", laneTag)
+                    .tag("outcome", "granted")
+                    .register(meterRegistry);
+            FunctionCounter.builder("broker_rate_permits_total", limiter, l -> l.timedOutCount(lane))
+                    .tag("broker", broker)
+                    .tag("lane", laneTag)
+                    .tag("outcome", "timed_out")
+                    .register(meterRegistry);
+        }
+    }
+
+    public void bindLtpCache(LtpCache cache) {
+        Gauge.builder("ltp_cache_symbols", cache, LtpCache::size)
+                .register(meterRegistry);
+        FunctionCounter.builder("ltp_cache_lookups_total", cache, LtpCache::hitCount)
+                .tag("outcome", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("ltp_cache_lookups_total", cache, LtpCache::missCount)
+                .tag("outcome", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("ltp_cache_updates_total", cache, LtpCache::acceptedCount)
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        FunctionCounter.builder("ltp_cache_updates_total", cache, LtpCache::rejectedCount)
+                .tag("outcome", "out_of_order")
+                .register(meterRegistry);
+    }
+
+    public void bindCache(String cacheName, WeightedLruCache<?, ?> cache) {
+        Gauge.builder("cache_entries", cache, WeightedLruCache::size)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        Gauge.builder("cache_weight_bytes", cache, WeightedLruCache::weight)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        FunctionCounter.builder("cache_lookups_total", cache, WeightedLruCache::hitCount)
+                .tag("cache", cacheName)
+                .tag("outcome", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache_lookups_total", cache, WeightedLruCache::missCount)
+                .tag("cache", cacheName)
+                .tag("outcome", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache_removals_total", cache, WeightedLruCache::evictionCount)
+                .tag("cache", cacheName)
+                .tag("cause", "size")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache_removals_total", cache, WeightedLruCache::expirationCount)
+                .tag("cache", cacheName)
+                .tag("cause", "expired")
+                .register(meterRegistry);
+    }
+
+    public void bindTickBus(MarketTickBus bus) {
+        FunctionCounter.builder("market_ticks_published_total", bus, MarketTickBus::publishedCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("market_ticks_overrun_total", bus, MarketTickBus::overrunCount)
+                .register(meterRegistry);
+        Gauge.builder("market_ticks_consumer_lag", bus, MarketTickBus::maxLag)
+                .register(meterRegistry);
+    }
+
     public void updatePnl(double pnl) {
         totalPnl += pnl;
         maxDrawdown = Math.min(maxDrawdown, totalPnl);
@@ -0,0 +1,172 @@
+package com.apex.backend.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket shared by all broker traffic, handing out tokens by {@link BrokerLane} priority.
+ * <p>
+ * A waiting request in a higher lane blocks every lower lane, and lower lanes must leave their reserve in the
+ * bucket, so a burst of history fetches cannot delay an exit. The refill rate adapts to the broker: a 429 halves
+ * it and empties the bucket, and each successful call adds back a twentieth of the configured rate.
+ */
+public final class PriorityRateLimiter {
+
+    private static final BrokerLane[] LANES = BrokerLane.values();
+    private static final double RECOVERY_STEPS = 20.0;
+
+    private final double maxRate;
+    private final double minRate;
+    private final double burst;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final int[] waiting = new int[LANES.length];
+    private final AtomicLongArray granted = new AtomicLongArray(LANES.length);
+    private final AtomicLongArray timedOut = new AtomicLongArray(LANES.length);
+    private double rate;
+    private double tokens;
+    private long refilledAt;
+    private long throttles;
+
+    public PriorityRateLimiter(double ratePerSecond, double minRatePerSecond, int burst, long maxWaitMillis) {
+        this.maxRate = Math.max(ratePerSecond, 0.001);
+        this.minRate = Math.min(Math.max(minRatePerSecond, 0.001), this.maxRate);
+        this.burst = Math.max(burst, 1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maxWaitMillis, 0L));
+        this.rate = this.maxRate;
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Waits up to the configured maximum for a token in {@code lane}.
+     *
+     * @return false when the wait timed out or the thread was interrupted
+     */
+    public boolean acquire(BrokerLane lane) {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        lock.lock();
+        try {
+            waiting[lane.ordinal()]++;
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    double floor = floor(lane);
+                    if (!higherLaneWaiting(lane) && tokens >= floor) {
+                        tokens -= 1.0;
+                        granted.incrementAndGet(lane.ordinal());
+                        return true;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        timedOut.incrementAndGet(lane.ordinal());
+                        return false;
+                    }
+                    long untilFloor = (long) (Math.max(floor - tokens, 0.0) / rate * 1_000_000_000L);
+                    changed.awaitNanos(Math.min(remaining, Math.max(untilFloor, TimeUnit.MILLISECONDS.toNanos(1))));
+                }
+            } finally {
+                waiting[lane.ordinal()]--;
+                changed.signalAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut.incrementAndGet(lane.ordinal());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The broker answered 429: halve the rate and drain the bucket so every lane backs off.
+     */
+    public void onThrottled() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            rate = Math.max(minRate, rate / 2.0);
+            tokens = 0.0;
+            throttles++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (rate < maxRate) {
+                refill(System.nanoTime());
+                rate = Math.min(maxRate, rate + maxRate / RECOVERY_STEPS);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double currentRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int waitingCount(BrokerLane lane) {
+        lock.lock();
+        try {
+            return waiting[lane.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long grantedCount(BrokerLane lane) {
+        return granted.get(lane.ordinal());
+    }
+
+    public long timedOutCount(BrokerLane lane) {
+        return timedOut.get(lane.ordinal());
+    }
+
+    public long throttleCount() {
+        lock.lock();
+        try {
+            return throttles;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + rate * elapsed / 1_000_000_000.0);
+            refilledAt = now;
+        }
+    }
+
+    /**
+     * Tokens that must be in the bucket before {@code lane} may take one; never more than the bucket holds.
+     */
+    private double floor(BrokerLane lane) {
+        return Math.min(burst, 1.0 + burst * lane.reserveFraction());
+    }
+
+    private boolean higherLaneWaiting(BrokerLane lane) {
+        for (int i = 0; i < lane.ordinal(); i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,498 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.exception.ScanCancelledException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs the per-symbol work of a scan as one scope: every task belongs to the run that started it, and the run does
+ * not return until each task has finished or been cancelled.
+ * <p>
+ * Broker-bound work spends nearly all its time blocked on the network and the database, so by default each task gets
+ * its own virtual thread; {@code apex.scanner.executor-mode=PLATFORM} falls back to the shared trading pool. Either
+ * way the number of tasks in flight is capped by what the broker rate limiter can actually serve (its current rate
+ * times the expected call latency), not by a thread count, so extra tasks wait here instead of timing out inside the
+ * limiter.
+ * <p>
+ * {@link #pipeline} splits each symbol into a fetch step under that cap and a CPU-bound compute step on a fixed set of
+ * platform threads sized to the cores, joined by a bounded queue. A full queue blocks fetchers while they still hold
+ * their permit, so a slow compute stage throttles fetching instead of piling candles up in memory, and a scan takes
+ * roughly as long as its slower stage rather than the sum of both.
+ * <p>
+ * A failing task, the run deadline, an interrupt of the calling thread or {@link #cancel(String)} cancels the tasks
+ * still pending or running. Java 21's {@code StructuredTaskScope} is still a preview API, so the scope is modelled
+ * with plain futures.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScanFanOut {
+
+    /**
+     * Reason carried by the {@link ScanCancelledException} of a run stopped through {@link #cancel(String)}.
+     */
+    public static final String CANCELLED = "cancelled";
+
+    private static final long SHUTDOWN_GRACE_MS = 5_000;
+    private static final long POLL_MS = 100;
+    private static final Object END_OF_INPUT = new Object();
+
+    private final StrategyConfig config;
+    private final PriorityRateLimiter fyersRateLimiter;
+    private final MetricsService metricsService;
+    @Qualifier("tradingExecutor")
+    private final Executor tradingExecutor;
+
+    private final Map<String, RunScope> activeRuns = new ConcurrentHashMap<>();
+
+    /**
+     * Applies {@code task} to every item and returns the results in input order.
+     *
+     * @param runId key for {@link #cancel(String)}, or null when the run cannot be cancelled from outside
+     * @throws ScanCancelledException when the run was cancelled, timed out or interrupted
+     */
+    public <S, T> List<T> invokeAll(String runId, List<S> items, Function<S, T> task) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        long deadline = deadline();
+        Semaphore permits = new Semaphore(concurrencyLimit());
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        RunScope scope = open(runId, items.size());
+        ExecutorService threads = fetchThreads();
+        try {
+            List<FutureTask<T>> futures = new ArrayList<>(items.size());
+            for (S item : items) {
+                acquire(permits, scope, deadline);
+                FutureTask<T> future = new ScopedTask<>(scope, permits, () -> withMdc(mdc, () -> task.apply(item)));
+                if (!scope.add(future)) {
+                    throw scope.stopped();
+                }
+                futures.add(future);
+                submit(future, threads);
+            }
+            List<T> results = new ArrayList<>(futures.size());
+            for (FutureTask<T> future : futures) {
+                results.add(scope.await(future, deadline));
+            }
+            return results;
+        } finally {
+            close(runId, scope, threads);
+        }
+    }
+
+    /**
+     * Runs every item through {@code fetch} and then {@code compute}, handing each result to {@code sink} on the
+     * calling thread in completion order. Fetch and compute must handle their own per-symbol failures; an exception
+     * escaping either one fails the whole run.
+     *
+     * @param runId key for {@link #cancel(String)}, or null when the run cannot be cancelled from outside
+     * @throws ScanCancelledException when the run was cancelled, timed out or interrupted
+     */
+    public <S, F, T> void pipeline(String runId, List<S> items, Function<S, F> fetch, BiFunction<S, F, T> compute,
+                                   Consumer<T> sink) {
+        if (items.isEmpty()) {
+            return;
+        }
+        StrategyConfig.Scanner scanner = config.getScanner();
+        long startedAt = System.nanoTime();
+        long deadline = deadline();
+        int fetchLimit = concurrencyLimit();
+        int computeThreads = computeThreads();
+        Semaphore permits = new Semaphore(fetchLimit);
+        BlockingQueue<Object> fetched = new ArrayBlockingQueue<>(Math.max(scanner.getPipelineQueueCapacity(), 1));
+        BlockingQueue<Computed<T>> computed = new LinkedBlockingQueue<>();
+        AtomicInteger fetchesLeft = new AtomicInteger(items.size());
+        StageClock fetchClock = new StageClock();
+        StageClock computeClock = new StageClock();
+        StageClock sinkClock = new StageClock();
+        AtomicLong blockedNanos = new AtomicLong();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        RunScope scope = open(runId, items.size() + computeThreads);
+        ExecutorService threads = fetchThreads();
+        ExecutorService computePool = Executors.newFixedThreadPool(computeThreads,
+                Thread.ofPlatform().name("scan-compute-", 0).factory());
+        try {
+            for (int i = 0; i < computeThreads; i++) {
+                FutureTask<Void> worker = new ScopedTask<>(scope, null, () -> withMdc(mdc, () -> {
+                    computeLoop(fetched, computed, compute, computeClock);
+                    return null;
+                }));
+                if (scope.add(worker)) {
+                    computePool.execute(worker);
+                }
+            }
+            for (S item : items) {
+                acquire(permits, scope, deadline);
+                FutureTask<Void> task = new ScopedTask<>(scope, permits, () -> withMdc(mdc, () -> {
+                    long fetchStart = System.nanoTime();
+                    F data = fetch.apply(item);
+                    long queuedAt = fetchClock.record(fetchStart);
+                    fetched.put(new Fetched<>(item, data));
+                    blockedNanos.addAndGet(System.nanoTime() - queuedAt);
+                    if (fetchesLeft.decrementAndGet() == 0) {
+                        for (int i = 0; i < computeThreads; i++) {
+                            fetched.put(END_OF_INPUT);
+                        }
+                    }
+                    return null;
+                }));
+                if (!scope.add(task)) {
+                    throw scope.stopped();
+                }
+                submit(task, threads);
+            }
+            for (int received = 0; received < items.size(); received++) {
+                Computed<T> next = scope.poll(computed, deadline);
+                long sinkStart = System.nanoTime();
+                sink.accept(next.value());
+                sinkClock.record(sinkStart);
+            }
+            report(items.size(), System.nanoTime() - startedAt, fetchLimit, computeThreads, fetchClock, computeClock,
+                    sinkClock, blockedNanos.get());
+        } finally {
+            close(runId, scope, threads);
+            computePool.shutdownNow();
+        }
+    }
+
+    /**
+     * Cancels the run registered under {@code runId}, if it is still fanning out.
+     */
+    public boolean cancel(String runId) {
+        RunScope scope = runId != null ? activeRuns.get(runId) : null;
+        if (scope == null) {
+            return false;
+        }
+        scope.cancel(CANCELLED);
+        return true;
+    }
+
+    int concurrencyLimit() {
+        StrategyConfig.Scanner scanner = config.getScanner();
+        double inFlight = fyersRateLimiter.currentRate() * scanner.getBrokerCallLatencyMs() / 1000.0;
+        return Math.max(1, Math.min((int) Math.ceil(inFlight), Math.max(scanner.getMaxConcurrency(), 1)));
+    }
+
+    int computeThreads() {
+        int configured = config.getScanner().getComputeThreads();
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static <S, F, T> void computeLoop(BlockingQueue<Object> fetched, BlockingQueue<Computed<T>> computed,
+                                              BiFunction<S, F, T> compute, StageClock clock)
+            throws InterruptedException {
+        while (true) {
+            Object next = fetched.take();
+            if (next == END_OF_INPUT) {
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            Fetched<S, F> input = (Fetched<S, F>) next;
+            long started = System.nanoTime();
+            T value = compute.apply(input.item(), input.data());
+            clock.record(started);
+            computed.add(new Computed<>(value));
+        }
+    }
+
+    private void report(int items, long elapsedNanos, int fetchLimit, int computeThreads, StageClock fetchClock,
+                        StageClock computeClock, StageClock sinkClock, long blockedNanos) {
+        log.info("Scan pipeline: {} symbols in {} ms | fetch x{}: {}/s, busy {} ms, blocked on queue {} ms"
+                        + " | compute x{}: {}/s, busy {} ms | sink: busy {} ms",
+                items, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                fetchLimit, fetchClock.throughput(), fetchClock.busyMillis(), TimeUnit.NANOSECONDS.toMillis(blockedNanos),
+                computeThreads, computeClock.throughput(), computeClock.busyMillis(), sinkClock.busyMillis());
+        metricsService.recordScanStage("fetch", fetchClock.items(), fetchClock.busyNanos());
+        metricsService.recordScanStage("compute", computeClock.items(), computeClock.busyNanos());
+        metricsService.recordScanStage("sink", sinkClock.items(), sinkClock.busyNanos());
+    }
+
+    private long deadline() {
+        long timeoutMs = config.getScanner().getRunTimeoutMs();
+        return timeoutMs > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs) : Long.MAX_VALUE;
+    }
+
+    private ExecutorService fetchThreads() {
+        boolean virtual = config.getScanner().getExecutorMode() == StrategyConfig.Scanner.ExecutorMode.VIRTUAL;
+        return virtual ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scan-", 0).factory()) : null;
+    }
+
+    private RunScope open(String runId, int expectedTasks) {
+        RunScope scope = new RunScope(expectedTasks);
+        if (runId != null) {
+            activeRuns.put(runId, scope);
+        }
+        return scope;
+    }
+
+    private void close(String runId, RunScope scope, ExecutorService threads) {
+        scope.cancel("scope closed");
+        if (runId != null) {
+            activeRuns.remove(runId, scope);
+        }
+        if (threads != null) {
+            shutdown(threads);
+        }
+    }
+
+    private void submit(FutureTask<?> future, ExecutorService threads) {
+        if (threads != null) {
+            threads.execute(future);
+            return;
+        }
+        try {
+            tradingExecutor.execute(future);
+        } catch (RejectedExecutionException e) {
+            // Pool saturated by other work; the caller runs the task rather than failing the scan
+            future.run();
+        }
+    }
+
+    private static void acquire(Semaphore permits, RunScope scope, long deadline) {
+        try {
+            while (!permits.tryAcquire(POLL_MS, TimeUnit.MILLISECONDS)) {
+                scope.check(deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scope.cancel("interrupted");
+            throw new ScanCancelledException("interrupted");
+        }
+    }
+
+    private static <T> T withMdc(Map<String, String> mdc, Callable<T> body) throws Exception {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            return body.call();
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private static void shutdown(ExecutorService threads) {
+        threads.shutdownNow();
+        try {
+            if (!threads.awaitTermination(SHUTDOWN_GRACE_MS, TimeUnit.MILLISECONDS)) {
+                log.warn("Scan tasks still running {} ms after their run ended", SHUTDOWN_GRACE_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Fetched<S, F>(S item, F data) {}
+
+    private record Computed<T>(T value) {}
+
+    /**
+     * Items, summed busy time and the span from the first start to the last finish of one stage.
+     */
+    private static final class StageClock {
+        private final AtomicInteger items = new AtomicInteger();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * @return the finish time it recorded
+         */
+        private long record(long startedAt) {
+            long now = System.nanoTime();
+            items.incrementAndGet();
+            busyNanos.addAndGet(now - startedAt);
+            firstStart.accumulateAndGet(startedAt, Math::min);
+            lastEnd.accumulateAndGet(now, Math::max);
+            return now;
+        }
+
+        private int items() {
+            return items.get();
+        }
+
+        private long busyNanos() {
+            return busyNanos.get();
+        }
+
+        private long busyMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(busyNanos.get());
+        }
+
+        private long throughput() {
+            long span = lastEnd.get() - firstStart.get();
+            return span > 0 ? Math.round(items.get() * 1e9 / span) : items.get();
+        }
+    }
+
+    /**
+     * Releases its fetch permit when it completes for any reason, and fails the scope if it threw.
+     */
+    private static final class ScopedTask<T> extends FutureTask<T> {
+        private final RunScope scope;
+        private final Semaphore permits;
+
+        private ScopedTask(RunScope scope, Semaphore permits, Callable<T> body) {
+            super(body);
+            this.scope = scope;
+            this.permits = permits;
+        }
+
+        @Override
+        protected void done() {
+            if (permits != null) {
+                permits.release();
+            }
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                get();
+            } catch (ExecutionException e) {
+                scope.fail(e.getCause());
+            } catch (InterruptedException | CancellationException e) {
+                // Already done; neither can happen here
+            }
+        }
+    }
+
+    private static final class RunScope {
+        private final List<FutureTask<?>> tasks;
+        private volatile String reason;
+        private volatile Throwable failure;
+
+        private RunScope(int expected) {
+            this.tasks = new ArrayList<>(expected);
+        }
+
+        private String reason() {
+            return reason;
+        }
+
+        private synchronized boolean add(FutureTask<?> task) {
+            if (reason != null) {
+                return false;
+            }
+            tasks.add(task);
+            return true;
+        }
+
+        private void fail(Throwable cause) {
+            synchronized (this) {
+                if (failure == null && reason == null) {
+                    failure = cause;
+                }
+            }
+            cancel("task failed");
+        }
+
+        /**
+         * Interrupts running tasks and drops pending ones; finished tasks are unaffected. The first reason wins.
+         */
+        private synchronized void cancel(String why) {
+            if (reason == null) {
+                reason = why;
+            }
+            for (FutureTask<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+
+        /**
+         * The exception that ends a run which has stopped: the failing task's own exception, otherwise the reason.
+         */
+        private RuntimeException stopped() {
+            if (failure != null) {
+                rethrow(failure);
+            }
+            return new ScanCancelledException(reason != null ? reason : CANCELLED);
+        }
+
+        /**
+         * Throws if the run has failed, been cancelled or passed its deadline.
+         */
+        private void check(long deadline) {
+            if (failure != null || reason != null) {
+                throw stopped();
+            }
+            if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) {
+                cancel("timed out");
+                throw new ScanCancelledException("timed out");
+            }
+        }
+
+        private <T> T await(FutureTask<T> task, long deadline) {
+            try {
+                long remaining = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+                return task.get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS);
+            } catch (CancellationException e) {
+                throw stopped();
+            } catch (TimeoutException e) {
+                cancel("timed out");
+                throw new ScanCancelledException("timed out");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel("interrupted");
+                throw new ScanCancelledException("interrupted");
+            } catch (ExecutionException e) {
+                fail(e.getCause());
+                return rethrow(e.getCause());
+            }
+        }
+
+        private <T> T poll(BlockingQueue<T> queue, long deadline) {
+            try {
+                while (true) {
+                    T next = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        return next;
+                    }
+                    check(deadline);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel("interrupted");
+                throw new ScanCancelledException("interrupted");
+            }
+        }
+
+        private static <T> T rethrow(Throwable cause) {
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
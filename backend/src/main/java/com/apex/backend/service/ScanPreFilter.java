@@ -0,0 +1,161 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.AdvancedTradingProperties;
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.model.Candle;
+import com.apex.backend.service.StrategyScoringService.ScoreBreakdown;
+import com.apex.backend.service.indicator.CandleConfirmationValidator;
+import com.apex.backend.service.indicator.IndicatorSnapshot;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
+import com.apex.backend.trading.pipeline.DecisionResult;
+import com.apex.backend.trading.pipeline.RiskDecision;
+import com.apex.backend.trading.pipeline.ScanRejectReason;
+import com.apex.backend.trading.pipeline.SignalDiagnostics;
+import com.apex.backend.trading.pipeline.SignalScore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cheap first pass over a symbol's primary candles, run by the scanner before the full decision pipeline.
+ * <p>
+ * Only conditions that {@link SmartSignalGenerator} also requires of a tradable signal are checked, all from the
+ * primary series: liquidity, the ADX, RSI and ATR ranges, breakout or momentum, the confirming candle and the minimum
+ * score. A symbol failing any of them can never produce a signal, so it skips the higher timeframe and daily fetches
+ * and the strategy health and risk engines. It still leaves a trace: the HOLD decision carries the rejection reasons
+ * for the scan diagnostics, and a single PRE_FILTER audit replaces the per-stage ones the generator would have
+ * written. The indicator snapshot read here is cached on (symbol, timeframe, last bar), so survivors get the same
+ * values back in the full evaluation.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScanPreFilter {
+
+    private final StrategyConfig strategyConfig;
+    private final AdvancedTradingProperties advancedTradingProperties;
+    private final IndicatorSnapshotService indicatorSnapshotService;
+    private final StrategyScoringService strategyScoringService;
+    private final CandleConfirmationValidator candleConfirmationValidator;
+    private final LiquidityGateService liquidityGateService;
+    private final DecisionAuditService decisionAuditService;
+
+    /**
+     * The HOLD decision to report in place of a full evaluation, or empty when the symbol has to go through the full
+     * pipeline. Diagnostics carry the same stage flags the generator would have set, so scan counters do not change.
+     */
+    public Optional<DecisionResult> reject(String symbol, String timeframe, List<Candle> candles) {
+        if (!strategyConfig.getScanner().isPreFilterEnabled() || candles == null
+                || candles.size() < strategyConfig.getStrategy().getMinCandleCount()) {
+            return Optional.empty();
+        }
+        Optional<SignalScore> rejected;
+        try {
+            rejected = evaluate(symbol, timeframe, candles);
+        } catch (RuntimeException e) {
+            // Leave malformed series to the data quality guard in the full pipeline
+            log.debug("Pre-filter skipped for {}: {}", symbol, e.getMessage());
+            return Optional.empty();
+        }
+        rejected.ifPresent(signalScore -> audit(symbol, timeframe, signalScore));
+        return rejected.map(signalScore -> hold(symbol, signalScore));
+    }
+
+    private void audit(String symbol, String timeframe, SignalScore signalScore) {
+        try {
+            decisionAuditService.record(symbol, timeframe, "PRE_FILTER", Map.of(
+                    "reason", signalScore.reason(),
+                    "score", signalScore.score(),
+                    "rejections", signalScore.diagnostics().getRejectionReasons().stream().map(Enum::name).toList()
+            ));
+        } catch (Exception e) {
+            log.warn("Failed to audit pre-filter rejection for {}: {}", symbol, e.getMessage());
+        }
+    }
+
+    private Optional<SignalScore> evaluate(String symbol, String timeframe, List<Candle> candles) {
+        double close = candles.get(candles.size() - 1).getClose();
+        if (advancedTradingProperties.getLiquidity().isGateEnabled()) {
+            var liquidity = liquidityGateService.evaluate(symbol, candles, close);
+            if (!liquidity.allowed()) {
+                return Optional.of(rejected(0.0, "Pre-filter liquidity: " + liquidity.reason(),
+                        SignalDiagnostics.withReason(ScanRejectReason.LIQUIDITY_GATE)));
+            }
+        }
+
+        StrategyConfig.Strategy strategy = strategyConfig.getStrategy();
+        IndicatorSnapshot snapshot = indicatorSnapshotService.snapshot(symbol, timeframe, candles);
+        double adx = snapshot.adx().adx();
+        double rsi = snapshot.rsi().rsi();
+        double atrPercent = snapshot.atr().atrPercent();
+        boolean rsiGoldilocks = rsi >= strategy.getRsiGoldilocksMin() && rsi <= strategy.getRsiGoldilocksMax();
+        boolean atrValid = atrPercent >= strategy.getAtrMinPercent() && atrPercent <= strategy.getAtrMaxPercent();
+        boolean strongMomentum = snapshot.macd().histogram() > strategy.getMacdHistogramMin()
+                && snapshot.macd().momentumScore() >= strategy.getMacdMinMomentumScore()
+                && snapshot.macdConfirmation().bullishCrossover();
+        boolean squeeze = snapshot.squeeze().squeeze();
+        boolean squeezeBreakout = squeeze && close > snapshot.bollinger().upper();
+        var candleConfirm = candleConfirmationValidator.confirm(candles);
+        boolean candleConfirmed = candleConfirm.bullishConfirmed() && candleConfirm.volumeConfirmed();
+
+        // Structure breakout needs the Donchian channel and is left to the full evaluation
+        SignalDiagnostics diagnostics = SignalDiagnostics.builder()
+                .trendPass(adx >= strategy.getAdxStrongThreshold())
+                .volumePass(candleConfirm.volumeConfirmed())
+                .breakoutPass(squeezeBreakout || strongMomentum)
+                .rsiPass(rsiGoldilocks)
+                .adxPass(adx >= strategy.getAdxThreshold())
+                .atrPass(atrValid)
+                .momentumPass(strongMomentum)
+                .squeezePass(squeeze)
+                .build();
+
+        ScoreBreakdown breakdown = strategyScoringService.score(snapshot);
+        double score = Math.round(breakdown.totalScore());
+        if (breakdown.totalScore() < strategy.getMinEntryScore()) {
+            diagnostics.addRejectionReason(ScanRejectReason.SCORE_TOO_LOW);
+            return Optional.of(rejected(score, "Pre-filter: score below " + strategy.getMinEntryScore(), diagnostics));
+        }
+        if (adx < strategy.getAdxThreshold()) {
+            diagnostics.addRejectionReason(ScanRejectReason.ADX_TOO_LOW);
+        }
+        if (!rsiGoldilocks) {
+            diagnostics.addRejectionReason(ScanRejectReason.RSI_OUT_OF_RANGE);
+        }
+        if (!atrValid) {
+            diagnostics.addRejectionReason(ScanRejectReason.ATR_OUT_OF_RANGE);
+        }
+        if (!(squeezeBreakout || strongMomentum)) {
+            diagnostics.addRejectionReason(ScanRejectReason.BREAKOUT_FAILED);
+        }
+        if (!candleConfirmed) {
+            diagnostics.addRejectionReason(ScanRejectReason.VOLUME_TOO_LOW);
+        }
+        if (!diagnostics.getRejectionReasons().isEmpty()) {
+            return Optional.of(rejected(score, "Pre-filter: entry conditions not met", diagnostics));
+        }
+        return Optional.empty();
+    }
+
+    private static DecisionResult hold(String symbol, SignalScore signalScore) {
+        List<String> reasons = List.of(signalScore.reason());
+        return new DecisionResult(
+                symbol,
+                DecisionResult.DecisionAction.HOLD,
+                signalScore.score(),
+                reasons,
+                new RiskDecision(false, 0.0, reasons, 1.0, 0),
+                null,
+                signalScore,
+                null
+        );
+    }
+
+    private static SignalScore rejected(double score, String reason, SignalDiagnostics diagnostics) {
+        return new SignalScore(false, score, "N/A", 0.0, 0.0, reason, null, List.of(), diagnostics);
+    }
+}
@@ -0,0 +1,165 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.dto.ScanProgressEvent;
+import com.apex.backend.dto.ScannerRunStatusResponse;
+import com.apex.backend.model.ScannerRun;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Fans scanner run progress out to the run owner's STOMP queue and to any SSE subscribers of the run.
+ * <p>
+ * The latest event of each live run is kept so late subscribers and the progress endpoint see the running counters.
+ * A run's stream is closed by its terminal event and dropped when the executor releases the run.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScanProgressPublisher {
+
+    static final String PROGRESS_EVENT = "progress";
+    static final String STATUS_EVENT = "status";
+
+    private final BroadcastService broadcastService;
+    private final StrategyConfig strategyConfig;
+
+    private final Map<Long, RunStream> streams = new ConcurrentHashMap<>();
+
+    public void publish(Long userId, ScanProgressEvent event) {
+        if (event.getTimestamp() == null) {
+            event.setTimestamp(Instant.now());
+        }
+        RunStream stream = streams.computeIfAbsent(event.getRunId(), id -> new RunStream());
+        List<SseEmitter> emitters;
+        synchronized (stream) {
+            if (stream.closed) {
+                return;
+            }
+            stream.latest = event;
+            if (event.isTerminal()) {
+                stream.closed = true;
+            }
+            emitters = List.copyOf(stream.emitters);
+        }
+        broadcastService.broadcastScanProgress(userId, event);
+        for (SseEmitter emitter : emitters) {
+            send(stream, emitter, PROGRESS_EVENT, event);
+            if (event.isTerminal()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Publishes the terminal event of a run, carrying over the last counters seen. Later events for the run are ignored.
+     */
+    public void complete(Long userId, Long runId, ScanProgressEvent.Type type, String message) {
+        ScanProgressEvent last = progress(runId).orElse(null);
+        publish(userId, ScanProgressEvent.builder()
+                .runId(runId)
+                .type(type)
+                .message(message)
+                .totalSymbols(last != null ? last.getTotalSymbols() : 0)
+                .scannedSymbols(last != null ? last.getScannedSymbols() : 0)
+                .passedStage1(last != null ? last.getPassedStage1() : 0)
+                .passedStage2(last != null ? last.getPassedStage2() : 0)
+                .signalsFound(last != null ? last.getSignalsFound() : 0)
+                .build());
+    }
+
+    public Optional<ScanProgressEvent> progress(Long runId) {
+        RunStream stream = streams.get(runId);
+        return stream == null ? Optional.empty() : Optional.ofNullable(stream.latest);
+    }
+
+    /**
+     * Opens an SSE stream for a run. Finished runs get their stored status and an immediately completed stream.
+     * <p>
+     * {@code current} re-reads the run when the subscriber is the first to track it: the run may have been released
+     * after {@code status} was read, and nothing would ever close a stream opened after that.
+     */
+    public SseEmitter subscribe(ScannerRunStatusResponse status, Supplier<ScannerRunStatusResponse> current) {
+        SseEmitter emitter = new SseEmitter(strategyConfig.getScanner().getProgressStreamTimeoutMs());
+        if (!isLive(status.getStatus())) {
+            send(null, emitter, STATUS_EVENT, status);
+            emitter.complete();
+            return emitter;
+        }
+        RunStream created = new RunStream();
+        RunStream stream = streams.computeIfAbsent(status.getRunId(), id -> created);
+        if (stream == created) {
+            ScannerRunStatusResponse latestStatus = current.get();
+            if (!isLive(latestStatus.getStatus())) {
+                streams.remove(status.getRunId(), created);
+                send(null, emitter, STATUS_EVENT, latestStatus);
+                emitter.complete();
+                return emitter;
+            }
+        }
+        emitter.onCompletion(() -> stream.emitters.remove(emitter));
+        emitter.onTimeout(() -> stream.emitters.remove(emitter));
+        emitter.onError(error -> stream.emitters.remove(emitter));
+        ScanProgressEvent latest;
+        boolean closed;
+        synchronized (stream) {
+            latest = stream.latest;
+            closed = stream.closed;
+            if (!closed) {
+                stream.emitters.add(emitter);
+            }
+        }
+        send(stream, emitter, latest != null ? PROGRESS_EVENT : STATUS_EVENT, latest != null ? latest : status);
+        if (closed) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Drops the run's stream once nothing more will be published for it.
+     */
+    public void release(Long runId) {
+        RunStream stream = streams.remove(runId);
+        if (stream != null) {
+            stream.emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void send(RunStream stream, SseEmitter emitter, String name, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(payload));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping scan progress subscriber: {}", e.getMessage());
+            if (stream != null) {
+                stream.emitters.remove(emitter);
+            }
+            emitter.completeWithError(e);
+        }
+    }
+
+    boolean isTracked(Long runId) {
+        return streams.containsKey(runId);
+    }
+
+    private static boolean isLive(String status) {
+        return ScannerRun.Status.PENDING.name().equals(status) || ScannerRun.Status.RUNNING.name().equals(status);
+    }
+
+    private static final class RunStream {
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private volatile ScanProgressEvent latest;
+        private boolean closed;
+    }
+}
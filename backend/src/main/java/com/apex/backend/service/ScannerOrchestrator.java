@@ -3,27 +3,24 @@ package com.apex.backend.service;
 import com.apex.backend.config.StrategyConfig;
 import com.apex.backend.config.StrategyProperties;
 import com.apex.backend.model.Candle;
+import com.apex.backend.trading.pipeline.DecisionContext;
 import com.apex.backend.trading.pipeline.DecisionResult;
 import com.apex.backend.trading.pipeline.PipelineRequest;
+import com.apex.backend.trading.pipeline.SignalSeries;
 import com.apex.backend.trading.pipeline.TradeDecisionPipelineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ScannerOrchestrator {
 
+    private static final String TIMEFRAME = "5";
+
     private final StrategyConfig config;
     private final StrategyProperties strategyProperties;
     private final StockScreeningService screeningService;
@@ -32,8 +29,9 @@ public class ScannerOrchestrator {
     private final BotStatusService botStatusService;
     private final com.apex.backend.service.indicator.MarketRegimeDetector marketRegimeDetector;
     private final TradeDecisionPipelineService tradeDecisionPipelineService;
-    @Qualifier("tradingExecutor")
-    private final Executor tradingExecutor;
+    private final ScanFanOut scanFanOut;
+    private final ScanPreFilter scanPreFilter;
+    private final MetricsService metricsService;
 
     public void runScanner(Long userId) {
         if (!config.getScanner().isEnabled()) return;
@@ -57,54 +55,41 @@ public class ScannerOrchestrator {
         botStatusService.resetScanProgress();
         botStatusService.setTotalStocks(universe.size());
 
-        // Thread-safe collection
-        ConcurrentLinkedQueue<DecisionResult> candidates = new ConcurrentLinkedQueue<>();
-
-        // 2. ⚡ PARALLEL SCAN
-        List<CompletableFuture<Void>> futures = universe.stream()
-                .map(symbol -> CompletableFuture.runAsync(() -> {
-                    DecisionResult decision = processSymbol(symbol, userId);
+        // 2. ⚡ PIPELINED SCAN (candles fetched under the broker budget, evaluated on the CPU cores)
+        // 3. 📊 RANKING & EXECUTION as results arrive: top grade fires at once, the rest keeps the best N
+        boolean requireManualApproval = strategyProperties.getScanner().isRequireManualApproval();
+        SignalRanker ranker = new SignalRanker(strategyProperties.getScanner().getMaxCandidates(),
+                SignalRanker.earlyFireScore(config),
+                decision -> executeCandidate(decision, requireManualApproval, currentVix, userId));
+        DecisionContext context = prepareContext(userId);
+        scanFanOut.pipeline(null, universe, this::fetchCandles, (symbol, data) -> processSymbol(symbol, data, userId, context),
+                decision -> {
                     botStatusService.incrementScannedStocks();
-                    if (decision != null && decision.action() == DecisionResult.DecisionAction.BUY) {
-                        candidates.add(decision);
+                    if (decision != null && decision.action() == DecisionResult.DecisionAction.BUY
+                            && ranker.offer(decision)) {
+                        log.info("⚡ Early fire: {} [Score: {}]", decision.symbol(), decision.score());
                     }
-                }, tradingExecutor))
-                .toList();
-
-        // Wait for all threads
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-
-        // 3. 📊 RANKING & EXECUTION
-        processCandidates(new ArrayList<>(candidates), currentVix, userId);
-    }
+                });
 
-    private void processCandidates(List<DecisionResult> candidates, double currentVix, Long userId) {
-        if (candidates.isEmpty()) {
+        if (ranker.offered() == 0) {
             log.info("🚫 No valid setups found.");
             return;
         }
+        int early = ranker.executed();
+        int ranked = ranker.drain();
+        metricsService.recordScanActionFailures("auto", ranker.failed());
+        log.info("🏆 Processed {} Picks from {} setups ({} early, manual approval: {})",
+                early + ranked, ranker.offered(), early, requireManualApproval);
+    }
 
-        // Sort by Score DESC (Hunter Logic)
-        candidates.sort(Comparator.comparingDouble(DecisionResult::score).reversed());
-
-        int maxCandidates = strategyProperties.getScanner().getMaxCandidates();
-        // Limit to Top N
-        List<DecisionResult> topPicks = candidates.stream()
-                .limit(maxCandidates)
-                .collect(Collectors.toList());
-
-        boolean requireManualApproval = strategyProperties.getScanner().isRequireManualApproval();
-        log.info("🏆 Processing Top {} Picks (manual approval: {}):", topPicks.size(), requireManualApproval);
-
-        for (DecisionResult decision : topPicks) {
-            if (requireManualApproval) {
-                log.info("📝 Queuing for approval: {} [Score: {}]", decision.symbol(), decision.score());
-                screeningService.saveSignal(userId, decision);
-            } else {
-                log.info("👉 Executing: {} [Score: {}]", decision.symbol(), decision.score());
-                // ✅ FIXED: Passing 'currentVix' (double) instead of 'isMarketBullish' (boolean)
-                tradeExecutionService.executeAutoTrade(userId, decision, true, currentVix);
-            }
+    private void executeCandidate(DecisionResult decision, boolean requireManualApproval, double currentVix, Long userId) {
+        if (requireManualApproval) {
+            log.info("📝 Queuing for approval: {} [Score: {}]", decision.symbol(), decision.score());
+            screeningService.saveSignal(userId, decision);
+        } else {
+            log.info("👉 Executing: {} [Score: {}]", decision.symbol(), decision.score());
+            // ✅ FIXED: Passing 'currentVix' (double) instead of 'isMarketBullish' (boolean)
+            tradeExecutionService.executeAutoTrade(userId, decision, true, currentVix);
         }
     }
 
@@ -132,19 +117,44 @@ public class ScannerOrchestrator {
         }
     }
 
-    private DecisionResult processSymbol(String symbol, Long userId) {
+    private DecisionContext prepareContext(Long userId) {
+        try {
+            return tradeDecisionPipelineService.prepare(userId);
+        } catch (Exception e) {
+            log.warn("⚠️ Scan context unavailable, reading it per symbol: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fetch stage: every broker read for the symbol, after the cheap pre-filter. Null when the symbol is out; a
+     * pre-filtered symbol has its reason written to the decision audit, and only BUY decisions matter to this scan.
+     */
+    private SymbolData fetchCandles(String symbol) {
         try {
             // ✅ FETCH MULTI-TIMEFRAME DATA (Matches SmartSignalGenerator)
-            List<Candle> m5 = fyersService.getHistoricalData(symbol, 200, "5");
+            List<Candle> m5 = fyersService.getHistoricalData(symbol, 200, TIMEFRAME);
+            if (m5 == null || m5.size() < 50) return null;
+            if (scanPreFilter.reject(symbol, TIMEFRAME, m5).isPresent()) return null;
+            return new SymbolData(m5, tradeDecisionPipelineService.fetchSeries(symbol, TIMEFRAME, m5));
+        } catch (Exception e) {
+            log.error("Scan error {}: {}", symbol, e.getMessage());
+            return null;
+        }
+    }
 
-            if (m5.size() < 50) return null;
+    private DecisionResult processSymbol(String symbol, SymbolData data, Long userId, DecisionContext context) {
+        try {
+            if (data == null) return null;
 
             return tradeDecisionPipelineService.evaluate(new PipelineRequest(
                     userId,
                     symbol,
-                    "5",
-                    m5,
-                    null
+                    TIMEFRAME,
+                    data.m5(),
+                    null,
+                    data.series(),
+                    context
             ));
 
         } catch (Exception e) {
@@ -152,4 +162,6 @@ public class ScannerOrchestrator {
         }
         return null;
     }
+
+    private record SymbolData(List<Candle> m5, SignalSeries series) {}
 }
@@ -6,13 +6,13 @@ import com.apex.backend.dto.ScanRequest;
 import com.apex.backend.dto.ScanResponse;
 import com.apex.backend.dto.ScanSignalResponse;
 import com.apex.backend.dto.ScanPipelineStats;
+import com.apex.backend.dto.ScanProgressEvent;
 import com.apex.backend.dto.ScannerRunRequest;
 import com.apex.backend.exception.BadRequestException;
 import com.apex.backend.exception.NotFoundException;
+import com.apex.backend.exception.ScanCancelledException;
 import com.apex.backend.model.ScannerRun;
-import com.apex.backend.model.ScannerRunResult;
 import com.apex.backend.repository.ScannerRunRepository;
-import com.apex.backend.repository.ScannerRunResultRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +20,11 @@ import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -34,7 +37,8 @@ public class ScannerRunExecutor {
     private final WatchlistService watchlistService;
     private final StrategyConfig strategyConfig;
     private final ScannerRunRepository scannerRunRepository;
-    private final ScannerRunResultRepository scannerRunResultRepository;
+    private final ScannerRunResultWriter scannerRunResultWriter;
+    private final ScanProgressPublisher scanProgressPublisher;
     private final ObjectMapper objectMapper;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -60,6 +64,7 @@ public class ScannerRunExecutor {
 
             if (!strategyConfig.getScanner().isEnabled()) {
                 markRunFailed(run, "Scanner configuration is disabled.");
+                finishProgress(userId, runId, ScanProgressEvent.Type.FAILED, run.getErrorMessage());
                 return;
             }
 
@@ -70,6 +75,7 @@ public class ScannerRunExecutor {
             if (symbols == null || symbols.isEmpty()) {
                 applyEmptyUniverseDiagnostics(run);
                 completeRun(run);
+                finishProgress(userId, runId, ScanProgressEvent.Type.COMPLETED, null);
                 return;
             }
 
@@ -81,25 +87,49 @@ public class ScannerRunExecutor {
                     .dryRun(request.isDryRun())
                     .build();
 
-            ScanResponse response = manualScanService.runManualScan(userId, scanRequest);
+            ResultBuffer results = new ResultBuffer(runId, strategyConfig.getScanner().getResultFlushBatchSize());
+            ScanResponse response = manualScanService.runManualScan(userId, scanRequest, event -> {
+                event.setRunId(runId);
+                scanProgressPublisher.publish(userId, event);
+                results.add(event.getSignal());
+            });
 
             run = scannerRunRepository.findById(runId).orElse(run);
             if (run.getStatus() == ScannerRun.Status.CANCELLED) {
                 log.info("Run {} was cancelled during execution.", runId);
+                discardResults(runId);
                 return;
             }
 
+            results.flush();
             updateRunWithResponse(run, response);
-            saveResults(run, response.getSignals());
             completeRun(run);
+            finishProgress(userId, runId, ScanProgressEvent.Type.COMPLETED, null);
 
             log.info("✅ Completed scan run {} for user {}", runId, userId);
 
+        } catch (ScanCancelledException ex) {
+            log.info("Run {} stopped during execution: {}", runId, ex.getMessage());
+            discardResults(runId);
+            // This transaction's run still reads RUNNING. A user cancel has already committed CANCELLED and published
+            // the terminal event, so keep that status rather than failing the run over it
+            boolean userCancel = ScanFanOut.CANCELLED.equals(ex.getMessage());
+            scannerRunRepository.findById(runId).ifPresent(r -> {
+                if (userCancel) {
+                    markRunCancelled(r);
+                } else {
+                    markRunFailed(r, "Scan " + ex.getMessage());
+                    finishProgress(userId, runId, ScanProgressEvent.Type.FAILED, r.getErrorMessage());
+                }
+            });
         } catch (Exception ex) {
             log.error("❌ Scanner run {} failed for user {}", runId, userId, ex);
+            discardResults(runId);
             scannerRunRepository.findById(runId).ifPresent(r -> markRunFailed(r, ex.getMessage()));
+            finishProgress(userId, runId, ScanProgressEvent.Type.FAILED, ex.getMessage());
         } finally {
             log.info("EXECUTOR STOP: Completed processing runId={} for userId={}", runId, userId);
+            afterCompletion(() -> scanProgressPublisher.release(runId));
             MDC.clear();
         }
     }
@@ -125,24 +155,6 @@ public class ScannerRunExecutor {
         run.setRejectedStage2ReasonCounts(serialize(defaultReasonMap(diagnostics.getRejectedStage2ReasonCounts())));
     }
 
-    private void saveResults(ScannerRun run, List<ScanSignalResponse> signals) {
-        if (signals == null || signals.isEmpty()) {
-            return;
-        }
-        List<ScannerRunResult> results = signals.stream()
-                .map(signal -> ScannerRunResult.builder()
-                        .run(run)
-                        .symbol(signal.getSymbol())
-                        .score(signal.getScore())
-                        .grade(signal.getGrade())
-                        .entryPrice(signal.getEntryPrice())
-                        .reason(signal.getReason())
-                        .createdAt(Instant.now())
-                        .build())
-                .toList();
-        scannerRunResultRepository.saveAll(results);
-    }
-
     private List<String> resolveSymbols(Long userId, ScannerRunRequest request) {
         return switch (request.getUniverseType()) {
             case WATCHLIST -> watchlistService.resolveSymbolsForStrategyOrDefault(userId, request.getStrategyId());
@@ -249,6 +261,80 @@ public class ScannerRunExecutor {
         );
     }
 
+    /**
+     * Drops the batches a cancelled or failed run already wrote, so its results never show a partial universe.
+     */
+    private void discardResults(Long runId) {
+        try {
+            long removed = scannerRunResultWriter.discard(runId);
+            if (removed > 0) {
+                log.info("Discarded {} partial results of scan run {}", removed, runId);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to discard partial results of scan run {}: {}", runId, e.getMessage());
+        }
+    }
+
+    private void finishProgress(Long userId, Long runId, ScanProgressEvent.Type type, String message) {
+        afterCompletion(() -> scanProgressPublisher.complete(userId, runId, type, message));
+    }
+
+    /**
+     * Defers progress events until the run's transaction is done, so subscribers reading the run see its final state.
+     */
+    private void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Signals of a running scan, written in batches so results can be read before the run completes.
+     */
+    private final class ResultBuffer {
+        private final Long runId;
+        private final int batchSize;
+        private final List<ScanSignalResponse> pending = new ArrayList<>();
+
+        private ResultBuffer(Long runId, int batchSize) {
+            this.runId = runId;
+            this.batchSize = Math.max(1, batchSize);
+        }
+
+        private void add(ScanSignalResponse signal) {
+            if (signal == null) {
+                return;
+            }
+            pending.add(signal);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            scannerRunResultWriter.saveBatch(runId, List.copyOf(pending));
+            pending.clear();
+        }
+    }
+
+    private void markRunCancelled(ScannerRun run) {
+        run.setStatus(ScannerRun.Status.CANCELLED);
+        if (run.getCompletedAt() == null) {
+            run.setCompletedAt(Instant.now());
+        }
+        scannerRunRepository.save(run);
+    }
+
     private void markRunFailed(ScannerRun run, String message) {
         if (run.getStartedAt() == null) {
             run.setStartedAt(Instant.now());
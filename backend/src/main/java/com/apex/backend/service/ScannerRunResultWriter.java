@@ -0,0 +1,51 @@
+package com.apex.backend.service;
+
+import com.apex.backend.dto.ScanSignalResponse;
+import com.apex.backend.model.ScannerRun;
+import com.apex.backend.model.ScannerRunResult;
+import com.apex.backend.repository.ScannerRunRepository;
+import com.apex.backend.repository.ScannerRunResultRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Writes a batch of a run's signals in its own transaction, so results show up while the run is still executing.
+ * A run that does not complete has its batches discarded: only completed runs keep results.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScannerRunResultWriter {
+
+    private final ScannerRunRepository scannerRunRepository;
+    private final ScannerRunResultRepository scannerRunResultRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveBatch(Long runId, List<ScanSignalResponse> signals) {
+        if (signals == null || signals.isEmpty()) {
+            return;
+        }
+        ScannerRun run = scannerRunRepository.getReferenceById(runId);
+        List<ScannerRunResult> results = signals.stream()
+                .map(signal -> ScannerRunResult.builder()
+                        .run(run)
+                        .symbol(signal.getSymbol())
+                        .score(signal.getScore())
+                        .grade(signal.getGrade())
+                        .entryPrice(signal.getEntryPrice())
+                        .reason(signal.getReason())
+                        .createdAt(Instant.now())
+                        .build())
+                .toList();
+        scannerRunResultRepository.saveAll(results);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long discard(Long runId) {
+        return scannerRunResultRepository.deleteByRunId(runId);
+    }
+}
@@ -1,6 +1,7 @@
 package com.apex.backend.service;
 
 import com.apex.backend.dto.ScanDiagnosticsBreakdown;
+import com.apex.backend.dto.ScanProgressEvent;
 import com.apex.backend.dto.ScanSignalResponse;
 import com.apex.backend.dto.ScanRunSummary;
 import com.apex.backend.dto.ScannerRunRequest;
@@ -23,6 +24,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.List;
@@ -41,6 +43,8 @@ public class ScannerRunService {
     private final ObjectMapper objectMapper;
     private final ScannerRunExecutor scannerRunExecutor;
     private final WatchlistService watchlistService;
+    private final ScanFanOut scanFanOut;
+    private final ScanProgressPublisher scanProgressPublisher;
     @Qualifier("scannerExecutor")
     private final Executor scannerExecutor;
 
@@ -163,6 +167,8 @@ public class ScannerRunService {
                         }
                         r.setCompletedAt(Instant.now());
                         scannerRunRepository.save(r);
+                        scanProgressPublisher.complete(r.getUserId(), runId, ScanProgressEvent.Type.FAILED, reason);
+                        scanProgressPublisher.release(runId);
                         log.info("Forcefully marked runId {} as FAILED. Reason: {}", runId, reason);
                     }
                 });
@@ -205,6 +211,20 @@ public class ScannerRunService {
                 .build();
     }
 
+    /**
+     * Live counters of a run: the last published progress event, or the stored diagnostics when none is held.
+     */
+    @Transactional(readOnly = true)
+    public ScanProgressEvent getProgress(Long userId, Long runId) {
+        ScannerRunStatusResponse status = getStatus(userId, runId);
+        return scanProgressPublisher.progress(runId).orElseGet(() -> toProgress(status));
+    }
+
+    @Transactional(readOnly = true)
+    public SseEmitter streamProgress(Long userId, Long runId) {
+        return scanProgressPublisher.subscribe(getStatus(userId, runId), () -> getStatus(userId, runId));
+    }
+
     @Transactional
     public ScannerRunStatusResponse cancel(Long userId, Long runId) {
         ScannerRun run = scannerRunRepository.findByIdAndUserId(runId, userId)
@@ -217,6 +237,14 @@ public class ScannerRunService {
         run.setStatus(ScannerRun.Status.CANCELLED);
         run.setCompletedAt(Instant.now());
         scannerRunRepository.save(run);
+        // Only stop the executor and tell subscribers once the cancellation is committed. The terminal event goes first,
+        // so it closes the stream before the stopped executor releases it
+        afterCommit(() -> {
+            scanProgressPublisher.complete(userId, runId, ScanProgressEvent.Type.CANCELLED, null);
+            if (scanFanOut.cancel(String.valueOf(runId))) {
+                log.info("Cancelled in-flight symbol tasks for scan run {}", runId);
+            }
+        });
 
         return getStatus(userId, runId);
     }
@@ -314,6 +342,27 @@ public class ScannerRunService {
         }
     }
 
+    private ScanProgressEvent toProgress(ScannerRunStatusResponse status) {
+        ScanDiagnosticsBreakdown diagnostics = status.getDiagnostics();
+        ScanProgressEvent.Type type = switch (ScannerRun.Status.valueOf(status.getStatus())) {
+            case COMPLETED -> ScanProgressEvent.Type.COMPLETED;
+            case FAILED -> ScanProgressEvent.Type.FAILED;
+            case CANCELLED -> ScanProgressEvent.Type.CANCELLED;
+            default -> null;
+        };
+        return ScanProgressEvent.builder()
+                .runId(status.getRunId())
+                .type(type)
+                .message(status.getErrorMessage())
+                .totalSymbols(diagnostics.getTotalSymbols())
+                .scannedSymbols(type == ScanProgressEvent.Type.COMPLETED ? diagnostics.getTotalSymbols() : 0)
+                .passedStage1(diagnostics.getPassedStage1())
+                .passedStage2(diagnostics.getPassedStage2())
+                .signalsFound(diagnostics.getFinalSignals())
+                .timestamp(status.getCompletedAt())
+                .build();
+    }
+
     private int defaultValue(Integer value) {
         return value == null ? 0 : value;
     }
@@ -330,4 +379,17 @@ public class ScannerRunService {
                 .reason(result.getReason())
                 .build();
     }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,117 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.trading.pipeline.DecisionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Picks the candidates a scan acts on while its results are still arriving.
+ * <p>
+ * A candidate scoring at or above the early-fire score is handed to the action as soon as it is offered, while slots
+ * remain. Everything else is held in a min-heap bounded by the slots left, so the weakest held candidate is dropped as
+ * soon as a better one arrives; {@link #drain()} acts on what is left, best first, once the scan is done. Early fires
+ * take slots in arrival order, so a top-grade signal never waits on the slowest symbol of the universe.
+ * <p>
+ * An action that throws is logged and counted in {@link #failed()}; the candidate keeps its slot, since the order may
+ * have reached the broker, and the scan carries on with the next one.
+ * <p>
+ * Not thread safe: one instance per scan, fed from the pipeline sink.
+ */
+@Slf4j
+public final class SignalRanker {
+
+    private static final Comparator<DecisionResult> BY_SCORE = Comparator.comparingDouble(DecisionResult::score);
+
+    private final int slots;
+    private final double earlyFireScore;
+    private final Consumer<DecisionResult> action;
+    private final PriorityQueue<DecisionResult> held = new PriorityQueue<>(BY_SCORE);
+    private int executed;
+    private int offered;
+    private int failed;
+
+    public SignalRanker(int slots, double earlyFireScore, Consumer<DecisionResult> action) {
+        this.slots = Math.max(0, slots);
+        this.earlyFireScore = earlyFireScore;
+        this.action = action;
+    }
+
+    /**
+     * Score from which a candidate is acted on immediately: the top grade threshold, raised by the configured minimum.
+     */
+    public static double earlyFireScore(StrategyConfig config) {
+        StrategyConfig.Scanner scanner = config.getScanner();
+        if (!scanner.isEarlyFireEnabled()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.max(config.getStrategy().getGradeAaaThreshold(), scanner.getEarlyFireMinScore());
+    }
+
+    /**
+     * Returns true when the candidate was acted on immediately.
+     */
+    public boolean offer(DecisionResult candidate) {
+        offered++;
+        if (remaining() == 0) {
+            return false;
+        }
+        if (candidate.score() >= earlyFireScore) {
+            execute(candidate);
+            while (held.size() > remaining()) {
+                held.poll();
+            }
+            return true;
+        }
+        held.add(candidate);
+        if (held.size() > remaining()) {
+            held.poll();
+        }
+        return false;
+    }
+
+    /**
+     * Acts on the held candidates, best first. Returns how many were acted on.
+     */
+    public int drain() {
+        List<DecisionResult> picks = new ArrayList<>(held);
+        held.clear();
+        picks.sort(BY_SCORE.reversed());
+        picks.forEach(this::execute);
+        return picks.size();
+    }
+
+    public int executed() {
+        return executed;
+    }
+
+    public int offered() {
+        return offered;
+    }
+
+    /**
+     * How many executed candidates had their action throw.
+     */
+    public int failed() {
+        return failed;
+    }
+
+    private int remaining() {
+        return slots - executed;
+    }
+
+    private void execute(DecisionResult candidate) {
+        executed++;
+        try {
+            action.accept(candidate);
+        } catch (RuntimeException e) {
+            failed++;
+            log.error("Acting on scan candidate {} failed: {}", candidate.symbol(), e.getMessage(), e);
+        }
+    }
+}
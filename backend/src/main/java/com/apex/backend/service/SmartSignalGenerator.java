@@ -12,12 +12,14 @@ import com.apex.backend.service.indicator.CandleConfirmationValidator;
 import com.apex.backend.service.indicator.CandlePatternDetector;
 import com.apex.backend.service.indicator.ChoppinessIndexService;
 import com.apex.backend.service.indicator.DonchianChannelService;
-import com.apex.backend.service.indicator.MacdConfirmationService;
+import com.apex.backend.service.indicator.IndicatorSnapshot;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
 import com.apex.backend.service.indicator.MacdService;
 import com.apex.backend.service.indicator.MultiTimeframeMomentumService;
 import com.apex.backend.service.indicator.RsiService;
 import com.apex.backend.service.indicator.SqueezeService;
 import com.apex.backend.service.indicator.VolShockService;
+import com.apex.backend.trading.pipeline.BarResampler;
 import com.apex.backend.trading.pipeline.ScanRejectReason;
 import com.apex.backend.trading.pipeline.SignalDiagnostics;
 import lombok.AllArgsConstructor;
@@ -37,17 +39,15 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SmartSignalGenerator {
 
+    private static final String M15_TIMEFRAME = "15";
+    private static final String H1_TIMEFRAME = "60";
+    private static final String DAILY_TIMEFRAME = "D";
+
     private final StrategyConfig strategyConfig;
     private final StrategyProperties strategyProperties;
     private final AdvancedTradingProperties advancedTradingProperties;
-    private final MacdService macdService;
-    private final AdxService adxService;
-    private final RsiService rsiService;
-    private final AtrService atrService;
-    private final BollingerBandService bollingerBandService;
-    private final SqueezeService squeezeService;
+    private final IndicatorSnapshotService indicatorSnapshotService;
     private final StrategyScoringService strategyScoringService;
-    private final MacdConfirmationService macdConfirmationService;
     private final CandleConfirmationValidator candleConfirmationValidator;
     private final CandlePatternDetector candlePatternDetector;
     private final MultiTimeframeMomentumService multiTimeframeMomentumService;
@@ -89,8 +89,13 @@ public class SmartSignalGenerator {
         public boolean isHasSignal() { return hasSignal; }
     }
 
-    public SignalDecision generateSignalSmart(String symbol, List<Candle> m5, List<Candle> m15, List<Candle> h1, List<Candle> daily) {
-        if (m5.size() < strategyConfig.getStrategy().getMinCandleCount()) {
+    /**
+     * Evaluates {@code primary}, the series of the scan's {@code timeframe}; indicator state and snapshots are keyed on it.
+     */
+    public SignalDecision generateSignalSmart(String symbol, String timeframe, List<Candle> primary, List<Candle> m15,
+                                              List<Candle> h1, List<Candle> daily) {
+        String auditTimeframe = auditTimeframe(timeframe);
+        if (primary.size() < strategyConfig.getStrategy().getMinCandleCount()) {
             return SignalDecision.builder()
                     .hasSignal(false)
                     .reason("Insufficient Data")
@@ -100,7 +105,7 @@ public class SmartSignalGenerator {
 
         Instant now = Instant.now();
         if (systemGuardService.isTradingBlocked()) {
-            decisionAuditService.record(symbol, "5m", "GUARD", Map.of("reason", "TRADING_BLOCKED"));
+            decisionAuditService.record(symbol, auditTimeframe, "GUARD", Map.of("reason", "TRADING_BLOCKED"));
             return SignalDecision.builder()
                     .hasSignal(false)
                     .reason("System guard block")
@@ -110,7 +115,7 @@ public class SmartSignalGenerator {
 
         TradingWindowService.WindowDecision windowDecision = tradingWindowService.evaluate(now);
         if (!windowDecision.allowed()) {
-            decisionAuditService.record(symbol, "5m", "TIME_FILTER", Map.of("reason", windowDecision.reason()));
+            decisionAuditService.record(symbol, auditTimeframe, "TIME_FILTER", Map.of("reason", windowDecision.reason()));
             return SignalDecision.builder()
                     .hasSignal(false)
                     .reason("Time filter: " + windowDecision.reason())
@@ -118,21 +123,26 @@ public class SmartSignalGenerator {
                     .build();
         }
 
-        MacdService.MacdResult macdRes = macdService.calculate(m5);
-        var macdConfirm = macdConfirmationService.confirm(m5);
-        var candleConfirm = candleConfirmationValidator.confirm(m5);
-        var pattern = candlePatternDetector.detect(m5);
-        var multiTfScore = multiTimeframeMomentumService.score(m5, m15, h1, daily);
-        AdxService.AdxResult adxRes = adxService.calculate(m5);
-        RsiService.RsiResult rsiRes = rsiService.calculate(m5);
-        AtrService.AtrResult atrRes = atrService.calculate(m5);
-        SqueezeService.SqueezeResult squeezeRes = squeezeService.detect(m5);
-        BollingerBandService.BollingerBands bollinger = bollingerBandService.calculate(m5);
-        ScoreBreakdown breakdown = strategyScoringService.score(m5);
+        IndicatorSnapshot snapshot = indicatorSnapshotService.snapshot(symbol, timeframe, primary);
+        MacdService.MacdResult macdRes = snapshot.macd();
+        var macdConfirm = snapshot.macdConfirmation();
+        var candleConfirm = candleConfirmationValidator.confirm(primary);
+        var pattern = candlePatternDetector.detect(primary);
+        var multiTfScore = multiTimeframeMomentumService.score(
+                macdConfirm,
+                indicatorSnapshotService.snapshot(symbol, M15_TIMEFRAME, m15).macdConfirmation(),
+                indicatorSnapshotService.snapshot(symbol, H1_TIMEFRAME, h1).macdConfirmation(),
+                indicatorSnapshotService.snapshot(symbol, DAILY_TIMEFRAME, daily).macdConfirmation());
+        AdxService.AdxResult adxRes = snapshot.adx();
+        RsiService.RsiResult rsiRes = snapshot.rsi();
+        AtrService.AtrResult atrRes = snapshot.atr();
+        SqueezeService.SqueezeResult squeezeRes = snapshot.squeeze();
+        BollingerBandService.BollingerBands bollinger = snapshot.bollinger();
+        ScoreBreakdown breakdown = strategyScoringService.score(snapshot);
 
         double minAdx = strategyConfig.getStrategy().getAdxThreshold();
-        double close = m5.get(m5.size() - 1).getClose();
-        decisionAuditService.record(symbol, "5m", "PATTERN", Map.of(
+        double close = primary.get(primary.size() - 1).getClose();
+        decisionAuditService.record(symbol, auditTimeframe, "PATTERN", Map.of(
                 "pattern", pattern.type(),
                 "bullish", pattern.bullish(),
                 "strength", pattern.strengthScore()
@@ -146,7 +156,7 @@ public class SmartSignalGenerator {
         if (ownerUserId != null) {
             var guardDecision = circuitBreakerService.canTrade(ownerUserId, now);
             if (!guardDecision.allowed()) {
-                decisionAuditService.record(symbol, "5m", "GUARD", Map.of("reason", guardDecision.reason(), "until", guardDecision.until()));
+                decisionAuditService.record(symbol, auditTimeframe, "GUARD", Map.of("reason", guardDecision.reason(), "until", guardDecision.until()));
                 return SignalDecision.builder()
                         .hasSignal(false)
                         .reason("Guard: " + guardDecision.reason())
@@ -157,7 +167,7 @@ public class SmartSignalGenerator {
 
         if (strategyProperties.getMarketGate().isEnabled()) {
             MarketGateService.MarketGateDecision gate = marketGateService.evaluateForLong(now);
-            decisionAuditService.record(symbol, "5m", "MARKET_GATE", Map.of(
+            decisionAuditService.record(symbol, auditTimeframe, "MARKET_GATE", Map.of(
                     "allowed", gate.allowed(),
                     "reason", gate.reason(),
                     "emaFast", gate.emaFast(),
@@ -174,9 +184,9 @@ public class SmartSignalGenerator {
         }
 
         if (strategyProperties.getVolShock().isEnabled()) {
-            var shock = volShockService.evaluate(symbol, m5, strategyProperties.getVolShock().getLookback(),
+            var shock = volShockService.evaluate(symbol, primary, strategyProperties.getVolShock().getLookback(),
                     strategyProperties.getVolShock().getMultiplier(), now);
-            decisionAuditService.record(symbol, "5m", "VOL_SHOCK", Map.of(
+            decisionAuditService.record(symbol, auditTimeframe, "VOL_SHOCK", Map.of(
                     "shocked", shock.shocked(),
                     "atrPct", shock.atrPct(),
                     "medianAtrPct", shock.medianAtrPct(),
@@ -192,8 +202,8 @@ public class SmartSignalGenerator {
         }
 
         if (advancedTradingProperties.getLiquidity().isGateEnabled()) {
-            var liquidityDecision = liquidityGateService.evaluate(symbol, m5, close);
-            decisionAuditService.record(symbol, "5m", "LIQUIDITY_GATE", Map.of(
+            var liquidityDecision = liquidityGateService.evaluate(symbol, primary, close);
+            decisionAuditService.record(symbol, auditTimeframe, "LIQUIDITY_GATE", Map.of(
                     "allowed", liquidityDecision.allowed(),
                     "reason", liquidityDecision.reason(),
                     "rupeeVolume", liquidityDecision.rupeeVolume(),
@@ -211,9 +221,9 @@ public class SmartSignalGenerator {
 
         AdvancedTradingProperties.MarketRegime regimeConfig = advancedTradingProperties.getMarketRegime();
         if (regimeConfig.isChopFilterEnabled()) {
-            var chop = choppinessIndexService.calculate(m5, regimeConfig.getChopPeriod());
+            var chop = choppinessIndexService.calculate(primary, regimeConfig.getChopPeriod());
             boolean choppy = chop.chop() >= regimeConfig.getChoppyThreshold() && adxRes.adx() < regimeConfig.getTrendingAdxThreshold();
-            decisionAuditService.record(symbol, "5m", "CHOP_FILTER", Map.of(
+            decisionAuditService.record(symbol, auditTimeframe, "CHOP_FILTER", Map.of(
                     "chop", chop.chop(),
                     "threshold", regimeConfig.getChoppyThreshold(),
                     "adx", adxRes.adx(),
@@ -239,8 +249,8 @@ public class SmartSignalGenerator {
         boolean candleConfirmed = candleConfirm.bullishConfirmed() && candleConfirm.volumeConfirmed();
         boolean structureBreakoutOk = true;
         if (strategyProperties.getBreakout().isUseDonchian()) {
-            DonchianChannelService.Donchian channel = donchianChannelService.calculate(m5, strategyProperties.getBreakout().getDonchianPeriod());
-            decisionAuditService.record(symbol, "5m", "DONCHIAN", Map.of(
+            DonchianChannelService.Donchian channel = donchianChannelService.calculate(primary, strategyProperties.getBreakout().getDonchianPeriod());
+            decisionAuditService.record(symbol, auditTimeframe, "DONCHIAN", Map.of(
                     "period", channel.period(),
                     "upper", channel.upper(),
                     "lower", channel.lower(),
@@ -368,4 +378,8 @@ public class SmartSignalGenerator {
                 .diagnostics(diagnostics)
                 .build();
     }
+
+    private static String auditTimeframe(String timeframe) {
+        return BarResampler.intradayMinutes(timeframe).isPresent() ? timeframe.trim() + "m" : timeframe;
+    }
 }
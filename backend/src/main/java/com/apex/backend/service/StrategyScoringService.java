@@ -2,8 +2,10 @@ package com.apex.backend.service;
 
 import com.apex.backend.config.StrategyConfig;
 import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
 import com.apex.backend.service.indicator.AdxService;
 import com.apex.backend.service.indicator.AtrService;
+import com.apex.backend.service.indicator.IndicatorSnapshot;
 import com.apex.backend.service.indicator.MacdService;
 import com.apex.backend.service.indicator.RsiService;
 import com.apex.backend.service.indicator.SqueezeService;
@@ -29,7 +31,30 @@ public class StrategyScoringService {
         RsiService.RsiResult rsi = rsiService.calculate(candles);
         AtrService.AtrResult atr = atrService.calculate(candles);
         SqueezeService.SqueezeResult squeeze = squeezeService.detect(candles);
+        return score(macd, adx, rsi, atr, squeeze);
+    }
+
+    /**
+     * Scores the series using the incremental indicator state kept for {@code symbol} and {@code timeframe}.
+     */
+    public ScoreBreakdown score(String symbol, String timeframe, CandleSeries candles) {
+        MacdService.MacdResult macd = macdService.calculate(symbol, timeframe, candles);
+        AdxService.AdxResult adx = adxService.calculate(symbol, timeframe, candles);
+        RsiService.RsiResult rsi = rsiService.calculate(symbol, timeframe, candles);
+        AtrService.AtrResult atr = atrService.calculate(symbol, timeframe, candles);
+        SqueezeService.SqueezeResult squeeze = squeezeService.detect(symbol, timeframe, candles);
+        return score(macd, adx, rsi, atr, squeeze);
+    }
+
+    /**
+     * Scores from a shared snapshot, reusing any indicator another consumer already computed for that bar.
+     */
+    public ScoreBreakdown score(IndicatorSnapshot snapshot) {
+        return score(snapshot.macd(), snapshot.adx(), snapshot.rsi(), snapshot.atr(), snapshot.squeeze());
+    }
 
+    private ScoreBreakdown score(MacdService.MacdResult macd, AdxService.AdxResult adx, RsiService.RsiResult rsi,
+                                 AtrService.AtrResult atr, SqueezeService.SqueezeResult squeeze) {
         StrategyConfig.Strategy strategy = strategyConfig.getStrategy();
         double momentumScale = strategy.getMacdMomentumScale() <= 0 ? 1.0 : strategy.getMacdMomentumScale();
         double momentumScore = (macd.momentumScore() / momentumScale) * strategy.getMomentumWeight();
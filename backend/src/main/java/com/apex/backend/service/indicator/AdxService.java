@@ -2,10 +2,10 @@ package com.apex.backend.service.indicator;
 
 import com.apex.backend.config.StrategyProperties;
 import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -13,8 +13,16 @@ import java.util.List;
 public class AdxService {
 
     private final StrategyProperties strategyProperties;
+    private final IncrementalIndicatorEngine<AdxState> incremental = new IncrementalIndicatorEngine<>();
 
     public AdxResult calculate(List<Candle> candles) {
+        if (candles == null || candles.size() < 2) {
+            return new AdxResult(0, 0, 0);
+        }
+        return calculate(CandleSeries.of(candles));
+    }
+
+    public AdxResult calculate(CandleSeries candles) {
         if (candles == null || candles.size() < 2) {
             return new AdxResult(0, 0, 0);
         }
@@ -22,58 +30,23 @@ public class AdxService {
         if (candles.size() < period + 1) {
             return new AdxResult(0, 0, 0);
         }
+        return toResult(IncrementalIndicatorEngine.replay(new AdxState(period), candles));
+    }
 
-        List<Double> tr = new ArrayList<>();
-        List<Double> dmPlus = new ArrayList<>();
-        List<Double> dmMinus = new ArrayList<>();
-
-        for (int i = 1; i < candles.size(); i++) {
-            Candle curr = candles.get(i);
-            Candle prev = candles.get(i - 1);
-            double highDiff = curr.getHigh() - prev.getHigh();
-            double lowDiff = prev.getLow() - curr.getLow();
-            double trueRange = Math.max(curr.getHigh() - curr.getLow(),
-                    Math.max(Math.abs(curr.getHigh() - prev.getClose()), Math.abs(curr.getLow() - prev.getClose())));
-            tr.add(trueRange);
-            dmPlus.add((highDiff > lowDiff && highDiff > 0) ? highDiff : 0.0);
-            dmMinus.add((lowDiff > highDiff && lowDiff > 0) ? lowDiff : 0.0);
-        }
-
-        double smoothTR = tr.subList(0, period).stream().mapToDouble(Double::doubleValue).sum();
-        double smoothPlus = dmPlus.subList(0, period).stream().mapToDouble(Double::doubleValue).sum();
-        double smoothMinus = dmMinus.subList(0, period).stream().mapToDouble(Double::doubleValue).sum();
-
-        List<Double> dxValues = new ArrayList<>();
-        double plusDI = 0.0;
-        double minusDI = 0.0;
-
-        for (int i = period - 1; i < tr.size(); i++) {
-            if (i > period - 1) {
-                smoothTR = smoothTR - (smoothTR / period) + tr.get(i);
-                smoothPlus = smoothPlus - (smoothPlus / period) + dmPlus.get(i);
-                smoothMinus = smoothMinus - (smoothMinus / period) + dmMinus.get(i);
-            }
-
-            if (smoothTR == 0) {
-                continue;
-            }
-            plusDI = 100.0 * (smoothPlus / smoothTR);
-            minusDI = 100.0 * (smoothMinus / smoothTR);
-            double diSum = plusDI + minusDI;
-            double dx = diSum == 0 ? 0.0 : (Math.abs(plusDI - minusDI) / diSum) * 100.0;
-            dxValues.add(dx);
-        }
-
-        if (dxValues.size() < period) {
-            return new AdxResult(0, plusDI, minusDI);
-        }
-
-        double adx = dxValues.subList(0, period).stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        for (int i = period; i < dxValues.size(); i++) {
-            adx = ((adx * (period - 1)) + dxValues.get(i)) / period;
+    /**
+     * Keyed variant of {@link #calculate(CandleSeries)} backed by {@link IncrementalIndicatorEngine}.
+     */
+    public AdxResult calculate(String symbol, String timeframe, CandleSeries candles) {
+        if (candles == null || candles.size() < 2) {
+            return new AdxResult(0, 0, 0);
         }
+        int period = strategyProperties.getAdx().getPeriod();
+        return incremental.evaluate(IncrementalIndicatorEngine.key(symbol, timeframe, period), candles,
+                () -> new AdxState(period), this::toResult);
+    }
 
-        return new AdxResult(adx, plusDI, minusDI);
+    private AdxResult toResult(AdxState state) {
+        return new AdxResult(state.adx(), state.plusDI(), state.minusDI());
     }
 
     public record AdxResult(double adx, double plusDI, double minusDI) {}
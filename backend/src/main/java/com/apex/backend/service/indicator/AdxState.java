@@ -0,0 +1,136 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * Wilder ADX with +DI/-DI. Directional movement and true range are summed over the first {@code period}
+ * bars, then smoothed; ADX is the mean of the first {@code period} DX values, then smoothed.
+ */
+public final class AdxState implements IndicatorState<AdxState> {
+
+    private final int period;
+    private int bars;
+    private int ranges;
+    private double prevHigh;
+    private double prevLow;
+    private double prevClose;
+    private double smoothTR;
+    private double smoothPlus;
+    private double smoothMinus;
+    private int dxCount;
+    private double adx;
+    private double plusDI;
+    private double minusDI;
+    private int markedBars;
+    private int markedRanges;
+    private double markedPrevHigh;
+    private double markedPrevLow;
+    private double markedPrevClose;
+    private double markedSmoothTR;
+    private double markedSmoothPlus;
+    private double markedSmoothMinus;
+    private int markedDxCount;
+    private double markedAdx;
+    private double markedPlusDI;
+    private double markedMinusDI;
+
+    public AdxState(int period) {
+        this.period = period;
+    }
+
+    @Override
+    public void update(CandleSeries series, int index) {
+        double high = series.high(index);
+        double low = series.low(index);
+        if (bars > 0) {
+            double highDiff = high - prevHigh;
+            double lowDiff = prevLow - low;
+            double tr = Math.max(high - low, Math.max(Math.abs(high - prevClose), Math.abs(low - prevClose)));
+            double dmPlus = (highDiff > lowDiff && highDiff > 0) ? highDiff : 0.0;
+            double dmMinus = (lowDiff > highDiff && lowDiff > 0) ? lowDiff : 0.0;
+            ranges++;
+            if (ranges <= period) {
+                smoothTR += tr;
+                smoothPlus += dmPlus;
+                smoothMinus += dmMinus;
+            } else {
+                smoothTR = smoothTR - (smoothTR / period) + tr;
+                smoothPlus = smoothPlus - (smoothPlus / period) + dmPlus;
+                smoothMinus = smoothMinus - (smoothMinus / period) + dmMinus;
+            }
+            if (ranges >= period && smoothTR != 0) {
+                updateDx();
+            }
+        }
+        prevHigh = high;
+        prevLow = low;
+        prevClose = series.close(index);
+        bars++;
+    }
+
+    @Override
+    public void mark() {
+        markedBars = bars;
+        markedRanges = ranges;
+        markedPrevHigh = prevHigh;
+        markedPrevLow = prevLow;
+        markedPrevClose = prevClose;
+        markedSmoothTR = smoothTR;
+        markedSmoothPlus = smoothPlus;
+        markedSmoothMinus = smoothMinus;
+        markedDxCount = dxCount;
+        markedAdx = adx;
+        markedPlusDI = plusDI;
+        markedMinusDI = minusDI;
+    }
+
+    @Override
+    public void rollback() {
+        bars = markedBars;
+        ranges = markedRanges;
+        prevHigh = markedPrevHigh;
+        prevLow = markedPrevLow;
+        prevClose = markedPrevClose;
+        smoothTR = markedSmoothTR;
+        smoothPlus = markedSmoothPlus;
+        smoothMinus = markedSmoothMinus;
+        dxCount = markedDxCount;
+        adx = markedAdx;
+        plusDI = markedPlusDI;
+        minusDI = markedMinusDI;
+    }
+
+    private void updateDx() {
+        plusDI = 100.0 * (smoothPlus / smoothTR);
+        minusDI = 100.0 * (smoothMinus / smoothTR);
+        double diSum = plusDI + minusDI;
+        double dx = diSum == 0 ? 0.0 : (Math.abs(plusDI - minusDI) / diSum) * 100.0;
+        dxCount++;
+        if (dxCount < period) {
+            adx += dx;
+        } else if (dxCount == period) {
+            adx = (adx + dx) / period;
+        } else {
+            adx = ((adx * (period - 1)) + dx) / period;
+        }
+    }
+
+    public boolean ready() {
+        return period > 0 && ranges >= period;
+    }
+
+    /**
+     * ADX once {@code period} DX values exist, otherwise 0.
+     */
+    public double adx() {
+        return ready() && dxCount >= period ? adx : 0.0;
+    }
+
+    public double plusDI() {
+        return ready() ? plusDI : 0.0;
+    }
+
+    public double minusDI() {
+        return ready() ? minusDI : 0.0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * Wilder ATR seeded with the mean of the first {@code period} true ranges.
+ */
+public final class AtrState implements IndicatorState<AtrState> {
+
+    private final int period;
+    private int bars;
+    private int ranges;
+    private double prevClose;
+    private double atr;
+    private int markedBars;
+    private int markedRanges;
+    private double markedPrevClose;
+    private double markedAtr;
+
+    public AtrState(int period) {
+        this.period = period;
+    }
+
+    @Override
+    public void update(CandleSeries series, int index) {
+        double high = series.high(index);
+        double low = series.low(index);
+        if (bars > 0) {
+            double tr = Math.max(high - low, Math.max(Math.abs(high - prevClose), Math.abs(low - prevClose)));
+            ranges++;
+            if (ranges < period) {
+                atr += tr;
+            } else if (ranges == period) {
+                atr = (atr + tr) / period;
+            } else {
+                atr = ((atr * (period - 1)) + tr) / period;
+            }
+        }
+        prevClose = series.close(index);
+        bars++;
+    }
+
+    @Override
+    public void mark() {
+        markedBars = bars;
+        markedRanges = ranges;
+        markedPrevClose = prevClose;
+        markedAtr = atr;
+    }
+
+    @Override
+    public void rollback() {
+        bars = markedBars;
+        ranges = markedRanges;
+        prevClose = markedPrevClose;
+        atr = markedAtr;
+    }
+
+    /**
+     * ATR of the bars seen so far, or 0 before the first {@code period + 1} bars.
+     */
+    public double atr() {
+        return period <= 0 || ranges < period ? 0.0 : atr;
+    }
+}
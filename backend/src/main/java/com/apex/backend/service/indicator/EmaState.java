@@ -0,0 +1,62 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * EMA seeded with the SMA of the first {@code period} values; undefined ({@code NaN}) until then.
+ */
+public final class EmaState implements IndicatorState<EmaState> {
+
+    private final int period;
+    private final double k;
+    private int count;
+    private double sum;
+    private double ema;
+    private int markedCount;
+    private double markedSum;
+    private double markedEma;
+
+    public EmaState(int period) {
+        this.period = period;
+        this.k = 2.0 / (period + 1);
+    }
+
+    public void update(double value) {
+        count++;
+        if (count < period) {
+            sum += value;
+        } else if (count == period) {
+            sum += value;
+            ema = sum / period;
+        } else {
+            ema = (value * k) + (ema * (1 - k));
+        }
+    }
+
+    @Override
+    public void update(CandleSeries series, int index) {
+        update(series.close(index));
+    }
+
+    @Override
+    public void mark() {
+        markedCount = count;
+        markedSum = sum;
+        markedEma = ema;
+    }
+
+    @Override
+    public void rollback() {
+        count = markedCount;
+        sum = markedSum;
+        ema = markedEma;
+    }
+
+    public boolean ready() {
+        return period > 0 && count >= period;
+    }
+
+    public double value() {
+        return ready() ? ema : Double.NaN;
+    }
+}
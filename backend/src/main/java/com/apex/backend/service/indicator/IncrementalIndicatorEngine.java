@@ -0,0 +1,136 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one running indicator state per key (symbol, timeframe and parameters) so each call only consumes
+ * the bars that arrived since the previous one.
+ * <p>
+ * State is committed through the second-to-last bar; the last bar is treated as still forming, so it is applied,
+ * read and rolled back. The series is replayed from its first bar when the committed bar is no longer in it (gap,
+ * new session window) or its prices changed (correction, corporate-action adjustment).
+ */
+public final class IncrementalIndicatorEngine<S extends IndicatorState<S>> {
+
+    private final Map<String, Entry<S>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong replays = new AtomicLong();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+
+    public <R> R evaluate(String key, CandleSeries series, Supplier<S> factory, Function<S, R> reader) {
+        if (series == null || series.isEmpty()) {
+            return reader.apply(factory.get());
+        }
+        Entry<S> entry = entries.computeIfAbsent(key, ignored -> new Entry<>());
+        synchronized (entry) {
+            int last = series.size() - 1;
+            int resume = entry.resumeIndex(series);
+            if (resume < 0) {
+                entry.state = factory.get();
+                entry.committed = false;
+                resume = 0;
+                replays.incrementAndGet();
+            } else {
+                incrementalUpdates.incrementAndGet();
+            }
+            if (resume > last) {
+                return reader.apply(entry.state);
+            }
+            for (int i = resume; i < last; i++) {
+                entry.state.update(series, i);
+            }
+            if (resume < last) {
+                entry.commit(series, last - 1);
+            }
+            entry.state.mark();
+            entry.state.update(series, last);
+            try {
+                return reader.apply(entry.state);
+            } finally {
+                entry.state.rollback();
+            }
+        }
+    }
+
+    public static String key(String symbol, String timeframe, int... parameters) {
+        StringBuilder key = new StringBuilder(String.valueOf(symbol)).append('|').append(timeframe);
+        for (int parameter : parameters) {
+            key.append('|').append(parameter);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Replays every bar of {@code series} into {@code state}.
+     */
+    public static <S extends IndicatorState<S>> S replay(S state, CandleSeries series) {
+        for (int i = 0; i < series.size(); i++) {
+            state.update(series, i);
+        }
+        return state;
+    }
+
+    public long replayCount() {
+        return replays.get();
+    }
+
+    public long incrementalCount() {
+        return incrementalUpdates.get();
+    }
+
+    private static final class Entry<S> {
+        private S state;
+        private boolean committed;
+        private long epoch;
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+
+        /**
+         * Index of the first bar after the committed one, or -1 when the series has to be replayed.
+         */
+        private int resumeIndex(CandleSeries series) {
+            if (!committed || epoch == 0L) {
+                return -1;
+            }
+            int index = findEpoch(series, epoch);
+            if (index < 0 || series.open(index) != open || series.high(index) != high
+                    || series.low(index) != low || series.close(index) != close) {
+                return -1;
+            }
+            return index + 1;
+        }
+
+        private void commit(CandleSeries series, int index) {
+            epoch = series.epoch(index);
+            open = series.open(index);
+            high = series.high(index);
+            low = series.low(index);
+            close = series.close(index);
+            committed = epoch != 0L;
+        }
+
+        private static int findEpoch(CandleSeries series, long epoch) {
+            int low = 0;
+            int high = series.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long value = series.epoch(mid);
+                if (value < epoch) {
+                    low = mid + 1;
+                } else if (value > epoch) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+import java.util.Arrays;
+
+/**
+ * Primitive building blocks shared by the indicator services. Undefined points in a series are {@code NaN}.
+ */
+public final class IndicatorMath {
+
+    private IndicatorMath() {}
+
+    public static double trueRange(CandleSeries series, int index) {
+        double high = series.high(index);
+        double low = series.low(index);
+        double prevClose = series.close(index - 1);
+        return Math.max(high - low, Math.max(Math.abs(high - prevClose), Math.abs(low - prevClose)));
+    }
+
+    /**
+     * EMA of closes seeded with the SMA of the first {@code period} closes.
+     */
+    public static double[] closeEma(CandleSeries series, int period) {
+        int size = series.size();
+        double[] closes = new double[size];
+        for (int i = 0; i < size; i++) {
+            closes[i] = series.close(i);
+        }
+        return ema(closes, 0, period);
+    }
+
+    /**
+     * EMA of {@code values} starting at {@code from} (earlier points are ignored), seeded with an SMA.
+     * The result has the same length as {@code values}; points before the seed are {@code NaN}.
+     */
+    public static double[] ema(double[] values, int from, int period) {
+        double[] result = new double[values.length];
+        Arrays.fill(result, Double.NaN);
+        if (period <= 0 || from < 0 || values.length - from < period) {
+            return result;
+        }
+        double sum = 0.0;
+        for (int i = from; i < from + period; i++) {
+            sum += values[i];
+        }
+        double ema = sum / period;
+        result[from + period - 1] = ema;
+        double k = 2.0 / (period + 1);
+        for (int i = from + period; i < values.length; i++) {
+            ema = (values[i] * k) + (ema * (1 - k));
+            result[i] = ema;
+        }
+        return result;
+    }
+
+    /**
+     * Latest EMA of closes, or 0 when the series is shorter than {@code period}.
+     */
+    public static double lastCloseEma(CandleSeries series, int period) {
+        int size = series.size();
+        if (period <= 0 || size < period) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (int i = 0; i < period; i++) {
+            sum += series.close(i);
+        }
+        double ema = sum / period;
+        double k = 2.0 / (period + 1);
+        for (int i = period; i < size; i++) {
+            ema = (series.close(i) * k) + (ema * (1 - k));
+        }
+        return ema;
+    }
+
+    /**
+     * Wilder-smoothed ATR over the whole series, or 0 when there are fewer than {@code period + 1} bars.
+     */
+    public static double wilderAtr(CandleSeries series, int period) {
+        int size = series.size();
+        if (period <= 0 || size < period + 1) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (int i = 1; i <= period; i++) {
+            sum += trueRange(series, i);
+        }
+        double atr = sum / period;
+        for (int i = period + 1; i < size; i++) {
+            atr = ((atr * (period - 1)) + trueRange(series, i)) / period;
+        }
+        return atr;
+    }
+}
@@ -0,0 +1,106 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.dto.MacdConfirmationDto;
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * Indicator values for one (symbol, timeframe) series as of its last bar.
+ * Each indicator is computed on first access and then reused by every consumer holding the snapshot.
+ */
+public final class IndicatorSnapshot {
+
+    private final String symbol;
+    private final String timeframe;
+    private final CandleSeries series;
+    private final IndicatorSnapshotService calculator;
+
+    private volatile MacdService.MacdResult macd;
+    private volatile MacdConfirmationDto macdConfirmation;
+    private volatile AdxService.AdxResult adx;
+    private volatile RsiService.RsiResult rsi;
+    private volatile AtrService.AtrResult atr;
+    private volatile SqueezeService.SqueezeResult squeeze;
+    private volatile BollingerBandService.BollingerBands bollinger;
+
+    IndicatorSnapshot(String symbol, String timeframe, CandleSeries series, IndicatorSnapshotService calculator) {
+        this.symbol = symbol;
+        this.timeframe = timeframe;
+        this.series = series;
+        this.calculator = calculator;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    public String timeframe() {
+        return timeframe;
+    }
+
+    public CandleSeries series() {
+        return series;
+    }
+
+    public MacdService.MacdResult macd() {
+        MacdService.MacdResult result = macd;
+        if (result == null) {
+            result = calculator.macd(this);
+            macd = result;
+        }
+        return result;
+    }
+
+    public MacdConfirmationDto macdConfirmation() {
+        MacdConfirmationDto result = macdConfirmation;
+        if (result == null) {
+            result = calculator.macdConfirmation(this);
+            macdConfirmation = result;
+        }
+        return result;
+    }
+
+    public AdxService.AdxResult adx() {
+        AdxService.AdxResult result = adx;
+        if (result == null) {
+            result = calculator.adx(this);
+            adx = result;
+        }
+        return result;
+    }
+
+    public RsiService.RsiResult rsi() {
+        RsiService.RsiResult result = rsi;
+        if (result == null) {
+            result = calculator.rsi(this);
+            rsi = result;
+        }
+        return result;
+    }
+
+    public AtrService.AtrResult atr() {
+        AtrService.AtrResult result = atr;
+        if (result == null) {
+            result = calculator.atr(this);
+            atr = result;
+        }
+        return result;
+    }
+
+    public SqueezeService.SqueezeResult squeeze() {
+        SqueezeService.SqueezeResult result = squeeze;
+        if (result == null) {
+            result = calculator.squeeze(this);
+            squeeze = result;
+        }
+        return result;
+    }
+
+    public BollingerBandService.BollingerBands bollinger() {
+        BollingerBandService.BollingerBands result = bollinger;
+        if (result == null) {
+            result = calculator.bollinger(this);
+            bollinger = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.config.AdvancedTradingProperties;
+import com.apex.backend.config.StrategyProperties;
+import com.apex.backend.dto.MacdConfirmationDto;
+import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
+import com.apex.backend.util.ExchangeTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hands out one {@link IndicatorSnapshot} per (symbol, timeframe, last bar, indicator parameters) so scoring,
+ * signal generation, multi-timeframe momentum, risk sizing and execution costing all read the same values
+ * instead of recomputing them. Only the latest snapshot per symbol and timeframe is kept.
+ */
+@Service
+@RequiredArgsConstructor
+public class IndicatorSnapshotService {
+
+    private final StrategyProperties strategyProperties;
+    private final AdvancedTradingProperties advancedTradingProperties;
+    private final MacdService macdService;
+    private final MacdConfirmationService macdConfirmationService;
+    private final AdxService adxService;
+    private final RsiService rsiService;
+    private final AtrService atrService;
+    private final SqueezeService squeezeService;
+    private final BollingerBandService bollingerBandService;
+
+    private final Map<String, Cached> latest = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public IndicatorSnapshot snapshot(String symbol, String timeframe, List<Candle> candles) {
+        if (symbol == null || timeframe == null || candles == null || candles.isEmpty()) {
+            return new IndicatorSnapshot(symbol, timeframe, CandleSeries.of(candles), this);
+        }
+        Candle first = candles.get(0);
+        Candle last = candles.get(candles.size() - 1);
+        Fingerprint fingerprint = new Fingerprint(candles.size(), epoch(first.getTimestamp()), epoch(last.getTimestamp()),
+                last.getOpen(), last.getHigh(), last.getLow(), last.getClose(), last.getVolume(), parameterHash());
+        return lookup(symbol, timeframe, fingerprint, () -> CandleSeries.of(candles));
+    }
+
+    public IndicatorSnapshot snapshot(String symbol, String timeframe, CandleSeries series) {
+        if (symbol == null || timeframe == null || series == null || series.isEmpty()) {
+            return new IndicatorSnapshot(symbol, timeframe, series == null ? CandleSeries.of(null) : series, this);
+        }
+        int last = series.size() - 1;
+        Fingerprint fingerprint = new Fingerprint(series.size(), series.epoch(0), series.epoch(last),
+                series.open(last), series.high(last), series.low(last), series.close(last), series.volume(last),
+                parameterHash());
+        return lookup(symbol, timeframe, fingerprint, () -> series);
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    MacdService.MacdResult macd(IndicatorSnapshot snapshot) {
+        return cacheable(snapshot)
+                ? macdService.calculate(snapshot.symbol(), snapshot.timeframe(), snapshot.series())
+                : macdService.calculate(snapshot.series());
+    }
+
+    MacdConfirmationDto macdConfirmation(IndicatorSnapshot snapshot) {
+        return macdConfirmationService.confirm(snapshot.series());
+    }
+
+    AdxService.AdxResult adx(IndicatorSnapshot snapshot) {
+        return cacheable(snapshot)
+                ? adxService.calculate(snapshot.symbol(), snapshot.timeframe(), snapshot.series())
+                : adxService.calculate(snapshot.series());
+    }
+
+    RsiService.RsiResult rsi(IndicatorSnapshot snapshot) {
+        return cacheable(snapshot)
+                ? rsiService.calculate(snapshot.symbol(), snapshot.timeframe(), snapshot.series())
+                : rsiService.calculate(snapshot.series());
+    }
+
+    AtrService.AtrResult atr(IndicatorSnapshot snapshot) {
+        return cacheable(snapshot)
+                ? atrService.calculate(snapshot.symbol(), snapshot.timeframe(), snapshot.series())
+                : atrService.calculate(snapshot.series());
+    }
+
+    SqueezeService.SqueezeResult squeeze(IndicatorSnapshot snapshot) {
+        return cacheable(snapshot)
+                ? squeezeService.detect(snapshot.symbol(), snapshot.timeframe(), snapshot.series())
+                : squeezeService.detect(snapshot.series());
+    }
+
+    BollingerBandService.BollingerBands bollinger(IndicatorSnapshot snapshot) {
+        return bollingerBandService.calculate(snapshot.series());
+    }
+
+    private IndicatorSnapshot lookup(String symbol, String timeframe, Fingerprint fingerprint,
+                                     Supplier<CandleSeries> series) {
+        String key = symbol + "|" + timeframe;
+        Cached cached = latest.get(key);
+        if (cached != null && cached.fingerprint().equals(fingerprint)) {
+            hits.incrementAndGet();
+            return cached.snapshot();
+        }
+        misses.incrementAndGet();
+        IndicatorSnapshot snapshot = new IndicatorSnapshot(symbol, timeframe, series.get(), this);
+        latest.put(key, new Cached(fingerprint, snapshot));
+        return snapshot;
+    }
+
+    private boolean cacheable(IndicatorSnapshot snapshot) {
+        return snapshot.symbol() != null && snapshot.timeframe() != null;
+    }
+
+    private int parameterHash() {
+        return Objects.hash(strategyProperties.getMacd(), strategyProperties.getAdx(), strategyProperties.getRsi(),
+                strategyProperties.getAtr(), strategyProperties.getBollinger(), strategyProperties.getKeltner(),
+                strategyProperties.getSqueeze(), advancedTradingProperties.getMacdConfirmation());
+    }
+
+    private static long epoch(LocalDateTime timestamp) {
+        return timestamp == null ? 0L : ExchangeTime.toEpochSecond(timestamp);
+    }
+
+    private record Fingerprint(int size, long firstEpoch, long lastEpoch, double open, double high, double low,
+                               double close, long volume, int parameterHash) {}
+
+    private record Cached(Fingerprint fingerprint, IndicatorSnapshot snapshot) {}
+}
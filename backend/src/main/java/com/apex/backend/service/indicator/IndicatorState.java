@@ -0,0 +1,25 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * Running indicator state that consumes one bar at a time, oldest first.
+ * Replaying every bar of a series gives the same value as the batch calculation over that series.
+ * <p>
+ * {@link #mark()} and {@link #rollback()} bracket a tentative update, so a forming bar can be read without
+ * copying the state: rollback undoes the single update applied since the mark, in O(1).
+ */
+public interface IndicatorState<S extends IndicatorState<S>> {
+
+    void update(CandleSeries series, int index);
+
+    /**
+     * Remembers the current state so the next update can be undone.
+     */
+    void mark();
+
+    /**
+     * Restores the state saved by {@link #mark()}, undoing the one update applied since.
+     */
+    void rollback();
+}
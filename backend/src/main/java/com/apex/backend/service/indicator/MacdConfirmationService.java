@@ -3,10 +3,10 @@ package com.apex.backend.service.indicator;
 import com.apex.backend.config.AdvancedTradingProperties;
 import com.apex.backend.dto.MacdConfirmationDto;
 import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -20,21 +20,29 @@ public class MacdConfirmationService {
         if (candles == null || candles.size() < 3) {
             return new MacdConfirmationDto(0, 0, 0, false, false, false, false, false, false, false, false);
         }
-        MacdService.MacdSeries series = macdService.calculateSeries(candles);
-        List<Double> macdLine = series.macdLine();
-        List<Double> signalLine = series.signalLine();
-        List<Double> histogram = series.histogram();
-        int lastIndex = macdLine.size() - 1;
+        return confirm(CandleSeries.of(candles));
+    }
+
+    public MacdConfirmationDto confirm(CandleSeries candles) {
+        if (candles == null || candles.size() < 3) {
+            return new MacdConfirmationDto(0, 0, 0, false, false, false, false, false, false, false, false);
+        }
+        MacdService.MacdLines series = macdService.calculateLines(candles);
+        double[] macdLine = series.macdLine();
+        double[] signalLine = series.signalLine();
+        double[] histogram = series.histogram();
+        int lastIndex = macdLine.length - 1;
         int prevIndex = lastIndex - 1;
 
-        Double macd = macdLine.get(lastIndex);
-        Double signal = signalLine.get(lastIndex);
-        Double prevMacd = macdLine.get(prevIndex);
-        Double prevSignal = signalLine.get(prevIndex);
-        Double hist = histogram.get(lastIndex);
-        Double prevHist = histogram.get(prevIndex);
+        double macd = macdLine[lastIndex];
+        double signal = signalLine[lastIndex];
+        double prevMacd = macdLine[prevIndex];
+        double prevSignal = signalLine[prevIndex];
+        double hist = histogram[lastIndex];
+        double prevHist = histogram[prevIndex];
 
-        if (macd == null || signal == null || prevMacd == null || prevSignal == null || hist == null || prevHist == null) {
+        if (Double.isNaN(macd) || Double.isNaN(signal) || Double.isNaN(prevMacd) || Double.isNaN(prevSignal)
+                || Double.isNaN(hist) || Double.isNaN(prevHist)) {
             return new MacdConfirmationDto(0, 0, 0, false, false, false, false, false, false, false, false);
         }
 
@@ -64,57 +72,53 @@ public class MacdConfirmationService {
         );
     }
 
-    private boolean isHistogramTrending(List<Double> histogram, int lookback, boolean increasing) {
-        if (histogram == null || histogram.size() < lookback + 1) {
+    private boolean isHistogramTrending(double[] histogram, int lookback, boolean increasing) {
+        if (histogram == null || histogram.length < lookback + 1) {
             return false;
         }
-        int end = histogram.size() - 1;
-        Double startVal = histogram.get(end - lookback);
-        Double endVal = histogram.get(end);
-        if (startVal == null || endVal == null) {
+        int end = histogram.length - 1;
+        double startVal = histogram[end - lookback];
+        double endVal = histogram[end];
+        if (Double.isNaN(startVal) || Double.isNaN(endVal)) {
             return false;
         }
         return increasing ? endVal > startVal : endVal < startVal;
     }
 
-    private Divergence detectDivergence(List<Candle> candles, List<Double> macdLine) {
+    private Divergence detectDivergence(CandleSeries candles, double[] macdLine) {
         int lookback = advancedTradingProperties.getMacdConfirmation().getDivergenceLookback();
         int startIndex = Math.max(1, candles.size() - lookback);
-        List<Integer> priceLows = new ArrayList<>();
-        List<Integer> priceHighs = new ArrayList<>();
+        int lastLow = -1;
+        int prevLow = -1;
+        int lastHigh = -1;
+        int prevHigh = -1;
         for (int i = startIndex; i < candles.size() - 1; i++) {
-            double prev = candles.get(i - 1).getClose();
-            double curr = candles.get(i).getClose();
-            double next = candles.get(i + 1).getClose();
+            double prev = candles.close(i - 1);
+            double curr = candles.close(i);
+            double next = candles.close(i + 1);
             if (curr < prev && curr < next) {
-                priceLows.add(i);
+                prevLow = lastLow;
+                lastLow = i;
             }
             if (curr > prev && curr > next) {
-                priceHighs.add(i);
+                prevHigh = lastHigh;
+                lastHigh = i;
             }
         }
         boolean bullish = false;
         boolean bearish = false;
-        if (priceLows.size() >= 2) {
-            int last = priceLows.get(priceLows.size() - 1);
-            int prev = priceLows.get(priceLows.size() - 2);
-            Double macdLast = macdLine.get(last);
-            Double macdPrev = macdLine.get(prev);
-            if (macdLast != null && macdPrev != null) {
-                double priceLast = candles.get(last).getClose();
-                double pricePrev = candles.get(prev).getClose();
-                bullish = priceLast < pricePrev && macdLast > macdPrev;
+        if (prevLow >= 0) {
+            double macdLast = macdLine[lastLow];
+            double macdPrev = macdLine[prevLow];
+            if (!Double.isNaN(macdLast) && !Double.isNaN(macdPrev)) {
+                bullish = candles.close(lastLow) < candles.close(prevLow) && macdLast > macdPrev;
             }
         }
-        if (priceHighs.size() >= 2) {
-            int last = priceHighs.get(priceHighs.size() - 1);
-            int prev = priceHighs.get(priceHighs.size() - 2);
-            Double macdLast = macdLine.get(last);
-            Double macdPrev = macdLine.get(prev);
-            if (macdLast != null && macdPrev != null) {
-                double priceLast = candles.get(last).getClose();
-                double pricePrev = candles.get(prev).getClose();
-                bearish = priceLast > pricePrev && macdLast < macdPrev;
+        if (prevHigh >= 0) {
+            double macdLast = macdLine[lastHigh];
+            double macdPrev = macdLine[prevHigh];
+            if (!Double.isNaN(macdLast) && !Double.isNaN(macdPrev)) {
+                bearish = candles.close(lastHigh) > candles.close(prevHigh) && macdLast < macdPrev;
             }
         }
         return new Divergence(bullish, bearish);
@@ -2,6 +2,7 @@ package com.apex.backend.service.indicator;
 
 import com.apex.backend.config.StrategyProperties;
 import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,92 +14,83 @@ import java.util.List;
 public class MacdService {
 
     private final StrategyProperties strategyProperties;
+    private final IncrementalIndicatorEngine<MacdState> incremental = new IncrementalIndicatorEngine<>();
 
     public MacdResult calculate(List<Candle> candles) {
         if (candles == null || candles.isEmpty()) {
             return new MacdResult(0, 0, 0, 0);
         }
-        StrategyProperties.Macd config = strategyProperties.getMacd();
-        int fast = config.getFastPeriod();
-        int slow = config.getSlowPeriod();
-        int signal = config.getSignalPeriod();
-
-        List<Double> closes = candles.stream().map(Candle::getClose).toList();
-        List<Double> fastSeries = calculateEmaSeries(closes, fast);
-        List<Double> slowSeries = calculateEmaSeries(closes, slow);
-
-        List<Double> macdSeries = new ArrayList<>();
-        for (int i = 0; i < closes.size(); i++) {
-            Double fastVal = fastSeries.get(i);
-            Double slowVal = slowSeries.get(i);
-            if (fastVal != null && slowVal != null) {
-                macdSeries.add(fastVal - slowVal);
-            }
+        return calculate(CandleSeries.of(candles));
+    }
+
+    public MacdResult calculate(CandleSeries series) {
+        if (series == null || series.isEmpty()) {
+            return new MacdResult(0, 0, 0, 0);
         }
+        return toResult(IncrementalIndicatorEngine.replay(newState(), series));
+    }
 
-        if (macdSeries.size() < signal) {
+    /**
+     * Keeps fast, slow and signal EMAs per symbol and timeframe so a new bar costs O(1).
+     */
+    public MacdResult calculate(String symbol, String timeframe, CandleSeries series) {
+        if (series == null || series.isEmpty()) {
             return new MacdResult(0, 0, 0, 0);
         }
+        StrategyProperties.Macd config = strategyProperties.getMacd();
+        String key = IncrementalIndicatorEngine.key(symbol, timeframe,
+                config.getFastPeriod(), config.getSlowPeriod(), config.getSignalPeriod());
+        return incremental.evaluate(key, series, this::newState, this::toResult);
+    }
+
+    private MacdState newState() {
+        StrategyProperties.Macd config = strategyProperties.getMacd();
+        return new MacdState(config.getFastPeriod(), config.getSlowPeriod(), config.getSignalPeriod());
+    }
 
-        List<Double> signalSeries = calculateEmaSeries(macdSeries, signal);
-        double macdLine = macdSeries.get(macdSeries.size() - 1);
-        double signalLine = signalSeries.get(signalSeries.size() - 1);
-        double histogram = macdLine - signalLine;
-        double lastClose = closes.get(closes.size() - 1);
-        double momentumScore = calculateMomentumScore(histogram, lastClose);
-        return new MacdResult(macdLine, signalLine, histogram, momentumScore);
+    private MacdResult toResult(MacdState state) {
+        if (!state.ready()) {
+            return new MacdResult(0, 0, 0, 0);
+        }
+        double histogram = state.macdLine() - state.signalLine();
+        return new MacdResult(state.macdLine(), state.signalLine(), histogram,
+                calculateMomentumScore(histogram, state.lastClose()));
     }
 
     public MacdSeries calculateSeries(List<Candle> candles) {
         if (candles == null || candles.isEmpty()) {
             return new MacdSeries(List.of(), List.of(), List.of());
         }
-        StrategyProperties.Macd config = strategyProperties.getMacd();
-        int fast = config.getFastPeriod();
-        int slow = config.getSlowPeriod();
-        int signal = config.getSignalPeriod();
-
-        List<Double> closes = candles.stream().map(Candle::getClose).toList();
-        List<Double> fastSeries = calculateEmaSeries(closes, fast);
-        List<Double> slowSeries = calculateEmaSeries(closes, slow);
-
-        List<Double> macdSeries = new ArrayList<>();
-        for (int i = 0; i < closes.size(); i++) {
-            Double fastVal = fastSeries.get(i);
-            Double slowVal = slowSeries.get(i);
-            if (fastVal != null && slowVal != null) {
-                macdSeries.add(fastVal - slowVal);
-            } else {
-                macdSeries.add(null);
-            }
-        }
+        MacdLines lines = calculateLines(CandleSeries.of(candles));
+        return new MacdSeries(boxed(lines.macdLine()), boxed(lines.signalLine()), boxed(lines.histogram()));
+    }
 
-        List<Double> signalSeries = calculateEmaSeries(
-                macdSeries.stream().filter(val -> val != null).toList(), signal);
-        List<Double> paddedSignal = new ArrayList<>();
-        int signalIndex = 0;
-        for (Double macdVal : macdSeries) {
-            if (macdVal == null) {
-                paddedSignal.add(null);
-            } else if (signalIndex < signalSeries.size()) {
-                paddedSignal.add(signalSeries.get(signalIndex));
-                signalIndex++;
-            } else {
-                paddedSignal.add(null);
-            }
+    /**
+     * MACD, signal and histogram aligned with the input bars; points that are not yet defined are {@code NaN}.
+     */
+    public MacdLines calculateLines(CandleSeries series) {
+        int size = series == null ? 0 : series.size();
+        if (size == 0) {
+            return new MacdLines(new double[0], new double[0], new double[0]);
         }
-
-        List<Double> histogramSeries = new ArrayList<>();
-        for (int i = 0; i < macdSeries.size(); i++) {
-            Double macdVal = macdSeries.get(i);
-            Double sigVal = paddedSignal.get(i);
-            if (macdVal != null && sigVal != null) {
-                histogramSeries.add(macdVal - sigVal);
-            } else {
-                histogramSeries.add(null);
+        StrategyProperties.Macd config = strategyProperties.getMacd();
+        double[] fastSeries = IndicatorMath.closeEma(series, config.getFastPeriod());
+        double[] slowSeries = IndicatorMath.closeEma(series, config.getSlowPeriod());
+
+        double[] macdSeries = new double[size];
+        int firstMacd = -1;
+        for (int i = 0; i < size; i++) {
+            macdSeries[i] = fastSeries[i] - slowSeries[i];
+            if (firstMacd < 0 && !Double.isNaN(macdSeries[i])) {
+                firstMacd = i;
             }
         }
-        return new MacdSeries(macdSeries, paddedSignal, histogramSeries);
+        double[] signalSeries = IndicatorMath.ema(macdSeries, firstMacd < 0 ? size : firstMacd, config.getSignalPeriod());
+        double[] histogramSeries = new double[size];
+        for (int i = 0; i < size; i++) {
+            histogramSeries[i] = macdSeries[i] - signalSeries[i];
+        }
+        return new MacdLines(macdSeries, signalSeries, histogramSeries);
     }
 
     private double calculateMomentumScore(double histogram, double price) {
@@ -109,26 +101,17 @@ public class MacdService {
         return Math.min(11.0, Math.max(0.0, momentumPercent * 10.0));
     }
 
-    private List<Double> calculateEmaSeries(List<Double> values, int period) {
-        List<Double> emaSeries = new ArrayList<>();
-        for (int i = 0; i < values.size(); i++) {
-            emaSeries.add(null);
+    private List<Double> boxed(double[] values) {
+        List<Double> result = new ArrayList<>(values.length);
+        for (double value : values) {
+            result.add(Double.isNaN(value) ? null : value);
         }
-        if (values.size() < period) {
-            return emaSeries;
-        }
-        double sma = values.subList(0, period).stream().mapToDouble(d -> d).average().orElse(0.0);
-        emaSeries.set(period - 1, sma);
-        double k = 2.0 / (period + 1);
-        double ema = sma;
-        for (int i = period; i < values.size(); i++) {
-            ema = (values.get(i) * k) + (ema * (1 - k));
-            emaSeries.set(i, ema);
-        }
-        return emaSeries;
+        return result;
     }
 
     public record MacdResult(double macdLine, double signalLine, double histogram, double momentumScore) {}
 
     public record MacdSeries(List<Double> macdLine, List<Double> signalLine, List<Double> histogram) {}
+
+    public record MacdLines(double[] macdLine, double[] signalLine, double[] histogram) {}
 }
@@ -0,0 +1,72 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * MACD line (fast EMA minus slow EMA of closes) and its signal EMA, fed once both EMAs are seeded.
+ */
+public final class MacdState implements IndicatorState<MacdState> {
+
+    private final EmaState fast;
+    private final EmaState slow;
+    private final EmaState signal;
+    private double macd = Double.NaN;
+    private double lastClose;
+    private double markedMacd;
+    private double markedLastClose;
+
+    public MacdState(int fastPeriod, int slowPeriod, int signalPeriod) {
+        this.fast = new EmaState(fastPeriod);
+        this.slow = new EmaState(slowPeriod);
+        this.signal = new EmaState(signalPeriod);
+    }
+
+    @Override
+    public void update(CandleSeries series, int index) {
+        double close = series.close(index);
+        fast.update(close);
+        slow.update(close);
+        if (fast.ready() && slow.ready()) {
+            macd = fast.value() - slow.value();
+            signal.update(macd);
+        }
+        lastClose = close;
+    }
+
+    @Override
+    public void mark() {
+        fast.mark();
+        slow.mark();
+        signal.mark();
+        markedMacd = macd;
+        markedLastClose = lastClose;
+    }
+
+    @Override
+    public void rollback() {
+        fast.rollback();
+        slow.rollback();
+        signal.rollback();
+        macd = markedMacd;
+        lastClose = markedLastClose;
+    }
+
+    /**
+     * True once the signal line is defined.
+     */
+    public boolean ready() {
+        return signal.ready();
+    }
+
+    public double macdLine() {
+        return macd;
+    }
+
+    public double signalLine() {
+        return signal.value();
+    }
+
+    public double lastClose() {
+        return lastClose;
+    }
+}
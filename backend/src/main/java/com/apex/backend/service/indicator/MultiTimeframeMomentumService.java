@@ -19,13 +19,22 @@ public class MultiTimeframeMomentumService {
     private final AdvancedTradingProperties advancedTradingProperties;
 
     public MultiTimeframeMomentumResult score(List<Candle> m5, List<Candle> m15, List<Candle> h1, List<Candle> daily) {
+        return score(macdConfirmationService.confirm(m5), macdConfirmationService.confirm(m15),
+                macdConfirmationService.confirm(h1), macdConfirmationService.confirm(daily));
+    }
+
+    /**
+     * Scores already computed MACD confirmations, e.g. the ones held by per-timeframe indicator snapshots.
+     */
+    public MultiTimeframeMomentumResult score(MacdConfirmationDto m5, MacdConfirmationDto m15,
+                                              MacdConfirmationDto h1, MacdConfirmationDto daily) {
         Map<String, Double> weights = advancedTradingProperties.getMultiTimeframeMomentum().getWeights();
         Map<String, Double> tfScores = new HashMap<>();
 
-        double m5Score = momentumScore(macdConfirmationService.confirm(m5));
-        double m15Score = momentumScore(macdConfirmationService.confirm(m15));
-        double h1Score = momentumScore(macdConfirmationService.confirm(h1));
-        double dScore = momentumScore(macdConfirmationService.confirm(daily));
+        double m5Score = momentumScore(m5);
+        double m15Score = momentumScore(m15);
+        double h1Score = momentumScore(h1);
+        double dScore = momentumScore(daily);
 
         tfScores.put("5m", m5Score);
         tfScores.put("15m", m15Score);
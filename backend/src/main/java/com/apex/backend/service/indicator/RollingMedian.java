@@ -0,0 +1,221 @@
+package com.apex.backend.service.indicator;
+
+/**
+ * Median of the last {@code capacity} values, kept in two indexed heaps over a ring buffer.
+ * <p>
+ * The lower half sits in a max-heap and the upper half in a min-heap; both store ring-buffer slots, and each
+ * slot remembers its heap position so the value leaving the window can be removed in O(log n). Adding a value
+ * never allocates, and the latest add can be undone in O(log n).
+ */
+public final class RollingMedian {
+
+    private final double[] values;
+    private final int[] lower;
+    private final int[] upper;
+    // Heap position of each slot: index in lower when >= 0, -(index + 1) in upper otherwise
+    private final int[] position;
+    private int lowerSize;
+    private int upperSize;
+    private int count;
+    private int next;
+    private boolean evicted;
+    private double evictedValue;
+
+    public RollingMedian(int capacity) {
+        int size = Math.max(capacity, 1);
+        this.values = new double[size];
+        this.lower = new int[size];
+        this.upper = new int[size];
+        this.position = new int[size];
+    }
+
+    public void add(double value) {
+        int slot = next;
+        evicted = count == values.length;
+        if (evicted) {
+            evictedValue = values[slot];
+            remove(slot);
+        } else {
+            count++;
+        }
+        values[slot] = value;
+        insert(slot);
+        next = (next + 1) % values.length;
+    }
+
+    /**
+     * Undoes the latest {@link #add(double)}, putting back the value it pushed out of a full window. Only one add
+     * can be undone.
+     */
+    public void removeLast() {
+        if (count == 0) {
+            return;
+        }
+        int slot = (next - 1 + values.length) % values.length;
+        remove(slot);
+        if (evicted) {
+            values[slot] = evictedValue;
+            insert(slot);
+        } else {
+            count--;
+            rebalance();
+        }
+        next = slot;
+        evicted = false;
+    }
+
+    private void insert(int slot) {
+        double value = values[slot];
+        if (upperSize == 0 || value <= values[upper[0]]) {
+            lower[lowerSize] = slot;
+            position[slot] = lowerSize;
+            lowerSize++;
+            siftUpLower(lowerSize - 1);
+        } else {
+            upper[upperSize] = slot;
+            position[slot] = -(upperSize + 1);
+            upperSize++;
+            siftUpUpper(upperSize - 1);
+        }
+        rebalance();
+    }
+
+    /**
+     * Median of the values in the window, or 0 when it is empty. An even-sized window averages the two middle values.
+     */
+    public double median() {
+        if (count == 0) {
+            return 0.0;
+        }
+        if (lowerSize > upperSize) {
+            return values[lower[0]];
+        }
+        return (values[lower[0]] + values[upper[0]]) / 2.0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private void remove(int slot) {
+        int at = position[slot];
+        if (at >= 0) {
+            lowerSize--;
+            if (at < lowerSize) {
+                int moved = lower[lowerSize];
+                placeLower(at, moved);
+                siftUpLower(at);
+                siftDownLower(position[moved]);
+            }
+        } else {
+            int index = -at - 1;
+            upperSize--;
+            if (index < upperSize) {
+                int moved = upper[upperSize];
+                placeUpper(index, moved);
+                siftUpUpper(index);
+                siftDownUpper(-position[moved] - 1);
+            }
+        }
+    }
+
+    private void rebalance() {
+        if (lowerSize > upperSize + 1) {
+            int slot = lower[0];
+            lowerSize--;
+            if (lowerSize > 0) {
+                placeLower(0, lower[lowerSize]);
+                siftDownLower(0);
+            }
+            upper[upperSize] = slot;
+            position[slot] = -(upperSize + 1);
+            upperSize++;
+            siftUpUpper(upperSize - 1);
+        } else if (upperSize > lowerSize) {
+            int slot = upper[0];
+            upperSize--;
+            if (upperSize > 0) {
+                placeUpper(0, upper[upperSize]);
+                siftDownUpper(0);
+            }
+            lower[lowerSize] = slot;
+            position[slot] = lowerSize;
+            lowerSize++;
+            siftUpLower(lowerSize - 1);
+        }
+    }
+
+    private void siftUpLower(int index) {
+        int slot = lower[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (values[lower[parent]] >= values[slot]) {
+                break;
+            }
+            placeLower(index, lower[parent]);
+            index = parent;
+        }
+        placeLower(index, slot);
+    }
+
+    private void siftDownLower(int index) {
+        int slot = lower[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= lowerSize) {
+                break;
+            }
+            if (child + 1 < lowerSize && values[lower[child + 1]] > values[lower[child]]) {
+                child++;
+            }
+            if (values[lower[child]] <= values[slot]) {
+                break;
+            }
+            placeLower(index, lower[child]);
+            index = child;
+        }
+        placeLower(index, slot);
+    }
+
+    private void siftUpUpper(int index) {
+        int slot = upper[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (values[upper[parent]] <= values[slot]) {
+                break;
+            }
+            placeUpper(index, upper[parent]);
+            index = parent;
+        }
+        placeUpper(index, slot);
+    }
+
+    private void siftDownUpper(int index) {
+        int slot = upper[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= upperSize) {
+                break;
+            }
+            if (child + 1 < upperSize && values[upper[child + 1]] < values[upper[child]]) {
+                child++;
+            }
+            if (values[upper[child]] >= values[slot]) {
+                break;
+            }
+            placeUpper(index, upper[child]);
+            index = child;
+        }
+        placeUpper(index, slot);
+    }
+
+    private void placeLower(int index, int slot) {
+        lower[index] = slot;
+        position[slot] = index;
+    }
+
+    private void placeUpper(int index, int slot) {
+        upper[index] = slot;
+        position[slot] = -(index + 1);
+    }
+}
@@ -2,6 +2,7 @@ package com.apex.backend.service.indicator;
 
 import com.apex.backend.config.StrategyProperties;
 import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,43 +13,33 @@ import java.util.List;
 public class RsiService {
 
     private final StrategyProperties strategyProperties;
+    private final IncrementalIndicatorEngine<RsiState> incremental = new IncrementalIndicatorEngine<>();
 
     public RsiResult calculate(List<Candle> candles) {
         if (candles == null || candles.size() < 2) {
             return new RsiResult(50.0);
         }
-        int period = strategyProperties.getRsi().getPeriod();
-        if (candles.size() < period + 1) {
-            return new RsiResult(50.0);
-        }
+        return calculate(CandleSeries.of(candles));
+    }
 
-        double avgGain = 0.0;
-        double avgLoss = 0.0;
-        for (int i = 1; i <= period; i++) {
-            double change = candles.get(i).getClose() - candles.get(i - 1).getClose();
-            if (change > 0) {
-                avgGain += change;
-            } else {
-                avgLoss += Math.abs(change);
-            }
-        }
-        avgGain /= period;
-        avgLoss /= period;
-
-        for (int i = period + 1; i < candles.size(); i++) {
-            double change = candles.get(i).getClose() - candles.get(i - 1).getClose();
-            double gain = Math.max(change, 0.0);
-            double loss = Math.max(-change, 0.0);
-            avgGain = ((avgGain * (period - 1)) + gain) / period;
-            avgLoss = ((avgLoss * (period - 1)) + loss) / period;
+    public RsiResult calculate(CandleSeries candles) {
+        if (candles == null || candles.size() < 2) {
+            return new RsiResult(50.0);
         }
+        int period = strategyProperties.getRsi().getPeriod();
+        return new RsiResult(IncrementalIndicatorEngine.replay(new RsiState(period), candles).rsi());
+    }
 
-        if (avgLoss == 0) {
-            return new RsiResult(100.0);
+    /**
+     * Keeps the running gain/loss averages per symbol and timeframe between calls (see {@link IncrementalIndicatorEngine}).
+     */
+    public RsiResult calculate(String symbol, String timeframe, CandleSeries candles) {
+        if (candles == null || candles.size() < 2) {
+            return new RsiResult(50.0);
         }
-        double rs = avgGain / avgLoss;
-        double rsi = 100.0 - (100.0 / (1.0 + rs));
-        return new RsiResult(rsi);
+        int period = strategyProperties.getRsi().getPeriod();
+        return incremental.evaluate(IncrementalIndicatorEngine.key(symbol, timeframe, period), candles,
+                () -> new RsiState(period), state -> new RsiResult(state.rsi()));
     }
 
     public record RsiResult(double rsi) {}
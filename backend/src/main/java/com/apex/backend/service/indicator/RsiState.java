@@ -0,0 +1,81 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * Wilder RSI: average gain/loss seeded over the first {@code period} close-to-close changes.
+ */
+public final class RsiState implements IndicatorState<RsiState> {
+
+    private final int period;
+    private int bars;
+    private int changes;
+    private double prevClose;
+    private double avgGain;
+    private double avgLoss;
+    private int markedBars;
+    private int markedChanges;
+    private double markedPrevClose;
+    private double markedAvgGain;
+    private double markedAvgLoss;
+
+    public RsiState(int period) {
+        this.period = period;
+    }
+
+    @Override
+    public void update(CandleSeries series, int index) {
+        double close = series.close(index);
+        if (bars > 0) {
+            double change = close - prevClose;
+            double gain = Math.max(change, 0.0);
+            double loss = Math.max(-change, 0.0);
+            changes++;
+            if (changes <= period) {
+                avgGain += gain;
+                avgLoss += loss;
+                if (changes == period) {
+                    avgGain /= period;
+                    avgLoss /= period;
+                }
+            } else {
+                avgGain = ((avgGain * (period - 1)) + gain) / period;
+                avgLoss = ((avgLoss * (period - 1)) + loss) / period;
+            }
+        }
+        prevClose = close;
+        bars++;
+    }
+
+    @Override
+    public void mark() {
+        markedBars = bars;
+        markedChanges = changes;
+        markedPrevClose = prevClose;
+        markedAvgGain = avgGain;
+        markedAvgLoss = avgLoss;
+    }
+
+    @Override
+    public void rollback() {
+        bars = markedBars;
+        changes = markedChanges;
+        prevClose = markedPrevClose;
+        avgGain = markedAvgGain;
+        avgLoss = markedAvgLoss;
+    }
+
+    /**
+     * RSI of the bars seen so far, or the neutral 50 before the first {@code period + 1} bars.
+     */
+    public double rsi() {
+        if (period <= 0 || changes < period) {
+            return 50.0;
+        }
+        if (avgLoss == 0) {
+            return 100.0;
+        }
+        double rs = avgGain / avgLoss;
+        return 100.0 - (100.0 / (1.0 + rs));
+    }
+}
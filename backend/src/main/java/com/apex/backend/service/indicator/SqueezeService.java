@@ -2,6 +2,7 @@ package com.apex.backend.service.indicator;
 
 import com.apex.backend.config.StrategyProperties;
 import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,37 +13,55 @@ import java.util.List;
 public class SqueezeService {
 
     private final StrategyProperties strategyProperties;
-    private final BollingerBandService bollingerBandService;
-    private final KeltnerChannelService keltnerChannelService;
+    private final IncrementalIndicatorEngine<SqueezeState> incremental = new IncrementalIndicatorEngine<>();
 
     public SqueezeResult detect(List<Candle> candles) {
         if (candles == null || candles.isEmpty()) {
             return new SqueezeResult(false, 0, 0);
         }
-        int minBars = strategyProperties.getSqueeze().getMinBars();
-        double tightThreshold = strategyProperties.getSqueeze().getTightThreshold();
-        int count = 0;
-        double lastRatio = 0;
-
-        for (int i = candles.size() - 1; i >= 0; i--) {
-            BollingerBandService.BollingerBands bands = bollingerBandService.calculate(candles, i);
-            KeltnerChannelService.KeltnerChannel channel = keltnerChannelService.calculate(candles, i);
-            if (bands.width() == 0 || channel.width() == 0) {
-                break;
-            }
-            boolean inside = bands.upper() < channel.upper() && bands.lower() > channel.lower();
-            double ratio = bands.width() / channel.width();
-            boolean tight = ratio < tightThreshold;
-            if (inside && tight) {
-                count++;
-                lastRatio = ratio;
-            } else {
-                break;
-            }
+        return detect(CandleSeries.of(candles));
+    }
+
+    /**
+     * Single pass over the series with rolling Bollinger/Keltner windows; equivalent to comparing the bands
+     * and channel at every bar and counting the squeezed run that ends at the last one.
+     */
+    public SqueezeResult detect(CandleSeries candles) {
+        if (candles == null || candles.isEmpty()) {
+            return new SqueezeResult(false, 0, 0);
+        }
+        return toResult(IncrementalIndicatorEngine.replay(newState(), candles));
+    }
+
+    /**
+     * Incremental squeeze for a symbol and timeframe; bars already folded into the running windows are skipped.
+     */
+    public SqueezeResult detect(String symbol, String timeframe, CandleSeries candles) {
+        if (candles == null || candles.isEmpty()) {
+            return new SqueezeResult(false, 0, 0);
         }
+        StrategyProperties.Bollinger bollinger = strategyProperties.getBollinger();
+        StrategyProperties.Keltner keltner = strategyProperties.getKeltner();
+        String key = IncrementalIndicatorEngine.key(symbol, timeframe, bollinger.getPeriod(), keltner.getPeriod(),
+                strategyProperties.getAtr().getPeriod())
+                + "|" + bollinger.getDeviation() + "|" + keltner.getAtrMultiplier()
+                + "|" + strategyProperties.getSqueeze().getTightThreshold();
+        return incremental.evaluate(key, candles, this::newState, this::toResult);
+    }
+
+    private SqueezeState newState() {
+        return new SqueezeState(
+                strategyProperties.getBollinger().getPeriod(),
+                strategyProperties.getBollinger().getDeviation(),
+                strategyProperties.getKeltner().getPeriod(),
+                strategyProperties.getKeltner().getAtrMultiplier(),
+                strategyProperties.getAtr().getPeriod(),
+                strategyProperties.getSqueeze().getTightThreshold());
+    }
 
-        boolean isSqueeze = count >= minBars;
-        return new SqueezeResult(isSqueeze, count, lastRatio);
+    private SqueezeResult toResult(SqueezeState state) {
+        boolean isSqueeze = state.bars() >= strategyProperties.getSqueeze().getMinBars();
+        return new SqueezeResult(isSqueeze, state.bars(), state.ratio());
     }
 
     public record SqueezeResult(boolean squeeze, int bars, double ratio) {}
@@ -0,0 +1,162 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * Bollinger-inside-Keltner squeeze tracked bar by bar.
+ * <p>
+ * The Bollinger window keeps a sliding mean and sum of squared deviations (Welford's update with one value in
+ * and one out), the Keltner middle a sliding sum of closes and the channel width a Wilder ATR, so each bar costs
+ * O(1) regardless of the periods. {@link #bars()} is the number of consecutive squeezed bars ending at the latest
+ * one and {@link #ratio()} the band/channel width ratio on the first bar of that run.
+ */
+public final class SqueezeState implements IndicatorState<SqueezeState> {
+
+    private final int bollingerPeriod;
+    private final double deviation;
+    private final int keltnerPeriod;
+    private final double atrMultiplier;
+    private final double tightThreshold;
+
+    private final double[] bollingerWindow;
+    private final double[] keltnerWindow;
+    private final AtrState atr;
+    private int bars;
+    private double mean;
+    private double squares;
+    private double keltnerSum;
+    private int run;
+    private double runRatio;
+    private int markedBars;
+    private double markedMean;
+    private double markedSquares;
+    private double markedKeltnerSum;
+    private int markedRun;
+    private double markedRunRatio;
+    // Window values the next update overwrites
+    private double markedBollingerSlot;
+    private double markedKeltnerSlot;
+
+    public SqueezeState(int bollingerPeriod, double deviation, int keltnerPeriod, double atrMultiplier,
+                        int atrPeriod, double tightThreshold) {
+        this.bollingerPeriod = bollingerPeriod;
+        this.deviation = deviation;
+        this.keltnerPeriod = keltnerPeriod;
+        this.atrMultiplier = atrMultiplier;
+        this.tightThreshold = tightThreshold;
+        this.bollingerWindow = new double[Math.max(bollingerPeriod, 1)];
+        this.keltnerWindow = new double[Math.max(keltnerPeriod, 1)];
+        this.atr = new AtrState(atrPeriod);
+    }
+
+    @Override
+    public void update(CandleSeries series, int index) {
+        double close = series.close(index);
+        atr.update(series, index);
+        slideBollinger(close);
+        slideKeltner(close);
+        bars++;
+
+        double bandWidth = 0.0;
+        double channelWidth = 0.0;
+        double bandUpper = 0.0;
+        double bandLower = 0.0;
+        double channelUpper = 0.0;
+        double channelLower = 0.0;
+        if (bollingerPeriod > 0 && bars >= bollingerPeriod) {
+            double band = Math.sqrt(Math.max(squares, 0.0) / bollingerPeriod) * deviation;
+            bandUpper = mean + band;
+            bandLower = mean - band;
+            bandWidth = bandUpper - bandLower;
+        }
+        if (keltnerPeriod > 0 && bars >= keltnerPeriod) {
+            double middle = keltnerSum / keltnerPeriod;
+            double offset = atr.atr() * atrMultiplier;
+            channelUpper = middle + offset;
+            channelLower = middle - offset;
+            channelWidth = channelUpper - channelLower;
+        }
+        if (bandWidth == 0 || channelWidth == 0) {
+            run = 0;
+            return;
+        }
+        double ratio = bandWidth / channelWidth;
+        boolean inside = bandUpper < channelUpper && bandLower > channelLower;
+        if (inside && ratio < tightThreshold) {
+            if (run == 0) {
+                runRatio = ratio;
+            }
+            run++;
+        } else {
+            run = 0;
+        }
+    }
+
+    @Override
+    public void mark() {
+        atr.mark();
+        markedBars = bars;
+        markedMean = mean;
+        markedSquares = squares;
+        markedKeltnerSum = keltnerSum;
+        markedRun = run;
+        markedRunRatio = runRatio;
+        markedBollingerSlot = bollingerPeriod > 0 ? bollingerWindow[bars % bollingerPeriod] : 0.0;
+        markedKeltnerSlot = keltnerPeriod > 0 ? keltnerWindow[bars % keltnerPeriod] : 0.0;
+    }
+
+    @Override
+    public void rollback() {
+        atr.rollback();
+        bars = markedBars;
+        mean = markedMean;
+        squares = markedSquares;
+        keltnerSum = markedKeltnerSum;
+        run = markedRun;
+        runRatio = markedRunRatio;
+        if (bollingerPeriod > 0) {
+            bollingerWindow[bars % bollingerPeriod] = markedBollingerSlot;
+        }
+        if (keltnerPeriod > 0) {
+            keltnerWindow[bars % keltnerPeriod] = markedKeltnerSlot;
+        }
+    }
+
+    public int bars() {
+        return run;
+    }
+
+    public double ratio() {
+        return run == 0 ? 0.0 : runRatio;
+    }
+
+    private void slideBollinger(double close) {
+        if (bollingerPeriod <= 0) {
+            return;
+        }
+        int slot = bars % bollingerPeriod;
+        if (bars < bollingerPeriod) {
+            double delta = close - mean;
+            mean += delta / (bars + 1);
+            squares += delta * (close - mean);
+        } else {
+            double evicted = bollingerWindow[slot];
+            double previousMean = mean;
+            mean += (close - evicted) / bollingerPeriod;
+            squares += (close - evicted) * (close - mean + evicted - previousMean);
+        }
+        bollingerWindow[slot] = close;
+    }
+
+    private void slideKeltner(double close) {
+        if (keltnerPeriod <= 0) {
+            return;
+        }
+        int slot = bars % keltnerPeriod;
+        if (bars >= keltnerPeriod) {
+            keltnerSum -= keltnerWindow[slot];
+        }
+        keltnerSum += close;
+        keltnerWindow[slot] = close;
+    }
+}
@@ -0,0 +1,70 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.model.CandleSeries;
+
+/**
+ * Wilder ATR plus the rolling median of ATR% over the last {@code lookback} bars once the ATR is seeded.
+ */
+public final class VolShockState implements IndicatorState<VolShockState> {
+
+    private final int period;
+    private final AtrState atr;
+    private final RollingMedian median;
+    private final boolean medianEnabled;
+    private int bars;
+    private double atrPct;
+    private int markedBars;
+    private double markedAtrPct;
+
+    public VolShockState(int period, int lookback) {
+        this.period = period;
+        this.atr = new AtrState(period);
+        this.median = new RollingMedian(lookback);
+        this.medianEnabled = lookback > 0;
+    }
+
+    @Override
+    public void update(CandleSeries series, int index) {
+        atr.update(series, index);
+        bars++;
+        if (bars > period) {
+            double close = series.close(index);
+            atrPct = close <= 0 ? 0.0 : (atr.atr() / close) * 100.0;
+            if (medianEnabled) {
+                median.add(atrPct);
+            }
+        }
+    }
+
+    @Override
+    public void mark() {
+        atr.mark();
+        markedBars = bars;
+        markedAtrPct = atrPct;
+    }
+
+    @Override
+    public void rollback() {
+        atr.rollback();
+        if (medianEnabled && bars > period && bars != markedBars) {
+            median.removeLast();
+        }
+        bars = markedBars;
+        atrPct = markedAtrPct;
+    }
+
+    public double atr() {
+        return atr.atr();
+    }
+
+    /**
+     * ATR% of the latest bar, or 0 before the ATR is seeded.
+     */
+    public double atrPct() {
+        return atrPct;
+    }
+
+    public double medianAtrPct() {
+        return median.median();
+    }
+}
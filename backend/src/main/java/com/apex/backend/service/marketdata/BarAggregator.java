@@ -0,0 +1,235 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.config.MarketDataProperties;
+import com.apex.backend.event.BarClosedEvent;
+import com.apex.backend.model.Candle;
+import com.apex.backend.trading.pipeline.BarResampler;
+import com.apex.backend.util.ExchangeTime;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds OHLCV bars per symbol and timeframe from the streamed ticks on the {@link MarketTickBus}.
+ * <p>
+ * A bar closes when the first tick of a later bar arrives, or from the periodic sweep once its end plus the
+ * configured grace has passed with no new tick. Closed bars go to the {@link CandleStore} when they continue the
+ * stored series, and a {@link BarClosedEvent} is published on a dedicated thread so listeners never hold up the
+ * tick feed. Buckets are anchored to the 09:15 session open in the exchange zone, like the broker's intraday bars and
+ * {@link BarResampler}, so a 60m bar covers 09:15 to 10:15 rather than a clock hour. Only the intraday resolutions
+ * the broker serves are built; any other configured timeframe fails startup.
+ * <p>
+ * The first bucket seen for a symbol and timeframe started before its first tick reached us, so it is never
+ * stored, published or exposed as the forming bar.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BarAggregator {
+
+    private final MarketTickBus tickBus;
+    private final CandleStore candleStore;
+    private final MarketDataProperties marketDataProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Intraday resolutions the broker serves, so stored live bars line up with fetched history
+    static final Set<Integer> SUPPORTED_MINUTES = Set.of(1, 3, 5, 10, 15, 30, 45, 60, 120, 240);
+
+    private final Map<String, LiveBar> bars = new ConcurrentHashMap<>();
+    private final Map<String, Long> sessionVolumes = new ConcurrentHashMap<>();
+    private final AtomicLong closedBars = new AtomicLong();
+    private final ExecutorService eventExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bar-closed-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private AutoCloseable subscription;
+
+    @PostConstruct
+    void start() {
+        for (int minutes : marketDataProperties.getLiveBars().getTimeframes()) {
+            if (!SUPPORTED_MINUTES.contains(minutes)) {
+                throw new IllegalStateException("Unsupported live bar timeframe " + minutes + "m; supported: "
+                        + SUPPORTED_MINUTES.stream().sorted().toList());
+            }
+        }
+        if (marketDataProperties.getLiveBars().isEnabled()) {
+            subscription = tickBus.subscribe("bar-aggregator", this::onTick);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        if (subscription != null) {
+            subscription.close();
+        }
+        eventExecutor.shutdownNow();
+    }
+
+    void onTick(FyersTick tick) {
+        if (tick.symbol() == null || tick.lastTradedPrice() == null) {
+            return;
+        }
+        double price = tick.lastTradedPrice().doubleValue();
+        if (!(price > 0)) {
+            return;
+        }
+        long epochSecond = (tick.timestamp() != null ? tick.timestamp() : Instant.now()).getEpochSecond();
+        long volume = volumeDelta(tick);
+        for (int minutes : marketDataProperties.getLiveBars().getTimeframes()) {
+            LiveBar bar = bars.computeIfAbsent(tick.symbol() + "|" + minutes, key -> new LiveBar(tick.symbol(), minutes));
+            Candle closed = bar.apply(epochSecond, price, volume);
+            if (closed != null) {
+                emit(bar, closed);
+            }
+        }
+    }
+
+    /**
+     * Closes bars that stopped receiving ticks, so an illiquid symbol's last bar is not held back indefinitely.
+     */
+    @Scheduled(fixedDelayString = "${apex.market-data.live-bars.sweep-interval-ms:1000}")
+    public void closeExpiredBars() {
+        long now = Instant.now().getEpochSecond();
+        long graceSeconds = Math.max(0L, marketDataProperties.getLiveBars().getCloseGraceMs()) / 1000L;
+        for (LiveBar bar : bars.values()) {
+            Candle closed = bar.closeIfExpired(now, graceSeconds);
+            if (closed != null) {
+                emit(bar, closed);
+            }
+        }
+    }
+
+    public long closedBarCount() {
+        return closedBars.get();
+    }
+
+    /**
+     * The bar currently being built, or null when none is open or it is the incomplete first bucket.
+     */
+    public Candle formingBar(String tradingSymbol, int minutes) {
+        LiveBar bar = bars.get(tradingSymbol + "|" + minutes);
+        return bar != null ? bar.snapshot() : null;
+    }
+
+    private long volumeDelta(FyersTick tick) {
+        long total = tick.volumeTraded();
+        if (total <= 0) {
+            return 0L;
+        }
+        Long previous = sessionVolumes.put(tick.symbol(), total);
+        // The first tick of the day carries the whole session volume so far; only differences belong to a bar
+        return previous == null || total < previous ? 0L : total - previous;
+    }
+
+    private void emit(LiveBar bar, Candle closed) {
+        closedBars.incrementAndGet();
+        String resolution = String.valueOf(bar.minutes);
+        try {
+            candleStore.appendLive(bar.symbol, resolution, closed, bar.minutes * 60L);
+        } catch (Exception e) {
+            log.warn("Failed to store live {}m bar for {}: {}", bar.minutes, bar.symbol, e.getMessage());
+        }
+        BarClosedEvent event = new BarClosedEvent(bar.symbol, resolution, closed, Instant.now());
+        eventExecutor.execute(() -> {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (Exception e) {
+                log.warn("Bar closed listener failed for {} {}m: {}", bar.symbol, bar.minutes, e.getMessage());
+            }
+        });
+    }
+
+    static final class LiveBar {
+        private final String symbol;
+        private final int minutes;
+        private final long seconds;
+        private long start = -1L;
+        private long lastClosedStart = Long.MIN_VALUE;
+        private boolean first = true;
+        private boolean partial;
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+        private long volume;
+
+        LiveBar(String symbol, int minutes) {
+            this.symbol = symbol;
+            this.minutes = minutes;
+            this.seconds = minutes * 60L;
+        }
+
+        /**
+         * Adds a tick; returns the previous bar if this tick opened a new one and it was complete. Ticks for an
+         * already closed bar are dropped.
+         */
+        synchronized Candle apply(long epochSecond, double price, long volumeDelta) {
+            long bucket = bucketStart(epochSecond, seconds);
+            if (bucket <= lastClosedStart || (start >= 0 && bucket < start)) {
+                return null;
+            }
+            Candle closed = null;
+            if (start >= 0 && bucket > start) {
+                closed = finish();
+            }
+            if (start < 0) {
+                start = bucket;
+                partial = first;
+                first = false;
+                open = price;
+                high = price;
+                low = price;
+                volume = 0L;
+            }
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            close = price;
+            volume += volumeDelta;
+            return closed;
+        }
+
+        synchronized Candle closeIfExpired(long nowEpochSecond, long graceSeconds) {
+            if (start < 0 || nowEpochSecond < start + seconds + graceSeconds) {
+                return null;
+            }
+            return finish();
+        }
+
+        synchronized Candle snapshot() {
+            return start < 0 || partial ? null : toCandle();
+        }
+
+        private Candle finish() {
+            Candle closed = partial ? null : toCandle();
+            partial = false;
+            lastClosedStart = start;
+            start = -1L;
+            return closed;
+        }
+
+        private static long bucketStart(long epochSecond, long seconds) {
+            ZoneId zone = ExchangeTime.zone();
+            long open = Instant.ofEpochSecond(epochSecond).atZone(zone).toLocalDate()
+                    .atTime(BarResampler.SESSION_OPEN).atZone(zone).toEpochSecond();
+            return open + Math.floorDiv(epochSecond - open, seconds) * seconds;
+        }
+
+        private Candle toCandle() {
+            return new Candle(open, high, low, close, volume, ExchangeTime.toLocalDateTime(start));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.config.MarketDataProperties;
+import com.apex.backend.model.Candle;
+import com.apex.backend.util.ExchangeTime;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local columnar candle store keyed by trading symbol and resolution.
+ * Each series lives in its own memory-mapped file so history survives restarts and is read without a broker call.
+ * Broker history is stored through {@link #appendClosed}, so the stored series ends on a closed bar and live bars
+ * can extend it without ever replacing a bar.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleStore {
+
+    private final MarketDataProperties marketDataProperties;
+
+    private final Map<String, MappedCandleFile> files = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return marketDataProperties.getStore().isEnabled();
+    }
+
+    public List<Candle> read(String tradingSymbol, String resolution, int count) {
+        MappedCandleFile file = file(tradingSymbol, resolution);
+        if (file == null || count <= 0) {
+            return Collections.emptyList();
+        }
+        List<Candle> candles = new ArrayList<>(Math.min(count, file.size()));
+        file.readTail(count, (epoch, open, high, low, close, volume) ->
+                candles.add(new Candle(open, high, low, close, volume, ExchangeTime.toLocalDateTime(epoch))));
+        return candles;
+    }
+
+    /**
+     * Appends bars newer than the last stored bar and replaces the last bar when it is re-sent.
+     */
+    public void append(String tradingSymbol, String resolution, List<Candle> candles) {
+        if (candles == null || candles.isEmpty()) {
+            return;
+        }
+        MappedCandleFile file = file(tradingSymbol, resolution);
+        if (file == null) {
+            return;
+        }
+        for (Candle candle : candles) {
+            if (candle.getTimestamp() == null) {
+                continue;
+            }
+            file.append(ExchangeTime.toEpochSecond(candle.getTimestamp()), candle.getOpen(), candle.getHigh(), candle.getLow(),
+                    candle.getClose(), candle.getVolume());
+        }
+    }
+
+    /**
+     * Stores the bars of {@code candles} that had closed by {@code nowEpoch}; the forming bar is left to the caller.
+     */
+    public void appendClosed(String tradingSymbol, String resolution, List<Candle> candles, long barSeconds,
+                             long nowEpoch) {
+        if (candles == null || candles.isEmpty()) {
+            return;
+        }
+        int end = candles.size();
+        while (end > 0 && isForming(candles.get(end - 1), barSeconds, nowEpoch)) {
+            end--;
+        }
+        append(tradingSymbol, resolution, candles.subList(0, end));
+    }
+
+    /**
+     * Stores a bar built from live ticks if it directly follows the last stored bar, and marks the series synced.
+     * A bar that would leave a gap or replace a stored bar is not stored, so the next history sync still fetches the
+     * missing range.
+     *
+     * @return true when the bar was stored
+     */
+    public boolean appendLive(String tradingSymbol, String resolution, Candle bar, long barSeconds) {
+        MappedCandleFile file = file(tradingSymbol, resolution);
+        if (file == null || bar == null || bar.getTimestamp() == null) {
+            return false;
+        }
+        boolean stored = file.appendContinuing(ExchangeTime.toEpochSecond(bar.getTimestamp()), barSeconds, bar.getOpen(),
+                bar.getHigh(), bar.getLow(), bar.getClose(), bar.getVolume());
+        if (stored) {
+            file.markSynced(System.currentTimeMillis());
+        }
+        return stored;
+    }
+
+    public void markSynced(String tradingSymbol, String resolution) {
+        MappedCandleFile file = file(tradingSymbol, resolution);
+        if (file != null) {
+            file.markSynced(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * True when the series was synced with the broker within {@code maxAgeMs} and holds at least one bar.
+     */
+    public boolean isFresh(String tradingSymbol, String resolution, long maxAgeMs) {
+        MappedCandleFile file = file(tradingSymbol, resolution);
+        return file != null && file.size() > 0
+                && System.currentTimeMillis() - file.syncedAtMillis() < maxAgeMs;
+    }
+
+    @PreDestroy
+    void flush() {
+        files.values().forEach(MappedCandleFile::force);
+        files.clear();
+    }
+
+    private MappedCandleFile file(String tradingSymbol, String resolution) {
+        if (!isEnabled() || tradingSymbol == null || resolution == null) {
+            return null;
+        }
+        String name = fileName(tradingSymbol, resolution);
+        return files.computeIfAbsent(name, this::openFile);
+    }
+
+    private MappedCandleFile openFile(String name) {
+        MarketDataProperties.Store store = marketDataProperties.getStore();
+        Path directory = Paths.get(store.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            return MappedCandleFile.open(directory.resolve(name), store.getCapacity());
+        } catch (Exception e) {
+            log.warn("Candle store unavailable for {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private String fileName(String tradingSymbol, String resolution) {
+        return (tradingSymbol + "_" + resolution).replaceAll("[^A-Za-z0-9_-]", "_") + ".candles";
+    }
+
+    private static boolean isForming(Candle candle, long barSeconds, long nowEpoch) {
+        return candle.getTimestamp() == null || ExchangeTime.toEpochSecond(candle.getTimestamp()) + barSeconds > nowEpoch;
+    }
+}
@@ -0,0 +1,16 @@
+package com.apex.backend.service.marketdata;
+
+/**
+ * Book update decoded from a market-data frame. Arrays hold one entry per level, best first.
+ *
+ * @param fullBook true when the levels replace the whole book (a depth frame), false when only the touch is known
+ *                 (a quote frame carrying best bid and ask)
+ */
+public record DepthUpdate(
+        String symbol,
+        double[] bidPrices,
+        long[] bidQuantities,
+        double[] askPrices,
+        long[] askQuantities,
+        boolean fullBook
+) {}
@@ -4,22 +4,16 @@ import com.apex.backend.exception.FyersApiException;
 import com.apex.backend.service.FyersHttpClient;
 import com.apex.backend.service.InstrumentService;
 import com.apex.backend.util.MoneyUtils;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 @Slf4j
@@ -27,9 +21,13 @@ import java.util.function.Consumer;
 @RequiredArgsConstructor
 public class FyersMarketDataClientImpl implements FyersMarketDataClient {
 
+    // FYERS accepts at most 50 symbols per /quotes call
+    private static final int QUOTE_BATCH_SIZE = 50;
+
     private final FyersHttpClient fyersHttpClient;
     private final InstrumentService instrumentService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LtpCache ltpCache;
+    private final OrderBookService orderBookService;
 
     @Value("${fyers.api.base-url:https://api.fyers.in/api/v2}")
     private String apiBaseUrl;
@@ -40,6 +38,20 @@ public class FyersMarketDataClientImpl implements FyersMarketDataClient {
     @Value("${fyers.market.stream.interval-ms:1000}")
     private long streamIntervalMs;
 
+    private TickHub tickHub;
+
+    @PostConstruct
+    void startTickHub() {
+        tickHub = new TickHub(this::fetchQuotes, ltpCache, streamIntervalMs, QUOTE_BATCH_SIZE);
+    }
+
+    @PreDestroy
+    void stopTickHub() {
+        if (tickHub != null) {
+            tickHub.close();
+        }
+    }
+
     @Override
     public BigDecimal getLtp(String symbol, String token) {
         return getQuote(symbol, token)
@@ -60,21 +72,15 @@ public class FyersMarketDataClientImpl implements FyersMarketDataClient {
             if (response == null) {
                 return Optional.empty();
             }
-            JsonNode root = objectMapper.readTree(response);
-            if (!"ok".equalsIgnoreCase(root.path("s").asText())) {
+            List<FyersQuote> quotes = FyersResponseDecoder.decodeQuotes(response);
+            if (quotes.isEmpty()) {
                 return Optional.empty();
             }
-            JsonNode dataNode = root.path("d");
-            if (!dataNode.isArray() || dataNode.isEmpty()) {
-                return Optional.empty();
+            FyersQuote first = quotes.get(0);
+            if (first.symbol().isEmpty()) {
+                return Optional.of(new FyersQuote(tradingSymbol, first.lastTradedPrice(), first.bidPrice(), first.askPrice()));
             }
-            JsonNode first = dataNode.get(0);
-            String quoteSymbol = first.path("n").asText(tradingSymbol);
-            JsonNode values = first.path("v");
-            BigDecimal ltp = MoneyUtils.bd(values.path("lp").asDouble(0.0));
-            BigDecimal bid = MoneyUtils.bd(firstNonZero(values, "bp", "bid", "best_bid"));
-            BigDecimal ask = MoneyUtils.bd(firstNonZero(values, "ap", "ask", "best_ask"));
-            return Optional.of(new FyersQuote(quoteSymbol, ltp, bid, ask));
+            return Optional.of(first);
         } catch (Exception e) {
             log.warn("Failed to fetch quote for {}: {}", tradingSymbol, e.getMessage());
             return Optional.empty();
@@ -94,18 +100,9 @@ public class FyersMarketDataClientImpl implements FyersMarketDataClient {
             if (response == null) {
                 return Optional.empty();
             }
-            JsonNode root = objectMapper.readTree(response);
-            if (!"ok".equalsIgnoreCase(root.path("s").asText())) {
-                return Optional.empty();
-            }
-            JsonNode dataNode = root.path("d");
-            JsonNode depthNode = dataNode.path("depth");
-            if (depthNode.isMissingNode() || depthNode.isNull()) {
-                depthNode = dataNode;
-            }
-            List<FyersDepthLevel> bids = parseDepth(depthNode.path("bids"));
-            List<FyersDepthLevel> asks = parseDepth(depthNode.path("asks"));
-            return Optional.of(new FyersMarketDepth(tradingSymbol, bids, asks));
+            Optional<FyersMarketDepth> depth = FyersResponseDecoder.decodeDepth(response, tradingSymbol);
+            depth.ifPresent(orderBookService::applySnapshot);
+            return depth;
         } catch (FyersApiException e) {
             throw e;
         } catch (Exception e) {
@@ -114,32 +111,25 @@ public class FyersMarketDataClientImpl implements FyersMarketDataClient {
         }
     }
 
+    /**
+     * Subscribes through the shared {@link TickHub}: all symbols are polled by one thread in batched quote calls,
+     * or served from the streamed LTP cache when it is fresh.
+     */
     @Override
     public AutoCloseable streamTicks(String symbol, String token, Consumer<FyersTick> consumer) {
         Optional<String> resolvedSymbol = resolveSymbol(symbol);
         if (resolvedSymbol.isEmpty()) {
             return () -> {};
         }
-        String tradingSymbol = resolvedSymbol.get();
-        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
-            Thread thread = new Thread(runnable, "fyers-tick-stream-" + tradingSymbol);
-            thread.setDaemon(true);
-            return thread;
-        });
-        executor.scheduleAtFixedRate(() -> {
-            try {
-                getQuote(tradingSymbol, token).ifPresent(quote -> consumer.accept(new FyersTick(
-                        quote.symbol(),
-                        quote.lastTradedPrice(),
-                        quote.bidPrice(),
-                        quote.askPrice(),
-                        Instant.now()
-                )));
-            } catch (Exception ex) {
-                log.warn("Tick stream error for {}: {}", symbol, ex.getMessage());
-            }
-        }, 0, streamIntervalMs, TimeUnit.MILLISECONDS);
-        return executor::shutdownNow;
+        return tickHub.subscribe(resolvedSymbol.get(), token, consumer);
+    }
+
+    private List<FyersQuote> fetchQuotes(List<String> tradingSymbols, String token) throws Exception {
+        String response = fyersHttpClient.get(apiBaseUrl + "/quotes?symbols=" + String.join(",", tradingSymbols), token);
+        if (response == null) {
+            return List.of();
+        }
+        return FyersResponseDecoder.decodeQuotes(response);
     }
 
     private Optional<String> resolveSymbol(String symbol) {
@@ -152,31 +142,4 @@ public class FyersMarketDataClientImpl implements FyersMarketDataClient {
         }
         return resolved;
     }
-
-    private double firstNonZero(JsonNode node, String... fields) {
-        for (String field : fields) {
-            if (node.has(field)) {
-                double value = node.path(field).asDouble(0.0);
-                if (value > 0) {
-                    return value;
-                }
-            }
-        }
-        return 0.0;
-    }
-
-    private List<FyersDepthLevel> parseDepth(JsonNode depthNode) {
-        if (depthNode == null || !depthNode.isArray()) {
-            return Collections.emptyList();
-        }
-        List<FyersDepthLevel> levels = new ArrayList<>();
-        for (JsonNode node : depthNode) {
-            BigDecimal price = MoneyUtils.bd(node.path("price").asDouble(node.path("p").asDouble(0.0)));
-            BigDecimal qty = MoneyUtils.bd(node.path("quantity").asDouble(node.path("q").asDouble(0.0)));
-            if (price.doubleValue() > 0) {
-                levels.add(new FyersDepthLevel(price, qty));
-            }
-        }
-        return levels;
-    }
 }
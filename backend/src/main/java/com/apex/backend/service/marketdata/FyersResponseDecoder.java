@@ -0,0 +1,532 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.exception.FyersApiException;
+import com.apex.backend.model.Candle;
+import com.apex.backend.util.ExchangeTime;
+import com.apex.backend.util.MoneyUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Token-level decoders for the FYERS history, quote and depth payloads and market-data stream frames.
+ * <p>
+ * Fields are read straight off a Jackson {@link JsonParser} without building a tree; candle rows land in
+ * primitive arrays and only become {@link Candle} objects at the end. Top-level fields may come in any order,
+ * so the status is checked once the document has been read.
+ */
+public final class FyersResponseDecoder {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private FyersResponseDecoder() {}
+
+    /**
+     * Candles from a /history response; empty unless the status is "ok".
+     *
+     * @throws FyersApiException when the broker reports an error status
+     */
+    public static HistoryBars decodeHistory(String body) throws IOException {
+        HistoryBars bars = new HistoryBars();
+        Status status = new Status();
+        try (JsonParser parser = JSON.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("candles".equals(field) && value == JsonToken.START_ARRAY) {
+                    readCandleRows(parser, bars);
+                } else if (!status.read(field, parser, value)) {
+                    parser.skipChildren();
+                }
+            }
+        }
+        status.assertOk("history");
+        return status.ok() ? bars : new HistoryBars();
+    }
+
+    /**
+     * Quotes from a /quotes response, one per entry of {@code d}; empty unless the status is "ok".
+     *
+     * @throws FyersApiException when the broker reports an error status
+     */
+    public static List<FyersQuote> decodeQuotes(String body) throws IOException {
+        List<FyersQuote> quotes = new ArrayList<>();
+        Status status = new Status();
+        try (JsonParser parser = JSON.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("d".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        quotes.add(readQuote(parser));
+                    }
+                } else if (!status.read(field, parser, value)) {
+                    parser.skipChildren();
+                }
+            }
+        }
+        status.assertOk("quotes");
+        return status.ok() ? quotes : Collections.emptyList();
+    }
+
+    /**
+     * Order book from a depth response. Levels are read from {@code d.depth} when present, otherwise from
+     * {@code d} itself; levels without a positive price are dropped.
+     */
+    public static Optional<FyersMarketDepth> decodeDepth(String body, String symbol) throws IOException {
+        DepthSides direct = new DepthSides();
+        DepthSides nested = new DepthSides();
+        Status status = new Status();
+        try (JsonParser parser = JSON.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("d".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        JsonToken token = parser.nextToken();
+                        if ("depth".equals(name) && token == JsonToken.START_OBJECT) {
+                            nested.present = true;
+                            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                String side = parser.currentName();
+                                nested.read(side, parser, parser.nextToken());
+                            }
+                        } else {
+                            direct.read(name, parser, token);
+                        }
+                    }
+                } else if (!status.read(field, parser, value)) {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (!status.ok()) {
+            return Optional.empty();
+        }
+        DepthSides sides = nested.present ? nested : direct;
+        return Optional.of(new FyersMarketDepth(symbol, sides.bids, sides.asks));
+    }
+
+    /**
+     * Price ticks from a market-data WebSocket frame. A frame may hold one tick object, an array of them, or a
+     * {@code d} array of them; tick fields may sit at the top level or under {@code v}. Ticks without a symbol or
+     * a positive price are skipped.
+     */
+    public static List<FyersTick> decodeTicks(String frame) throws IOException {
+        List<FyersTick> ticks = new ArrayList<>();
+        decodeFrame(frame, ticks, null);
+        return ticks;
+    }
+
+    /**
+     * Ticks and book updates from one market-data frame in a single pass. Depth frames carry numbered levels
+     * ({@code bid_price1}, {@code bid_size1}, ...) and become full-book updates; any other frame with a positive best
+     * bid and ask becomes a top-of-book update. Book updates are skipped when {@code depths} is null.
+     */
+    public static void decodeFrame(String frame, List<FyersTick> ticks, List<DepthUpdate> depths) throws IOException {
+        try (JsonParser parser = JSON.createParser(frame)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                readTickArray(parser, ticks, depths);
+            } else if (first == JsonToken.START_OBJECT) {
+                readTick(parser, ticks, depths);
+            }
+        }
+    }
+
+    private static void readTickArray(JsonParser parser, List<FyersTick> ticks, List<DepthUpdate> depths)
+            throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                readTick(parser, ticks, depths);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readTick(JsonParser parser, List<FyersTick> ticks, List<DepthUpdate> depths)
+            throws IOException {
+        TickFields fields = new TickFields();
+        fields.read(parser, ticks, depths);
+        if (fields.symbol == null || fields.symbol.isBlank()) {
+            return;
+        }
+        if (depths != null) {
+            DepthUpdate depth = fields.toDepthUpdate();
+            if (depth != null) {
+                depths.add(depth);
+            }
+        }
+        if (fields.ltp > 0) {
+            Instant exchangeTime = null;
+            if (fields.epoch > 0) {
+                // Feeds stamp epoch seconds; a value this large can only be milliseconds
+                exchangeTime = fields.epoch >= 1_000_000_000_000L
+                        ? Instant.ofEpochMilli(fields.epoch)
+                        : Instant.ofEpochSecond(fields.epoch);
+            }
+            ticks.add(new FyersTick(fields.symbol, MoneyUtils.bd(fields.ltp), MoneyUtils.bd(fields.bid),
+                    MoneyUtils.bd(fields.ask), exchangeTime, fields.volume));
+        }
+    }
+
+    private static void readCandleRows(JsonParser parser, HistoryBars bars) throws IOException {
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            long epoch = 0L;
+            double open = 0.0;
+            double high = 0.0;
+            double low = 0.0;
+            double close = 0.0;
+            long volume = 0L;
+            int column = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.START_ARRAY || token == JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                } else {
+                    switch (column) {
+                        case 0 -> epoch = parser.getValueAsLong();
+                        case 1 -> open = parser.getValueAsDouble();
+                        case 2 -> high = parser.getValueAsDouble();
+                        case 3 -> low = parser.getValueAsDouble();
+                        case 4 -> close = parser.getValueAsDouble();
+                        case 5 -> volume = parser.getValueAsLong();
+                        default -> {
+                        }
+                    }
+                }
+                column++;
+            }
+            if (column < 6) {
+                throw new IOException("FYERS history row has " + column + " columns");
+            }
+            bars.add(epoch, open, high, low, close, volume);
+        }
+    }
+
+    private static FyersQuote readQuote(JsonParser parser) throws IOException {
+        String name = "";
+        double ltp = 0.0;
+        double[] bid = {Double.NaN, Double.NaN, Double.NaN};
+        double[] ask = {Double.NaN, Double.NaN, Double.NaN};
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("n".equals(field) && value.isScalarValue()) {
+                name = parser.getValueAsString("");
+            } else if ("v".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.currentName();
+                    JsonToken token = parser.nextToken();
+                    if (!token.isScalarValue()) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    switch (key) {
+                        case "lp" -> ltp = parser.getValueAsDouble(0.0);
+                        case "bp" -> bid[0] = parser.getValueAsDouble(0.0);
+                        case "bid" -> bid[1] = parser.getValueAsDouble(0.0);
+                        case "best_bid" -> bid[2] = parser.getValueAsDouble(0.0);
+                        case "ap" -> ask[0] = parser.getValueAsDouble(0.0);
+                        case "ask" -> ask[1] = parser.getValueAsDouble(0.0);
+                        case "best_ask" -> ask[2] = parser.getValueAsDouble(0.0);
+                        default -> {
+                        }
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new FyersQuote(name, MoneyUtils.bd(ltp), MoneyUtils.bd(firstPositive(bid)), MoneyUtils.bd(firstPositive(ask)));
+    }
+
+    private static List<FyersDepthLevel> readLevels(JsonParser parser) throws IOException {
+        List<FyersDepthLevel> levels = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            double price = Double.NaN;
+            double p = Double.NaN;
+            double quantity = Double.NaN;
+            double q = Double.NaN;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (!parser.nextToken().isScalarValue()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "price" -> price = parser.getValueAsDouble(0.0);
+                    case "p" -> p = parser.getValueAsDouble(0.0);
+                    case "quantity" -> quantity = parser.getValueAsDouble(0.0);
+                    case "q" -> q = parser.getValueAsDouble(0.0);
+                    default -> {
+                    }
+                }
+            }
+            BigDecimal levelPrice = MoneyUtils.bd(!Double.isNaN(price) ? price : Double.isNaN(p) ? 0.0 : p);
+            BigDecimal levelQty = MoneyUtils.bd(!Double.isNaN(quantity) ? quantity : Double.isNaN(q) ? 0.0 : q);
+            if (levelPrice.doubleValue() > 0) {
+                levels.add(new FyersDepthLevel(levelPrice, levelQty));
+            }
+        }
+        return levels;
+    }
+
+    private static double firstPositive(double[] candidates) {
+        for (double candidate : candidates) {
+            if (candidate > 0) {
+                return candidate;
+            }
+        }
+        return 0.0;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected FYERS payload: expected " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Growable primitive columns for decoded candle rows.
+     */
+    public static final class HistoryBars {
+        private long[] epoch = new long[64];
+        private double[] open = new double[64];
+        private double[] high = new double[64];
+        private double[] low = new double[64];
+        private double[] close = new double[64];
+        private long[] volume = new long[64];
+        private int size;
+
+        private void add(long epochSecond, double o, double h, double l, double c, long v) {
+            if (size == epoch.length) {
+                int capacity = size * 2;
+                epoch = Arrays.copyOf(epoch, capacity);
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                close = Arrays.copyOf(close, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+            }
+            epoch[size] = epochSecond;
+            open[size] = o;
+            high[size] = h;
+            low[size] = l;
+            close[size] = c;
+            volume[size] = v;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public List<Candle> toCandles() {
+            List<Candle> candles = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                candles.add(new Candle(open[i], high[i], low[i], close[i], volume[i], ExchangeTime.toLocalDateTime(epoch[i])));
+            }
+            return candles;
+        }
+    }
+
+    private static final class TickFields {
+        // Depth frames on the JSON feed carry five levels; anything numbered beyond this is ignored
+        private static final int MAX_FRAME_LEVELS = 20;
+
+        private String symbol;
+        private double ltp;
+        private double bid;
+        private double ask;
+        private long bidSize;
+        private long askSize;
+        private long epoch;
+        private long volume;
+        private double[] levelBidPrices;
+        private long[] levelBidSizes;
+        private double[] levelAskPrices;
+        private long[] levelAskSizes;
+
+        /**
+         * Reads the object the parser is positioned in, descending into {@code v} and collecting any {@code d} ticks.
+         */
+        private void read(JsonParser parser, List<FyersTick> ticks, List<DepthUpdate> depths) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("v".equals(field) && token == JsonToken.START_OBJECT) {
+                    read(parser, ticks, depths);
+                } else if ("d".equals(field) && token == JsonToken.START_ARRAY) {
+                    readTickArray(parser, ticks, depths);
+                } else if (!token.isScalarValue()) {
+                    parser.skipChildren();
+                } else {
+                    switch (field) {
+                        case "symbol", "n" -> symbol = parser.getValueAsString();
+                        case "ltp", "lp" -> ltp = parser.getValueAsDouble(0.0);
+                        case "bid_price", "bp" -> bid = parser.getValueAsDouble(0.0);
+                        case "ask_price", "ap" -> ask = parser.getValueAsDouble(0.0);
+                        case "exch_feed_time", "last_traded_time", "tt" -> epoch = Math.max(epoch, parser.getValueAsLong(0L));
+                        case "vol_traded_today", "volume" -> volume = parser.getValueAsLong(0L);
+                        case "bid_size", "bid_qty" -> bidSize = parser.getValueAsLong(0L);
+                        case "ask_size", "ask_qty" -> askSize = parser.getValueAsLong(0L);
+                        default -> readLevel(field, parser);
+                    }
+                }
+            }
+        }
+
+        private void readLevel(String field, JsonParser parser) throws IOException {
+            if (field.length() < 9 || (!field.startsWith("bid_") && !field.startsWith("ask_"))) {
+                return;
+            }
+            boolean isBid = field.charAt(0) == 'b';
+            String rest = field.substring(4);
+            boolean isPrice = rest.startsWith("price");
+            if (!isPrice && !rest.startsWith("size")) {
+                return;
+            }
+            String number = rest.substring(isPrice ? 5 : 4);
+            if (number.isEmpty() || number.length() > 2 || !Character.isDigit(number.charAt(0))
+                    || !Character.isDigit(number.charAt(number.length() - 1))) {
+                return;
+            }
+            int level = Integer.parseInt(number) - 1;
+            if (level < 0 || level >= MAX_FRAME_LEVELS) {
+                return;
+            }
+            if (levelBidPrices == null) {
+                levelBidPrices = new double[MAX_FRAME_LEVELS];
+                levelBidSizes = new long[MAX_FRAME_LEVELS];
+                levelAskPrices = new double[MAX_FRAME_LEVELS];
+                levelAskSizes = new long[MAX_FRAME_LEVELS];
+            }
+            if (isPrice) {
+                (isBid ? levelBidPrices : levelAskPrices)[level] = parser.getValueAsDouble(0.0);
+            } else {
+                (isBid ? levelBidSizes : levelAskSizes)[level] = parser.getValueAsLong(0L);
+            }
+        }
+
+        private DepthUpdate toDepthUpdate() {
+            if (levelBidPrices != null) {
+                int bids = countLevels(levelBidPrices);
+                int asks = countLevels(levelAskPrices);
+                if (bids == 0 && asks == 0) {
+                    return null;
+                }
+                return new DepthUpdate(symbol,
+                        packPrices(levelBidPrices, bids), packSizes(levelBidPrices, levelBidSizes, bids),
+                        packPrices(levelAskPrices, asks), packSizes(levelAskPrices, levelAskSizes, asks), true);
+            }
+            if (bid > 0 && ask > 0) {
+                return new DepthUpdate(symbol, new double[]{bid}, new long[]{bidSize}, new double[]{ask},
+                        new long[]{askSize}, false);
+            }
+            return null;
+        }
+
+        private static int countLevels(double[] prices) {
+            int count = 0;
+            for (double price : prices) {
+                if (price > 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private static double[] packPrices(double[] prices, int count) {
+            double[] packed = new double[count];
+            int next = 0;
+            for (double price : prices) {
+                if (price > 0) {
+                    packed[next++] = price;
+                }
+            }
+            return packed;
+        }
+
+        private static long[] packSizes(double[] prices, long[] sizes, int count) {
+            long[] packed = new long[count];
+            int next = 0;
+            for (int i = 0; i < prices.length; i++) {
+                if (prices[i] > 0) {
+                    packed[next++] = sizes[i];
+                }
+            }
+            return packed;
+        }
+    }
+
+    private static final class DepthSides {
+        private boolean present;
+        private List<FyersDepthLevel> bids = Collections.emptyList();
+        private List<FyersDepthLevel> asks = Collections.emptyList();
+
+        private void read(String field, JsonParser parser, JsonToken token) throws IOException {
+            if (token == JsonToken.START_ARRAY && "bids".equals(field)) {
+                bids = readLevels(parser);
+            } else if (token == JsonToken.START_ARRAY && "asks".equals(field)) {
+                asks = readLevels(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * The top-level {@code s}, {@code message} and {@code code} fields.
+     */
+    private static final class Status {
+        private String s;
+        private String message;
+        private String code;
+
+        private boolean read(String field, JsonParser parser, JsonToken token) throws IOException {
+            if (!token.isScalarValue()) {
+                return false;
+            }
+            switch (field) {
+                case "s" -> s = parser.getValueAsString();
+                case "message" -> message = parser.getValueAsString();
+                case "code" -> code = parser.getValueAsString();
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean ok() {
+            return "ok".equalsIgnoreCase(s);
+        }
+
+        private void assertOk(String context) {
+            if ("error".equalsIgnoreCase(s)) {
+                throw new FyersApiException("FYERS " + context + " failed: " + (message != null ? message : "Unknown error")
+                        + " code=" + (code != null ? code : "UNKNOWN"), 422, null);
+            }
+        }
+    }
+}
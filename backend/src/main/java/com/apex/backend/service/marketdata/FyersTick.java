@@ -3,10 +3,19 @@ package com.apex.backend.service.marketdata;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+/**
+ * @param volumeTraded cumulative volume for the session as reported by the feed, or 0 when the source has none
+ */
 public record FyersTick(
         String symbol,
         BigDecimal lastTradedPrice,
         BigDecimal bidPrice,
         BigDecimal askPrice,
-        Instant timestamp
-) {}
+        Instant timestamp,
+        long volumeTraded
+) {
+
+    public FyersTick(String symbol, BigDecimal lastTradedPrice, BigDecimal bidPrice, BigDecimal askPrice, Instant timestamp) {
+        this(symbol, lastTradedPrice, bidPrice, askPrice, timestamp, 0L);
+    }
+}
@@ -0,0 +1,137 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.config.MarketDataProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Last traded price per trading symbol, kept current by the market-data WebSocket.
+ * <p>
+ * Reads are a single lock-free map lookup. Stream ticks carry the exchange time and a tick older than the one
+ * already held is dropped, so a late frame after a reconnect cannot roll the price back. REST snapshots have no
+ * exchange time; they always replace the price but keep the ordering watermark of the last stream tick. A source
+ * that does not carry bid or ask leaves the held side in place, and the book keeps its own receive time so an old
+ * book is not passed off as fresh by a newer price.
+ */
+@Service
+@RequiredArgsConstructor
+public class LtpCache {
+
+    private final MarketDataProperties marketDataProperties;
+
+    private final Map<String, Quote> quotes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param bid          best bid, or 0 to keep the cached one
+     * @param ask          best ask, or 0 to keep the cached one
+     * @param exchangeTime time the exchange stamped on the tick, or null for a REST snapshot
+     * @return false when the tick was older than the cached one and was dropped
+     */
+    public boolean update(String symbol, double ltp, double bid, double ask, Instant exchangeTime) {
+        if (symbol == null || symbol.isBlank() || !(ltp > 0)) {
+            return false;
+        }
+        long exchangeMillis = exchangeTime != null ? exchangeTime.toEpochMilli() : -1L;
+        long now = System.currentTimeMillis();
+        boolean[] stored = {true};
+        quotes.compute(symbol, (key, current) -> {
+            boolean carriesBook = bid > 0 || ask > 0;
+            if (current == null) {
+                return new Quote(ltp, bid, ask, Math.max(exchangeMillis, 0L), now, carriesBook ? now : 0L);
+            }
+            if (exchangeMillis >= 0 && exchangeMillis < current.exchangeMillis()) {
+                stored[0] = false;
+                return current;
+            }
+            return new Quote(ltp, bid > 0 ? bid : current.bid(), ask > 0 ? ask : current.ask(),
+                    Math.max(exchangeMillis, current.exchangeMillis()), now,
+                    carriesBook ? now : current.bookAtMillis());
+        });
+        (stored[0] ? accepted : rejected).increment();
+        return stored[0];
+    }
+
+    /**
+     * REST price snapshot without a book: replaces the LTP and keeps the cached bid and ask.
+     */
+    public boolean updateLtp(String symbol, double ltp) {
+        return update(symbol, ltp, 0.0, 0.0, null);
+    }
+
+    public void update(FyersTick tick) {
+        update(tick.symbol(),
+                tick.lastTradedPrice() != null ? tick.lastTradedPrice().doubleValue() : 0.0,
+                tick.bidPrice() != null ? tick.bidPrice().doubleValue() : 0.0,
+                tick.askPrice() != null ? tick.askPrice().doubleValue() : 0.0,
+                tick.timestamp());
+    }
+
+    /**
+     * The cached quote if it was received within the configured maximum age.
+     */
+    public Optional<Quote> fresh(String symbol) {
+        Quote quote = symbol != null ? quotes.get(symbol) : null;
+        if (quote == null || System.currentTimeMillis() - quote.receivedAtMillis() > marketDataProperties.getLtp().getMaxAgeMs()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(quote);
+    }
+
+    /**
+     * The cached quote if its bid and ask, not just its price, were received within the configured maximum age.
+     */
+    public Optional<Quote> freshBook(String symbol) {
+        Quote quote = symbol != null ? quotes.get(symbol) : null;
+        if (quote == null || quote.bookAtMillis() == 0L
+                || System.currentTimeMillis() - quote.bookAtMillis() > marketDataProperties.getLtp().getMaxAgeMs()) {
+            return Optional.empty();
+        }
+        return Optional.of(quote);
+    }
+
+    /**
+     * The cached quote whatever its age, without counting a hit or miss.
+     */
+    Optional<Quote> peek(String symbol) {
+        return Optional.ofNullable(quotes.get(symbol));
+    }
+
+    public int size() {
+        return quotes.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long acceptedCount() {
+        return accepted.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Bid and ask are 0 when the source did not carry them; {@code bookAtMillis} is when either was last received,
+     * 0 when never.
+     */
+    public record Quote(double ltp, double bid, double ask, long exchangeMillis, long receivedAtMillis,
+                        long bookAtMillis) {}
+}
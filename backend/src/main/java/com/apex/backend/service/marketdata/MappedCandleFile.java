@@ -0,0 +1,181 @@
+package com.apex.backend.service.marketdata;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-capacity columnar candle file backed by a memory-mapped buffer.
+ * Layout: 32 byte header followed by epoch, open, high, low, close and volume columns of {@code capacity} slots each.
+ */
+final class MappedCandleFile {
+
+    private static final int MAGIC = 0x41504358;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int SLOT_BYTES = Long.BYTES;
+    private static final int COLUMNS = 6;
+
+    private static final int COUNT_OFFSET = 12;
+    private static final int SYNCED_AT_OFFSET = 16;
+
+    private static final int EPOCH = 0;
+    private static final int OPEN = 1;
+    private static final int HIGH = 2;
+    private static final int LOW = 3;
+    private static final int CLOSE = 4;
+    private static final int VOLUME = 5;
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int count;
+
+    private MappedCandleFile(MappedByteBuffer buffer, int capacity, int count) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.count = count;
+    }
+
+    static MappedCandleFile open(Path path, int capacity) throws IOException {
+        long expectedSize = HEADER_BYTES + (long) COLUMNS * capacity * SLOT_BYTES;
+        boolean exists = Files.exists(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (exists && channel.size() >= HEADER_BYTES) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+                int storedCapacity = header.getInt(8);
+                long storedSize = HEADER_BYTES + (long) COLUMNS * storedCapacity * SLOT_BYTES;
+                if (header.getInt(0) == MAGIC && header.getInt(4) == VERSION && storedCapacity > 0 && channel.size() == storedSize) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, storedSize);
+                    int storedCount = Math.max(0, Math.min(buffer.getInt(COUNT_OFFSET), storedCapacity));
+                    return new MappedCandleFile(buffer, storedCapacity, storedCount);
+                }
+                channel.truncate(0);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, expectedSize);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, capacity);
+            buffer.putInt(COUNT_OFFSET, 0);
+            buffer.putLong(SYNCED_AT_OFFSET, 0L);
+            return new MappedCandleFile(buffer, capacity, 0);
+        }
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    synchronized long lastEpoch() {
+        return count == 0 ? Long.MIN_VALUE : getLong(EPOCH, count - 1);
+    }
+
+    synchronized long syncedAtMillis() {
+        return buffer.getLong(SYNCED_AT_OFFSET);
+    }
+
+    synchronized void markSynced(long epochMillis) {
+        buffer.putLong(SYNCED_AT_OFFSET, epochMillis);
+    }
+
+    /**
+     * Copies the newest {@code limit} bars into the supplied sink, oldest first.
+     */
+    synchronized void readTail(int limit, BarSink sink) {
+        int from = Math.max(0, count - Math.max(0, limit));
+        for (int i = from; i < count; i++) {
+            sink.accept(getLong(EPOCH, i), getDouble(OPEN, i), getDouble(HIGH, i), getDouble(LOW, i),
+                    getDouble(CLOSE, i), getLong(VOLUME, i));
+        }
+    }
+
+    /**
+     * Appends a bar newer than the last stored bar, or overwrites the last bar when the epochs match
+     * (the most recent bar returned by the broker is still forming). Older bars are ignored.
+     */
+    synchronized boolean append(long epoch, double open, double high, double low, double close, long volume) {
+        int index;
+        if (count > 0) {
+            long last = getLong(EPOCH, count - 1);
+            if (epoch < last) {
+                return false;
+            }
+            index = epoch == last ? count - 1 : count;
+        } else {
+            index = 0;
+        }
+        if (index == capacity) {
+            compact();
+            index = count;
+        }
+        putLong(EPOCH, index, epoch);
+        putDouble(OPEN, index, open);
+        putDouble(HIGH, index, high);
+        putDouble(LOW, index, low);
+        putDouble(CLOSE, index, close);
+        putLong(VOLUME, index, volume);
+        if (index == count) {
+            count++;
+            buffer.putInt(COUNT_OFFSET, count);
+        }
+        return true;
+    }
+
+    /**
+     * Appends only when the bar directly follows the last stored bar; an existing bar is never replaced.
+     */
+    synchronized boolean appendContinuing(long epoch, long stepSeconds, double open, double high, double low,
+                                          double close, long volume) {
+        if (count == 0) {
+            return false;
+        }
+        long last = getLong(EPOCH, count - 1);
+        if (last != epoch - stepSeconds) {
+            return false;
+        }
+        return append(epoch, open, high, low, close, volume);
+    }
+
+    synchronized void force() {
+        buffer.force();
+    }
+
+    private void compact() {
+        int keep = capacity / 2;
+        int drop = count - keep;
+        for (int column = 0; column < COLUMNS; column++) {
+            for (int i = 0; i < keep; i++) {
+                putLong(column, i, getLong(column, i + drop));
+            }
+        }
+        count = keep;
+        buffer.putInt(COUNT_OFFSET, count);
+    }
+
+    private int offset(int column, int index) {
+        return HEADER_BYTES + (column * capacity + index) * SLOT_BYTES;
+    }
+
+    private long getLong(int column, int index) {
+        return buffer.getLong(offset(column, index));
+    }
+
+    private double getDouble(int column, int index) {
+        return buffer.getDouble(offset(column, index));
+    }
+
+    private void putLong(int column, int index, long value) {
+        buffer.putLong(offset(column, index), value);
+    }
+
+    private void putDouble(int column, int index, double value) {
+        buffer.putDouble(offset(column, index), value);
+    }
+
+    @FunctionalInterface
+    interface BarSink {
+        void accept(long epoch, double open, double high, double low, double close, long volume);
+    }
+}
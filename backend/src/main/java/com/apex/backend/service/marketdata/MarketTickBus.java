@@ -0,0 +1,134 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.service.MetricsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * In-process fan-out of decoded market ticks.
+ * <p>
+ * The socket thread publishes into a {@link TickRingBuffer}; every subscriber drains its own reader on its own
+ * daemon thread, so a slow consumer only loses its own backlog and never delays the feed or other consumers.
+ * A subscriber with nothing to read parks until the next publish unparks it, so idle consumers cost no CPU.
+ */
+@Slf4j
+@Service
+public class MarketTickBus {
+
+    private static final int DRAIN_BATCH = 256;
+
+    private final MetricsService metricsService;
+    private final TickRingBuffer ring;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public MarketTickBus(MetricsService metricsService, @Value("${fyers.ws.tick-buffer-size:8192}") int bufferSize) {
+        this.metricsService = metricsService;
+        this.ring = new TickRingBuffer(bufferSize);
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        metricsService.bindTickBus(this);
+    }
+
+    public void publish(FyersTick tick) {
+        ring.publish(tick);
+        for (Subscription subscription : subscriptions) {
+            subscription.wake();
+        }
+    }
+
+    /**
+     * Starts delivering ticks published from now on to {@code handler}; closing the handle stops its thread.
+     */
+    public AutoCloseable subscribe(String name, Consumer<FyersTick> handler) {
+        Subscription subscription = new Subscription(name, ring.newReader(), handler);
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return () -> {
+            subscriptions.remove(subscription);
+            subscription.stop();
+        };
+    }
+
+    public long publishedCount() {
+        return ring.publishedCount();
+    }
+
+    public long overrunCount() {
+        return subscriptions.stream().mapToLong(subscription -> subscription.reader.overrunCount()).sum();
+    }
+
+    public long maxLag() {
+        return subscriptions.stream().mapToLong(subscription -> subscription.reader.lag()).max().orElse(0L);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscriptions.forEach(Subscription::stop);
+        subscriptions.clear();
+    }
+
+    private static final class Subscription implements Runnable {
+        private final String name;
+        private final TickRingBuffer.Reader reader;
+        private final Consumer<FyersTick> handler;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean idle;
+
+        private Subscription(String name, TickRingBuffer.Reader reader, Consumer<FyersTick> handler) {
+            this.name = name;
+            this.reader = reader;
+            this.handler = handler;
+            this.thread = new Thread(this, "tick-bus-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                int drained = reader.drain(this::deliver, DRAIN_BATCH);
+                if (drained > 0) {
+                    continue;
+                }
+                idle = true;
+                // Checked after raising the flag: a publish either shows up here or sees the flag and unparks us
+                if (reader.lag() == 0 && running) {
+                    LockSupport.park(this);
+                } else {
+                    // A writer has claimed a slot but not filled it yet
+                    Thread.onSpinWait();
+                }
+                idle = false;
+            }
+        }
+
+        private void deliver(FyersTick tick) {
+            try {
+                handler.accept(tick);
+            } catch (Exception e) {
+                log.warn("Tick consumer {} failed for {}: {}", name, tick.symbol(), e.getMessage());
+            }
+        }
+
+        private void wake() {
+            if (idle) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+    }
+}
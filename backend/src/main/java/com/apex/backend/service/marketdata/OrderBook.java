@@ -0,0 +1,341 @@
+package com.apex.backend.service.marketdata;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Price-ordered bid and ask ladders for one symbol, held in primitive arrays.
+ * <p>
+ * Writers take the lock exclusively; the query methods read under an optimistic stamp and only fall back to a read
+ * lock when a write raced them, so top-of-book, spread and depth queries neither block the feed nor allocate. Arrays
+ * are sized to the configured level count up front and never grow; levels beyond it are dropped from the far side.
+ */
+public final class OrderBook {
+
+    public enum Side {
+        BID,
+        ASK
+    }
+
+    /**
+     * Both sides of the touch read together; prices are NaN and quantities 0 when a side is empty.
+     */
+    public record Top(double bidPrice, long bidQuantity, double askPrice, long askQuantity, long updatedAtMillis) {
+
+        public boolean isTwoSided() {
+            return bidPrice > 0 && askPrice > 0;
+        }
+    }
+
+    private final String symbol;
+    private final Ladder bids;
+    private final Ladder asks;
+    private final StampedLock lock = new StampedLock();
+    private long updatedAtMillis;
+
+    public OrderBook(String symbol, int maxLevels) {
+        this.symbol = symbol;
+        int capacity = Math.max(maxLevels, 1);
+        this.bids = new Ladder(capacity, true);
+        this.asks = new Ladder(capacity, false);
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    /**
+     * Replaces both sides. Arrays hold one entry per level; levels without a positive price are ignored and the
+     * input need not be sorted.
+     */
+    public void applySnapshot(double[] bidPrices, long[] bidQuantities, double[] askPrices, long[] askQuantities,
+                              long receivedAtMillis) {
+        long stamp = lock.writeLock();
+        try {
+            bids.clear();
+            asks.clear();
+            for (int i = 0; i < bidPrices.length; i++) {
+                bids.set(bidPrices[i], bidQuantities[i]);
+            }
+            for (int i = 0; i < askPrices.length; i++) {
+                asks.set(askPrices[i], askQuantities[i]);
+            }
+            updatedAtMillis = receivedAtMillis;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets one level; a quantity of zero or less removes it.
+     */
+    public void applyLevel(Side side, double price, long quantity, long receivedAtMillis) {
+        long stamp = lock.writeLock();
+        try {
+            Ladder ladder = side == Side.BID ? bids : asks;
+            if (quantity > 0) {
+                ladder.set(price, quantity);
+            } else {
+                ladder.remove(price);
+            }
+            updatedAtMillis = receivedAtMillis;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Applies a new touch from a quote-style update. Levels now through the touch are gone from the market, so they
+     * are removed before the touch itself is set; a non-positive price leaves that side untouched.
+     */
+    public void applyTop(double bidPrice, long bidQuantity, double askPrice, long askQuantity, long receivedAtMillis) {
+        long stamp = lock.writeLock();
+        try {
+            if (bidPrice > 0) {
+                bids.dropBetterThan(bidPrice, false);
+                asks.dropBetterThan(bidPrice, true);
+                bids.set(bidPrice, bidQuantity);
+            }
+            if (askPrice > 0) {
+                asks.dropBetterThan(askPrice, false);
+                bids.dropBetterThan(askPrice, true);
+                asks.set(askPrice, askQuantity);
+            }
+            updatedAtMillis = receivedAtMillis;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public double bestBid() {
+        long stamp = lock.tryOptimisticRead();
+        double price = bids.topPrice();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                price = bids.topPrice();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return price;
+    }
+
+    public double bestAsk() {
+        long stamp = lock.tryOptimisticRead();
+        double price = asks.topPrice();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                price = asks.topPrice();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return price;
+    }
+
+    /**
+     * Ask minus bid, or NaN unless both sides are present.
+     */
+    public double spread() {
+        long stamp = lock.tryOptimisticRead();
+        double spread = asks.topPrice() - bids.topPrice();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                spread = asks.topPrice() - bids.topPrice();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return spread;
+    }
+
+    /**
+     * Spread as a percentage of the mid price, or NaN unless both sides are present.
+     */
+    public double spreadPct() {
+        long stamp = lock.tryOptimisticRead();
+        double pct = spreadPct(bids.topPrice(), asks.topPrice());
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                pct = spreadPct(bids.topPrice(), asks.topPrice());
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return pct;
+    }
+
+    /**
+     * Total quantity resting on {@code side} within {@code pct} percent of that side's best price.
+     */
+    public long depthWithin(Side side, double pct) {
+        Ladder ladder = side == Side.BID ? bids : asks;
+        long stamp = lock.tryOptimisticRead();
+        long quantity = ladder.quantityWithin(pct);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                quantity = ladder.quantityWithin(pct);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return quantity;
+    }
+
+    public int levels(Side side) {
+        long stamp = lock.tryOptimisticRead();
+        int count = side == Side.BID ? bids.count : asks.count;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = side == Side.BID ? bids.count : asks.count;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    public long updatedAtMillis() {
+        long stamp = lock.tryOptimisticRead();
+        long updated = updatedAtMillis;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                updated = updatedAtMillis;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return updated;
+    }
+
+    public Top top() {
+        long stamp = lock.readLock();
+        try {
+            return new Top(bids.topPrice(), bids.topQuantity(), asks.topPrice(), asks.topQuantity(), updatedAtMillis);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static double spreadPct(double bid, double ask) {
+        double mid = (bid + ask) / 2.0;
+        return mid > 0 ? (ask - bid) / mid * 100.0 : Double.NaN;
+    }
+
+    /**
+     * One side of the book, best price at index 0.
+     */
+    private static final class Ladder {
+        private final double[] prices;
+        private final long[] quantities;
+        private final boolean descending;
+        private int count;
+
+        private Ladder(int capacity, boolean descending) {
+            this.prices = new double[capacity];
+            this.quantities = new long[capacity];
+            this.descending = descending;
+        }
+
+        private double topPrice() {
+            return count > 0 ? prices[0] : Double.NaN;
+        }
+
+        private long topQuantity() {
+            return count > 0 ? quantities[0] : 0L;
+        }
+
+        private void clear() {
+            count = 0;
+        }
+
+        private void set(double price, long quantity) {
+            if (!(price > 0)) {
+                return;
+            }
+            int index = find(price);
+            if (index < count && prices[index] == price) {
+                quantities[index] = Math.max(quantity, 0L);
+                return;
+            }
+            if (index >= prices.length) {
+                // Worse than every level we keep
+                return;
+            }
+            int moved = Math.min(count, prices.length - 1) - index;
+            if (moved > 0) {
+                System.arraycopy(prices, index, prices, index + 1, moved);
+                System.arraycopy(quantities, index, quantities, index + 1, moved);
+            }
+            prices[index] = price;
+            quantities[index] = Math.max(quantity, 0L);
+            count = Math.min(count + 1, prices.length);
+        }
+
+        private void remove(double price) {
+            int index = find(price);
+            if (index < count && prices[index] == price) {
+                System.arraycopy(prices, index + 1, prices, index, count - index - 1);
+                System.arraycopy(quantities, index + 1, quantities, index, count - index - 1);
+                count--;
+            }
+        }
+
+        /**
+         * Drops levels better than {@code price} for this side (higher bids, lower asks), and the level at
+         * {@code price} too when {@code inclusive}.
+         */
+        private void dropBetterThan(double price, boolean inclusive) {
+            int drop = 0;
+            while (drop < count && (descending
+                    ? prices[drop] > price || (inclusive && prices[drop] == price)
+                    : prices[drop] < price || (inclusive && prices[drop] == price))) {
+                drop++;
+            }
+            if (drop > 0) {
+                System.arraycopy(prices, drop, prices, 0, count - drop);
+                System.arraycopy(quantities, drop, quantities, 0, count - drop);
+                count -= drop;
+            }
+        }
+
+        private long quantityWithin(double pct) {
+            if (count == 0) {
+                return 0L;
+            }
+            double best = prices[0];
+            double limit = descending ? best * (1.0 - pct / 100.0) : best * (1.0 + pct / 100.0);
+            long total = 0L;
+            for (int i = 0; i < count; i++) {
+                if (descending ? prices[i] < limit : prices[i] > limit) {
+                    break;
+                }
+                total += quantities[i];
+            }
+            return total;
+        }
+
+        /**
+         * Index of {@code price}, or where it would be inserted to keep the ladder ordered.
+         */
+        private int find(double price) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (descending ? prices[mid] > price : prices[mid] < price) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.config.MarketDataProperties;
+import com.apex.backend.service.InstrumentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-symbol {@link OrderBook}s fed by depth and quote frames from the market-data stream and by REST depth
+ * snapshots. Readers only get a book that was updated within {@code apex.market-data.depth.max-age-ms}.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderBookService {
+
+    private final MarketDataProperties marketDataProperties;
+    private final InstrumentService instrumentService;
+
+    private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+
+    public void apply(DepthUpdate update) {
+        if (update.symbol() == null || update.symbol().isBlank()) {
+            return;
+        }
+        OrderBook book = bookFor(update.symbol());
+        long now = System.currentTimeMillis();
+        if (update.fullBook()) {
+            book.applySnapshot(update.bidPrices(), update.bidQuantities(), update.askPrices(), update.askQuantities(), now);
+        } else {
+            book.applyTop(first(update.bidPrices()), firstQuantity(update.bidQuantities()),
+                    first(update.askPrices()), firstQuantity(update.askQuantities()), now);
+        }
+    }
+
+    public void applySnapshot(FyersMarketDepth depth) {
+        if (depth.symbol() == null || depth.symbol().isBlank()) {
+            return;
+        }
+        bookFor(depth.symbol()).applySnapshot(prices(depth.bids()), quantities(depth.bids()),
+                prices(depth.asks()), quantities(depth.asks()), System.currentTimeMillis());
+    }
+
+    /**
+     * The symbol's book if it has been updated recently enough to trust. Bare symbols are resolved to the trading
+     * symbol the feed uses.
+     */
+    public Optional<OrderBook> freshBook(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            return Optional.empty();
+        }
+        OrderBook book = books.get(symbol);
+        if (book == null) {
+            book = instrumentService.resolveTradingSymbol(symbol).map(books::get).orElse(null);
+        }
+        if (book == null) {
+            return Optional.empty();
+        }
+        long age = System.currentTimeMillis() - book.updatedAtMillis();
+        return age <= marketDataProperties.getDepth().getMaxAgeMs() ? Optional.of(book) : Optional.empty();
+    }
+
+    public int size() {
+        return books.size();
+    }
+
+    private OrderBook bookFor(String symbol) {
+        return books.computeIfAbsent(symbol, key -> new OrderBook(key, marketDataProperties.getDepth().getLevels()));
+    }
+
+    private static double first(double[] values) {
+        return values.length > 0 ? values[0] : 0.0;
+    }
+
+    private static long firstQuantity(long[] values) {
+        return values.length > 0 ? values[0] : 0L;
+    }
+
+    private static double[] prices(List<FyersDepthLevel> levels) {
+        double[] prices = new double[levels.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = levels.get(i).price() != null ? levels.get(i).price().doubleValue() : 0.0;
+        }
+        return prices;
+    }
+
+    private static long[] quantities(List<FyersDepthLevel> levels) {
+        long[] quantities = new long[levels.size()];
+        for (int i = 0; i < quantities.length; i++) {
+            quantities[i] = levels.get(i).quantity() != null ? levels.get(i).quantity().longValue() : 0L;
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,189 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.util.MoneyUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One polling loop for every tick subscriber.
+ * <p>
+ * Each interval, symbols with a fresh streamed price are served from the {@link LtpCache}; the rest are fetched
+ * in multi-symbol quote requests of at most {@code batchSize} symbols, grouped by token. A quote is fanned out to all
+ * consumers of its symbol only when it differs from the last one published, stamped with the time it was received.
+ * A symbol stays subscribed while at least one consumer holds it, and the loop itself stops when the last symbol goes.
+ */
+@Slf4j
+public class TickHub implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface QuoteSource {
+        List<FyersQuote> fetch(List<String> symbols, String token) throws Exception;
+    }
+
+    private final QuoteSource source;
+    private final LtpCache ltpCache;
+    private final long intervalMs;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicLong quoteRequests = new AtomicLong();
+    private ScheduledFuture<?> pollTask;
+
+    public TickHub(QuoteSource source, LtpCache ltpCache, long intervalMs, int batchSize) {
+        this(source, ltpCache, intervalMs, batchSize, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fyers-tick-hub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    TickHub(QuoteSource source, LtpCache ltpCache, long intervalMs, int batchSize, ScheduledExecutorService scheduler) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.ltpCache = ltpCache;
+        this.intervalMs = Math.max(intervalMs, 1L);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Registers {@code consumer} for ticks on {@code symbol}; closing the handle unregisters it.
+     */
+    public synchronized AutoCloseable subscribe(String symbol, String token, Consumer<FyersTick> consumer) {
+        Listener listener = new Listener(consumer, token);
+        Subscription subscription = subscriptions.computeIfAbsent(symbol, key -> new Subscription());
+        subscription.listeners.add(listener);
+        // The newcomer has seen nothing yet, so the next poll republishes the current quote
+        subscription.lastPublished = null;
+        if (pollTask == null) {
+            pollTask = scheduler.scheduleAtFixedRate(this::poll, 0, intervalMs, TimeUnit.MILLISECONDS);
+        }
+        return () -> unsubscribe(symbol, listener);
+    }
+
+    private synchronized void unsubscribe(String symbol, Listener listener) {
+        Subscription subscription = subscriptions.get(symbol);
+        if (subscription == null || !subscription.listeners.remove(listener)) {
+            return;
+        }
+        if (subscription.listeners.isEmpty()) {
+            subscriptions.remove(symbol);
+        }
+        if (subscriptions.isEmpty() && pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
+    }
+
+    public int subscribedSymbols() {
+        return subscriptions.size();
+    }
+
+    public int consumerCount() {
+        return subscriptions.values().stream().mapToInt(subscription -> subscription.listeners.size()).sum();
+    }
+
+    public long quoteRequestCount() {
+        return quoteRequests.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        subscriptions.clear();
+        pollTask = null;
+        scheduler.shutdownNow();
+    }
+
+    void poll() {
+        Map<String, List<String>> pendingByToken = new LinkedHashMap<>();
+        subscriptions.forEach((symbol, subscription) -> {
+            Optional<LtpCache.Quote> live = ltpCache.fresh(symbol);
+            if (live.isPresent()) {
+                subscription.publishIfChanged(symbol, live.get());
+                return;
+            }
+            pendingByToken.computeIfAbsent(subscription.token(), key -> new ArrayList<>()).add(symbol);
+        });
+        pendingByToken.forEach((token, symbols) -> {
+            for (int from = 0; from < symbols.size(); from += batchSize) {
+                fetchAndPublish(symbols.subList(from, Math.min(from + batchSize, symbols.size())), token);
+            }
+        });
+    }
+
+    private void fetchAndPublish(List<String> symbols, String token) {
+        List<FyersQuote> quotes;
+        try {
+            quoteRequests.incrementAndGet();
+            quotes = source.fetch(symbols, token);
+        } catch (Exception e) {
+            log.warn("Tick hub quote fetch failed for {} symbols: {}", symbols.size(), e.getMessage());
+            return;
+        }
+        for (FyersQuote quote : quotes) {
+            Subscription subscription = subscriptions.get(quote.symbol());
+            if (subscription == null || quote.lastTradedPrice() == null) {
+                continue;
+            }
+            ltpCache.update(quote.symbol(), quote.lastTradedPrice().doubleValue(),
+                    quote.bidPrice() != null ? quote.bidPrice().doubleValue() : 0.0,
+                    quote.askPrice() != null ? quote.askPrice().doubleValue() : 0.0, null);
+            ltpCache.peek(quote.symbol()).ifPresent(cached -> subscription.publishIfChanged(quote.symbol(), cached));
+        }
+    }
+
+    private record Listener(Consumer<FyersTick> consumer, String token) {}
+
+    private static final class Subscription {
+        private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+        private volatile LtpCache.Quote lastPublished;
+
+        /**
+         * Token of the most recent consumer that supplied one; any holder of the symbol may fetch it.
+         */
+        private String token() {
+            String token = null;
+            for (Listener listener : listeners) {
+                if (listener.token() != null && !listener.token().isBlank()) {
+                    token = listener.token();
+                }
+            }
+            return token;
+        }
+
+        private void publishIfChanged(String symbol, LtpCache.Quote quote) {
+            LtpCache.Quote last = lastPublished;
+            if (last != null && last.ltp() == quote.ltp() && last.bid() == quote.bid() && last.ask() == quote.ask()
+                    && last.exchangeMillis() == quote.exchangeMillis()) {
+                return;
+            }
+            lastPublished = quote;
+            publish(new FyersTick(symbol, MoneyUtils.bd(quote.ltp()), MoneyUtils.bd(quote.bid()),
+                    MoneyUtils.bd(quote.ask()), Instant.ofEpochMilli(quote.receivedAtMillis())));
+        }
+
+        private void publish(FyersTick tick) {
+            for (Listener listener : listeners) {
+                try {
+                    listener.consumer().accept(tick);
+                } catch (Exception e) {
+                    log.warn("Tick consumer failed for {}: {}", tick.symbol(), e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.apex.backend.service.marketdata;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-size, lock-free ring of ticks with independent readers.
+ * <p>
+ * Publishing claims a sequence and never waits for readers. Each {@link Reader} keeps its own cursor; one that
+ * falls more than a full ring behind skips to the oldest tick still held and counts what it lost, so a slow
+ * consumer can never stall the socket thread.
+ */
+public final class TickRingBuffer {
+
+    private static final long EMPTY = -1L;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<FyersTick> slots;
+    // Sequence currently held by each slot, or EMPTY while it is being rewritten
+    private final AtomicLongArray sequences;
+    private final AtomicLong next = new AtomicLong();
+
+    public TickRingBuffer(int requestedCapacity) {
+        int size = Integer.highestOneBit(Math.max(requestedCapacity, 2) - 1) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, EMPTY);
+        }
+    }
+
+    public long publish(FyersTick tick) {
+        long sequence = next.getAndIncrement();
+        int index = (int) (sequence & mask);
+        sequences.set(index, EMPTY);
+        slots.set(index, tick);
+        sequences.set(index, sequence);
+        return sequence;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long publishedCount() {
+        return next.get();
+    }
+
+    /**
+     * A reader that sees only ticks published after this call.
+     */
+    public Reader newReader() {
+        return new Reader(next.get());
+    }
+
+    public final class Reader {
+        private volatile long cursor;
+        private volatile long overruns;
+
+        private Reader(long start) {
+            this.cursor = start;
+        }
+
+        /**
+         * Hands up to {@code max} pending ticks to {@code handler} in publish order.
+         *
+         * @return number of ticks handed over
+         */
+        public int drain(Consumer<FyersTick> handler, int max) {
+            int handed = 0;
+            while (handed < max) {
+                int index = (int) (cursor & mask);
+                long held = sequences.get(index);
+                if (held != cursor) {
+                    if (next.get() - cursor > capacity) {
+                        skipToOldest();
+                        continue;
+                    }
+                    // Either nothing new yet or the writer for this sequence has not finished
+                    break;
+                }
+                FyersTick tick = slots.get(index);
+                if (sequences.get(index) != cursor) {
+                    skipToOldest();
+                    continue;
+                }
+                cursor++;
+                handler.accept(tick);
+                handed++;
+            }
+            return handed;
+        }
+
+        public long lag() {
+            return Math.max(0L, next.get() - cursor);
+        }
+
+        public long overrunCount() {
+            return overruns;
+        }
+
+        private void skipToOldest() {
+            long oldest = Math.max(cursor + 1, next.get() - capacity + 1);
+            overruns += oldest - cursor;
+            cursor = oldest;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.apex.backend.service.marketdata;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Access-ordered cache bounded by the summed weight of its values rather than by entry count.
+ * <p>
+ * Each entry carries its own expiry, so callers can give different TTLs per key. An expired entry is no longer
+ * returned by {@link #getIfFresh} but is kept for {@code staleRetentionMs} so it can still seed an incremental
+ * refresh through {@link #getStale}. When a put pushes the total weight over budget, least recently used entries
+ * are evicted until it fits.
+ */
+public class WeightedLruCache<K, V> {
+
+    private static final long PURGE_INTERVAL_MS = 60_000L;
+
+    private final long maxWeight;
+    private final long staleRetentionMs;
+    private final ToLongFunction<V> weigher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight;
+    private long nextPurgeAt;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public WeightedLruCache(long maxWeight, long staleRetentionMs, ToLongFunction<V> weigher) {
+        this.maxWeight = Math.max(maxWeight, 1L);
+        this.staleRetentionMs = Math.max(staleRetentionMs, 0L);
+        this.weigher = weigher;
+    }
+
+    /**
+     * The value if present and not expired; counted as a hit or miss.
+     */
+    public V getIfFresh(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || System.currentTimeMillis() >= entry.expiresAt) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The value even if expired, without touching the hit/miss counts.
+     */
+    public V getStale(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            return entry != null ? entry.value : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        long valueWeight = Math.max(weigher.applyAsLong(value), 1L);
+        lock.lock();
+        try {
+            Entry<V> previous = entries.put(key, new Entry<>(value, valueWeight, now + Math.max(ttlMillis, 0L)));
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += valueWeight;
+            if (now >= nextPurgeAt) {
+                purgeExpired(now);
+                nextPurgeAt = now + PURGE_INTERVAL_MS;
+            }
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            // Never evict the entry just written, even if it alone exceeds the budget
+            while (weight > maxWeight && entries.size() > 1 && eldest.hasNext()) {
+                Map.Entry<K, Entry<V>> candidate = eldest.next();
+                if (candidate.getKey().equals(key)) {
+                    continue;
+                }
+                weight -= candidate.getValue().weight;
+                eldest.remove();
+                evictions++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            Entry<V> removed = entries.remove(key);
+            if (removed != null) {
+                weight -= removed.weight;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        lock.lock();
+        try {
+            return hits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long missCount() {
+        lock.lock();
+        try {
+            return misses;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long evictionCount() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long expirationCount() {
+        lock.lock();
+        try {
+            return expirations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+            if (now >= entry.expiresAt + staleRetentionMs) {
+                weight -= entry.weight;
+                iterator.remove();
+                expirations++;
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long weight, long expiresAt) {}
+}
@@ -0,0 +1,123 @@
+package com.apex.backend.trading.pipeline;
+
+import com.apex.backend.model.Candle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Builds higher-timeframe bars from a finer intraday series.
+ * Buckets are anchored to the NSE session open (09:15) of each trading day, so a 60m series yields
+ * 09:15, 10:15 ... 15:15 bars and never carries a bucket across sessions.
+ */
+@Component
+public class BarResampler {
+
+    public static final LocalTime SESSION_OPEN = LocalTime.of(9, 15);
+
+    /**
+     * Aggregates {@code bars} (oldest first) into {@code targetMinutes} buckets. The last bucket may be partial.
+     */
+    public List<Candle> resample(List<Candle> bars, int targetMinutes) {
+        if (bars == null || bars.isEmpty() || targetMinutes <= 0) {
+            return List.of();
+        }
+        List<Candle> result = new ArrayList<>(bars.size() / Math.max(1, targetMinutes / 5) + 1);
+        Candle current = null;
+        LocalDateTime currentStart = null;
+        for (Candle bar : bars) {
+            if (bar.getTimestamp() == null) {
+                continue;
+            }
+            LocalDateTime start = bucketStart(bar.getTimestamp(), targetMinutes);
+            if (current != null && start.equals(currentStart)) {
+                current.setHigh(Math.max(current.getHigh(), bar.getHigh()));
+                current.setLow(Math.min(current.getLow(), bar.getLow()));
+                current.setClose(bar.getClose());
+                current.setVolume(current.getVolume() + bar.getVolume());
+                continue;
+            }
+            if (current != null) {
+                result.add(current);
+            }
+            current = new Candle(bar.getOpen(), bar.getHigh(), bar.getLow(), bar.getClose(), bar.getVolume(), start);
+            currentStart = start;
+        }
+        if (current != null) {
+            result.add(current);
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code daily} with the bar for the latest intraday session rebuilt from {@code intraday}.
+     * The broker's bar for the running session lags the intraday feed, so it is replaced; a missing one is appended.
+     */
+    public List<Candle> withSessionBar(List<Candle> daily, List<Candle> intraday) {
+        List<Candle> base = daily == null ? List.of() : daily;
+        if (intraday == null || intraday.isEmpty()) {
+            return base;
+        }
+        Candle last = intraday.get(intraday.size() - 1);
+        if (last.getTimestamp() == null) {
+            return base;
+        }
+        LocalDate session = last.getTimestamp().toLocalDate();
+        Candle sessionBar = null;
+        for (Candle bar : intraday) {
+            if (bar.getTimestamp() == null || !bar.getTimestamp().toLocalDate().equals(session)) {
+                continue;
+            }
+            if (sessionBar == null) {
+                sessionBar = new Candle(bar.getOpen(), bar.getHigh(), bar.getLow(), bar.getClose(), bar.getVolume(),
+                        session.atStartOfDay());
+            } else {
+                sessionBar.setHigh(Math.max(sessionBar.getHigh(), bar.getHigh()));
+                sessionBar.setLow(Math.min(sessionBar.getLow(), bar.getLow()));
+                sessionBar.setClose(bar.getClose());
+                sessionBar.setVolume(sessionBar.getVolume() + bar.getVolume());
+            }
+        }
+        List<Candle> merged = new ArrayList<>(base.size() + 1);
+        merged.addAll(base);
+        if (!merged.isEmpty()) {
+            LocalDateTime lastDaily = merged.get(merged.size() - 1).getTimestamp();
+            LocalDate lastDate = lastDaily == null ? null : lastDaily.toLocalDate();
+            if (lastDate != null && lastDate.isAfter(session)) {
+                return base;
+            }
+            if (session.equals(lastDate)) {
+                merged.remove(merged.size() - 1);
+            }
+        }
+        merged.add(sessionBar);
+        return merged;
+    }
+
+    /**
+     * Minutes per bar for an intraday resolution such as "5" or "15"; empty for daily and unknown resolutions.
+     */
+    public static OptionalInt intradayMinutes(String timeframe) {
+        if (timeframe == null) {
+            return OptionalInt.empty();
+        }
+        try {
+            int minutes = Integer.parseInt(timeframe.trim());
+            return minutes > 0 ? OptionalInt.of(minutes) : OptionalInt.empty();
+        } catch (NumberFormatException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    private LocalDateTime bucketStart(LocalDateTime timestamp, int targetMinutes) {
+        LocalDateTime open = timestamp.toLocalDate().atTime(SESSION_OPEN);
+        long offset = Duration.between(open, timestamp).toMinutes();
+        return open.plusMinutes(Math.floorDiv(offset, targetMinutes) * targetMinutes);
+    }
+}
@@ -0,0 +1,10 @@
+package com.apex.backend.trading.pipeline;
+
+/**
+ * Per-user inputs of a decision that do not depend on the symbol, so a scan reads them once instead of per symbol.
+ */
+public record DecisionContext(
+        PortfolioSnapshot portfolioSnapshot,
+        StrategyHealthDecision strategyHealth,
+        double correlationSizingMultiplier
+) {}
@@ -4,6 +4,9 @@ import com.apex.backend.config.ExecutionProperties;
 import com.apex.backend.service.ExecutionCostModel;
 import com.apex.backend.service.ExecutionCostModel.ExecutionRequest;
 import com.apex.backend.service.ExecutionCostModel.ExecutionSide;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
+import com.apex.backend.service.marketdata.OrderBook;
+import com.apex.backend.service.marketdata.OrderBookService;
 import com.apex.backend.util.MoneyUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -16,10 +19,20 @@ public class DefaultExecutionEngine implements ExecutionEngine {
 
     private final ExecutionCostModel executionCostModel;
     private final ExecutionProperties executionProperties;
+    private final IndicatorSnapshotService indicatorSnapshotService;
+    private final OrderBookService orderBookService;
 
     @Override
     public ExecutionPlan build(PipelineRequest request, SignalScore signalScore, RiskDecision riskDecision) {
         ExecutionPlan.ExecutionOrderType orderType = ExecutionPlan.ExecutionOrderType.valueOf(executionProperties.getDefaultOrderType());
+        Double atr = request.candles() == null || request.candles().isEmpty()
+                ? null
+                : indicatorSnapshotService.snapshot(request.symbol(), request.timeframe(), request.candles()).atr().atr();
+        // Price the spread off the live book when there is one; otherwise the model falls back to its configured spread
+        OrderBook.Top top = orderBookService.freshBook(request.symbol())
+                .map(OrderBook::top)
+                .filter(OrderBook.Top::isTwoSided)
+                .orElse(null);
         ExecutionRequest execRequest = new ExecutionRequest(
                 request.symbol(),
                 riskDecision.recommendedQuantity(),
@@ -28,9 +41,9 @@ public class DefaultExecutionEngine implements ExecutionEngine {
                 orderType == ExecutionPlan.ExecutionOrderType.MARKET ? ExecutionCostModel.OrderType.MARKET : ExecutionCostModel.OrderType.LIMIT,
                 ExecutionSide.BUY,
                 request.candles(),
-                null,
-                null,
-                null
+                atr,
+                top != null ? top.bidPrice() : null,
+                top != null ? top.askPrice() : null
         );
         ExecutionCostModel.ExecutionEstimate estimate = executionCostModel.estimateExecution(execRequest);
         return new ExecutionPlan(
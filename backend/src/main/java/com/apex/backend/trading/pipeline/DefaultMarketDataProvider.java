@@ -4,6 +4,8 @@ import com.apex.backend.model.Candle;
 import com.apex.backend.model.CorporateAction;
 import com.apex.backend.service.CorporateActionService;
 import com.apex.backend.service.FyersService;
+import com.apex.backend.service.marketdata.OrderBook;
+import com.apex.backend.service.marketdata.OrderBookService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +19,7 @@ public class DefaultMarketDataProvider implements MarketDataProvider {
 
     private final FyersService fyersService;
     private final CorporateActionService corporateActionService;
+    private final OrderBookService orderBookService;
 
     @Override
     public List<Candle> getCandles(String symbol, String timeframe, int bars) {
@@ -28,6 +31,14 @@ public class DefaultMarketDataProvider implements MarketDataProvider {
     @Override
     public Optional<BidAsk> getBidAsk(String symbol) {
         try {
+            Optional<OrderBook.Top> top = orderBookService.freshBook(symbol).map(OrderBook::top);
+            if (top.isPresent() && top.get().isTwoSided()) {
+                return Optional.of(new BidAsk(top.get().bidPrice(), top.get().askPrice()));
+            }
+            var live = fyersService.getLiveBook(symbol);
+            if (live.isPresent() && live.get().bid() > 0 && live.get().ask() > 0) {
+                return Optional.of(new BidAsk(live.get().bid(), live.get().ask()));
+            }
             var ltp = fyersService.getLtpBatch(List.of(symbol));
             if (ltp.containsKey(symbol)) {
                 double mid = ltp.get(symbol).doubleValue();
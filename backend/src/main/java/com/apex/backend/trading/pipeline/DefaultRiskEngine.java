@@ -4,7 +4,7 @@ import com.apex.backend.service.HybridPositionSizingService;
 import com.apex.backend.service.LiquidityValidator;
 import com.apex.backend.service.PortfolioHeatService;
 import com.apex.backend.service.RiskManagementEngine;
-import com.apex.backend.service.indicator.AtrService;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
 import com.apex.backend.util.MoneyUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,7 +21,7 @@ public class DefaultRiskEngine implements RiskEngine {
     private final PortfolioHeatService portfolioHeatService;
     private final LiquidityValidator liquidityValidator;
     private final HybridPositionSizingService hybridPositionSizingService;
-    private final AtrService atrService;
+    private final IndicatorSnapshotService indicatorSnapshotService;
     private final CorrelationRegimeService correlationRegimeService;
 
     @Override
@@ -40,7 +40,7 @@ public class DefaultRiskEngine implements RiskEngine {
         BigDecimal stop = MoneyUtils.bd(signalScore.suggestedStopLoss());
         BigDecimal atr = MoneyUtils.ZERO;
         if (request.candles() != null && !request.candles().isEmpty()) {
-            atr = MoneyUtils.bd(atrService.calculate(request.candles()).atr());
+            atr = MoneyUtils.bd(indicatorSnapshotService.snapshot(request.symbol(), request.timeframe(), request.candles()).atr().atr());
         }
         int qty = hybridPositionSizingService.calculateSizing(snapshot.equity(), entry, stop, atr, request.userId(), signalScore.score()).quantity();
         if (qty == 0) {
@@ -68,8 +68,13 @@ public class DefaultRiskEngine implements RiskEngine {
             reasons.add("Risk management rejected trade");
         }
 
-        correlationRegimeService.updateRegime(request.userId());
-        double sizingMultiplier = correlationRegimeService.getSizingMultiplier(request.userId());
+        double sizingMultiplier;
+        if (request.context() != null) {
+            sizingMultiplier = request.context().correlationSizingMultiplier();
+        } else {
+            correlationRegimeService.updateRegime(request.userId());
+            sizingMultiplier = correlationRegimeService.getSizingMultiplier(request.userId());
+        }
         boolean allowed = heatOk && corrOk && riskOk;
         return new RiskDecision(allowed, allowed ? 1.0 : 0.0, reasons, sizingMultiplier, qty);
     }
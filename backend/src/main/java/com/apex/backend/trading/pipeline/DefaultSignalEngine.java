@@ -6,20 +6,28 @@ import com.apex.backend.service.SmartSignalGenerator;
 import com.apex.backend.service.StrategyScoringService;
 import com.apex.backend.service.StrategyScoringService.ScoreBreakdown;
 import com.apex.backend.service.FeatureAttributionService;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.OptionalInt;
 
 @Service
 @RequiredArgsConstructor
 public class DefaultSignalEngine implements SignalEngine {
 
+    private static final int HIGHER_TIMEFRAME_BARS = 200;
+    // About twelve sessions of 5m bars: enough 60m bars to warm up MACD on the hourly series
+    private static final int RESAMPLE_BASE_BARS = 900;
+
     private final MarketDataProvider marketDataProvider;
     private final SmartSignalGenerator smartSignalGenerator;
     private final StrategyScoringService strategyScoringService;
     private final FeatureAttributionService featureAttributionService;
     private final StrategyConfig strategyConfig;
+    private final BarResampler barResampler;
+    private final IndicatorSnapshotService indicatorSnapshotService;
 
     @Override
     public SignalScore score(PipelineRequest request) {
@@ -28,18 +36,29 @@ public class DefaultSignalEngine implements SignalEngine {
             return new SignalScore(false, 0.0, "N/A", 0.0, 0.0, "Insufficient data",
                     null, List.of(), SignalDiagnostics.withReason(ScanRejectReason.INSUFFICIENT_DATA));
         }
-        List<Candle> m15 = marketDataProvider.getCandles(request.symbol(), "15", 200);
-        List<Candle> h1 = marketDataProvider.getCandles(request.symbol(), "60", 200);
-        List<Candle> daily = marketDataProvider.getCandles(request.symbol(), "D", 200);
+        SignalSeries series = request.series() != null
+                ? request.series()
+                : fetchSeries(request.symbol(), request.timeframe(), primary);
+        OptionalInt baseMinutes = BarResampler.intradayMinutes(request.timeframe());
+        List<Candle> base = series.base() != null ? series.base() : primary;
+        List<Candle> m15 = higherTimeframe(series.m15(), base, baseMinutes, 15);
+        List<Candle> h1 = higherTimeframe(series.h1(), base, baseMinutes, 60);
+        List<Candle> daily = series.daily() != null ? series.daily() : List.of();
+        if (baseMinutes.isPresent()) {
+            daily = barResampler.withSessionBar(daily, base);
+        }
 
         SmartSignalGenerator.SignalDecision decision = smartSignalGenerator.generateSignalSmart(
                 request.symbol(),
+                request.timeframe(),
                 primary,
                 m15,
                 h1,
                 daily
         );
-        ScoreBreakdown breakdown = strategyScoringService.score(primary);
+        // Same (symbol, timeframe, last bar) as the generator's primary snapshot, so this is a cache hit
+        ScoreBreakdown breakdown = strategyScoringService.score(
+                indicatorSnapshotService.snapshot(request.symbol(), request.timeframe(), primary));
         FeatureVector featureVector = featureAttributionService.buildFeatureVector(breakdown);
         List<FeatureContribution> contributions = featureAttributionService.computeContributions(featureVector, strategyConfig.getStrategy());
 
@@ -55,4 +74,45 @@ public class DefaultSignalEngine implements SignalEngine {
                 decision.getDiagnostics()
         );
     }
+
+    /**
+     * Broker reads only: the deeper base series, daily bars and any higher timeframe the base cannot be resampled to.
+     */
+    @Override
+    public SignalSeries fetchSeries(String symbol, String timeframe, List<Candle> primary) {
+        OptionalInt baseMinutes = BarResampler.intradayMinutes(timeframe);
+        List<Candle> base = baseMinutes.isPresent() ? resampleBase(symbol, timeframe, primary) : primary;
+        return new SignalSeries(
+                base,
+                marketDataProvider.getCandles(symbol, "D", HIGHER_TIMEFRAME_BARS),
+                resamplable(baseMinutes, 15) ? null : marketDataProvider.getCandles(symbol, "15", HIGHER_TIMEFRAME_BARS),
+                resamplable(baseMinutes, 60) ? null : marketDataProvider.getCandles(symbol, "60", HIGHER_TIMEFRAME_BARS)
+        );
+    }
+
+    private List<Candle> resampleBase(String symbol, String timeframe, List<Candle> primary) {
+        if (primary != null && primary.size() >= RESAMPLE_BASE_BARS) {
+            return primary;
+        }
+        // Same series as the primary fetch, only deeper: served from the candle store rather than the broker
+        List<Candle> deeper = marketDataProvider.getCandles(symbol, timeframe, RESAMPLE_BASE_BARS);
+        int primarySize = primary != null ? primary.size() : 0;
+        return deeper != null && deeper.size() > primarySize ? deeper : primary;
+    }
+
+    private static boolean resamplable(OptionalInt baseMinutes, int targetMinutes) {
+        return baseMinutes.isPresent() && baseMinutes.getAsInt() <= targetMinutes
+                && targetMinutes % baseMinutes.getAsInt() == 0;
+    }
+
+    private List<Candle> higherTimeframe(List<Candle> fetched, List<Candle> base, OptionalInt baseMinutes,
+                                         int targetMinutes) {
+        if (!resamplable(baseMinutes, targetMinutes)) {
+            return fetched != null ? fetched : List.of();
+        }
+        List<Candle> resampled = baseMinutes.getAsInt() == targetMinutes ? base : barResampler.resample(base, targetMinutes);
+        return resampled.size() > HIGHER_TIMEFRAME_BARS
+                ? resampled.subList(resampled.size() - HIGHER_TIMEFRAME_BARS, resampled.size())
+                : resampled;
+    }
 }
@@ -4,10 +4,20 @@ import com.apex.backend.model.Candle;
 
 import java.util.List;
 
+/**
+ * {@code series} and {@code context} are optional: when null the pipeline fetches and reads them itself.
+ */
 public record PipelineRequest(
         Long userId,
         String symbol,
         String timeframe,
         List<Candle> candles,
-        PortfolioSnapshot portfolioSnapshot
-) {}
+        PortfolioSnapshot portfolioSnapshot,
+        SignalSeries series,
+        DecisionContext context
+) {
+    public PipelineRequest(Long userId, String symbol, String timeframe, List<Candle> candles,
+                           PortfolioSnapshot portfolioSnapshot) {
+        this(userId, symbol, timeframe, candles, portfolioSnapshot, null, null);
+    }
+}
@@ -1,5 +1,16 @@
 package com.apex.backend.trading.pipeline;
 
+import com.apex.backend.model.Candle;
+
+import java.util.List;
+
 public interface SignalEngine {
     SignalScore score(PipelineRequest request);
+
+    /**
+     * Fetches the extra series {@link #score} reads for {@code symbol}, so the caller can do it off the scoring thread.
+     */
+    default SignalSeries fetchSeries(String symbol, String timeframe, List<Candle> primary) {
+        return null;
+    }
 }
@@ -0,0 +1,16 @@
+package com.apex.backend.trading.pipeline;
+
+import com.apex.backend.model.Candle;
+
+import java.util.List;
+
+/**
+ * Broker series a signal evaluation reads besides the primary candles, fetched before the CPU-bound scoring.
+ * {@code m15} and {@code h1} are only set when they cannot be resampled from {@code base}.
+ */
+public record SignalSeries(
+        List<Candle> base,
+        List<Candle> daily,
+        List<Candle> m15,
+        List<Candle> h1
+) {}
@@ -1,5 +1,6 @@
 package com.apex.backend.trading.pipeline;
 
+import com.apex.backend.model.Candle;
 import com.apex.backend.service.DataQualityGuard;
 import com.apex.backend.service.MetricsService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,24 @@ public class TradeDecisionPipelineService {
     private final StrategyHealthEngine strategyHealthEngine;
     private final DataQualityGuard dataQualityGuard;
     private final MetricsService metricsService;
+    private final CorrelationRegimeService correlationRegimeService;
+
+    /**
+     * Reads the per-user inputs once for a batch of requests: portfolio, strategy health and the correlation regime.
+     */
+    public DecisionContext prepare(Long userId) {
+        PortfolioSnapshot snapshot = portfolioEngine.snapshot(new PipelineRequest(userId, null, null, null, null));
+        StrategyHealthDecision health = strategyHealthEngine.evaluate(userId);
+        correlationRegimeService.updateRegime(userId);
+        return new DecisionContext(snapshot, health, correlationRegimeService.getSizingMultiplier(userId));
+    }
+
+    /**
+     * Broker reads {@link #evaluate} would otherwise make for this symbol; pass the result in {@link PipelineRequest#series()}.
+     */
+    public SignalSeries fetchSeries(String symbol, String timeframe, List<Candle> candles) {
+        return signalEngine.fetchSeries(symbol, timeframe, candles);
+    }
 
     public DecisionResult evaluate(PipelineRequest request) {
         List<String> reasons = new ArrayList<>();
@@ -38,13 +57,16 @@ public class TradeDecisionPipelineService {
                     null
             );
         }
+        DecisionContext context = request.context();
         PortfolioSnapshot snapshot = request.portfolioSnapshot() != null
                 ? request.portfolioSnapshot()
-                : portfolioEngine.snapshot(request);
+                : context != null ? context.portfolioSnapshot() : portfolioEngine.snapshot(request);
 
         SignalScore signalScore = signalEngine.score(request);
         metricsService.recordStrategySignal(signalScore.reason(), signalScore.score());
-        StrategyHealthDecision healthDecision = strategyHealthEngine.evaluate(request.userId());
+        StrategyHealthDecision healthDecision = context != null
+                ? context.strategyHealth()
+                : strategyHealthEngine.evaluate(request.userId());
         if (healthDecision != null && healthDecision.status() == StrategyHealthDecision.StrategyHealthStatus.BROKEN) {
             reasons.addAll(healthDecision.reasons());
             addDiagnosticReason(signalScore, ScanRejectReason.STRATEGY_HEALTH_BLOCKED);
@@ -0,0 +1,35 @@
+package com.apex.backend.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Exchange time zone that candle timestamps are expressed in, independent of the JVM default zone.
+ * Set once at startup from {@code strategy.trading-window.timezone}.
+ */
+public final class ExchangeTime {
+
+    public static final ZoneId DEFAULT_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private static volatile ZoneId zone = DEFAULT_ZONE;
+
+    private ExchangeTime() {
+    }
+
+    public static ZoneId zone() {
+        return zone;
+    }
+
+    public static void setZone(ZoneId exchangeZone) {
+        zone = exchangeZone == null ? DEFAULT_ZONE : exchangeZone;
+    }
+
+    public static long toEpochSecond(LocalDateTime timestamp) {
+        return timestamp.atZone(zone).toEpochSecond();
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone);
+    }
+}
@@ -0,0 +1,67 @@
+package com.apex.backend.controller;
+
+import com.apex.backend.dto.ScanProgressEvent;
+import com.apex.backend.model.ScannerRun;
+import com.apex.backend.repository.ScannerRunRepository;
+import com.apex.backend.security.JwtTokenProvider;
+import com.apex.backend.service.ScanProgressPublisher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "jwt.secret=01234567890123456789012345678901"
+})
+@AutoConfigureMockMvc
+class ScannerStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ScannerRunRepository scannerRunRepository;
+
+    @Autowired
+    private ScanProgressPublisher scanProgressPublisher;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void progressStreamSurvivesTheAsyncDispatch() throws Exception {
+        Long userId = 43L;
+        ScannerRun run = scannerRunRepository.save(ScannerRun.builder()
+                .userId(userId)
+                .status(ScannerRun.Status.RUNNING)
+                .universeType("SYMBOLS")
+                .universePayload("{}")
+                .dryRun(true)
+                .mode("PAPER")
+                .createdAt(Instant.now())
+                .startedAt(Instant.now())
+                .build());
+        String token = jwtTokenProvider.generateToken("tester", userId, "USER");
+
+        MvcResult result = mockMvc.perform(get("/api/scanner/runs/{runId}/stream", run.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        scanProgressPublisher.complete(userId, run.getId(), ScanProgressEvent.Type.COMPLETED, null);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("COMPLETED")));
+    }
+}
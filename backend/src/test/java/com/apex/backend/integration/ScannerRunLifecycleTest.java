@@ -65,7 +65,7 @@ class ScannerRunLifecycleTest {
                 .signals(List.of())
                 .build();
 
-        when(manualScanService.runManualScan(anyLong(), any()))
+        when(manualScanService.runManualScan(anyLong(), any(), any()))
                 .thenReturn(response);
 
         ScannerRunRequest request = ScannerRunRequest.builder()
@@ -0,0 +1,118 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.DataQualityProperties;
+import com.apex.backend.model.Candle;
+import com.apex.backend.util.ExchangeTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataQualityGuardTest {
+
+    // Monday 2026-03-02 .. Friday 2026-03-06, then Monday 2026-03-09
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    private final DataQualityProperties properties = new DataQualityProperties();
+    private final DataQualityGuard guard = new DataQualityGuard(properties);
+    private TimeZone jvmDefault;
+
+    @BeforeEach
+    void runOnAUtcHost() {
+        // Candle times are exchange (IST) wall-clock times; the container runs in UTC
+        jvmDefault = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+    }
+
+    @AfterEach
+    void restoreZone() {
+        TimeZone.setDefault(jvmDefault);
+    }
+
+    @Test
+    void barThatClosedLongAgoIsStale() {
+        LocalDateTime lastOpen = LocalDateTime.now(ExchangeTime.zone()).minusMinutes(30);
+
+        DataQualityGuard.DataQualityResult result = guard.validate("5", bars(lastOpen.minusMinutes(5 * 9), 10, 5));
+
+        assertThat(result.allowed()).isFalse();
+        assertThat(result.issue()).isEqualTo(DataQualityGuard.DataQualityIssue.STALE);
+    }
+
+    @Test
+    void barClosingNowIsFresh() {
+        LocalDateTime lastOpen = LocalDateTime.now(ExchangeTime.zone()).minusMinutes(5);
+
+        DataQualityGuard.DataQualityResult result = guard.validate("5", bars(lastOpen.minusMinutes(5 * 9), 10, 5));
+
+        assertThat(result.allowed()).isTrue();
+    }
+
+    @Test
+    void overnightBreakIsNotAGap() {
+        properties.setMaxStaleSeconds(Long.MAX_VALUE);
+        List<Candle> candles = new ArrayList<>(bars(MONDAY.atTime(15, 0), 6, 5));
+        candles.addAll(bars(MONDAY.plusDays(1).atTime(9, 15), 6, 5));
+
+        assertThat(guard.validate("5", candles).allowed()).isTrue();
+    }
+
+    @Test
+    void weekendIsNotAGap() {
+        properties.setMaxStaleSeconds(Long.MAX_VALUE);
+        List<Candle> candles = new ArrayList<>(bars(MONDAY.plusDays(4).atTime(15, 0), 6, 5));
+        candles.addAll(bars(MONDAY.plusDays(7).atTime(9, 15), 6, 5));
+
+        assertThat(guard.validate("5", candles).allowed()).isTrue();
+        assertThat(guard.validate("D", daily(MONDAY, MONDAY.plusDays(4), MONDAY.plusDays(7))).allowed()).isTrue();
+    }
+
+    @Test
+    void missingSessionIsAGap() {
+        properties.setMaxStaleSeconds(Long.MAX_VALUE);
+        // Tuesday never arrived
+        List<Candle> candles = new ArrayList<>(bars(MONDAY.atTime(15, 0), 6, 5));
+        candles.addAll(bars(MONDAY.plusDays(2).atTime(9, 15), 6, 5));
+
+        DataQualityGuard.DataQualityResult intraday = guard.validate("5", candles);
+        assertThat(intraday.allowed()).isFalse();
+        assertThat(intraday.issue()).isEqualTo(DataQualityGuard.DataQualityIssue.GAP);
+
+        List<Candle> daily = daily(MONDAY, MONDAY.plusDays(3), MONDAY.plusDays(4), MONDAY.plusDays(7), MONDAY.plusDays(10));
+        assertThat(guard.validate("D", daily).issue()).isEqualTo(DataQualityGuard.DataQualityIssue.GAP);
+    }
+
+    @Test
+    void configuredHolidayIsNotAGap() {
+        properties.setMaxStaleSeconds(Long.MAX_VALUE);
+        properties.setExchangeHolidays(List.of(MONDAY.plusDays(1)));
+        List<Candle> candles = new ArrayList<>(bars(MONDAY.atTime(15, 0), 6, 5));
+        candles.addAll(bars(MONDAY.plusDays(2).atTime(9, 15), 6, 5));
+
+        assertThat(guard.validate("5", candles).allowed()).isTrue();
+    }
+
+    private static List<Candle> bars(LocalDateTime firstOpen, int count, int minutes) {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candles.add(new Candle(100, 101, 99, 100, 1000L, firstOpen.plusMinutes((long) i * minutes)));
+        }
+        return candles;
+    }
+
+    private static List<Candle> daily(LocalDate... days) {
+        List<Candle> candles = new ArrayList<>();
+        for (LocalDate day : days) {
+            candles.add(new Candle(100, 101, 99, 100, 1000L, day.atTime(LocalTime.of(9, 15))));
+        }
+        return candles;
+    }
+}
@@ -1,6 +1,7 @@
 package com.apex.backend.service;
 
 import com.apex.backend.config.StrategyProperties;
+import com.apex.backend.event.BarClosedEvent;
 import com.apex.backend.model.Trade;
 import com.apex.backend.repository.TradeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +11,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -53,8 +65,84 @@ class ExitManagerTest {
 
     @Test
     void manageExits_closesTradeOnExitDecision() {
-        Trade trade = Trade.builder()
+        Trade trade = openTrade();
+
+        when(tradeRepository.findByUserIdAndStatus(1L, Trade.TradeStatus.OPEN)).thenReturn(List.of(trade));
+        when(fyersService.getLtpBatch(List.of("NSE:ABC-EQ"))).thenReturn(Map.of("NSE:ABC-EQ", BigDecimal.valueOf(94)));
+        when(exitPriorityEngine.evaluate(eq(trade), any(BigDecimal.class), any(Integer.class), eq(false)))
+                .thenReturn(stopExit());
+        when(tradeCloseService.markClosing(trade, "EXIT_SIGNAL")).thenReturn(true);
+        when(executionEngine.execute(any())).thenReturn(filled());
+
+        exitManager.manageExits(1L);
+
+        verify(tradeCloseService).finalizeTrade(eq(trade), eq(BigDecimal.valueOf(94)), eq(Trade.ExitReason.STOP_LOSS), eq("STOP"));
+    }
+
+    @Test
+    void manageExits_sendsNoOrderForATradeAlreadyClosing() {
+        Trade trade = openTrade();
+
+        when(tradeRepository.findByUserIdAndStatus(1L, Trade.TradeStatus.OPEN)).thenReturn(List.of(trade));
+        when(fyersService.getLtpBatch(List.of("NSE:ABC-EQ"))).thenReturn(Map.of("NSE:ABC-EQ", BigDecimal.valueOf(94)));
+        when(exitPriorityEngine.evaluate(eq(trade), any(BigDecimal.class), any(Integer.class), eq(false)))
+                .thenReturn(stopExit());
+        when(tradeCloseService.markClosing(trade, "EXIT_SIGNAL")).thenReturn(false);
+
+        exitManager.manageExits(1L);
+
+        verify(executionEngine, never()).execute(any());
+        verify(exitRetryService, never()).enqueueExit(any(), anyString());
+    }
+
+    @Test
+    void barCloseAndBotCycleTogetherPlaceOneExitOrder() throws Exception {
+        // Each read hands out a fresh entity, as separate transactions would; only a finalized trade stops being OPEN
+        AtomicReference<Trade.TradeStatus> stored = new AtomicReference<>(Trade.TradeStatus.OPEN);
+        when(tradeRepository.findByUserIdAndStatus(1L, Trade.TradeStatus.OPEN))
+                .thenAnswer(invocation -> stored.get() == Trade.TradeStatus.OPEN ? List.of(openTrade()) : List.of());
+        when(tradeRepository.findByStatusAndSymbolIn(eq(Trade.TradeStatus.OPEN), anyList()))
+                .thenAnswer(invocation -> List.of(openTrade()));
+        when(fyersService.getLtpBatch(List.of("NSE:ABC-EQ"))).thenReturn(Map.of("NSE:ABC-EQ", BigDecimal.valueOf(94)));
+        when(exitPriorityEngine.evaluate(any(Trade.class), any(BigDecimal.class), any(Integer.class), eq(false)))
+                .thenReturn(stopExit());
+        when(tradeCloseService.markClosing(any(Trade.class), eq("EXIT_SIGNAL"))).thenReturn(true);
+        when(executionEngine.execute(any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return filled();
+        });
+        when(tradeCloseService.finalizeTrade(any(Trade.class), any(BigDecimal.class), any(), any())).thenAnswer(invocation -> {
+            stored.set(Trade.TradeStatus.CLOSED);
+            return true;
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> barClose = threads.submit(() -> {
+                start.await();
+                exitManager.onBarClosed(new BarClosedEvent("NSE:ABC-EQ", "5", null, Instant.now()));
+                return null;
+            });
+            Future<?> botCycle = threads.submit(() -> {
+                start.await();
+                exitManager.manageExits(1L);
+                return null;
+            });
+            start.countDown();
+            barClose.get(5, TimeUnit.SECONDS);
+            botCycle.get(5, TimeUnit.SECONDS);
+        } finally {
+            threads.shutdownNow();
+        }
+
+        verify(executionEngine, times(1)).execute(any());
+    }
+
+    private static Trade openTrade() {
+        return Trade.builder()
                 .id(1L)
+                .userId(1L)
                 .symbol("NSE:ABC-EQ")
                 .tradeType(Trade.TradeType.LONG)
                 .quantity(10)
@@ -67,18 +155,16 @@ class ExitManagerTest {
                 .entryTime(LocalDateTime.now().minusMinutes(10))
                 .status(Trade.TradeStatus.OPEN)
                 .build();
+    }
 
-        when(tradeRepository.findByUserIdAndStatus(1L, Trade.TradeStatus.OPEN)).thenReturn(List.of(trade));
-        when(fyersService.getLtpBatch(List.of("NSE:ABC-EQ"))).thenReturn(Map.of("NSE:ABC-EQ", BigDecimal.valueOf(94)));
-        when(exitPriorityEngine.evaluate(eq(trade), any(BigDecimal.class), any(Integer.class), eq(false)))
-                .thenReturn(ExitPriorityEngine.ExitDecision.exit(BigDecimal.valueOf(94), BigDecimal.valueOf(95),
-                        Trade.ExitReason.STOP_LOSS, "STOP"));
-        when(executionEngine.execute(any())).thenReturn(new ExecutionEngine.ExecutionResult(
-                "CLIENT", "BRK", ExecutionEngine.ExecutionStatus.FILLED, 10, BigDecimal.valueOf(94), null
-        ));
-
-        exitManager.manageExits(1L);
+    private static ExitPriorityEngine.ExitDecision stopExit() {
+        return ExitPriorityEngine.ExitDecision.exit(BigDecimal.valueOf(94), BigDecimal.valueOf(95),
+                Trade.ExitReason.STOP_LOSS, "STOP");
+    }
 
-        verify(tradeCloseService).finalizeTrade(eq(trade), eq(BigDecimal.valueOf(94)), eq(Trade.ExitReason.STOP_LOSS), eq("STOP"));
+    private static ExecutionEngine.ExecutionResult filled() {
+        return new ExecutionEngine.ExecutionResult(
+                "CLIENT", "BRK", ExecutionEngine.ExecutionStatus.FILLED, 10, BigDecimal.valueOf(94), null
+        );
     }
 }
@@ -0,0 +1,212 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.MarketDataProperties;
+import com.apex.backend.model.Candle;
+import com.apex.backend.service.marketdata.BarAggregator;
+import com.apex.backend.service.marketdata.CandleStore;
+import com.apex.backend.service.marketdata.LtpCache;
+import com.apex.backend.util.ExchangeTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FyersServiceHistoryTest {
+
+    private static final String SYMBOL = "NSE:ABC-EQ";
+    private static final LocalDateTime SESSION_START = LocalDateTime.of(2026, 3, 3, 9, 15);
+
+    private final FyersHttpClient httpClient = mock(FyersHttpClient.class);
+    private final InstrumentService instrumentService = mock(InstrumentService.class);
+    private final CandleStore candleStore = mock(CandleStore.class);
+    private final BarAggregator barAggregator = mock(BarAggregator.class);
+    private final MarketDataProperties properties = new MarketDataProperties();
+    private FyersService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FyersService(mock(Environment.class), mock(MetricsService.class), mock(AlertService.class),
+                httpClient, mock(FyersTokenService.class), instrumentService, candleStore, properties,
+                new LtpCache(properties), barAggregator);
+        ReflectionTestUtils.setField(service, "dataBaseUrl", "https://data.test/api/v2");
+        service.init();
+        when(instrumentService.resolveTradingSymbol(anyString())).thenAnswer(call -> Optional.of(call.getArgument(0)));
+    }
+
+    @Test
+    void freshDailySeriesIsServedFromTheStore() {
+        List<Candle> stored = bars(SESSION_START.minusDays(30), 30, 24 * 60);
+        storeHolds("D", stored);
+
+        assertThat(service.getHistoricalData(SYMBOL, 30, "D", "token")).isEqualTo(stored);
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void freshIntradaySeriesWithoutALiveBarIsServedFromTheStore() {
+        List<Candle> stored = bars(SESSION_START, 20, 5);
+        storeHolds("5", stored);
+
+        assertThat(service.getHistoricalData(SYMBOL, 20, "5", "token")).isEqualTo(stored);
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void formingBarRightAfterTheStoredOnesEndsTheSeries() {
+        List<Candle> stored = bars(SESSION_START, 20, 5);
+        storeHolds("5", stored);
+        Candle forming = new Candle(1, 1, 1, 1, 1L, SESSION_START.plusMinutes(100));
+        when(barAggregator.formingBar(SYMBOL, 5)).thenReturn(forming);
+
+        List<Candle> series = service.getHistoricalData(SYMBOL, 20, "5", "token");
+
+        assertThat(series).hasSize(20).endsWith(forming);
+        assertThat(series.get(0)).isEqualTo(stored.get(1));
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void formingBarAfterAHoleIsLeftOut() {
+        List<Candle> stored = bars(SESSION_START, 20, 5);
+        storeHolds("5", stored);
+        when(barAggregator.formingBar(SYMBOL, 5)).thenReturn(new Candle(1, 1, 1, 1, 1L, SESSION_START.plusMinutes(110)));
+
+        assertThat(service.getHistoricalData(SYMBOL, 20, "5", "token")).isEqualTo(stored);
+    }
+
+    @Test
+    void firstBarOfTheNextSessionFollowsTheLastStoredOne() {
+        List<Candle> stored = bars(SESSION_START.withHour(14).withMinute(30), 12, 5);
+        storeHolds("5", stored);
+        Candle forming = new Candle(1, 1, 1, 1, 1L, SESSION_START.plusDays(1));
+        when(barAggregator.formingBar(SYMBOL, 5)).thenReturn(forming);
+
+        assertThat(service.getHistoricalData(SYMBOL, 12, "5", "token")).endsWith(forming);
+    }
+
+    @Test
+    void coldFetchRequestsTheWholeLookbackWindow() {
+        long lastOpen = currentBarOpen();
+        when(httpClient.get(anyString(), eq("token"), isNull())).thenReturn(history(lastOpen - 9 * 300, 10, 100.0));
+
+        List<Candle> series = service.getHistoricalData(SYMBOL, 10, "5", "token");
+
+        assertThat(series).hasSize(10);
+        MultiValueMap<String, String> query = requestedQueries(1).get(0);
+        assertThat(Long.parseLong(query.getFirst("range_to")) - Long.parseLong(query.getFirst("range_from")))
+                .isEqualTo(20 * 86400L);
+    }
+
+    @Test
+    void refreshRequestsOnlyFromTheLastBar() {
+        expireCachedSeriesImmediately();
+        long lastOpen = currentBarOpen();
+        when(httpClient.get(anyString(), eq("token"), isNull()))
+                .thenReturn(history(lastOpen - 9 * 300, 10, 100.0), history(lastOpen, 1, 100.0));
+
+        service.getHistoricalData(SYMBOL, 10, "5", "token");
+        List<Candle> refreshed = service.getHistoricalData(SYMBOL, 10, "5", "token");
+
+        assertThat(refreshed).hasSize(10);
+        assertThat(requestedQueries(2).get(1).getFirst("range_from")).isEqualTo(String.valueOf(lastOpen));
+    }
+
+    @Test
+    void refreshReplacesTheBarThatWasStillForming() {
+        expireCachedSeriesImmediately();
+        long lastOpen = currentBarOpen();
+        when(httpClient.get(anyString(), eq("token"), isNull()))
+                .thenReturn(history(lastOpen - 9 * 300, 10, 100.0), history(lastOpen, 2, 200.0));
+
+        service.getHistoricalData(SYMBOL, 10, "5", "token");
+        List<Candle> refreshed = service.getHistoricalData(SYMBOL, 10, "5", "token");
+
+        assertThat(refreshed).hasSize(10);
+        assertThat(refreshed).extracting(Candle::getTimestamp).doesNotHaveDuplicates();
+        Candle replaced = refreshed.get(8);
+        assertThat(replaced.getTimestamp()).isEqualTo(ExchangeTime.toLocalDateTime(lastOpen));
+        assertThat(replaced.getClose()).isEqualTo(200.0);
+        assertThat(refreshed.get(7).getClose()).isEqualTo(108.0);
+    }
+
+    @Test
+    void lookbackWindowCoversTheRequestedDepth() {
+        when(httpClient.get(anyString(), eq("token"), isNull())).thenReturn("{\"s\":\"ok\",\"candles\":[]}");
+
+        service.getHistoricalData(SYMBOL, 200, "D", "token");
+        service.getHistoricalData(SYMBOL, 2000, "5", "token");
+
+        List<MultiValueMap<String, String>> queries = requestedQueries(2);
+        // 200 trading days need 290 calendar days; 2000 five-minute bars span 27 sessions, 42 calendar days
+        assertThat(windowDays(queries.get(0))).isCloseTo(290, within(1L));
+        assertThat(windowDays(queries.get(1))).isCloseTo(42, within(1L));
+    }
+
+    private void expireCachedSeriesImmediately() {
+        properties.getCandleCache().setTtlMs(Map.of("5", 0L));
+    }
+
+    private List<MultiValueMap<String, String>> requestedQueries(int expected) {
+        ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+        verify(httpClient, times(expected)).get(urls.capture(), eq("token"), isNull());
+        return urls.getAllValues().stream()
+                .map(url -> UriComponentsBuilder.fromUriString(url).build().getQueryParams())
+                .toList();
+    }
+
+    private static long windowDays(MultiValueMap<String, String> query) {
+        return (Long.parseLong(query.getFirst("range_to")) - Long.parseLong(query.getFirst("range_from"))) / 86400L;
+    }
+
+    private static long currentBarOpen() {
+        long now = Instant.now().getEpochSecond();
+        return now - now % 300;
+    }
+
+    /**
+     * A /history body of {@code count} five-minute bars from {@code firstEpoch}, closing at {@code firstClose} + i.
+     */
+    private static String history(long firstEpoch, int count, double firstClose) {
+        StringJoiner rows = new StringJoiner(",");
+        for (int i = 0; i < count; i++) {
+            double close = firstClose + i;
+            rows.add("[" + (firstEpoch + i * 300L) + "," + close + "," + close + "," + close + "," + close + ",100]");
+        }
+        return "{\"s\":\"ok\",\"candles\":[" + rows + "]}";
+    }
+
+    private void storeHolds(String resolution, List<Candle> stored) {
+        when(candleStore.isFresh(SYMBOL, resolution, properties.getCandleCache().ttlFor(resolution))).thenReturn(true);
+        when(candleStore.read(SYMBOL, resolution, stored.size())).thenReturn(stored);
+    }
+
+    private static List<Candle> bars(LocalDateTime first, int count, int minutes) {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candles.add(new Candle(100 + i, 101 + i, 99 + i, 100 + i, 1000L, first.plusMinutes((long) i * minutes)));
+        }
+        return candles;
+    }
+}
@@ -1,9 +1,11 @@
 package com.apex.backend.service;
 
 import com.apex.backend.model.AuditEvent;
+import com.apex.backend.model.Candle;
 import com.apex.backend.model.User;
 import com.apex.backend.repository.AuditEventRepository;
 import com.apex.backend.repository.UserRepository;
+import com.apex.backend.service.marketdata.CandleStore;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -19,6 +21,9 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -32,11 +37,13 @@ import static org.mockito.Mockito.when;
 class FyersServiceIntegrationTest {
 
     private static final MockWebServer mockWebServer;
+    private static final Path candleDir;
 
     static {
         try {
             mockWebServer = new MockWebServer();
             mockWebServer.start();
+            candleDir = Files.createTempDirectory("candles");
         } catch (IOException e) {
             throw new ExceptionInInitializerError(e);
         }
@@ -58,6 +65,8 @@ class FyersServiceIntegrationTest {
         registry.add("spring.datasource.username", () -> "sa");
         registry.add("spring.datasource.password", () -> "sa");
         registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("apex.market-data.store.enabled", () -> true);
+        registry.add("apex.market-data.store.directory", candleDir::toString);
     }
 
     @Autowired
@@ -69,6 +78,9 @@ class FyersServiceIntegrationTest {
     @Autowired
     private AuditEventRepository auditEventRepository;
 
+    @Autowired
+    private CandleStore candleStore;
+
     @MockBean
     private FyersAuthService fyersAuthService;
 
@@ -174,6 +186,28 @@ class FyersServiceIntegrationTest {
         assertThat(recorded.getPath()).isEqualTo("/api/v2/quotes?symbols=NSE:SBIN-EQ");
     }
 
+    @Test
+    void fetchedHistoryIsWrittenToTheStore() throws Exception {
+        User user = createUser("token-1", "refresh-1");
+        long now = Instant.now().getEpochSecond();
+        long firstOpen = now - now % 300 - 10 * 300;
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            rows.append(i == 0 ? "" : ",").append("[").append(firstOpen + i * 300L).append(",100,101,99,100,10]");
+        }
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                .setBody("{\"s\":\"ok\",\"candles\":[" + rows + "]}"));
+
+        List<Candle> fetched = fyersService.getHistoricalData("NSE:SBIN-EQ", 5, "5", "token-1", user.getId());
+
+        assertThat(fetched).hasSize(5);
+        RecordedRequest recorded = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(recorded.getPath()).startsWith("/api/v2/history?symbol=NSE:SBIN-EQ&resolution=5&");
+        assertThat(candleStore.read("NSE:SBIN-EQ", "5", 10)).extracting(Candle::getTimestamp)
+                .containsExactlyElementsOf(fetched.stream().map(Candle::getTimestamp).toList());
+        assertThat(candleStore.isFresh("NSE:SBIN-EQ", "5", 60_000L)).isTrue();
+    }
+
     @Test
     void refreshesTokenOnUnauthorizedOnce() throws Exception {
         User user = createUser("token-1", "refresh-1");
@@ -25,7 +25,7 @@ class FyersServiceProfileTest {
         FyersHttpClient fyersHttpClient = new FyersHttpClient(
                 restTemplate,
                 io.github.resilience4j.circuitbreaker.CircuitBreaker.ofDefaults("fyers"),
-                io.github.resilience4j.ratelimiter.RateLimiter.ofDefaults("fyers"),
+                new PriorityRateLimiter(8, 1, 8, 1000),
                 io.github.resilience4j.retry.Retry.ofDefaults("fyers"),
                 brokerStatusService,
                 metricsService
@@ -73,7 +73,7 @@ class FyersServiceProfileTest {
         FyersHttpClient fyersHttpClient = new FyersHttpClient(
                 restTemplate,
                 io.github.resilience4j.circuitbreaker.CircuitBreaker.ofDefaults("fyers"),
-                io.github.resilience4j.ratelimiter.RateLimiter.ofDefaults("fyers"),
+                new PriorityRateLimiter(8, 1, 8, 1000),
                 io.github.resilience4j.retry.Retry.ofDefaults("fyers"),
                 brokerStatusService,
                 metricsService
@@ -0,0 +1,30 @@
+package com.apex.backend.service;
+
+import com.apex.backend.model.Instrument;
+import com.apex.backend.model.InstrumentDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentIndexTest {
+
+    private final InstrumentIndex index = InstrumentIndex.build(
+            List.of(Instrument.builder().symbol("INFY").tradingSymbol("NSE:INFY-EQ").build()),
+            List.of(InstrumentDefinition.builder().symbol("NSE:INFY-EQ").build(),
+                    InstrumentDefinition.builder().symbol("NSE:WIPRO-EQ").build()));
+
+    @Test
+    void resolvesBySymbolOrTradingSymbolIgnoringCase() {
+        assertThat(index.resolveTradingSymbol(" infy ")).contains("NSE:INFY-EQ");
+        assertThat(index.findByTradingSymbol("nse:infy-eq")).map(Instrument::getSymbol).contains("INFY");
+    }
+
+    @Test
+    void fallsBackToDefinitionFileNames() {
+        assertThat(index.resolveTradingSymbol("WIPRO")).contains("NSE:WIPRO-EQ");
+        assertThat(index.findBySymbol("WIPRO")).isEmpty();
+        assertThat(index.resolveTradingSymbol("UNKNOWN")).isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package com.apex.backend.service;
+
+import com.apex.backend.model.InstrumentDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentMasterTest {
+
+    @Test
+    void readsCsvColumnsByHeaderAndQuotedNames() throws Exception {
+        InstrumentMaster master = InstrumentCacheService.readCsv(stream("""
+                isin,symbol,lotSize,tickSize,name,exchange,segment
+                INE009A01021,NSE:INFY-EQ,1,0.05,Infosys,NSE,EQ
+                INE040A01034,NSE:HDFCBANK-EQ,1,0.05,"HDFC Bank, Ltd",NSE,EQ
+                """));
+
+        assertThat(master.size()).isEqualTo(2);
+        InstrumentDefinition hdfc = master.definition(master.indexOf("nse:hdfcbank-eq"));
+        assertThat(hdfc.getName()).isEqualTo("HDFC Bank, Ltd");
+        assertThat(hdfc.getTickSize()).isEqualByComparingTo(new BigDecimal("0.05"));
+        assertThat(hdfc.getLotSize()).isEqualTo(1);
+        assertThat(hdfc.getIsin()).isEqualTo("INE040A01034");
+    }
+
+    @Test
+    void streamsJsonRowsAndKeepsLastDuplicate() throws Exception {
+        InstrumentMaster master = InstrumentCacheService.readJson(stream("""
+                [{"symbol":"NSE:TCS-EQ","name":"TCS","tickSize":0.05,"meta":{"x":[1,2]}},
+                 {"symbol":"NSE:SBIN-EQ","exchange":"NSE","lotSize":1},
+                 {"symbol":"nse:tcs-eq","name":"Tata Consultancy Services","segment":null}]
+                """));
+
+        assertThat(master.size()).isEqualTo(2);
+        assertThat(master.symbol(0)).isEqualTo("NSE:SBIN-EQ");
+        InstrumentDefinition tcs = master.definition(master.indexOf("NSE:TCS-EQ"));
+        assertThat(tcs.getName()).isEqualTo("Tata Consultancy Services");
+        assertThat(tcs.getTickSize()).isNull();
+        assertThat(master.indexOf("NSE:WIPRO-EQ")).isEqualTo(-1);
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
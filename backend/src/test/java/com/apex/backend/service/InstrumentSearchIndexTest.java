@@ -0,0 +1,41 @@
+package com.apex.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentSearchIndexTest {
+
+    private final InstrumentMaster master = new InstrumentMaster.Builder()
+            .add("NSE:TCS-EQ", "Tata Consultancy Services", "NSE", "EQ", "0.05", "1", null)
+            .add("NSE:TATAMOTORS-EQ", "Tata Motors", "NSE", "EQ", "0.05", "1", null)
+            .add("NSE:INFYBEES-EQ", "Nippon Infy ETF", "NSE", "EQ", "0.01", "1", null)
+            .add("NSE:INFY-EQ", "Infosys", "NSE", "EQ", "0.05", "1", null)
+            .add("NSE:SBIN-EQ", "State Bank of India", "NSE", "EQ", "0.05", "1", null)
+            .build();
+    private final InstrumentSearchIndex index = InstrumentSearchIndex.build(master);
+
+    @Test
+    void ranksSymbolPrefixBeforeNameMatches() {
+        assertThat(symbols(index.search("infy", 10))).containsExactly("NSE:INFY-EQ", "NSE:INFYBEES-EQ");
+        assertThat(symbols(index.search("tata", 10))).containsExactly("NSE:TATAMOTORS-EQ", "NSE:TCS-EQ");
+    }
+
+    @Test
+    void findsSubstringsInsideNames() {
+        assertThat(symbols(index.search("sultan", 10))).containsExactly("NSE:TCS-EQ");
+        assertThat(symbols(index.search("ank o", 10))).containsExactly("NSE:SBIN-EQ");
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void stopsAtLimit() {
+        assertThat(index.search("e", 2)).hasSize(2);
+    }
+
+    private List<String> symbols(List<Integer> rows) {
+        return rows.stream().map(master::symbol).toList();
+    }
+}
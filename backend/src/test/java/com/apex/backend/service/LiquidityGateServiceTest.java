@@ -1,7 +1,10 @@
 package com.apex.backend.service;
 
 import com.apex.backend.config.AdvancedTradingProperties;
+import com.apex.backend.config.MarketDataProperties;
 import com.apex.backend.model.Candle;
+import com.apex.backend.service.marketdata.DepthUpdate;
+import com.apex.backend.service.marketdata.OrderBookService;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
@@ -9,14 +12,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
 
 class LiquidityGateServiceTest {
 
+    private final OrderBookService orderBooks = new OrderBookService(new MarketDataProperties(), mock(InstrumentService.class));
+
     @Test
     void blocksOnWideSpread() {
         AdvancedTradingProperties props = new AdvancedTradingProperties();
         props.getLiquidity().setGateEnabled(true);
-        LiquidityGateService service = new LiquidityGateService(props);
+        LiquidityGateService service = new LiquidityGateService(props, orderBooks);
 
         List<Candle> candles = buildCandles(25, 100, 20);
         LiquidityGateService.LiquidityDecision decision = service.evaluate("NSE:ABC", candles, 100);
@@ -28,7 +35,7 @@ class LiquidityGateServiceTest {
     void allowsWithHealthyVolumeAndSpread() {
         AdvancedTradingProperties props = new AdvancedTradingProperties();
         props.getLiquidity().setGateEnabled(true);
-        LiquidityGateService service = new LiquidityGateService(props);
+        LiquidityGateService service = new LiquidityGateService(props, orderBooks);
 
         List<Candle> candles = buildCandles(25, 100, 1);
         LiquidityGateService.LiquidityDecision decision = service.evaluate("NSE:ABC", candles, 100);
@@ -36,6 +43,21 @@ class LiquidityGateServiceTest {
         assertThat(decision.allowed()).isTrue();
     }
 
+    @Test
+    void prefersQuotedSpreadFromFreshBook() {
+        AdvancedTradingProperties props = new AdvancedTradingProperties();
+        props.getLiquidity().setGateEnabled(true);
+        LiquidityGateService service = new LiquidityGateService(props, orderBooks);
+        orderBooks.apply(new DepthUpdate("NSE:ABC", new double[]{99.95}, new long[]{500}, new double[]{100.05},
+                new long[]{400}, true));
+
+        // Candle range alone would read as a 20% spread
+        LiquidityGateService.LiquidityDecision decision = service.evaluate("NSE:ABC", buildCandles(25, 100, 20), 100);
+
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.spreadPct()).isCloseTo(0.1, within(1e-9));
+    }
+
     private List<Candle> buildCandles(int count, double close, double range) {
         List<Candle> candles = new ArrayList<>();
         LocalDateTime time = LocalDateTime.now().minusMinutes(count * 5L);
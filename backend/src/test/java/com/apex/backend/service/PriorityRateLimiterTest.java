@@ -0,0 +1,77 @@
+package com.apex.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriorityRateLimiterTest {
+
+    // Refill is negligible over a test run, so the bucket only holds its initial burst
+    private static final double FROZEN_RATE = 0.001;
+
+    @Test
+    void lowerLanesLeaveTheirReserve() {
+        PriorityRateLimiter limiter = new PriorityRateLimiter(FROZEN_RATE, FROZEN_RATE, 4, 0);
+
+        assertThat(limiter.acquire(BrokerLane.HISTORY)).isTrue();
+        assertThat(limiter.acquire(BrokerLane.HISTORY)).isTrue();
+        assertThat(limiter.acquire(BrokerLane.HISTORY)).isFalse();
+        assertThat(limiter.acquire(BrokerLane.QUOTE)).isTrue();
+        assertThat(limiter.acquire(BrokerLane.QUOTE)).isFalse();
+        assertThat(limiter.acquire(BrokerLane.EMERGENCY)).isTrue();
+        assertThat(limiter.acquire(BrokerLane.ORDER)).isFalse();
+    }
+
+    @Test
+    void waitingHigherLaneIsServedFirst() {
+        PriorityRateLimiter limiter = new PriorityRateLimiter(5, 5, 1, 2_000);
+        assertThat(limiter.acquire(BrokerLane.ORDER)).isTrue();
+
+        CompletableFuture<Boolean> exit = CompletableFuture.supplyAsync(() -> limiter.acquire(BrokerLane.EMERGENCY));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.waitingCount(BrokerLane.EMERGENCY) == 0 && !exit.isDone() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        // The next refilled token goes to the exit; the order waits for the one after
+        assertThat(limiter.acquire(BrokerLane.ORDER)).isTrue();
+        assertThat(limiter.grantedCount(BrokerLane.EMERGENCY)).isEqualTo(1);
+        assertThat(exit.join()).isTrue();
+    }
+
+    @Test
+    void throttlingHalvesRateAndSuccessesRestoreIt() {
+        PriorityRateLimiter limiter = new PriorityRateLimiter(10, 1, 10, 0);
+
+        limiter.onThrottled();
+        assertThat(limiter.currentRate()).isEqualTo(5.0);
+        assertThat(limiter.acquire(BrokerLane.EMERGENCY)).isFalse();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSuccess();
+        }
+        assertThat(limiter.currentRate()).isEqualTo(10.0);
+        assertThat(limiter.throttleCount()).isEqualTo(1);
+    }
+
+    @Test
+    void timesOutWhenBudgetIsExhausted() {
+        PriorityRateLimiter limiter = new PriorityRateLimiter(FROZEN_RATE, FROZEN_RATE, 1, 20);
+        assertThat(limiter.acquire(BrokerLane.QUOTE)).isTrue();
+
+        assertThat(limiter.acquire(BrokerLane.QUOTE)).isFalse();
+        assertThat(limiter.timedOutCount(BrokerLane.QUOTE)).isEqualTo(1);
+    }
+
+    @Test
+    void infersLaneFromRequest() {
+        assertThat(BrokerLane.forRequest(HttpMethod.GET, "https://api/data/history?symbol=X")).isEqualTo(BrokerLane.HISTORY);
+        assertThat(BrokerLane.forRequest(HttpMethod.GET, "https://api/quotes?symbols=X")).isEqualTo(BrokerLane.QUOTE);
+        assertThat(BrokerLane.forRequest(HttpMethod.GET, "https://api/orders?id=1")).isEqualTo(BrokerLane.ORDER);
+        assertThat(BrokerLane.forRequest(HttpMethod.DELETE, "https://api/orders/1")).isEqualTo(BrokerLane.ORDER);
+    }
+}
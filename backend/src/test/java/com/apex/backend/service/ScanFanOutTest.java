@@ -0,0 +1,131 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.exception.ScanCancelledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScanFanOutTest {
+
+    @Test
+    void keepsInputOrderAndCapsConcurrencyAtLimiterRate() {
+        ScanFanOut fanOut = fanOut(4.0);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Integer> items = IntStream.range(0, 40).boxed().toList();
+
+        List<Integer> results = fanOut.invokeAll(null, items, item -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(5);
+            running.decrementAndGet();
+            return item * 2;
+        });
+
+        assertThat(results).containsExactlyElementsOf(items.stream().map(item -> item * 2).toList());
+        assertThat(fanOut.concurrencyLimit()).isEqualTo(4);
+        assertThat(peak.get()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void failingTaskCancelsTheRestOfTheRun() {
+        ScanFanOut fanOut = fanOut(8.0);
+        AtomicInteger interrupted = new AtomicInteger();
+
+        assertThatThrownBy(() -> fanOut.invokeAll(null, List.of(0, 1, 2, 3), item -> {
+            if (item == 0) {
+                sleep(20);
+                throw new IllegalStateException("boom");
+            }
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+            return item;
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(interrupted.get()).isEqualTo(3);
+    }
+
+    @Test
+    void cancelStopsARegisteredRun() throws Exception {
+        ScanFanOut fanOut = fanOut(2.0);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<List<Integer>> run = CompletableFuture.supplyAsync(() ->
+                fanOut.invokeAll("42", IntStream.range(0, 10).boxed().toList(), item -> {
+                    started.countDown();
+                    sleep(10_000);
+                    return item;
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(fanOut.cancel("42")).isTrue();
+        assertThatThrownBy(() -> run.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ScanCancelledException.class);
+        assertThat(fanOut.cancel("42")).isFalse();
+    }
+
+    @Test
+    void pipelineBoundsFetchedWorkAheadOfCompute() {
+        StrategyConfig config = new StrategyConfig();
+        config.getScanner().setComputeThreads(1);
+        config.getScanner().setPipelineQueueCapacity(2);
+        ScanFanOut fanOut = fanOut(config, 4.0);
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger computed = new AtomicInteger();
+        AtomicInteger peakAhead = new AtomicInteger();
+        List<String> computeThreads = new ArrayList<>();
+        List<Integer> results = new ArrayList<>();
+
+        fanOut.pipeline(null, IntStream.range(0, 30).boxed().toList(),
+                item -> {
+                    peakAhead.accumulateAndGet(fetched.incrementAndGet() - computed.get(), Math::max);
+                    return item * 10;
+                },
+                (item, data) -> {
+                    sleep(2);
+                    computed.incrementAndGet();
+                    synchronized (computeThreads) {
+                        computeThreads.add(Thread.currentThread().getName());
+                    }
+                    return item + data;
+                },
+                results::add);
+
+        assertThat(results).hasSize(30).containsExactlyInAnyOrderElementsOf(
+                IntStream.range(0, 30).map(item -> item * 11).boxed().toList());
+        assertThat(computeThreads).allMatch(name -> name.startsWith("scan-compute-"));
+        // Queue capacity, fetchers holding a permit and the item being computed
+        assertThat(peakAhead.get()).isLessThanOrEqualTo(2 + 4 + 1 + 1);
+    }
+
+    private static ScanFanOut fanOut(double ratePerSecond) {
+        return fanOut(new StrategyConfig(), ratePerSecond);
+    }
+
+    private static ScanFanOut fanOut(StrategyConfig config, double ratePerSecond) {
+        config.getScanner().setBrokerCallLatencyMs(1000);
+        PriorityRateLimiter limiter = new PriorityRateLimiter(ratePerSecond, 1.0, 8, 1000);
+        return new ScanFanOut(config, limiter, new MetricsService(new SimpleMeterRegistry()), Runnable::run);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
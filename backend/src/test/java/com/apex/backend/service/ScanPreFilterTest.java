@@ -0,0 +1,142 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.AdvancedTradingProperties;
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.dto.CandleConfirmationResult;
+import com.apex.backend.dto.MacdConfirmationDto;
+import com.apex.backend.model.Candle;
+import com.apex.backend.service.indicator.AdxService;
+import com.apex.backend.service.indicator.AtrService;
+import com.apex.backend.service.indicator.BollingerBandService;
+import com.apex.backend.service.indicator.CandleConfirmationValidator;
+import com.apex.backend.service.indicator.IndicatorSnapshot;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
+import com.apex.backend.service.indicator.MacdService;
+import com.apex.backend.service.indicator.RsiService;
+import com.apex.backend.service.indicator.SqueezeService;
+import com.apex.backend.trading.pipeline.DecisionResult;
+import com.apex.backend.trading.pipeline.ScanRejectReason;
+import com.apex.backend.trading.pipeline.SignalDiagnostics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ScanPreFilterTest {
+
+    private final StrategyConfig config = new StrategyConfig();
+    private final AdvancedTradingProperties advanced = new AdvancedTradingProperties();
+    private final IndicatorSnapshotService snapshots = mock(IndicatorSnapshotService.class);
+    private final StrategyScoringService scoring = mock(StrategyScoringService.class);
+    private final CandleConfirmationValidator confirmation = mock(CandleConfirmationValidator.class);
+    private final LiquidityGateService liquidity = mock(LiquidityGateService.class);
+    private final DecisionAuditService audits = mock(DecisionAuditService.class);
+    private final ScanPreFilter preFilter = new ScanPreFilter(config, advanced, snapshots, scoring, confirmation, liquidity,
+            audits);
+
+    @Test
+    void shortSeriesIsLeftToFullEvaluation() {
+        assertThat(preFilter.reject("NSE:ABC-EQ", "5", candles(10))).isEmpty();
+        verifyNoInteractions(snapshots, liquidity);
+    }
+
+    @Test
+    void illiquidSymbolIsRejectedBeforeIndicators() {
+        advanced.getLiquidity().setGateEnabled(true);
+        when(liquidity.evaluate(anyString(), anyList(), anyDouble()))
+                .thenReturn(new LiquidityGateService.LiquidityDecision(false, "Spread too wide", 0.0, 1.0, 0.0));
+
+        Optional<DecisionResult> decision = preFilter.reject("NSE:ABC-EQ", "5", candles(60));
+
+        assertThat(decision).isPresent();
+        assertThat(decision.get().action()).isEqualTo(DecisionResult.DecisionAction.HOLD);
+        assertThat(decision.get().signalScore().diagnostics().getRejectionReasons())
+                .containsExactly(ScanRejectReason.LIQUIDITY_GATE);
+        verifyNoInteractions(snapshots);
+    }
+
+    @Test
+    void weakTrendIsRejectedWithStageFlags() {
+        stubIndicators(10.0, true);
+
+        Optional<DecisionResult> decision = preFilter.reject("NSE:ABC-EQ", "5", candles(60));
+
+        assertThat(decision).isPresent();
+        SignalDiagnostics diagnostics = decision.get().signalScore().diagnostics();
+        assertThat(diagnostics.isTrendPass()).isFalse();
+        assertThat(diagnostics.isVolumePass()).isTrue();
+        assertThat(diagnostics.isAtrPass()).isTrue();
+        assertThat(diagnostics.getRejectionReasons()).contains(ScanRejectReason.ADX_TOO_LOW);
+        verify(audits).record(eq("NSE:ABC-EQ"), eq("5"), eq("PRE_FILTER"), argThat(details ->
+                ((List<?>) details.get("rejections")).contains(ScanRejectReason.ADX_TOO_LOW.name())));
+    }
+
+    @Test
+    void symbolMeetingEveryConditionGoesThrough() {
+        stubIndicators(40.0, true);
+
+        assertThat(preFilter.reject("NSE:ABC-EQ", "5", candles(60))).isEmpty();
+        verifyNoInteractions(audits);
+    }
+
+    @Test
+    void snapshotIsKeyedOnTheScanTimeframe() {
+        stubIndicators(40.0, true);
+
+        preFilter.reject("NSE:ABC-EQ", "15", candles(60));
+
+        verify(snapshots).snapshot(eq("NSE:ABC-EQ"), eq("15"), anyList());
+    }
+
+    @Test
+    void disabledFilterPassesEverything() {
+        config.getScanner().setPreFilterEnabled(false);
+        stubIndicators(10.0, false);
+
+        assertThat(preFilter.reject("NSE:ABC-EQ", "5", candles(60))).isEmpty();
+    }
+
+    private void stubIndicators(double adx, boolean volumeConfirmed) {
+        StrategyConfig.Strategy strategy = config.getStrategy();
+        double rsi = (strategy.getRsiGoldilocksMin() + strategy.getRsiGoldilocksMax()) / 2.0;
+        double atrPercent = (strategy.getAtrMinPercent() + strategy.getAtrMaxPercent()) / 2.0;
+        IndicatorSnapshot snapshot = mock(IndicatorSnapshot.class);
+        when(snapshot.adx()).thenReturn(new AdxService.AdxResult(adx, 25.0, 10.0));
+        when(snapshot.rsi()).thenReturn(new RsiService.RsiResult(rsi));
+        when(snapshot.atr()).thenReturn(new AtrService.AtrResult(atrPercent, atrPercent));
+        when(snapshot.macd()).thenReturn(new MacdService.MacdResult(1.0, 0.5, strategy.getMacdHistogramMin() + 1.0,
+                strategy.getMacdMinMomentumScore() + 1.0));
+        when(snapshot.macdConfirmation()).thenReturn(new MacdConfirmationDto(1.0, 0.5, 0.5, true, false, false, false,
+                true, false, false, false));
+        when(snapshot.squeeze()).thenReturn(new SqueezeService.SqueezeResult(false, 0, 1.0));
+        when(snapshot.bollinger()).thenReturn(new BollingerBandService.BollingerBands(110.0, 100.0, 90.0, 20.0));
+        when(snapshots.snapshot(anyString(), anyString(), anyList())).thenReturn(snapshot);
+        when(confirmation.confirm(anyList())).thenReturn(new CandleConfirmationResult(true, false, volumeConfirmed));
+        when(scoring.score(any(IndicatorSnapshot.class))).thenReturn(new StrategyScoringService.ScoreBreakdown(
+                90.0, 18.0, 18.0, 18.0, 18.0, 18.0, 8.0, adx, rsi, atrPercent, atrPercent, false, 0, 1.0));
+    }
+
+    private static List<Candle> candles(int count) {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(5L * count);
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candles.add(Candle.builder().open(100).high(101).low(99).close(100).volume(10_000)
+                    .timestamp(start.plusMinutes(5L * i)).build());
+        }
+        return candles;
+    }
+}
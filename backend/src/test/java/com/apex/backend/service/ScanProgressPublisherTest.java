@@ -0,0 +1,107 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.dto.ScanProgressEvent;
+import com.apex.backend.dto.ScannerRunStatusResponse;
+import com.apex.backend.model.ScannerRun;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ScanProgressPublisherTest {
+
+    private final BroadcastService broadcastService = mock(BroadcastService.class);
+    private final ScanProgressPublisher publisher = new ScanProgressPublisher(broadcastService, new StrategyConfig());
+
+    @Test
+    void publishesEachSymbolToTheOwnerQueueAndKeepsTheLatestCounters() {
+        publisher.publish(7L, symbolEvent(1L, "NSE:AAA", 1));
+        publisher.publish(7L, symbolEvent(1L, "NSE:BBB", 2));
+
+        verify(broadcastService, times(2)).broadcastScanProgress(eq(7L), any(ScanProgressEvent.class));
+        assertThat(publisher.progress(1L)).get()
+                .extracting(ScanProgressEvent::getSymbol, ScanProgressEvent::getScannedSymbols)
+                .containsExactly("NSE:BBB", 2);
+    }
+
+    @Test
+    void terminalEventCarriesCountersAndClosesTheRun() {
+        publisher.publish(7L, symbolEvent(2L, "NSE:AAA", 1));
+        publisher.complete(7L, 2L, ScanProgressEvent.Type.COMPLETED, null);
+        publisher.publish(7L, symbolEvent(2L, "NSE:BBB", 2));
+
+        ArgumentCaptor<ScanProgressEvent> events = ArgumentCaptor.forClass(ScanProgressEvent.class);
+        verify(broadcastService, times(2)).broadcastScanProgress(eq(7L), events.capture());
+        ScanProgressEvent terminal = events.getAllValues().get(1);
+        assertThat(terminal.getType()).isEqualTo(ScanProgressEvent.Type.COMPLETED);
+        assertThat(terminal.getScannedSymbols()).isEqualTo(1);
+        assertThat(terminal.getTotalSymbols()).isEqualTo(3);
+        assertThat(terminal.getTimestamp()).isNotNull();
+    }
+
+    @Test
+    void releaseDropsTheRun() {
+        publisher.publish(7L, symbolEvent(3L, "NSE:AAA", 1));
+        publisher.release(3L);
+
+        assertThat(publisher.progress(3L)).isEmpty();
+    }
+
+    @Test
+    void finishedRunIsNotTracked() {
+        ScannerRunStatusResponse status = ScannerRunStatusResponse.builder()
+                .runId(4L)
+                .status(ScannerRun.Status.COMPLETED.name())
+                .build();
+
+        assertThat(publisher.subscribe(status, () -> status)).isNotNull();
+        assertThat(publisher.progress(4L)).isEmpty();
+        assertThat(publisher.isTracked(4L)).isFalse();
+        verify(broadcastService, never()).broadcastScanProgress(any(), any());
+    }
+
+    @Test
+    void subscriberArrivingAfterReleaseDoesNotReopenTheRun() {
+        publisher.publish(7L, symbolEvent(5L, "NSE:AAA", 1));
+        publisher.complete(7L, 5L, ScanProgressEvent.Type.COMPLETED, null);
+        publisher.release(5L);
+
+        assertThat(publisher.subscribe(status(5L, ScannerRun.Status.RUNNING), () -> status(5L, ScannerRun.Status.COMPLETED)))
+                .isNotNull();
+        assertThat(publisher.isTracked(5L)).isFalse();
+    }
+
+    @Test
+    void subscriberOfAPendingRunIsTrackedUntilRelease() {
+        publisher.subscribe(status(6L, ScannerRun.Status.PENDING), () -> status(6L, ScannerRun.Status.PENDING));
+        assertThat(publisher.isTracked(6L)).isTrue();
+
+        publisher.release(6L);
+        assertThat(publisher.isTracked(6L)).isFalse();
+    }
+
+    private static ScannerRunStatusResponse status(Long runId, ScannerRun.Status status) {
+        return ScannerRunStatusResponse.builder()
+                .runId(runId)
+                .status(status.name())
+                .build();
+    }
+
+    private static ScanProgressEvent symbolEvent(Long runId, String symbol, int scanned) {
+        return ScanProgressEvent.builder()
+                .runId(runId)
+                .type(ScanProgressEvent.Type.SYMBOL)
+                .symbol(symbol)
+                .outcome(ScanProgressEvent.Outcome.NO_SIGNAL)
+                .totalSymbols(3)
+                .scannedSymbols(scanned)
+                .build();
+    }
+}
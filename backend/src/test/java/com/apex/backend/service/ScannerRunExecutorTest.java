@@ -2,12 +2,15 @@ package com.apex.backend.service;
 
 import com.apex.backend.config.StrategyConfig;
 import com.apex.backend.dto.ScanDiagnosticsBreakdown;
+import com.apex.backend.dto.ScanProgressEvent;
 import com.apex.backend.dto.ScanResponse;
+import com.apex.backend.dto.ScanSignalResponse;
 import com.apex.backend.dto.ScannerRunRequest;
 import com.apex.backend.model.ScannerRun;
 import com.apex.backend.repository.ScannerRunRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -17,10 +20,15 @@ import org.springframework.context.annotation.TestConfiguration;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DataJpaTest
@@ -53,6 +61,12 @@ class ScannerRunExecutorTest {
     @MockBean
     private StrategyConfig strategyConfig;
 
+    @MockBean
+    private ScannerRunResultWriter scannerRunResultWriter;
+
+    @MockBean
+    private ScanProgressPublisher scanProgressPublisher;
+
     @Test
     void executeRunMarksFailedAndPersistsError() {
         StrategyConfig.Scanner scanner = new StrategyConfig.Scanner();
@@ -76,7 +90,7 @@ class ScannerRunExecutorTest {
                 .regime("BULL")
                 .build();
 
-        when(manualScanService.runManualScan(anyLong(), any()))
+        when(manualScanService.runManualScan(anyLong(), any(), any()))
                 .thenThrow(new RuntimeException("boom"));
 
         scannerRunExecutor.executeRun(run.getId(), 42L, "test-correlation", request);
@@ -186,7 +200,7 @@ class ScannerRunExecutorTest {
                 .signals(List.of())
                 .build();
 
-        when(manualScanService.runManualScan(anyLong(), any()))
+        when(manualScanService.runManualScan(anyLong(), any(), any()))
                 .thenReturn(response);
 
         ScannerRunRequest request = ScannerRunRequest.builder()
@@ -206,4 +220,50 @@ class ScannerRunExecutorTest {
         assertThat(updated.getRejectedStage1ReasonCounts()).isNotNull();
         assertThat(updated.getRejectedStage2ReasonCounts()).isNotNull();
     }
+
+    @Test
+    void executeRunFlushesSignalsInBatchesAsTheyArrive() {
+        StrategyConfig.Scanner scanner = new StrategyConfig.Scanner();
+        scanner.setEnabled(true);
+        scanner.setResultFlushBatchSize(2);
+        when(strategyConfig.getScanner()).thenReturn(scanner);
+        when(watchlistService.normalizeSymbols(List.of("NSE:AAA", "NSE:BBB", "NSE:CCC")))
+                .thenReturn(List.of("NSE:AAA", "NSE:BBB", "NSE:CCC"));
+
+        ScannerRun run = scannerRunRepository.save(ScannerRun.builder()
+                .userId(5L)
+                .status(ScannerRun.Status.PENDING)
+                .universeType(ScannerRunRequest.UniverseType.SYMBOLS.name())
+                .dryRun(true)
+                .mode(ScannerRunRequest.Mode.PAPER.name())
+                .createdAt(Instant.now())
+                .build());
+
+        when(manualScanService.runManualScan(anyLong(), any(), any())).thenAnswer(invocation -> {
+            Consumer<ScanProgressEvent> progress = invocation.getArgument(2);
+            for (String symbol : List.of("NSE:AAA", "NSE:BBB", "NSE:CCC")) {
+                progress.accept(ScanProgressEvent.builder()
+                        .type(ScanProgressEvent.Type.SYMBOL)
+                        .symbol(symbol)
+                        .outcome(ScanProgressEvent.Outcome.SIGNAL)
+                        .signal(ScanSignalResponse.builder().symbol(symbol).score(80.0).build())
+                        .build());
+            }
+            return ScanResponse.builder().signals(List.of()).build();
+        });
+
+        ScannerRunRequest request = ScannerRunRequest.builder()
+                .universeType(ScannerRunRequest.UniverseType.SYMBOLS)
+                .symbols(List.of("NSE:AAA", "NSE:BBB", "NSE:CCC"))
+                .timeframe("5")
+                .regime("BULL")
+                .build();
+
+        scannerRunExecutor.executeRun(run.getId(), 5L, "test-correlation", request);
+
+        ArgumentCaptor<List<ScanSignalResponse>> batches = ArgumentCaptor.captor();
+        verify(scannerRunResultWriter, times(2)).saveBatch(eq(run.getId()), batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        verify(scanProgressPublisher, times(3)).publish(eq(5L), argThat(event -> run.getId().equals(event.getRunId())));
+    }
 }
@@ -0,0 +1,187 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.dto.ScanProgressEvent;
+import com.apex.backend.dto.ScanResponse;
+import com.apex.backend.dto.ScanSignalResponse;
+import com.apex.backend.dto.ScannerRunRequest;
+import com.apex.backend.exception.ScanCancelledException;
+import com.apex.backend.model.ScannerRun;
+import com.apex.backend.repository.ScannerRunRepository;
+import com.apex.backend.repository.ScannerRunResultRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.TestConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the executor against the real result writer: its batches commit in their own transactions, so the test
+ * itself must not hold one open.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ScannerRunExecutor.class, ScannerRunResultWriter.class, ScannerRunService.class,
+        ScannerRunPartialResultsTest.TestConfig.class})
+class ScannerRunPartialResultsTest {
+
+    private static final List<String> SYMBOLS = List.of("NSE:AAA", "NSE:BBB", "NSE:CCC");
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean(name = "scannerExecutor")
+        Executor scannerExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    @Autowired
+    private ScannerRunRepository scannerRunRepository;
+
+    @Autowired
+    private ScannerRunResultRepository scannerRunResultRepository;
+
+    @Autowired
+    private ScannerRunExecutor scannerRunExecutor;
+
+    @Autowired
+    private ScannerRunService scannerRunService;
+
+    @MockBean
+    private ManualScanService manualScanService;
+
+    @MockBean
+    private WatchlistService watchlistService;
+
+    @MockBean
+    private StrategyConfig strategyConfig;
+
+    @MockBean
+    private ScanProgressPublisher scanProgressPublisher;
+
+    @MockBean
+    private ScanFanOut scanFanOut;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @Test
+    void failedRunKeepsNoPartialResults() {
+        ScannerRun run = pendingRun(11L);
+        scanWritesSignalsThenThrows(new RuntimeException("broker down"));
+
+        scannerRunExecutor.executeRun(run.getId(), 11L, "test-correlation", request());
+
+        assertThat(scannerRunRepository.findById(run.getId()).orElseThrow().getStatus())
+                .isEqualTo(ScannerRun.Status.FAILED);
+        assertThat(scannerRunResultRepository.findByRunIdOrderByScoreDesc(run.getId())).isEmpty();
+    }
+
+    @Test
+    void timedOutRunFailsAndKeepsNoPartialResults() {
+        ScannerRun run = pendingRun(12L);
+        scanWritesSignalsThenThrows(new ScanCancelledException("timed out"));
+
+        scannerRunExecutor.executeRun(run.getId(), 12L, "test-correlation", request());
+
+        assertThat(scannerRunRepository.findById(run.getId()).orElseThrow().getStatus())
+                .isEqualTo(ScannerRun.Status.FAILED);
+        assertThat(scannerRunResultRepository.findByRunIdOrderByScoreDesc(run.getId())).isEmpty();
+    }
+
+    @Test
+    void userCancelEndsTheRunCancelledNotFailed() {
+        ScannerRun run = pendingRun(13L);
+        when(scanFanOut.cancel(String.valueOf(run.getId()))).thenReturn(true);
+        // The cancel request commits on its own thread while the scan is running; the fan-out then stops the scan
+        scanWritesSignalsThen(() -> {
+            CompletableFuture.runAsync(() -> scannerRunService.cancel(13L, run.getId())).join();
+            throw new ScanCancelledException(ScanFanOut.CANCELLED);
+        });
+
+        scannerRunExecutor.executeRun(run.getId(), 13L, "test-correlation", request());
+
+        ScannerRun updated = scannerRunRepository.findById(run.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(ScannerRun.Status.CANCELLED);
+        assertThat(updated.getCompletedAt()).isNotNull();
+        assertThat(scannerRunResultRepository.findByRunIdOrderByScoreDesc(run.getId())).isEmpty();
+        InOrder order = inOrder(scanProgressPublisher, scanFanOut);
+        order.verify(scanProgressPublisher).complete(13L, run.getId(), ScanProgressEvent.Type.CANCELLED, null);
+        order.verify(scanFanOut).cancel(String.valueOf(run.getId()));
+        verify(scanProgressPublisher, never())
+                .complete(eq(13L), eq(run.getId()), eq(ScanProgressEvent.Type.FAILED), any());
+    }
+
+    private void scanWritesSignalsThenThrows(RuntimeException failure) {
+        scanWritesSignalsThen(() -> {
+            throw failure;
+        });
+    }
+
+    private void scanWritesSignalsThen(Runnable end) {
+        StrategyConfig.Scanner scanner = new StrategyConfig.Scanner();
+        scanner.setEnabled(true);
+        scanner.setResultFlushBatchSize(1);
+        when(strategyConfig.getScanner()).thenReturn(scanner);
+        when(watchlistService.normalizeSymbols(SYMBOLS)).thenReturn(SYMBOLS);
+        when(manualScanService.runManualScan(anyLong(), any(), any())).thenAnswer(invocation -> {
+            Consumer<ScanProgressEvent> progress = invocation.getArgument(2);
+            for (String symbol : SYMBOLS.subList(0, 2)) {
+                progress.accept(ScanProgressEvent.builder()
+                        .type(ScanProgressEvent.Type.SYMBOL)
+                        .symbol(symbol)
+                        .outcome(ScanProgressEvent.Outcome.SIGNAL)
+                        .signal(ScanSignalResponse.builder().symbol(symbol).score(80.0).build())
+                        .build());
+            }
+            end.run();
+            return ScanResponse.builder().signals(List.of()).build();
+        });
+    }
+
+    private ScannerRun pendingRun(Long userId) {
+        return scannerRunRepository.save(ScannerRun.builder()
+                .userId(userId)
+                .status(ScannerRun.Status.PENDING)
+                .universeType(ScannerRunRequest.UniverseType.SYMBOLS.name())
+                .dryRun(true)
+                .mode(ScannerRunRequest.Mode.PAPER.name())
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private static ScannerRunRequest request() {
+        return ScannerRunRequest.builder()
+                .universeType(ScannerRunRequest.UniverseType.SYMBOLS)
+                .symbols(SYMBOLS)
+                .timeframe("5")
+                .regime("BULL")
+                .build();
+    }
+}
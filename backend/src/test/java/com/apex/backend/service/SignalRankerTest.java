@@ -0,0 +1,90 @@
+package com.apex.backend.service;
+
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.trading.pipeline.DecisionResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignalRankerTest {
+
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    void keepsOnlyTheBestCandidatesAndDrainsThemBestFirst() {
+        SignalRanker ranker = new SignalRanker(2, Double.POSITIVE_INFINITY, decision -> executed.add(decision.symbol()));
+
+        ranker.offer(candidate("NSE:AAA", 70));
+        ranker.offer(candidate("NSE:BBB", 85));
+        ranker.offer(candidate("NSE:CCC", 60));
+        ranker.offer(candidate("NSE:DDD", 80));
+
+        assertThat(executed).isEmpty();
+        assertThat(ranker.drain()).isEqualTo(2);
+        assertThat(executed).containsExactly("NSE:BBB", "NSE:DDD");
+        assertThat(ranker.offered()).isEqualTo(4);
+    }
+
+    @Test
+    void topGradeFiresOnArrivalAndTakesASlot() {
+        SignalRanker ranker = new SignalRanker(2, 90, decision -> executed.add(decision.symbol()));
+
+        assertThat(ranker.offer(candidate("NSE:AAA", 75))).isFalse();
+        assertThat(ranker.offer(candidate("NSE:BBB", 80))).isFalse();
+        assertThat(ranker.offer(candidate("NSE:TOP", 95))).isTrue();
+        assertThat(executed).containsExactly("NSE:TOP");
+
+        ranker.drain();
+        assertThat(executed).containsExactly("NSE:TOP", "NSE:BBB");
+        assertThat(ranker.executed()).isEqualTo(2);
+    }
+
+    @Test
+    void nothingFiresOnceSlotsAreUsed() {
+        SignalRanker ranker = new SignalRanker(1, 90, decision -> executed.add(decision.symbol()));
+
+        assertThat(ranker.offer(candidate("NSE:TOP", 95))).isTrue();
+        assertThat(ranker.offer(candidate("NSE:NEXT", 99))).isFalse();
+        assertThat(ranker.drain()).isZero();
+        assertThat(executed).containsExactly("NSE:TOP");
+    }
+
+    @Test
+    void aFailingActionIsCountedAndTheScanCarriesOn() {
+        SignalRanker ranker = new SignalRanker(3, 90, decision -> {
+            if (decision.symbol().equals("NSE:BAD")) {
+                throw new IllegalStateException("broker rejected");
+            }
+            executed.add(decision.symbol());
+        });
+
+        assertThat(ranker.offer(candidate("NSE:BAD", 95))).isTrue();
+        assertThat(ranker.offer(candidate("NSE:TOP", 92))).isTrue();
+        ranker.offer(candidate("NSE:AAA", 70));
+
+        assertThat(ranker.drain()).isEqualTo(1);
+        assertThat(executed).containsExactly("NSE:TOP", "NSE:AAA");
+        assertThat(ranker.failed()).isEqualTo(1);
+        assertThat(ranker.executed()).isEqualTo(3);
+    }
+
+    @Test
+    void earlyFireScoreFollowsTopGradeAndCanBeDisabled() {
+        StrategyConfig config = new StrategyConfig();
+        config.getStrategy().setGradeAaaThreshold(90);
+        assertThat(SignalRanker.earlyFireScore(config)).isEqualTo(90.0);
+
+        config.getScanner().setEarlyFireMinScore(95.0);
+        assertThat(SignalRanker.earlyFireScore(config)).isEqualTo(95.0);
+
+        config.getScanner().setEarlyFireEnabled(false);
+        assertThat(SignalRanker.earlyFireScore(config)).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    private static DecisionResult candidate(String symbol, double score) {
+        return new DecisionResult(symbol, DecisionResult.DecisionAction.BUY, score, List.of(), null, null, null, null);
+    }
+}
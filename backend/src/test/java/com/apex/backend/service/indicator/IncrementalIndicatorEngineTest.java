@@ -0,0 +1,172 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.config.StrategyProperties;
+import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
+import com.apex.backend.util.TestCandleFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class IncrementalIndicatorEngineTest {
+
+    private static final int WINDOW = 300;
+    // A sliding window drops bars the running state has already absorbed. Wilder and EMA smoothing forget them at
+    // (1 - 1/period)^WINDOW per bar, about 1e-10 after 300 bars, so the two paths agree well inside this bound
+    private static final double WINDOW_TOLERANCE = 1e-6;
+
+    @Test
+    void growingSeriesMatchesBatchReplay() {
+        StrategyProperties properties = new StrategyProperties();
+        RsiService rsiService = new RsiService(properties);
+        AdxService adxService = new AdxService(properties);
+        MacdService macdService = new MacdService(properties);
+        AtrService atrService = new AtrService(properties);
+        List<Candle> candles = TestCandleFactory.oscillatingCandles(150, 100, 4.0);
+
+        for (int size = 2; size <= candles.size(); size++) {
+            CandleSeries series = CandleSeries.of(candles.subList(0, size));
+            assertThat(rsiService.calculate("INFY", "5", series).rsi())
+                    .isCloseTo(rsiService.calculate(series).rsi(), within(1e-9));
+            assertThat(adxService.calculate("INFY", "5", series).adx())
+                    .isCloseTo(adxService.calculate(series).adx(), within(1e-9));
+            assertThat(macdService.calculate("INFY", "5", series).histogram())
+                    .isCloseTo(macdService.calculate(series).histogram(), within(1e-9));
+            assertThat(atrService.calculate("INFY", "5", series).atr())
+                    .isCloseTo(atrService.calculate(series).atr(), within(1e-9));
+        }
+    }
+
+    @Test
+    void formingBarIsNotCommitted() {
+        IncrementalIndicatorEngine<RsiState> engine = new IncrementalIndicatorEngine<>();
+        List<Candle> candles = new ArrayList<>(TestCandleFactory.trendingCandles(40, 100, 1.0));
+        String key = IncrementalIndicatorEngine.key("INFY", "5", 14);
+
+        engine.evaluate(key, CandleSeries.of(candles), () -> new RsiState(14), RsiState::rsi);
+        Candle forming = candles.get(candles.size() - 1);
+        candles.set(candles.size() - 1, new Candle(forming.getOpen(), forming.getHigh(), forming.getLow() - 30,
+                forming.getClose() - 30, forming.getVolume(), forming.getTimestamp()));
+        CandleSeries revised = CandleSeries.of(candles);
+        double rsi = engine.evaluate(key, revised, () -> new RsiState(14), RsiState::rsi);
+
+        assertThat(rsi).isCloseTo(IncrementalIndicatorEngine.replay(new RsiState(14), revised).rsi(), within(1e-9));
+        assertThat(engine.replayCount()).isEqualTo(1);
+        assertThat(engine.incrementalCount()).isEqualTo(1);
+    }
+
+    @Test
+    void revisedFormingBarsLeaveWindowedStateIntact() {
+        IncrementalIndicatorEngine<VolShockState> engine = new IncrementalIndicatorEngine<>();
+        List<Candle> candles = new ArrayList<>(TestCandleFactory.oscillatingCandles(80, 100, 4.0));
+        String key = IncrementalIndicatorEngine.key("INFY", "5", 14, 20);
+
+        for (int revision = 1; revision <= 5; revision++) {
+            Candle forming = candles.get(candles.size() - 1);
+            candles.set(candles.size() - 1, new Candle(forming.getOpen(), forming.getHigh() + revision,
+                    forming.getLow(), forming.getClose() + revision, forming.getVolume(), forming.getTimestamp()));
+            CandleSeries series = CandleSeries.of(candles);
+            double median = engine.evaluate(key, series, () -> new VolShockState(14, 20), VolShockState::medianAtrPct);
+
+            assertThat(median).isCloseTo(
+                    IncrementalIndicatorEngine.replay(new VolShockState(14, 20), series).medianAtrPct(), within(1e-9));
+        }
+        assertThat(engine.replayCount()).isEqualTo(1);
+    }
+
+    @Test
+    void correctedHistoryTriggersReplay() {
+        IncrementalIndicatorEngine<AtrState> engine = new IncrementalIndicatorEngine<>();
+        List<Candle> candles = new ArrayList<>(TestCandleFactory.trendingCandles(40, 100, 1.0));
+        String key = IncrementalIndicatorEngine.key("INFY", "5", 14);
+        engine.evaluate(key, CandleSeries.of(candles), () -> new AtrState(14), AtrState::atr);
+
+        List<Candle> adjusted = candles.stream()
+                .map(c -> new Candle(c.getOpen() / 2, c.getHigh() / 2, c.getLow() / 2, c.getClose() / 2,
+                        c.getVolume(), c.getTimestamp()))
+                .toList();
+        CandleSeries series = CandleSeries.of(adjusted);
+        double atr = engine.evaluate(key, series, () -> new AtrState(14), AtrState::atr);
+
+        assertThat(engine.replayCount()).isEqualTo(2);
+        assertThat(atr).isCloseTo(IncrementalIndicatorEngine.replay(new AtrState(14), series).atr(), within(1e-9));
+    }
+
+    @Test
+    void randomSlidingWindowsMatchFullRecompute() {
+        StrategyProperties properties = new StrategyProperties();
+        RsiService rsiService = new RsiService(properties);
+        AdxService adxService = new AdxService(properties);
+        MacdService macdService = new MacdService(properties);
+        AtrService atrService = new AtrService(properties);
+
+        for (long seed = 1; seed <= 8; seed++) {
+            Random random = new Random(seed);
+            List<Candle> bars = randomWalk(random, 900);
+            String symbol = "SEED" + seed;
+            int end = WINDOW;
+            while (end < bars.size()) {
+                int roll = random.nextInt(100);
+                if (roll < 70) {
+                    end++;
+                } else if (roll < 80) {
+                    end += 2 + random.nextInt(4);
+                } else if (roll >= 97) {
+                    bars = rescaled(bars, 0.5 + random.nextDouble());
+                }
+                end = Math.min(end, bars.size());
+                List<Candle> window = new ArrayList<>(bars.subList(end - WINDOW, end));
+                if (random.nextBoolean()) {
+                    window.set(WINDOW - 1, revised(window.get(WINDOW - 1), random));
+                }
+                CandleSeries series = CandleSeries.of(window);
+                String step = "seed " + seed + ", window ending at bar " + end;
+
+                assertThat(rsiService.calculate(symbol, "5", series).rsi()).as(step)
+                        .isCloseTo(rsiService.calculate(series).rsi(), within(WINDOW_TOLERANCE));
+                assertThat(adxService.calculate(symbol, "5", series).adx()).as(step)
+                        .isCloseTo(adxService.calculate(series).adx(), within(WINDOW_TOLERANCE));
+                assertThat(macdService.calculate(symbol, "5", series).histogram()).as(step)
+                        .isCloseTo(macdService.calculate(series).histogram(), within(WINDOW_TOLERANCE));
+                assertThat(atrService.calculate(symbol, "5", series).atr()).as(step)
+                        .isCloseTo(atrService.calculate(series).atr(), within(WINDOW_TOLERANCE));
+            }
+        }
+    }
+
+    private static List<Candle> randomWalk(Random random, int count) {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 2, 9, 15);
+        List<Candle> candles = new ArrayList<>(count);
+        double previous = 100.0;
+        for (int i = 0; i < count; i++) {
+            double close = Math.max(5.0, previous + random.nextGaussian());
+            double high = Math.max(previous, close) + Math.abs(random.nextGaussian()) * 0.5;
+            double low = Math.max(1.0, Math.min(previous, close) - Math.abs(random.nextGaussian()) * 0.5);
+            candles.add(new Candle(previous, high, low, close, 1000L + random.nextInt(4000), start.plusMinutes(5L * i)));
+            previous = close;
+        }
+        return candles;
+    }
+
+    /**
+     * The same bar seen earlier in its life: a different last price inside a possibly wider range.
+     */
+    private static Candle revised(Candle bar, Random random) {
+        double close = bar.getClose() + random.nextGaussian() * 0.3;
+        return new Candle(bar.getOpen(), Math.max(bar.getHigh(), close), Math.min(bar.getLow(), close), close,
+                bar.getVolume(), bar.getTimestamp());
+    }
+
+    private static List<Candle> rescaled(List<Candle> bars, double factor) {
+        return bars.stream()
+                .map(c -> new Candle(c.getOpen() * factor, c.getHigh() * factor, c.getLow() * factor,
+                        c.getClose() * factor, c.getVolume(), c.getTimestamp()))
+                .toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.config.StrategyProperties;
+import com.apex.backend.model.Candle;
+import com.apex.backend.model.CandleSeries;
+import com.apex.backend.util.TestCandleFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class IndicatorMathTest {
+
+    @Test
+    void viewsShareBarsWithoutCopying() {
+        List<Candle> candles = TestCandleFactory.trendingCandles(50, 100, 1.0);
+        CandleSeries series = CandleSeries.of(candles);
+
+        CandleSeries tail = series.tail(10);
+        CandleSeries inner = tail.view(2, 5);
+
+        assertThat(tail.size()).isEqualTo(10);
+        assertThat(tail.close(0)).isEqualTo(candles.get(40).getClose());
+        assertThat(inner.size()).isEqualTo(3);
+        assertThat(inner.close(0)).isEqualTo(candles.get(42).getClose());
+        assertThat(series.tail(100)).isSameAs(series);
+    }
+
+    @Test
+    void emaLeavesUnseededPointsUndefined() {
+        CandleSeries series = CandleSeries.of(TestCandleFactory.trendingCandles(5, 10, 1.0));
+
+        double[] ema = IndicatorMath.closeEma(series, 3);
+
+        assertThat(ema[0]).isNaN();
+        assertThat(ema[1]).isNaN();
+        assertThat(ema[2]).isCloseTo((series.close(0) + series.close(1) + series.close(2)) / 3, within(1e-9));
+        assertThat(ema[4]).isCloseTo(IndicatorMath.lastCloseEma(series, 3), within(1e-9));
+    }
+
+    @Test
+    void seriesOverloadsMatchListResults() {
+        StrategyProperties properties = new StrategyProperties();
+        List<Candle> candles = TestCandleFactory.oscillatingCandles(120, 100, 3.0);
+        CandleSeries series = CandleSeries.of(candles);
+        AtrService atrService = new AtrService(properties);
+        MacdService macdService = new MacdService(properties);
+
+        assertThat(atrService.calculate(series.tail(60)).atr())
+                .isCloseTo(atrService.calculate(candles.subList(60, 120)).atr(), within(1e-9));
+        assertThat(macdService.calculate(series).histogram())
+                .isCloseTo(macdService.calculate(candles).histogram(), within(1e-9));
+        assertThat(macdService.calculateSeries(candles).histogram().get(0)).isNull();
+    }
+}
@@ -0,0 +1,51 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.config.AdvancedTradingProperties;
+import com.apex.backend.config.StrategyProperties;
+import com.apex.backend.model.Candle;
+import com.apex.backend.util.TestCandleFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class IndicatorSnapshotServiceTest {
+
+    private final StrategyProperties properties = new StrategyProperties();
+    private final AdvancedTradingProperties advanced = new AdvancedTradingProperties();
+    private final MacdService macdService = new MacdService(properties);
+    private final AtrService atrService = new AtrService(properties);
+    private final IndicatorSnapshotService service = new IndicatorSnapshotService(properties, advanced, macdService,
+            new MacdConfirmationService(macdService, advanced), new AdxService(properties), new RsiService(properties),
+            atrService, new SqueezeService(properties), new BollingerBandService(properties));
+
+    @Test
+    void sameBarSharesOneSnapshot() {
+        List<Candle> candles = TestCandleFactory.oscillatingCandles(80, 100, 2.0);
+
+        IndicatorSnapshot first = service.snapshot("INFY", "5", candles);
+        IndicatorSnapshot second = service.snapshot("INFY", "5", List.copyOf(candles));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.atr()).isSameAs(first.atr());
+        assertThat(first.atr().atr()).isCloseTo(atrService.calculate(candles).atr(), within(1e-9));
+        assertThat(service.hitCount()).isEqualTo(1);
+        assertThat(service.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void newBarOrParameterChangeBuildsFreshSnapshot() {
+        List<Candle> candles = TestCandleFactory.oscillatingCandles(81, 100, 2.0);
+
+        IndicatorSnapshot first = service.snapshot("INFY", "5", candles.subList(0, 80));
+        IndicatorSnapshot next = service.snapshot("INFY", "5", candles);
+        properties.getAtr().setPeriod(properties.getAtr().getPeriod() + 1);
+        IndicatorSnapshot retuned = service.snapshot("INFY", "5", candles);
+
+        assertThat(next).isNotSameAs(first);
+        assertThat(retuned).isNotSameAs(next);
+        assertThat(service.missCount()).isEqualTo(3);
+    }
+}
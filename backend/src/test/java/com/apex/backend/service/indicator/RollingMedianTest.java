@@ -0,0 +1,60 @@
+package com.apex.backend.service.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingMedianTest {
+
+    @Test
+    void matchesSortedWindowAsValuesSlideOut() {
+        Random random = new Random(42);
+        for (int capacity : new int[] {1, 2, 5, 20}) {
+            RollingMedian median = new RollingMedian(capacity);
+            List<Double> seen = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                // Mix of repeated integers and continuous values to exercise ties
+                double value = i % 3 == 0 ? random.nextInt(4) : random.nextGaussian();
+                median.add(value);
+                seen.add(value);
+
+                assertThat(median.median()).isEqualTo(sortedMedian(seen, capacity));
+                assertThat(median.size()).isEqualTo(Math.min(seen.size(), capacity));
+            }
+        }
+    }
+
+    @Test
+    void removeLastRestoresTheWindow() {
+        RollingMedian median = new RollingMedian(3);
+        median.add(1.0);
+        median.add(2.0);
+        median.add(3.0);
+
+        median.add(10.0);
+        assertThat(median.median()).isEqualTo(3.0);
+        median.removeLast();
+        assertThat(median.median()).isEqualTo(2.0);
+        assertThat(median.size()).isEqualTo(3);
+
+        median.add(0.5);
+        assertThat(median.median()).isEqualTo(2.0);
+        median.removeLast();
+        median.add(4.0);
+        assertThat(median.median()).isEqualTo(3.0);
+    }
+
+    private double sortedMedian(List<Double> values, int window) {
+        double[] subset = values.subList(Math.max(0, values.size() - window), values.size()).stream()
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+        Arrays.sort(subset);
+        int mid = subset.length / 2;
+        return subset.length % 2 == 0 ? (subset[mid - 1] + subset[mid]) / 2.0 : subset[mid];
+    }
+}
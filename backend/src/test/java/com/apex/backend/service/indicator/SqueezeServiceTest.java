@@ -0,0 +1,56 @@
+package com.apex.backend.service.indicator;
+
+import com.apex.backend.config.StrategyProperties;
+import com.apex.backend.model.CandleSeries;
+import com.apex.backend.util.TestCandleFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SqueezeServiceTest {
+
+    private final StrategyProperties properties = new StrategyProperties();
+    private final SqueezeService squeezeService = new SqueezeService(properties);
+    private final BollingerBandService bollingerBandService = new BollingerBandService(properties);
+    private final KeltnerChannelService keltnerChannelService =
+            new KeltnerChannelService(properties, new AtrService(properties));
+
+    @Test
+    void rollingWindowsMatchPerBarBandsAndChannels() {
+        CandleSeries series = CandleSeries.of(TestCandleFactory.oscillatingCandles(100, 180, 1.5));
+
+        for (int size = 1; size <= series.size(); size++) {
+            CandleSeries prefix = series.view(0, size);
+            SqueezeService.SqueezeResult expected = bruteForce(prefix);
+            SqueezeService.SqueezeResult actual = squeezeService.detect(prefix);
+            SqueezeService.SqueezeResult incremental = squeezeService.detect("INFY", "5", prefix);
+
+            assertThat(actual.bars()).isEqualTo(expected.bars());
+            assertThat(actual.squeeze()).isEqualTo(expected.squeeze());
+            assertThat(actual.ratio()).isCloseTo(expected.ratio(), within(1e-9));
+            assertThat(incremental).isEqualTo(actual);
+        }
+    }
+
+    private SqueezeService.SqueezeResult bruteForce(CandleSeries candles) {
+        int count = 0;
+        double lastRatio = 0;
+        for (int i = candles.size() - 1; i >= 0; i--) {
+            BollingerBandService.BollingerBands bands = bollingerBandService.calculate(candles, i);
+            KeltnerChannelService.KeltnerChannel channel = keltnerChannelService.calculate(candles, i);
+            if (bands.width() == 0 || channel.width() == 0) {
+                break;
+            }
+            double ratio = bands.width() / channel.width();
+            if (bands.upper() < channel.upper() && bands.lower() > channel.lower()
+                    && ratio < properties.getSqueeze().getTightThreshold()) {
+                count++;
+                lastRatio = ratio;
+            } else {
+                break;
+            }
+        }
+        return new SqueezeService.SqueezeResult(count >= properties.getSqueeze().getMinBars(), count, lastRatio);
+    }
+}
@@ -0,0 +1,148 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.config.MarketDataProperties;
+import com.apex.backend.event.BarClosedEvent;
+import com.apex.backend.model.Candle;
+import com.apex.backend.util.ExchangeTime;
+import com.apex.backend.util.MoneyUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class BarAggregatorTest {
+
+    // 2025-01-02 09:15:00 IST, on a 5-minute boundary
+    private static final Instant OPEN = Instant.parse("2025-01-02T03:45:00Z");
+    private static final String SYMBOL = "NSE:SBIN-EQ";
+
+    private CandleStore candleStore;
+    private ApplicationEventPublisher eventPublisher;
+    private BarAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        candleStore = mock(CandleStore.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        aggregator = new BarAggregator(mock(MarketTickBus.class), candleStore, new MarketDataProperties(), eventPublisher);
+    }
+
+    @Test
+    void buildsOhlcvAndClosesOnFirstTickOfNextBar() {
+        aggregator.onTick(tick(OPEN.minusSeconds(30), 100.0, 10_000));
+        aggregator.onTick(tick(OPEN.plusSeconds(1), 100.0, 10_000));
+        aggregator.onTick(tick(OPEN.plusSeconds(20), 103.0, 10_400));
+        aggregator.onTick(tick(OPEN.plusSeconds(40), 99.0, 10_500));
+        aggregator.onTick(tick(OPEN.plusSeconds(59), 101.0, 10_550));
+
+        Candle forming = aggregator.formingBar(SYMBOL, 1);
+        assertThat(forming.getOpen()).isEqualTo(100.0);
+        assertThat(forming.getHigh()).isEqualTo(103.0);
+        assertThat(forming.getLow()).isEqualTo(99.0);
+        assertThat(forming.getClose()).isEqualTo(101.0);
+        assertThat(forming.getVolume()).isEqualTo(550L);
+        verify(candleStore, never()).appendLive(any(), any(), any(), anyLong());
+
+        aggregator.onTick(tick(OPEN.plusSeconds(61), 102.0, 10_600));
+
+        ArgumentCaptor<Candle> stored = ArgumentCaptor.forClass(Candle.class);
+        verify(candleStore).appendLive(eq(SYMBOL), eq("1"), stored.capture(), eq(60L));
+        assertThat(stored.getValue().getTimestamp()).isEqualTo(ExchangeTime.toLocalDateTime(OPEN.getEpochSecond()));
+        assertThat(stored.getValue().getClose()).isEqualTo(101.0);
+        ArgumentCaptor<BarClosedEvent> event = ArgumentCaptor.forClass(BarClosedEvent.class);
+        verify(eventPublisher, timeout(1000)).publishEvent(event.capture());
+        assertThat(event.getValue().resolution()).isEqualTo("1");
+        assertThat(aggregator.formingBar(SYMBOL, 5).getVolume()).isEqualTo(600L);
+    }
+
+    @Test
+    void lateTicksAreDroppedOnlyForClosedBars() {
+        aggregator.onTick(tick(OPEN.minusSeconds(30), 100.0, 0));
+        aggregator.onTick(tick(OPEN.plusSeconds(5), 100.0, 0));
+        aggregator.onTick(tick(OPEN.plusSeconds(65), 101.0, 0));
+        aggregator.onTick(tick(OPEN.plusSeconds(30), 90.0, 0));
+
+        assertThat(aggregator.formingBar(SYMBOL, 1).getLow()).isEqualTo(101.0);
+        assertThat(aggregator.formingBar(SYMBOL, 5).getLow()).isEqualTo(90.0);
+        assertThat(aggregator.closedBarCount()).isEqualTo(1);
+    }
+
+    @Test
+    void firstBucketIsNeverStoredOrPublished() {
+        aggregator.onTick(tick(OPEN.plusSeconds(30), 100.0, 0));
+
+        assertThat(aggregator.formingBar(SYMBOL, 1)).isNull();
+
+        aggregator.onTick(tick(OPEN.plusSeconds(61), 101.0, 0));
+
+        assertThat(aggregator.formingBar(SYMBOL, 1).getOpen()).isEqualTo(101.0);
+        assertThat(aggregator.formingBar(SYMBOL, 5)).isNull();
+        assertThat(aggregator.closedBarCount()).isZero();
+        verify(candleStore, never()).appendLive(any(), any(), any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(BarClosedEvent.class));
+    }
+
+    @Test
+    void sweepClosesBarsThatStoppedTicking() {
+        Instant stale = Instant.now().minusSeconds(1200);
+        aggregator.onTick(tick(stale, 100.0, 0));
+        aggregator.onTick(tick(stale.plusSeconds(300), 100.0, 0));
+
+        aggregator.closeExpiredBars();
+
+        assertThat(aggregator.formingBar(SYMBOL, 1)).isNull();
+        assertThat(aggregator.formingBar(SYMBOL, 5)).isNull();
+        verify(eventPublisher, timeout(1000).times(2)).publishEvent(any(BarClosedEvent.class));
+        List.of("1", "5").forEach(resolution ->
+                verify(candleStore).appendLive(eq(SYMBOL), eq(resolution), any(Candle.class), anyLong()));
+    }
+
+    @Test
+    void hourBarsStartAtTheSessionOpen() {
+        MarketDataProperties properties = new MarketDataProperties();
+        properties.getLiveBars().setTimeframes(List.of(60));
+        aggregator = new BarAggregator(mock(MarketTickBus.class), candleStore, properties, eventPublisher);
+
+        aggregator.onTick(tick(OPEN.minusSeconds(30), 100.0, 0));
+        aggregator.onTick(tick(OPEN.plusSeconds(300), 101.0, 0));
+        // 10:10 IST is a new clock hour but still the 09:15 bar
+        aggregator.onTick(tick(OPEN.plusSeconds(55 * 60), 104.0, 0));
+
+        Candle forming = aggregator.formingBar(SYMBOL, 60);
+        assertThat(forming.getTimestamp()).isEqualTo(ExchangeTime.toLocalDateTime(OPEN.getEpochSecond()));
+        assertThat(forming.getOpen()).isEqualTo(101.0);
+        assertThat(forming.getClose()).isEqualTo(104.0);
+
+        aggregator.onTick(tick(OPEN.plusSeconds(61 * 60), 105.0, 0));
+
+        ArgumentCaptor<Candle> stored = ArgumentCaptor.forClass(Candle.class);
+        verify(candleStore).appendLive(eq(SYMBOL), eq("60"), stored.capture(), eq(3600L));
+        assertThat(stored.getValue().getTimestamp()).isEqualTo(ExchangeTime.toLocalDateTime(OPEN.getEpochSecond()));
+    }
+
+    @Test
+    void unsupportedTimeframeFailsStartup() {
+        MarketDataProperties properties = new MarketDataProperties();
+        properties.getLiveBars().setTimeframes(List.of(1, 7));
+        BarAggregator misconfigured = new BarAggregator(mock(MarketTickBus.class), candleStore, properties, eventPublisher);
+
+        assertThatThrownBy(misconfigured::start).isInstanceOf(IllegalStateException.class).hasMessageContaining("7m");
+    }
+
+    private FyersTick tick(Instant at, double price, long sessionVolume) {
+        return new FyersTick(SYMBOL, MoneyUtils.bd(price), MoneyUtils.ZERO, MoneyUtils.ZERO, at, sessionVolume);
+    }
+}
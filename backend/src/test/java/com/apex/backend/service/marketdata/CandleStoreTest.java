@@ -0,0 +1,91 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.config.MarketDataProperties;
+import com.apex.backend.model.Candle;
+import com.apex.backend.util.ExchangeTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void appendsNewBarsAndReplacesFormingBar() {
+        CandleStore store = new CandleStore(properties(128));
+        LocalDateTime start = LocalDateTime.of(2024, 1, 2, 9, 15);
+        store.append("NSE:ABC-EQ", "5", bars(start, 10, 100));
+
+        List<Candle> update = new ArrayList<>();
+        update.add(new Candle(109, 112, 108, 111, 500L, start.plusMinutes(45)));
+        update.add(new Candle(111, 113, 110, 112, 600L, start.plusMinutes(50)));
+        store.append("NSE:ABC-EQ", "5", update);
+
+        List<Candle> candles = store.read("NSE:ABC-EQ", "5", 50);
+        assertThat(candles).hasSize(11);
+        assertThat(candles.get(9).getClose()).isEqualTo(111);
+        assertThat(candles.get(10).getTimestamp()).isEqualTo(start.plusMinutes(50));
+        assertThat(store.read("NSE:ABC-EQ", "5", 3)).extracting(Candle::getVolume).containsExactly(1008L, 500L, 600L);
+    }
+
+    @Test
+    void brokerFormingBarIsNotStoredAndLiveBarsOnlyExtendTheSeries() {
+        CandleStore store = new CandleStore(properties(128));
+        LocalDateTime start = LocalDateTime.of(2024, 1, 2, 9, 15);
+        List<Candle> history = bars(start, 10, 100);
+        long formingEnd = ExchangeTime.toEpochSecond(start.plusMinutes(50));
+        store.appendClosed("NSE:ABC-EQ", "5", history, 300, formingEnd - 1);
+
+        assertThat(store.read("NSE:ABC-EQ", "5", 50)).hasSize(9);
+
+        Candle complete = history.get(8);
+        Candle rebuilt = new Candle(1, 1, 1, 1, 1L, complete.getTimestamp());
+        assertThat(store.appendLive("NSE:ABC-EQ", "5", rebuilt, 300)).isFalse();
+        assertThat(store.appendLive("NSE:ABC-EQ", "5", new Candle(2, 2, 2, 2, 2L, start.plusMinutes(55)), 300)).isFalse();
+        assertThat(store.appendLive("NSE:ABC-EQ", "5", history.get(9), 300)).isTrue();
+
+        List<Candle> candles = store.read("NSE:ABC-EQ", "5", 2);
+        assertThat(candles).extracting(Candle::getClose).containsExactly(complete.getClose(), history.get(9).getClose());
+        assertThat(store.isFresh("NSE:ABC-EQ", "5", 60000)).isTrue();
+    }
+
+    @Test
+    void survivesReopenAndCompactsWhenFull() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 2, 9, 15);
+        CandleStore first = new CandleStore(properties(64));
+        first.append("NSE:ABC-EQ", "5", bars(start, 70, 100));
+        first.markSynced("NSE:ABC-EQ", "5");
+        first.flush();
+
+        CandleStore reopened = new CandleStore(properties(64));
+        List<Candle> candles = reopened.read("NSE:ABC-EQ", "5", 100);
+        assertThat(candles).hasSize(38);
+        assertThat(candles.get(candles.size() - 1).getTimestamp()).isEqualTo(start.plusMinutes(69 * 5L));
+        assertThat(reopened.isFresh("NSE:ABC-EQ", "5", 60000)).isTrue();
+        assertThat(reopened.isFresh("NSE:ABC-EQ", "15", 60000)).isFalse();
+    }
+
+    private MarketDataProperties properties(int capacity) {
+        MarketDataProperties properties = new MarketDataProperties();
+        properties.getStore().setDirectory(tempDir.toString());
+        properties.getStore().setCapacity(capacity);
+        return properties;
+    }
+
+    private List<Candle> bars(LocalDateTime start, int count, double base) {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double price = base + i;
+            candles.add(new Candle(price, price + 1, price - 1, price + 0.5, 1000L + i, start.plusMinutes(i * 5L)));
+        }
+        return candles;
+    }
+}
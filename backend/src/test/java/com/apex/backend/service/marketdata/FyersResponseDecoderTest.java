@@ -0,0 +1,85 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.exception.FyersApiException;
+import com.apex.backend.model.Candle;
+import com.apex.backend.util.ExchangeTime;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FyersResponseDecoderTest {
+
+    @Test
+    void decodesHistoryRowsWhateverTheFieldOrder() throws Exception {
+        String body = """
+                {"candles":[[1700000000,10.5,11.0,10.0,10.8,1200],[1700000300,10.8,11.2,10.7,11.1,900,"x"]],
+                 "meta":{"nested":[1,2]},"s":"ok"}
+                """;
+
+        List<Candle> candles = FyersResponseDecoder.decodeHistory(body).toCandles();
+
+        assertThat(candles).hasSize(2);
+        assertThat(candles.get(0).getOpen()).isEqualTo(10.5);
+        assertThat(candles.get(0).getVolume()).isEqualTo(1200L);
+        assertThat(candles.get(1).getClose()).isEqualTo(11.1);
+        assertThat(candles.get(1).getTimestamp()).isEqualTo(ExchangeTime.toLocalDateTime(1700000300L));
+    }
+
+    @Test
+    void historyGrowsPastInitialCapacity() throws Exception {
+        StringBuilder body = new StringBuilder("{\"s\":\"ok\",\"candles\":[");
+        for (int i = 0; i < 500; i++) {
+            body.append(i == 0 ? "" : ",").append("[").append(1700000000L + i * 60L).append(",1,2,0.5,").append(i).append(",10]");
+        }
+        body.append("]}");
+
+        FyersResponseDecoder.HistoryBars bars = FyersResponseDecoder.decodeHistory(body.toString());
+
+        assertThat(bars.size()).isEqualTo(500);
+        assertThat(bars.toCandles().get(499).getClose()).isEqualTo(499.0);
+    }
+
+    @Test
+    void errorStatusRaisesApiException() {
+        String body = "{\"s\":\"error\",\"code\":-300,\"message\":\"Invalid symbol\"}";
+
+        assertThatThrownBy(() -> FyersResponseDecoder.decodeHistory(body))
+                .isInstanceOf(FyersApiException.class)
+                .hasMessage("FYERS history failed: Invalid symbol code=-300");
+    }
+
+    @Test
+    void quotesFallBackThroughBidAskAliases() throws Exception {
+        String body = """
+                {"s":"ok","d":[{"n":"NSE:SBIN-EQ","s":"ok","v":{"lp":612.4,"bp":0,"bid":612.3,"ask":612.6,"cmd":{"c":1}}}]}
+                """;
+
+        List<FyersQuote> quotes = FyersResponseDecoder.decodeQuotes(body);
+
+        assertThat(quotes).hasSize(1);
+        FyersQuote quote = quotes.get(0);
+        assertThat(quote.symbol()).isEqualTo("NSE:SBIN-EQ");
+        assertThat(quote.lastTradedPrice()).isEqualByComparingTo(new BigDecimal("612.4"));
+        assertThat(quote.bidPrice()).isEqualByComparingTo(new BigDecimal("612.3"));
+        assertThat(quote.askPrice()).isEqualByComparingTo(new BigDecimal("612.6"));
+    }
+
+    @Test
+    void depthPrefersNestedBookAndDropsEmptyLevels() throws Exception {
+        String body = """
+                {"s":"ok","d":{"bids":[{"price":1,"quantity":1}],
+                 "depth":{"bids":[{"p":100.5,"q":10},{"price":0,"quantity":5}],"asks":[{"price":100.7,"quantity":3}]}}}
+                """;
+
+        FyersMarketDepth depth = FyersResponseDecoder.decodeDepth(body, "NSE:SBIN-EQ").orElseThrow();
+
+        assertThat(depth.bids()).hasSize(1);
+        assertThat(depth.bids().get(0).price()).isEqualByComparingTo(new BigDecimal("100.5"));
+        assertThat(depth.asks()).hasSize(1);
+        assertThat(FyersResponseDecoder.decodeDepth("{\"s\":\"no_data\"}", "X")).isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.config.MarketDataProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LtpCacheTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-02T04:00:00Z");
+
+    @Test
+    void dropsTicksOlderThanTheCachedOne() {
+        LtpCache cache = new LtpCache(new MarketDataProperties());
+
+        assertThat(cache.update("NSE:SBIN-EQ", 600.0, 599.9, 600.1, T0.plusSeconds(2))).isTrue();
+        assertThat(cache.update("NSE:SBIN-EQ", 590.0, 589.9, 590.1, T0.plusSeconds(1))).isFalse();
+
+        assertThat(cache.fresh("NSE:SBIN-EQ")).get().extracting(LtpCache.Quote::ltp).isEqualTo(600.0);
+        assertThat(cache.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void restSnapshotKeepsTheStreamWatermark() {
+        LtpCache cache = new LtpCache(new MarketDataProperties());
+        cache.update("NSE:SBIN-EQ", 600.0, 0.0, 0.0, T0.plusSeconds(5));
+
+        assertThat(cache.update("NSE:SBIN-EQ", 601.0, 0.0, 0.0, null)).isTrue();
+        assertThat(cache.update("NSE:SBIN-EQ", 599.0, 0.0, 0.0, T0.plusSeconds(4))).isFalse();
+        assertThat(cache.fresh("NSE:SBIN-EQ")).get().extracting(LtpCache.Quote::ltp).isEqualTo(601.0);
+    }
+
+    @Test
+    void ltpRefreshKeepsTheCachedBook() {
+        LtpCache cache = new LtpCache(new MarketDataProperties());
+        cache.update("NSE:SBIN-EQ", 600.0, 599.9, 600.1, T0);
+
+        assertThat(cache.updateLtp("NSE:SBIN-EQ", 601.0)).isTrue();
+        cache.update("NSE:SBIN-EQ", 602.0, 601.8, 0.0, null);
+
+        LtpCache.Quote quote = cache.fresh("NSE:SBIN-EQ").orElseThrow();
+        assertThat(quote.ltp()).isEqualTo(602.0);
+        assertThat(quote.bid()).isEqualTo(601.8);
+        assertThat(quote.ask()).isEqualTo(600.1);
+    }
+
+    @Test
+    void staleEntriesAreMisses() throws Exception {
+        MarketDataProperties properties = new MarketDataProperties();
+        properties.getLtp().setMaxAgeMs(100);
+        LtpCache cache = new LtpCache(properties);
+        cache.update("NSE:SBIN-EQ", 600.0, 0.0, 0.0, T0);
+
+        assertThat(cache.fresh("NSE:SBIN-EQ")).isPresent();
+        Thread.sleep(150);
+
+        assertThat(cache.fresh("NSE:SBIN-EQ")).isEmpty();
+        assertThat(cache.fresh("NSE:INFY-EQ")).isEmpty();
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void ltpOnlyRefreshDoesNotFreshenAnOldBook() throws Exception {
+        MarketDataProperties properties = new MarketDataProperties();
+        properties.getLtp().setMaxAgeMs(100);
+        LtpCache cache = new LtpCache(properties);
+        cache.update("NSE:SBIN-EQ", 600.0, 599.9, 600.1, T0);
+        assertThat(cache.freshBook("NSE:SBIN-EQ")).isPresent();
+        Thread.sleep(150);
+
+        cache.updateLtp("NSE:SBIN-EQ", 601.0);
+        cache.update("NSE:SBIN-EQ", 602.0, 0.0, 0.0, null);
+
+        assertThat(cache.fresh("NSE:SBIN-EQ")).isPresent();
+        assertThat(cache.freshBook("NSE:SBIN-EQ")).isEmpty();
+
+        cache.update("NSE:SBIN-EQ", 602.0, 601.9, 602.1, null);
+        assertThat(cache.freshBook("NSE:SBIN-EQ")).get().extracting(LtpCache.Quote::bid).isEqualTo(601.9);
+    }
+
+    @Test
+    void feedsFromDecodedStreamFrames() throws Exception {
+        LtpCache cache = new LtpCache(new MarketDataProperties());
+        String frame = """
+                [{"symbol":"NSE:SBIN-EQ","type":"sf","ltp":612.5,"bid_price":612.4,"ask_price":612.6,"exch_feed_time":1735790400},
+                 {"type":"cn","code":200,"message":"connected"}]
+                """;
+
+        FyersResponseDecoder.decodeTicks(frame).forEach(cache::update);
+
+        assertThat(cache.size()).isEqualTo(1);
+        LtpCache.Quote quote = cache.fresh("NSE:SBIN-EQ").orElseThrow();
+        assertThat(quote.bid()).isEqualTo(612.4);
+        assertThat(quote.exchangeMillis()).isEqualTo(1_735_790_400_000L);
+    }
+}
@@ -0,0 +1,74 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.service.MetricsService;
+import com.apex.backend.util.MoneyUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MarketTickBusTest {
+
+    @Test
+    void idleSubscriberBlocksUntilTheNextPublish() throws Exception {
+        MarketTickBus bus = new MarketTickBus(mock(MetricsService.class), 64);
+        List<FyersTick> received = new CopyOnWriteArrayList<>();
+        try (AutoCloseable ignored = bus.subscribe("idle-test", received::add)) {
+            bus.publish(tick(100.0));
+            awaitSize(received, 1);
+
+            Thread consumer = thread("tick-bus-idle-test");
+            awaitState(consumer, Thread.State.WAITING);
+
+            bus.publish(tick(101.0));
+            awaitSize(received, 2);
+            assertThat(received.get(1).lastTradedPrice()).isEqualByComparingTo("101");
+        }
+        bus.shutdown();
+    }
+
+    @Test
+    void closingTheSubscriptionStopsItsThread() throws Exception {
+        MarketTickBus bus = new MarketTickBus(mock(MetricsService.class), 64);
+        AutoCloseable subscription = bus.subscribe("stop-test", tick -> {});
+        Thread consumer = thread("tick-bus-stop-test");
+
+        subscription.close();
+
+        consumer.join(TimeUnit.SECONDS.toMillis(1));
+        assertThat(consumer.isAlive()).isFalse();
+    }
+
+    private static FyersTick tick(double price) {
+        return new FyersTick("NSE:SBIN-EQ", MoneyUtils.bd(price), MoneyUtils.ZERO, MoneyUtils.ZERO, Instant.now());
+    }
+
+    private static Thread thread(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(list).hasSize(size);
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (thread.getState() != state && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        // Untimed park: a timed one would show as TIMED_WAITING
+        assertThat(thread.getState()).isEqualTo(state);
+    }
+}
@@ -0,0 +1,56 @@
+package com.apex.backend.service.marketdata;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OrderBookTest {
+
+    @Test
+    void snapshotKeepsBestLevelsInPriceOrder() {
+        OrderBook book = new OrderBook("NSE:SBIN-EQ", 3);
+        book.applySnapshot(new double[]{99.9, 100.0, 99.8, 99.7}, new long[]{10, 20, 30, 40},
+                new double[]{100.2, 100.1}, new long[]{5, 6}, 1L);
+
+        assertThat(book.bestBid()).isEqualTo(100.0);
+        assertThat(book.bestAsk()).isEqualTo(100.1);
+        assertThat(book.levels(OrderBook.Side.BID)).isEqualTo(3);
+        assertThat(book.spread()).isCloseTo(0.1, within(1e-9));
+        assertThat(book.depthWithin(OrderBook.Side.BID, 0.15)).isEqualTo(30L);
+    }
+
+    @Test
+    void levelDiffsUpdateAndRemove() {
+        OrderBook book = new OrderBook("NSE:SBIN-EQ", 5);
+        book.applyLevel(OrderBook.Side.ASK, 101.0, 10, 1L);
+        book.applyLevel(OrderBook.Side.ASK, 100.5, 5, 2L);
+        book.applyLevel(OrderBook.Side.ASK, 100.5, 0, 3L);
+
+        assertThat(book.bestAsk()).isEqualTo(101.0);
+        assertThat(book.levels(OrderBook.Side.ASK)).isEqualTo(1);
+        assertThat(book.updatedAtMillis()).isEqualTo(3L);
+    }
+
+    @Test
+    void newTouchClearsCrossedLevels() {
+        OrderBook book = new OrderBook("NSE:SBIN-EQ", 5);
+        book.applySnapshot(new double[]{100.0, 99.9}, new long[]{20, 10}, new double[]{100.1, 100.2}, new long[]{6, 5}, 1L);
+
+        book.applyTop(0.0, 0L, 99.95, 9L, 2L);
+
+        OrderBook.Top top = book.top();
+        assertThat(top.bidPrice()).isEqualTo(99.9);
+        assertThat(top.askPrice()).isEqualTo(99.95);
+        assertThat(top.askQuantity()).isEqualTo(9L);
+        assertThat(book.levels(OrderBook.Side.ASK)).isEqualTo(3);
+    }
+
+    @Test
+    void emptyBookHasNoSpread() {
+        OrderBook book = new OrderBook("NSE:SBIN-EQ", 5);
+
+        assertThat(book.spread()).isNaN();
+        assertThat(book.top().isTwoSided()).isFalse();
+    }
+}
@@ -0,0 +1,74 @@
+package com.apex.backend.service.marketdata;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute("NSE:INFY-EQ_5", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "bars";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<String> follower = executor.submit(() -> flight.execute("NSE:INFY-EQ_5", () -> {
+                loads.incrementAndGet();
+                return "duplicate";
+            }));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (flight.coalescedCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("bars");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("bars");
+            assertThat(loads).hasValue(1);
+            assertThat(flight.issuedCount()).isEqualTo(1);
+            assertThat(flight.coalescedCount()).isEqualTo(1);
+            assertThat(flight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureIsNotRememberedAfterTheFlightEnds() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        assertThatThrownBy(() -> flight.execute("key", () -> {
+            throw new IllegalStateException("broker down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(flight.execute("key", () -> "recovered")).isEqualTo("recovered");
+        assertThat(flight.issuedCount()).isEqualTo(2);
+        assertThat(flight.coalescedCount()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
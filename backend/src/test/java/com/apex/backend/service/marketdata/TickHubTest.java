@@ -0,0 +1,123 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.config.MarketDataProperties;
+import com.apex.backend.util.MoneyUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickHubTest {
+
+    private static final long INTERVAL_MS = 1000L;
+
+    @Test
+    void batchesAllSubscribedSymbolsAndFansOut() {
+        List<List<String>> requests = new CopyOnWriteArrayList<>();
+        TickHub.QuoteSource source = (symbols, token) -> {
+            requests.add(List.copyOf(symbols));
+            return symbols.stream()
+                    .map(symbol -> new FyersQuote(symbol, MoneyUtils.bd(100.0), MoneyUtils.ZERO, MoneyUtils.ZERO))
+                    .toList();
+        };
+        Map<String, AtomicInteger> received = new ConcurrentHashMap<>();
+        try (TickHub hub = new TickHub(source, new LtpCache(new MarketDataProperties()), INTERVAL_MS, 2, parkedScheduler())) {
+            for (String symbol : List.of("NSE:A-EQ", "NSE:B-EQ", "NSE:C-EQ")) {
+                hub.subscribe(symbol, "token", tick -> received.computeIfAbsent("first:" + tick.symbol(), k -> new AtomicInteger()).incrementAndGet());
+            }
+            hub.subscribe("NSE:A-EQ", "token", tick -> received.computeIfAbsent("second:" + tick.symbol(), k -> new AtomicInteger()).incrementAndGet());
+
+            hub.poll();
+
+            assertThat(requests).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+            assertThat(requests.stream().mapToInt(List::size).sum()).isEqualTo(3);
+            assertThat(received.get("first:NSE:A-EQ")).hasValue(1);
+            assertThat(received.get("second:NSE:A-EQ")).hasValue(1);
+            assertThat(received.get("first:NSE:C-EQ")).hasValue(1);
+        }
+    }
+
+    @Test
+    void freshStreamedPricesSkipTheQuoteCall() {
+        AtomicInteger calls = new AtomicInteger();
+        LtpCache cache = new LtpCache(new MarketDataProperties());
+        List<FyersTick> ticks = new CopyOnWriteArrayList<>();
+        try (TickHub hub = new TickHub((symbols, token) -> {
+            calls.incrementAndGet();
+            return List.of();
+        }, cache, INTERVAL_MS, 50, parkedScheduler())) {
+            cache.update("NSE:A-EQ", 250.0, 249.9, 250.1, null);
+            hub.subscribe("NSE:A-EQ", "token", ticks::add);
+
+            hub.poll();
+
+            assertThat(calls).hasValue(0);
+            assertThat(ticks).singleElement().satisfies(tick ->
+                    assertThat(tick.lastTradedPrice()).isEqualByComparingTo("250"));
+        }
+    }
+
+    @Test
+    void unchangedQuotesAreNotRepublished() {
+        LtpCache cache = new LtpCache(new MarketDataProperties());
+        List<FyersTick> ticks = new CopyOnWriteArrayList<>();
+        try (TickHub hub = new TickHub((symbols, token) -> List.of(), cache, INTERVAL_MS, 50, parkedScheduler())) {
+            cache.update("NSE:A-EQ", 250.0, 249.9, 250.1, null);
+            long receivedAt = cache.fresh("NSE:A-EQ").orElseThrow().receivedAtMillis();
+            hub.subscribe("NSE:A-EQ", "token", ticks::add);
+
+            hub.poll();
+            hub.poll();
+
+            assertThat(ticks).singleElement().satisfies(tick ->
+                    assertThat(tick.timestamp().toEpochMilli()).isEqualTo(receivedAt));
+
+            cache.update("NSE:A-EQ", 250.5, 250.4, 250.6, null);
+            hub.poll();
+
+            assertThat(ticks).hasSize(2);
+            assertThat(ticks.get(1).lastTradedPrice()).isEqualByComparingTo("250.5");
+        }
+    }
+
+    @Test
+    void subscriptionsAreReferenceCounted() throws Exception {
+        try (TickHub hub = new TickHub((symbols, token) -> List.of(), new LtpCache(new MarketDataProperties()),
+                INTERVAL_MS, 50, parkedScheduler())) {
+            AutoCloseable first = hub.subscribe("NSE:A-EQ", null, tick -> {});
+            AutoCloseable second = hub.subscribe("NSE:A-EQ", null, tick -> {});
+
+            first.close();
+            first.close();
+            assertThat(hub.subscribedSymbols()).isEqualTo(1);
+            assertThat(hub.consumerCount()).isEqualTo(1);
+
+            second.close();
+            assertThat(hub.subscribedSymbols()).isZero();
+        }
+    }
+
+    /**
+     * A scheduler whose only thread is parked, so the test drives every poll itself.
+     */
+    private ScheduledExecutorService parkedScheduler() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch never = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            try {
+                never.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return scheduler;
+    }
+}
@@ -0,0 +1,63 @@
+package com.apex.backend.service.marketdata;
+
+import com.apex.backend.util.MoneyUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickRingBufferTest {
+
+    @Test
+    void readersSeeTicksInOrderIndependently() {
+        TickRingBuffer ring = new TickRingBuffer(8);
+        TickRingBuffer.Reader early = ring.newReader();
+        ring.publish(tick("A", 1));
+        TickRingBuffer.Reader late = ring.newReader();
+        ring.publish(tick("B", 2));
+
+        List<String> earlySeen = new ArrayList<>();
+        List<String> lateSeen = new ArrayList<>();
+        early.drain(t -> earlySeen.add(t.symbol()), 10);
+        late.drain(t -> lateSeen.add(t.symbol()), 10);
+
+        assertThat(earlySeen).containsExactly("A", "B");
+        assertThat(lateSeen).containsExactly("B");
+        assertThat(early.drain(t -> earlySeen.add(t.symbol()), 10)).isZero();
+    }
+
+    @Test
+    void slowReaderSkipsOverwrittenTicks() {
+        TickRingBuffer ring = new TickRingBuffer(4);
+        TickRingBuffer.Reader reader = ring.newReader();
+        for (int i = 0; i < 10; i++) {
+            ring.publish(tick("S" + i, i + 1));
+        }
+
+        List<String> seen = new ArrayList<>();
+        reader.drain(t -> seen.add(t.symbol()), 100);
+
+        assertThat(seen).containsExactly("S7", "S8", "S9");
+        assertThat(reader.overrunCount()).isEqualTo(7);
+        assertThat(reader.lag()).isZero();
+    }
+
+    @Test
+    void drainRespectsBatchLimit() {
+        TickRingBuffer ring = new TickRingBuffer(16);
+        TickRingBuffer.Reader reader = ring.newReader();
+        for (int i = 0; i < 5; i++) {
+            ring.publish(tick("S" + i, i + 1));
+        }
+
+        assertThat(reader.drain(t -> {}, 3)).isEqualTo(3);
+        assertThat(reader.lag()).isEqualTo(2);
+    }
+
+    private FyersTick tick(String symbol, double ltp) {
+        return new FyersTick(symbol, MoneyUtils.bd(ltp), MoneyUtils.ZERO, MoneyUtils.ZERO, Instant.EPOCH);
+    }
+}
@@ -0,0 +1,49 @@
+package com.apex.backend.service.marketdata;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedLruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverWeight() {
+        WeightedLruCache<String, List<Integer>> cache = new WeightedLruCache<>(10, 0, List::size);
+        cache.put("a", List.of(1, 2, 3, 4), 60_000);
+        cache.put("b", List.of(1, 2, 3, 4), 60_000);
+        cache.getIfFresh("a");
+
+        cache.put("c", List.of(1, 2, 3, 4), 60_000);
+
+        assertThat(cache.getStale("b")).isNull();
+        assertThat(cache.getStale("a")).isNotNull();
+        assertThat(cache.weight()).isEqualTo(8);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntryIsMissButStillAvailableStale() {
+        WeightedLruCache<String, List<Integer>> cache = new WeightedLruCache<>(100, 60_000, List::size);
+        cache.put("a", List.of(1), 0);
+
+        assertThat(cache.getIfFresh("a")).isNull();
+        assertThat(cache.getStale("a")).containsExactly(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isZero();
+    }
+
+    @Test
+    void oversizedEntryIsKeptAlone() {
+        WeightedLruCache<String, List<Integer>> cache = new WeightedLruCache<>(2, 0, List::size);
+        cache.put("a", List.of(1), 60_000);
+        cache.put("b", List.of(1, 2, 3), 60_000);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getIfFresh("b")).hasSize(3);
+
+        cache.invalidate("b");
+        assertThat(cache.weight()).isZero();
+    }
+}
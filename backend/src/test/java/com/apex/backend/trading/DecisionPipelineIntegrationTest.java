@@ -19,12 +19,14 @@ import com.apex.backend.service.indicator.CandleConfirmationValidator;
 import com.apex.backend.service.indicator.CandlePatternDetector;
 import com.apex.backend.service.indicator.ChoppinessIndexService;
 import com.apex.backend.service.indicator.DonchianChannelService;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
 import com.apex.backend.service.indicator.MacdConfirmationService;
 import com.apex.backend.service.indicator.MacdService;
 import com.apex.backend.service.indicator.MultiTimeframeMomentumService;
 import com.apex.backend.service.indicator.RsiService;
 import com.apex.backend.service.indicator.SqueezeService;
 import com.apex.backend.service.indicator.VolShockService;
+import com.apex.backend.service.marketdata.OrderBookService;
 import com.apex.backend.trading.pipeline.MarketDataProvider;
 import org.junit.jupiter.api.Test;
 
@@ -56,7 +58,7 @@ class DecisionPipelineIntegrationTest {
                 .thenReturn(buildDailyCandles(220));
 
         MarketGateService marketGateService = new MarketGateService(strategyProperties, marketDataProvider);
-        LiquidityGateService liquidityGateService = new LiquidityGateService(advancedTradingProperties);
+        LiquidityGateService liquidityGateService = new LiquidityGateService(advancedTradingProperties, mock(OrderBookService.class));
         TradingWindowService tradingWindowService = new TradingWindowService(strategyProperties);
         VolShockService volShockService = new VolShockService(strategyProperties);
 
@@ -69,6 +71,9 @@ class DecisionPipelineIntegrationTest {
         com.apex.backend.service.StrategyScoringService scoringService = new com.apex.backend.service.StrategyScoringService(
                 strategyProperties, strategyConfig, macdService, adxService, rsiService, atrService, squeezeService);
         MacdConfirmationService macdConfirmationService = new MacdConfirmationService(macdService, advancedTradingProperties);
+        IndicatorSnapshotService indicatorSnapshotService = new IndicatorSnapshotService(strategyProperties,
+                advancedTradingProperties, macdService, macdConfirmationService, adxService, rsiService, atrService,
+                squeezeService, bollingerBandService);
         CandleConfirmationValidator candleConfirmationValidator = new CandleConfirmationValidator(advancedTradingProperties);
         CandlePatternDetector candlePatternDetector = new CandlePatternDetector();
         MultiTimeframeMomentumService multiTfService = new MultiTimeframeMomentumService(advancedTradingProperties);
@@ -81,14 +86,8 @@ class DecisionPipelineIntegrationTest {
                 strategyConfig,
                 strategyProperties,
                 advancedTradingProperties,
-                macdService,
-                adxService,
-                rsiService,
-                atrService,
-                bollingerBandService,
-                squeezeService,
+                indicatorSnapshotService,
                 scoringService,
-                macdConfirmationService,
                 candleConfirmationValidator,
                 candlePatternDetector,
                 multiTfService,
@@ -106,6 +105,7 @@ class DecisionPipelineIntegrationTest {
         List<Candle> candles = buildLowLiquidityCandles(60);
         SmartSignalGenerator.SignalDecision decision = signalGenerator.generateSignalSmart(
                 "NSE:TEST",
+                "5",
                 candles,
                 candles,
                 candles,
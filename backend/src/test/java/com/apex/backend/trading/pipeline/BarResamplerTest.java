@@ -0,0 +1,117 @@
+package com.apex.backend.trading.pipeline;
+
+import com.apex.backend.model.Candle;
+import com.apex.backend.util.ExchangeTime;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BarResamplerTest {
+
+    private final BarResampler resampler = new BarResampler();
+
+    @Test
+    void hourlyBucketsStartAtSessionOpenAndDoNotCrossDays() {
+        List<Candle> bars = new ArrayList<>();
+        bars.addAll(session(LocalDate.of(2026, 3, 2)));
+        bars.addAll(session(LocalDate.of(2026, 3, 3)));
+
+        List<Candle> hourly = resampler.resample(bars, 60);
+
+        // 09:15 .. 14:15 full hours plus the 15:15-15:30 stub, for each of the two sessions
+        assertThat(hourly).hasSize(14);
+        Candle first = hourly.get(0);
+        assertThat(first.getTimestamp()).isEqualTo(LocalDateTime.of(2026, 3, 2, 9, 15));
+        assertThat(first.getOpen()).isEqualTo(bars.get(0).getOpen());
+        assertThat(first.getClose()).isEqualTo(bars.get(11).getClose());
+        assertThat(first.getVolume()).isEqualTo(12 * 100L);
+        assertThat(hourly.get(6).getTimestamp()).isEqualTo(LocalDateTime.of(2026, 3, 2, 15, 15));
+        assertThat(hourly.get(6).getVolume()).isEqualTo(3 * 100L);
+        assertThat(hourly.get(7).getTimestamp()).isEqualTo(LocalDateTime.of(2026, 3, 3, 9, 15));
+    }
+
+    @Test
+    void fifteenMinuteBarsTrackHighLowAcrossTheBucket() {
+        List<Candle> bars = session(LocalDate.of(2026, 3, 2)).subList(0, 3);
+
+        List<Candle> m15 = resampler.resample(bars, 15);
+
+        assertThat(m15).hasSize(1);
+        assertThat(m15.get(0).getHigh()).isEqualTo(bars.stream().mapToDouble(Candle::getHigh).max().orElseThrow());
+        assertThat(m15.get(0).getLow()).isEqualTo(bars.stream().mapToDouble(Candle::getLow).min().orElseThrow());
+    }
+
+    @Test
+    void runningSessionReplacesBrokerDailyBar() {
+        LocalDate today = LocalDate.of(2026, 3, 3);
+        List<Candle> daily = List.of(
+                new Candle(90, 95, 88, 94, 5000L, LocalDate.of(2026, 3, 2).atStartOfDay()),
+                new Candle(94, 94, 94, 94, 10L, today.atStartOfDay()));
+        List<Candle> intraday = session(today);
+
+        List<Candle> merged = resampler.withSessionBar(daily, intraday);
+
+        assertThat(merged).hasSize(2);
+        Candle session = merged.get(1);
+        assertThat(session.getTimestamp()).isEqualTo(today.atStartOfDay());
+        assertThat(session.getClose()).isEqualTo(intraday.get(intraday.size() - 1).getClose());
+        assertThat(session.getVolume()).isEqualTo(intraday.size() * 100L);
+    }
+
+    @Test
+    void missingSessionBarIsAppended() {
+        List<Candle> daily = List.of(new Candle(90, 95, 88, 94, 5000L, LocalDate.of(2026, 3, 2).atStartOfDay()));
+
+        List<Candle> merged = resampler.withSessionBar(daily, session(LocalDate.of(2026, 3, 3)));
+
+        assertThat(merged).hasSize(2);
+        assertThat(merged.get(1).getTimestamp().toLocalDate()).isEqualTo(LocalDate.of(2026, 3, 3));
+    }
+
+    @Test
+    void brokerEpochsBucketOnTheExchangeSessionOnAUtcHost() {
+        TimeZone jvmDefault = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        try {
+            // Bars decoded from broker epochs, as FyersResponseDecoder builds them
+            long sessionOpen = LocalDate.of(2026, 3, 2).atTime(BarResampler.SESSION_OPEN)
+                    .atZone(ZoneId.of("Asia/Kolkata")).toEpochSecond();
+            List<Candle> bars = new ArrayList<>();
+            for (int i = 0; i < 75; i++) {
+                bars.add(new Candle(100, 101, 99, 100, 100L, ExchangeTime.toLocalDateTime(sessionOpen + i * 300L)));
+            }
+
+            List<Candle> hourly = resampler.resample(bars, 60);
+            List<Candle> daily = resampler.withSessionBar(List.of(), bars);
+
+            assertThat(hourly).hasSize(7);
+            assertThat(hourly.get(0).getTimestamp()).isEqualTo(LocalDateTime.of(2026, 3, 2, 9, 15));
+            assertThat(hourly.get(0).getVolume()).isEqualTo(12 * 100L);
+            assertThat(daily).singleElement()
+                    .satisfies(bar -> assertThat(bar.getTimestamp()).isEqualTo(LocalDate.of(2026, 3, 2).atStartOfDay()))
+                    .satisfies(bar -> assertThat(bar.getVolume()).isEqualTo(75 * 100L));
+        } finally {
+            TimeZone.setDefault(jvmDefault);
+        }
+    }
+
+    private List<Candle> session(LocalDate date) {
+        List<Candle> bars = new ArrayList<>();
+        LocalDateTime time = date.atTime(BarResampler.SESSION_OPEN);
+        double price = 100;
+        for (int i = 0; i < 75; i++) {
+            double close = price + Math.sin(i) * 0.5;
+            bars.add(new Candle(price, Math.max(price, close) + 0.2, Math.min(price, close) - 0.2, close, 100L,
+                    time.plusMinutes(i * 5L)));
+            price = close;
+        }
+        return bars;
+    }
+}
@@ -0,0 +1,71 @@
+package com.apex.backend.trading.pipeline;
+
+import com.apex.backend.config.StrategyConfig;
+import com.apex.backend.model.Candle;
+import com.apex.backend.service.FeatureAttributionService;
+import com.apex.backend.service.SmartSignalGenerator;
+import com.apex.backend.service.StrategyScoringService;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
+import com.apex.backend.util.TestCandleFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DefaultSignalEngineTest {
+
+    private final MarketDataProvider marketDataProvider = mock(MarketDataProvider.class);
+    private final SmartSignalGenerator smartSignalGenerator = mock(SmartSignalGenerator.class);
+    private final DefaultSignalEngine engine = new DefaultSignalEngine(
+            marketDataProvider,
+            smartSignalGenerator,
+            mock(StrategyScoringService.class),
+            mock(FeatureAttributionService.class),
+            new StrategyConfig(),
+            new BarResampler(),
+            mock(IndicatorSnapshotService.class)
+    );
+
+    @Test
+    void scoringWithFetchedSeriesMakesNoMarketDataCalls() {
+        List<Candle> candles = TestCandleFactory.trendingCandles(200, 100, 0.5);
+        when(marketDataProvider.getCandles(anyString(), anyString(), anyInt())).thenReturn(candles);
+        when(smartSignalGenerator.generateSignalSmart(anyString(), anyString(), anyList(), anyList(), anyList(), anyList()))
+                .thenReturn(SmartSignalGenerator.SignalDecision.builder().hasSignal(false).reason("none").build());
+
+        SignalSeries series = engine.fetchSeries("NSE:TEST", "5", candles);
+        verify(marketDataProvider).getCandles("NSE:TEST", "D", 200);
+        verify(marketDataProvider).getCandles(eq("NSE:TEST"), eq("5"), anyInt());
+        assertThat(series.m15()).isNull();
+        assertThat(series.h1()).isNull();
+        clearInvocations(marketDataProvider);
+
+        SignalScore score = engine.score(new PipelineRequest(1L, "NSE:TEST", "5", candles, null, series, null));
+
+        assertThat(score.tradable()).isFalse();
+        verifyNoInteractions(marketDataProvider);
+    }
+
+    @Test
+    void nonDivisibleTimeframesAreFetchedUpFront() {
+        List<Candle> candles = TestCandleFactory.trendingCandles(200, 100, 0.5);
+        when(marketDataProvider.getCandles(anyString(), anyString(), anyInt())).thenReturn(candles);
+
+        SignalSeries series = engine.fetchSeries("NSE:TEST", "D", candles);
+
+        assertThat(series.m15()).isNotNull();
+        assertThat(series.h1()).isNotNull();
+        verify(marketDataProvider).getCandles("NSE:TEST", "15", 200);
+        verify(marketDataProvider).getCandles("NSE:TEST", "60", 200);
+    }
+}
@@ -7,6 +7,8 @@ import com.apex.backend.service.DataQualityGuard;
 import com.apex.backend.service.FeatureAttributionService;
 import com.apex.backend.service.SmartSignalGenerator;
 import com.apex.backend.service.StrategyScoringService;
+import com.apex.backend.service.indicator.IndicatorSnapshot;
+import com.apex.backend.service.indicator.IndicatorSnapshotService;
 import com.apex.backend.util.TestCandleFactory;
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -42,7 +45,7 @@ class TradeDecisionPipelineServiceTest {
                 .suggestedStopLoss(95.0)
                 .reason("OK")
                 .build();
-        when(smartSignalGenerator.generateSignalSmart(anyString(), anyList(), anyList(), anyList(), anyList()))
+        when(smartSignalGenerator.generateSignalSmart(anyString(), anyString(), anyList(), anyList(), anyList(), anyList()))
                 .thenReturn(signalDecision);
 
         StrategyScoringService.ScoreBreakdown breakdown = new StrategyScoringService.ScoreBreakdown(
@@ -61,14 +64,16 @@ class TradeDecisionPipelineServiceTest {
                 5,
                 0.8
         );
-        when(strategyScoringService.score(anyList())).thenReturn(breakdown);
+        when(strategyScoringService.score(nullable(IndicatorSnapshot.class))).thenReturn(breakdown);
 
         SignalEngine signalEngine = new DefaultSignalEngine(
                 marketDataProvider,
                 smartSignalGenerator,
                 strategyScoringService,
                 featureAttributionService,
-                strategyProperties
+                strategyProperties,
+                new BarResampler(),
+                mock(IndicatorSnapshotService.class)
         );
 
         RiskEngine riskEngine = (request, signalScore, snapshot) -> new RiskDecision(true, 1.0, List.of(), 1.0, 10);
@@ -0,0 +1,30 @@
+package com.apex.backend.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeTimeTest {
+
+    private final TimeZone jvmDefault = TimeZone.getDefault();
+
+    @AfterEach
+    void restoreDefault() {
+        TimeZone.setDefault(jvmDefault);
+    }
+
+    @Test
+    void candleTimesFollowTheExchangeZoneOnAUtcHost() {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+
+        // 2023-11-15 03:45:00 UTC is the 09:15 NSE session open
+        LocalDateTime open = ExchangeTime.toLocalDateTime(1700019900L);
+
+        assertThat(open).isEqualTo(LocalDateTime.of(2023, 11, 15, 9, 15));
+        assertThat(ExchangeTime.toEpochSecond(open)).isEqualTo(1700019900L);
+    }
+}